@@ -182,9 +182,9 @@ public class CollectionRecommendations {
          *    - Use when: Multi-threaded producer-consumer scenarios
          * 
          * Current usage in TableBuilder.java:
-         * - List<Map<String, String>> rows = new ArrayList<>();
-         *   This is appropriate for building tables with a moderate number of rows.
-         *   If the number of rows is known in advance, consider specifying an initial capacity.
+         * - TableBuilder no longer buffers rows; each row is written to the target table as it
+         *   is added. If the number of rows is known in advance, pass it to the builder so the
+         *   target table is created with that initial capacity.
          */
         public static void listRecommendations() {
             // This method serves as documentation only
@@ -398,17 +398,9 @@ public class CollectionRecommendations {
         /**
          * Recommendations for TableBuilder.java collections:
          * 
-         * 1. Map<String, IColumn<?>> columns = new LinkedHashMap<>();
-         *    - Current: LinkedHashMap (preserves column order)
-         *    - Read-write ratio: Write-heavy during building, then read-only
-         *    - Single-threaded recommendation: Keep LinkedHashMap (appropriate)
-         *    - Multi-threaded recommendation: ConcurrentHashMap with custom ordering logic
-         * 
-         * 2. List<Map<String, String>> rows = new ArrayList<>();
-         *    - Current: ArrayList
-         *    - Read-write ratio: Write-heavy during building, then read-only
-         *    - Single-threaded recommendation: ArrayList with initial capacity if size is known
-         *    - Multi-threaded recommendation: ConcurrentLinkedDeque
+         * TableBuilder holds no collections of its own: columns and rows are written straight
+         * to the target table, whose collections are covered by the recommendations for the
+         * table cores. Create the target with an expected row count to size them up front.
          */
         public static void tableBuilderRecommendations() {
             // This method serves as documentation only
@@ -0,0 +1,58 @@
+/*
+ * Copyright 2025 Mark Andrew Ray-Smith Cityline Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.mars.jtable.core.model;
+
+/**
+ * An index over the values of one table column, mapping each value to the rows that hold it.
+ *
+ * An index is created with {@link ITable#createIndex(String)} and is kept up to date by the
+ * table as rows are added and values are set through the table. Values changed through an
+ * IRow or ICell obtained from the table are not seen by the index.
+ */
+public interface IColumnIndex {
+
+    /**
+     * Gets the name of the indexed column.
+     *
+     * @return the column name
+     */
+    String getColumnName();
+
+    /**
+     * Gets the rows that hold the given value. Integral numbers match by value whatever
+     * their boxed type, so an int column can be searched with a Long.
+     *
+     * @param value the value to look up, may be null
+     * @return the row indices in ascending order, empty if no row holds the value
+     */
+    int[] lookup(Object value);
+
+    /**
+     * Gets the first row that holds the given value.
+     *
+     * @param value the value to look up, may be null
+     * @return the lowest row index holding the value, or -1 if no row holds it
+     */
+    int lookupFirst(Object value);
+
+    /**
+     * Counts the rows that hold the given value.
+     *
+     * @param value the value to look up, may be null
+     * @return the number of rows holding the value
+     */
+    int count(Object value);
+}
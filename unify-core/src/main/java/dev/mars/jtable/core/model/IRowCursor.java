@@ -0,0 +1,121 @@
+/*
+ * Copyright 2025 Mark Andrew Ray-Smith Cityline Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.mars.jtable.core.model;
+
+/**
+ * Interface representing a forward-moving position over the rows of a table.
+ *
+ * A cursor is a flyweight: it reads values straight from the table's storage by column
+ * ordinal, so scanning a table with a cursor creates no IRow or ICell objects and does
+ * not copy the row list the way {@link ITable#getRows()} does. Column ordinals are those
+ * of {@link ITable#getSchema()}.
+ *
+ * A new cursor is positioned before the first row; call {@link #next()} to move onto it.
+ * Cursors are not thread-safe and should be used by one thread at a time.
+ *
+ * <pre>
+ * IRowCursor cursor = table.cursor();
+ * int salary = table.getSchema().indexOf("Salary");
+ * double total = 0;
+ * while (cursor.next()) {
+ *     total += cursor.getDouble(salary);
+ * }
+ * </pre>
+ */
+public interface IRowCursor {
+
+    /**
+     * Moves the cursor to the next row.
+     *
+     * @return true if the cursor is on a row, false if there are no more rows
+     */
+    boolean next();
+
+    /**
+     * Moves the cursor to the given row.
+     *
+     * @param rowIndex the index of the row
+     * @throws IndexOutOfBoundsException if the row index is out of range
+     */
+    void moveTo(int rowIndex);
+
+    /**
+     * Gets the index of the row the cursor is on.
+     *
+     * @return the row index, -1 before the first row, or the row count once the rows are exhausted
+     */
+    int getRowIndex();
+
+    /**
+     * Checks whether the value in the given column of the current row is null.
+     *
+     * @param column the column ordinal
+     * @return true if the value is null
+     */
+    boolean isNull(int column);
+
+    /**
+     * Gets the value in the given column of the current row as an int.
+     *
+     * @param column the column ordinal
+     * @return the value, or 0 if the value is null
+     * @throws IllegalArgumentException if the column is not numeric
+     */
+    int getInt(int column);
+
+    /**
+     * Gets the value in the given column of the current row as a long.
+     *
+     * @param column the column ordinal
+     * @return the value, or 0 if the value is null
+     * @throws IllegalArgumentException if the column is not numeric
+     */
+    long getLong(int column);
+
+    /**
+     * Gets the value in the given column of the current row as a double.
+     *
+     * @param column the column ordinal
+     * @return the value, or 0 if the value is null
+     * @throws IllegalArgumentException if the column is not numeric
+     */
+    double getDouble(int column);
+
+    /**
+     * Gets the value in the given column of the current row as a boolean.
+     *
+     * @param column the column ordinal
+     * @return the value, or false if the value is null
+     * @throws IllegalArgumentException if the column is not boolean
+     */
+    boolean getBoolean(int column);
+
+    /**
+     * Gets the value in the given column of the current row as a string.
+     *
+     * @param column the column ordinal
+     * @return the string form of the value, or null if the value is null
+     */
+    String getString(int column);
+
+    /**
+     * Gets the value in the given column of the current row.
+     *
+     * @param column the column ordinal
+     * @return the value, or null if the value is null
+     */
+    Object getObject(int column);
+}
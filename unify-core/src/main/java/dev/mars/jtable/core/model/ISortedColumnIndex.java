@@ -0,0 +1,59 @@
+/*
+ * Copyright 2025 Mark Andrew Ray-Smith Cityline Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.mars.jtable.core.model;
+
+/**
+ * A column index that keeps the values of the column in order, so that range predicates
+ * and ordered scans find their rows without scanning or sorting the table.
+ *
+ * Numbers are compared by value whatever their boxed type. Null values can be looked up
+ * but are never part of a range.
+ */
+public interface ISortedColumnIndex extends IColumnIndex {
+
+    /**
+     * Gets the rows whose values lie in the given range, ordered by value and then by row.
+     *
+     * @param from the lower bound, or null for no lower bound
+     * @param fromInclusive whether rows equal to the lower bound are included
+     * @param to the upper bound, or null for no upper bound
+     * @param toInclusive whether rows equal to the upper bound are included
+     * @return the row indices, empty if no row lies in the range
+     * @throws IllegalArgumentException if a bound is not a value of the column's type
+     */
+    int[] range(Object from, boolean fromInclusive, Object to, boolean toInclusive);
+
+    /**
+     * Gets the rows whose values lie between the given bounds inclusive, as SQL BETWEEN does.
+     *
+     * @param from the lower bound, or null for no lower bound
+     * @param to the upper bound, or null for no upper bound
+     * @return the row indices, ordered by value and then by row
+     * @throws IllegalArgumentException if a bound is not a value of the column's type
+     */
+    default int[] between(Object from, Object to) {
+        return range(from, true, to, true);
+    }
+
+    /**
+     * Gets every row with a non-null value, ordered by value and then by row.
+     *
+     * @return the row indices
+     */
+    default int[] ascending() {
+        return range(null, true, null, true);
+    }
+}
@@ -50,6 +50,8 @@ package dev.mars.jtable.core.model;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * Interface representing a table.
@@ -83,6 +85,14 @@ public interface ITable {
 
     List<IColumn<?>> getColumns();
 
+    /**
+     * Gets the current schema of the table.
+     * The schema is immutable and is replaced whenever the columns of the table change.
+     *
+     * @return the schema of the table
+     */
+    ITableSchema getSchema();
+
     void addColumn(IColumn<?> column);
 
     String getColumnName(int index);
@@ -95,8 +105,153 @@ public interface ITable {
 
     void addRow(Map<String, String> row);
 
+    /**
+     * Appends a batch of rows given as positional string values, converting them as
+     * {@link #addRow(Map)} does. The whole batch is validated and converted column by column
+     * before any row is added, so an invalid value leaves the table unchanged, and the rows
+     * are then appended together. Loading many rows this way avoids building a map per row.
+     *
+     * @param rows the values of each row in column order; a row may omit trailing values,
+     *             and a missing or null value takes the column's default value when the table
+     *             creates default values
+     * @throws IllegalArgumentException if a row is null or has more values than the table has
+     *                                  columns, a value is missing and no default is created,
+     *                                  or a value cannot be converted to its column's type
+     */
+    void appendBatch(String[][] rows);
+
+    /**
+     * Appends a batch of rows given as positional values that already have their columns'
+     * types, so no conversion from strings is needed. The batch is validated as a whole
+     * before any row is added, as with {@link #appendBatch(String[][])}, but here a null
+     * value is a null and only omitted trailing values are missing.
+     *
+     * @param rows the values of each row in column order; a row may omit trailing values,
+     *             which take the column's default value when the table creates default values
+     * @throws IllegalArgumentException if a row is null or has more values than the table has
+     *                                  columns, a value is missing and no default is created,
+     *                                  or a value is not of its column's type
+     */
+    void appendBatch(Object[][] rows);
+
     IRow createRow();
 
+    /**
+     * Creates a cursor over the rows of the table, positioned before the first row.
+     * Scanning with a cursor avoids the IRow and ICell objects of {@link #getRows()}.
+     *
+     * @return a new cursor
+     */
+    IRowCursor cursor();
+
+    /**
+     * Streams the rows of the table as a cursor positioned on each row in turn. The stream
+     * does not copy the rows: every element handed to an operation by one thread is the same
+     * cursor, moved onto the next row, so elements must be read in the operation that
+     * receives them and never kept or collected. Map them to values instead:
+     *
+     * <pre>
+     * int salary = table.getSchema().indexOf("Salary");
+     * double total = table.stream().mapToDouble(row -&gt; row.getDouble(salary)).sum();
+     * </pre>
+     *
+     * The stream covers the rows the table holds when it is created.
+     *
+     * @return a sequential stream of the rows
+     */
+    default Stream<IRowCursor> stream() {
+        return StreamSupport.stream(new RowSpliterator(this, 0, getRowCount()), false);
+    }
+
+    /**
+     * Streams the rows of the table in parallel, as {@link #stream()} does sequentially. The
+     * rows are split into ranges of row indices of known size, each read through its own
+     * cursor, so the table must not be changed while the stream runs.
+     *
+     * @return a parallel stream of the rows
+     */
+    default Stream<IRowCursor> parallelStream() {
+        return StreamSupport.stream(new RowSpliterator(this, 0, getRowCount()), true);
+    }
+
+    /**
+     * Takes an immutable, point-in-time view of the table. Rows appended and values changed
+     * after the snapshot is taken are not visible through it, and every method that would
+     * change the snapshot throws UnsupportedOperationException.
+     *
+     * @return the snapshot
+     */
+    ITable snapshot();
+
+    /**
+     * Estimates the memory the table holds, broken down into its rows and, for each column,
+     * its values, decimal scales, indexes and statistics. The estimate walks the table's
+     * storage, so it takes time proportional to the size of the table.
+     *
+     * @return the estimate
+     */
+    TableMemoryUsage estimateMemoryUsage();
+
+    /**
+     * Creates a read-only view of some of the rows and columns of the table. The view copies
+     * no values: it reads them from this table when they are accessed, so values changed here
+     * are seen through it, and every method that would change the view throws
+     * UnsupportedOperationException. A view can be passed wherever a table is read, such as
+     * to the file writers.
+     *
+     * @param rowSelection the indices of the rows to view, in the order to view them, or null for every row
+     * @param columnNames the names of the columns to view, in the order to view them, or none for every column
+     * @return the view
+     * @throws IndexOutOfBoundsException if a row index is out of range
+     * @throws IllegalArgumentException if a column does not exist or is named twice
+     */
+    ITable view(int[] rowSelection, String... columnNames);
+
+    /**
+     * Creates a hash index on the given column, or returns the index already created on it.
+     * The table keeps the index up to date as rows are added and values are set, so that
+     * {@link IColumnIndex#lookup(Object)} finds rows without scanning the table. Replacing
+     * the columns with {@link #setColumns(LinkedHashMap)} drops every index.
+     *
+     * @param columnName the name of the column to index
+     * @return the index
+     * @throws IllegalArgumentException if the column does not exist
+     */
+    IColumnIndex createIndex(String columnName);
+
+    /**
+     * Creates a sorted index on the given column, or returns the sorted index already created
+     * on it, so that range predicates and ordered scans resolve in O(log n + k) through
+     * {@link ISortedColumnIndex#range(Object, boolean, Object, boolean)}. A hash index on the
+     * column is replaced by the sorted index, which answers the same lookups. The index is
+     * kept up to date like one created with {@link #createIndex(String)}.
+     *
+     * @param columnName the name of the column to index
+     * @return the index
+     * @throws IllegalArgumentException if the column does not exist or its values have no
+     *         natural ordering
+     */
+    ISortedColumnIndex createSortedIndex(String columnName);
+
+    /**
+     * Gets the index on the given column.
+     *
+     * @param columnName the name of the column
+     * @return the index, or null if the column is not indexed
+     */
+    IColumnIndex getIndex(String columnName);
+
+    /**
+     * Sorts the rows by the given columns without moving them. Rows that compare equal keep
+     * the order they have in the table. The order can be walked with a cursor or copied into
+     * a new table with {@code TableSort}.
+     *
+     * @param specs the columns to sort by, most significant first
+     * @return the indices of the rows in sorted order
+     * @throws IllegalArgumentException if a column does not exist or its values cannot be compared
+     */
+    int[] sort(SortSpec... specs);
+
     int getRowCount();
 
     int getColumnCount();
@@ -109,6 +264,136 @@ public interface ITable {
 
     void setValueAt(int rowIndex, String columnName, String value);
 
+    /**
+     * Checks whether the value at the given row and column ordinal is null.
+     *
+     * @param rowIndex the index of the row
+     * @param columnIndex the ordinal of the column
+     * @return true if the value is null
+     */
+    default boolean isNull(int rowIndex, int columnIndex) {
+        return getValueObject(rowIndex, getColumnName(columnIndex)) == null;
+    }
+
+    /**
+     * Gets the value at the given row and column ordinal as an int.
+     * Tables with primitive column storage return the value without boxing it.
+     *
+     * @param rowIndex the index of the row
+     * @param columnIndex the ordinal of the column
+     * @return the value, or 0 if the value is null
+     * @throws IllegalArgumentException if the column is not numeric
+     */
+    default int getInt(int rowIndex, int columnIndex) {
+        Number value = getNumber(rowIndex, columnIndex);
+        return value == null ? 0 : value.intValue();
+    }
+
+    /**
+     * Gets the value at the given row and column ordinal as a long.
+     * Tables with primitive column storage return the value without boxing it.
+     *
+     * @param rowIndex the index of the row
+     * @param columnIndex the ordinal of the column
+     * @return the value, or 0 if the value is null
+     * @throws IllegalArgumentException if the column is not numeric
+     */
+    default long getLong(int rowIndex, int columnIndex) {
+        Number value = getNumber(rowIndex, columnIndex);
+        return value == null ? 0L : value.longValue();
+    }
+
+    /**
+     * Gets the value at the given row and column ordinal as a double.
+     * Tables with primitive column storage return the value without boxing it.
+     *
+     * @param rowIndex the index of the row
+     * @param columnIndex the ordinal of the column
+     * @return the value, or 0 if the value is null
+     * @throws IllegalArgumentException if the column is not numeric
+     */
+    default double getDouble(int rowIndex, int columnIndex) {
+        Number value = getNumber(rowIndex, columnIndex);
+        return value == null ? 0.0 : value.doubleValue();
+    }
+
+    /**
+     * Gets the value at the given row and column ordinal as a boolean.
+     *
+     * @param rowIndex the index of the row
+     * @param columnIndex the ordinal of the column
+     * @return the value, or false if the value is null
+     * @throws IllegalArgumentException if the column is not boolean
+     */
+    default boolean getBoolean(int rowIndex, int columnIndex) {
+        String columnName = getColumnName(columnIndex);
+        Object value = getValueObject(rowIndex, columnName);
+        if (value == null) {
+            return false;
+        }
+        if (!(value instanceof Boolean)) {
+            throw new IllegalArgumentException("Column is not boolean: " + columnName);
+        }
+        return (Boolean) value;
+    }
+
+    /**
+     * Sets the value at the given row and column ordinal to an int.
+     *
+     * @param rowIndex the index of the row
+     * @param columnIndex the ordinal of the column
+     * @param value the value to set
+     * @throws IllegalArgumentException if the column does not hold int values
+     */
+    default void setInt(int rowIndex, int columnIndex, int value) {
+        setValue(rowIndex, getColumnName(columnIndex), value);
+    }
+
+    /**
+     * Sets the value at the given row and column ordinal to a long.
+     *
+     * @param rowIndex the index of the row
+     * @param columnIndex the ordinal of the column
+     * @param value the value to set
+     * @throws IllegalArgumentException if the column does not hold long values
+     */
+    default void setLong(int rowIndex, int columnIndex, long value) {
+        setValue(rowIndex, getColumnName(columnIndex), value);
+    }
+
+    /**
+     * Sets the value at the given row and column ordinal to a double.
+     *
+     * @param rowIndex the index of the row
+     * @param columnIndex the ordinal of the column
+     * @param value the value to set
+     * @throws IllegalArgumentException if the column does not hold double values
+     */
+    default void setDouble(int rowIndex, int columnIndex, double value) {
+        setValue(rowIndex, getColumnName(columnIndex), value);
+    }
+
+    /**
+     * Sets the value at the given row and column ordinal to a boolean.
+     *
+     * @param rowIndex the index of the row
+     * @param columnIndex the ordinal of the column
+     * @param value the value to set
+     * @throws IllegalArgumentException if the column does not hold boolean values
+     */
+    default void setBoolean(int rowIndex, int columnIndex, boolean value) {
+        setValue(rowIndex, getColumnName(columnIndex), value);
+    }
+
+    private Number getNumber(int rowIndex, int columnIndex) {
+        String columnName = getColumnName(columnIndex);
+        Object value = getValueObject(rowIndex, columnName);
+        if (value != null && !(value instanceof Number)) {
+            throw new IllegalArgumentException("Column is not numeric: " + columnName);
+        }
+        return (Number) value;
+    }
+
     @SuppressWarnings("unchecked")
     Object convertValue(String value, IColumn<?> column);
 
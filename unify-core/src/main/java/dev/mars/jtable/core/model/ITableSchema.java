@@ -0,0 +1,53 @@
+/*
+ * Copyright 2025 Mark Andrew Ray-Smith Cityline Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.mars.jtable.core.model;
+
+import java.util.List;
+
+/**
+ * Interface representing the immutable column layout of a table.
+ * A schema maps each column name to its ordinal, and each ordinal to its column, in constant time.
+ *
+ * A table replaces its schema whenever its columns change, so a schema obtained from
+ * {@link ITable#getSchema()} can be held for the duration of a read or write pass.
+ */
+public interface ITableSchema {
+
+    int getColumnCount();
+
+    /**
+     * Gets the ordinal of the column with the given name.
+     *
+     * @param columnName the name of the column
+     * @return the ordinal, or -1 if there is no such column
+     */
+    int indexOf(String columnName);
+
+    IColumn<?> getColumn(int ordinal);
+
+    IColumn<?> getColumn(String columnName);
+
+    String getColumnName(int ordinal);
+
+    /**
+     * Gets the names of the columns, indexed by ordinal.
+     *
+     * @return a new array holding the column names
+     */
+    String[] getColumnNames();
+
+    List<IColumn<?>> getColumns();
+}
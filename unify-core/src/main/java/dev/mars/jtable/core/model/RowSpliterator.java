@@ -0,0 +1,108 @@
+/*
+ * Copyright 2025 Mark Andrew Ray-Smith Cityline Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.mars.jtable.core.model;
+
+import java.util.Spliterator;
+import java.util.function.Consumer;
+
+/**
+ * A spliterator over a range of row indices of a table, as used by {@link ITable#stream()}
+ * and {@link ITable#parallelStream()}.
+ *
+ * Splitting halves the range, so every split knows its exact size. Each spliterator creates
+ * its own cursor when it is first traversed and hands that same cursor to the action for
+ * every row, positioned on the row. The range is fixed when the spliterator is created, so
+ * rows added to the table afterwards are not traversed.
+ */
+final class RowSpliterator implements Spliterator<IRowCursor> {
+    private final ITable table;
+    private int index;
+    private final int fence;
+    private IRowCursor cursor;
+
+    /**
+     * Creates a spliterator over the rows from index to fence.
+     *
+     * @param table the table
+     * @param index the first row, inclusive
+     * @param fence the last row, exclusive
+     */
+    RowSpliterator(ITable table, int index, int fence) {
+        this.table = table;
+        this.index = index;
+        this.fence = fence;
+    }
+
+    private IRowCursor cursor() {
+        if (cursor == null) {
+            cursor = table.cursor();
+        }
+        return cursor;
+    }
+
+    @Override
+    public boolean tryAdvance(Consumer<? super IRowCursor> action) {
+        if (action == null) {
+            throw new NullPointerException();
+        }
+        if (index >= fence) {
+            return false;
+        }
+        IRowCursor rows = cursor();
+        rows.moveTo(index++);
+        action.accept(rows);
+        return true;
+    }
+
+    @Override
+    public void forEachRemaining(Consumer<? super IRowCursor> action) {
+        if (action == null) {
+            throw new NullPointerException();
+        }
+        if (index >= fence) {
+            return;
+        }
+        IRowCursor rows = cursor();
+        int row = index;
+        // Consume the range first, as an action that throws must not see rows again
+        index = fence;
+        for (; row < fence; row++) {
+            rows.moveTo(row);
+            action.accept(rows);
+        }
+    }
+
+    @Override
+    public Spliterator<IRowCursor> trySplit() {
+        int middle = (index + fence) >>> 1;
+        if (index >= middle) {
+            return null;
+        }
+        RowSpliterator prefix = new RowSpliterator(table, index, middle);
+        index = middle;
+        return prefix;
+    }
+
+    @Override
+    public long estimateSize() {
+        return fence - index;
+    }
+
+    @Override
+    public int characteristics() {
+        return ORDERED | SIZED | SUBSIZED | NONNULL;
+    }
+}
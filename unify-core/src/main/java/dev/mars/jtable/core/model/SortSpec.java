@@ -0,0 +1,97 @@
+/*
+ * Copyright 2025 Mark Andrew Ray-Smith Cityline Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.mars.jtable.core.model;
+
+/**
+ * One column of a sort: the column, the direction and where its nulls go.
+ *
+ * Nulls sort before the other values unless {@link #nullsLast()} is used, whichever the
+ * direction. Specifications are immutable; {@link #nullsFirst()} and {@link #nullsLast()}
+ * return new ones.
+ *
+ * <pre>
+ * int[] order = table.sort(SortSpec.ascending("City"), SortSpec.descending("Salary").nullsLast());
+ * </pre>
+ */
+public final class SortSpec {
+    private final String columnName;
+    private final boolean descending;
+    private final boolean nullsLast;
+
+    private SortSpec(String columnName, boolean descending, boolean nullsLast) {
+        if (columnName == null) {
+            throw new IllegalArgumentException("Column name cannot be null");
+        }
+        this.columnName = columnName;
+        this.descending = descending;
+        this.nullsLast = nullsLast;
+    }
+
+    /**
+     * Sorts by the given column from the smallest value to the largest.
+     *
+     * @param columnName the name of the column
+     * @return a new specification
+     */
+    public static SortSpec ascending(String columnName) {
+        return new SortSpec(columnName, false, false);
+    }
+
+    /**
+     * Sorts by the given column from the largest value to the smallest.
+     *
+     * @param columnName the name of the column
+     * @return a new specification
+     */
+    public static SortSpec descending(String columnName) {
+        return new SortSpec(columnName, true, false);
+    }
+
+    /**
+     * Puts the rows with a null in the column before the others.
+     *
+     * @return a new specification
+     */
+    public SortSpec nullsFirst() {
+        return new SortSpec(columnName, descending, false);
+    }
+
+    /**
+     * Puts the rows with a null in the column after the others.
+     *
+     * @return a new specification
+     */
+    public SortSpec nullsLast() {
+        return new SortSpec(columnName, descending, true);
+    }
+
+    public String getColumnName() {
+        return columnName;
+    }
+
+    public boolean isDescending() {
+        return descending;
+    }
+
+    public boolean isNullsLast() {
+        return nullsLast;
+    }
+
+    @Override
+    public String toString() {
+        return columnName + (descending ? " DESC" : " ASC") + (nullsLast ? " NULLS LAST" : " NULLS FIRST");
+    }
+}
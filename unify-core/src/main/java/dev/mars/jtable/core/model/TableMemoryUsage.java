@@ -0,0 +1,203 @@
+/*
+ * Copyright 2025 Mark Andrew Ray-Smith Cityline Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.mars.jtable.core.model;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * An estimate of the memory a table holds, as returned by {@link ITable#estimateMemoryUsage()}.
+ *
+ * The estimate is broken down into the memory of the rows themselves (row objects and the
+ * structures that hold them) and, for each column, the memory of its values, of the decimal
+ * scales kept to format its doubles, of its indexes and of its statistics. Memory outside the
+ * Java heap is reported separately. The figures are computed from the sizes of objects on a
+ * 64-bit JVM with compressed references, so they are estimates rather than measurements.
+ */
+public final class TableMemoryUsage {
+    private final String tableName;
+    private final int rowCount;
+    private final long rowBytes;
+    private final long offHeapBytes;
+    private final List<Column> columns;
+
+    /**
+     * Creates an estimate for a table.
+     *
+     * @param tableName the name of the table
+     * @param rowCount the number of rows
+     * @param rowBytes the heap bytes held by the rows and not by any one column
+     * @param offHeapBytes the bytes held outside the heap
+     * @param columns the estimates for the columns, in column order
+     */
+    public TableMemoryUsage(String tableName, int rowCount, long rowBytes, long offHeapBytes, List<Column> columns) {
+        this.tableName = tableName;
+        this.rowCount = rowCount;
+        this.rowBytes = rowBytes;
+        this.offHeapBytes = offHeapBytes;
+        this.columns = Collections.unmodifiableList(new ArrayList<>(columns));
+    }
+
+    public String getTableName() {
+        return tableName;
+    }
+
+    public int getRowCount() {
+        return rowCount;
+    }
+
+    /**
+     * Gets the heap bytes held by the rows and not by any one column, such as row objects
+     * and the lists holding them.
+     *
+     * @return the number of bytes
+     */
+    public long getRowBytes() {
+        return rowBytes;
+    }
+
+    /**
+     * Gets the bytes held outside the Java heap.
+     *
+     * @return the number of bytes
+     */
+    public long getOffHeapBytes() {
+        return offHeapBytes;
+    }
+
+    /**
+     * Gets the estimates for the columns, in column order.
+     *
+     * @return an unmodifiable list of the column estimates
+     */
+    public List<Column> getColumns() {
+        return columns;
+    }
+
+    /**
+     * Gets the estimate for the column with the given name.
+     *
+     * @param columnName the name of the column
+     * @return the estimate, or null if the table has no such column
+     */
+    public Column getColumn(String columnName) {
+        for (Column column : columns) {
+            if (column.getColumnName().equals(columnName)) {
+                return column;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Gets the heap bytes held by the table: the rows plus every column.
+     *
+     * @return the number of bytes
+     */
+    public long getHeapBytes() {
+        long total = rowBytes;
+        for (Column column : columns) {
+            total += column.getTotalBytes();
+        }
+        return total;
+    }
+
+    /**
+     * Gets the bytes held by the table on and off the heap.
+     *
+     * @return the number of bytes
+     */
+    public long getTotalBytes() {
+        return getHeapBytes() + offHeapBytes;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder report = new StringBuilder();
+        report.append(tableName).append(": ").append(rowCount).append(" rows, ")
+                .append(getTotalBytes()).append(" bytes (rows ").append(rowBytes)
+                .append(", off-heap ").append(offHeapBytes).append(')');
+        for (Column column : columns) {
+            report.append(System.lineSeparator()).append("  ").append(column);
+        }
+        return report.toString();
+    }
+
+    /**
+     * The estimated heap memory held by one column of a table.
+     */
+    public static final class Column {
+        private final String columnName;
+        private final long valueBytes;
+        private final long decimalScaleBytes;
+        private final long indexBytes;
+        private final long statisticsBytes;
+
+        /**
+         * Creates an estimate for a column.
+         *
+         * @param columnName the name of the column
+         * @param valueBytes the bytes held by the values, including the storage they are kept in
+         * @param decimalScaleBytes the bytes held by the decimal scales of double values
+         * @param indexBytes the bytes held by indexes on the column
+         * @param statisticsBytes the bytes held by statistics such as zone maps and Bloom filters
+         */
+        public Column(String columnName, long valueBytes, long decimalScaleBytes, long indexBytes, long statisticsBytes) {
+            this.columnName = columnName;
+            this.valueBytes = valueBytes;
+            this.decimalScaleBytes = decimalScaleBytes;
+            this.indexBytes = indexBytes;
+            this.statisticsBytes = statisticsBytes;
+        }
+
+        public String getColumnName() {
+            return columnName;
+        }
+
+        public long getValueBytes() {
+            return valueBytes;
+        }
+
+        public long getDecimalScaleBytes() {
+            return decimalScaleBytes;
+        }
+
+        public long getIndexBytes() {
+            return indexBytes;
+        }
+
+        public long getStatisticsBytes() {
+            return statisticsBytes;
+        }
+
+        /**
+         * Gets the heap bytes held by the column.
+         *
+         * @return the number of bytes
+         */
+        public long getTotalBytes() {
+            return valueBytes + decimalScaleBytes + indexBytes + statisticsBytes;
+        }
+
+        @Override
+        public String toString() {
+            return columnName + ": " + getTotalBytes() + " bytes (values " + valueBytes
+                    + ", decimal scales " + decimalScaleBytes + ", indexes " + indexBytes
+                    + ", statistics " + statisticsBytes + ')';
+        }
+    }
+}
@@ -0,0 +1,247 @@
+/*
+ * Copyright 2025 Mark Andrew Ray-Smith Cityline Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.mars.jtable.core.table;
+
+import dev.mars.jtable.core.model.ICell;
+import dev.mars.jtable.core.model.IColumn;
+import dev.mars.jtable.core.model.IRow;
+import dev.mars.jtable.core.model.ITable;
+import dev.mars.jtable.core.model.ITableSchema;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A row that stores its raw values in an array indexed by column ordinal.
+ *
+ * All rows of a table share the table's {@link ITableSchema}, so a row costs one object and
+ * one array rather than a hash map plus a Cell per value. Cells are only materialised, as
+ * lightweight views onto the array, when {@link #getCell(String)} or {@link #getCells()}
+ * is called.
+ */
+public class ArrayRow implements IRow {
+    // Marks a slot that holds an explicit null, as opposed to a slot that was never set
+    private static final Object NULL_VALUE = new Object();
+
+    private final ITable table;
+    private ITableSchema schema;
+    private Object[] values;
+
+    /**
+     * Creates a new, empty row for the given table.
+     *
+     * @param table the table this row belongs to
+     * @param schema the current schema of the table
+     */
+    public ArrayRow(ITable table, ITableSchema schema) {
+        this.table = table;
+        this.schema = schema;
+        this.values = new Object[schema.getColumnCount()];
+    }
+
+    private ArrayRow(ITable table, ITableSchema schema, Object[] values) {
+        this.table = table;
+        this.schema = schema;
+        this.values = values;
+    }
+
+    /**
+     * Creates a row holding the given values, where a null value is an explicit null.
+     *
+     * @param table the table this row belongs to
+     * @param schema the schema the values are ordered by
+     * @param values the values, indexed by column ordinal; the row takes ownership of the array
+     * @return the new row
+     */
+    static ArrayRow of(ITable table, ITableSchema schema, Object[] values) {
+        for (int i = 0; i < values.length; i++) {
+            if (values[i] == null) {
+                values[i] = NULL_VALUE;
+            }
+        }
+        return new ArrayRow(table, schema, values);
+    }
+
+    /**
+     * Creates a copy of this row that can be changed without affecting this one.
+     *
+     * @return the copy
+     */
+    ArrayRow copy() {
+        return new ArrayRow(table, schema, values.clone());
+    }
+
+    /**
+     * Gets the value of the column with the given name.
+     *
+     * @param columnName the name of the column
+     * @return the value, or null if the value is null or has not been set
+     */
+    public Object getValue(String columnName) {
+        int ordinal = schema.indexOf(columnName);
+        return ordinal < 0 ? null : getValue(ordinal);
+    }
+
+    /**
+     * Gets the value at the given column ordinal.
+     *
+     * @param ordinal the column ordinal in this row's schema
+     * @return the value, or null if the value is null or has not been set
+     */
+    public Object getValue(int ordinal) {
+        Object value = ordinal < values.length ? values[ordinal] : null;
+        return value == NULL_VALUE ? null : value;
+    }
+
+    /**
+     * Gets the value at the given ordinal of a table schema, which may be newer than the
+     * schema this row was created with.
+     *
+     * @param tableSchema the schema the ordinal refers to
+     * @param ordinal the column ordinal in that schema
+     * @return the value, or null if the value is null or has not been set
+     */
+    Object getValue(ITableSchema tableSchema, int ordinal) {
+        return tableSchema == schema ? getValue(ordinal) : getValue(tableSchema.getColumnName(ordinal));
+    }
+
+    private boolean hasValue(int ordinal) {
+        return ordinal < values.length && values[ordinal] != null;
+    }
+
+    /**
+     * Resolves the ordinal of a column, following the table's schema if columns were
+     * added or replaced since this row was created.
+     */
+    private int ordinalFor(String columnName) {
+        int ordinal = schema.indexOf(columnName);
+        ITableSchema current = table.getSchema();
+        if (ordinal < 0 && current != schema) {
+            rebase(current);
+            ordinal = schema.indexOf(columnName);
+        }
+        return ordinal;
+    }
+
+    /**
+     * Moves the values to a newer schema in place. The tables only change a stored row they
+     * own outright, copying one shared with a snapshot first, so no reader sees the new
+     * schema paired with the old values.
+     */
+    private void rebase(ITableSchema newSchema) {
+        Object[] rebased = new Object[newSchema.getColumnCount()];
+        for (int i = 0; i < values.length; i++) {
+            if (values[i] != null) {
+                int ordinal = newSchema.indexOf(schema.getColumnName(i));
+                if (ordinal >= 0) {
+                    rebased[ordinal] = values[i];
+                }
+            }
+        }
+        schema = newSchema;
+        values = rebased;
+    }
+
+    private void store(int ordinal, Object value) {
+        IColumn<?> column = schema.getColumn(ordinal);
+        // Like Row, a value is validated when it replaces an existing one;
+        // new values are validated when the row is added to the table
+        if (hasValue(ordinal) && !column.isValidValue(value)) {
+            throw new IllegalArgumentException("Invalid value for column: " + column.getName());
+        }
+        values[ordinal] = value == null ? NULL_VALUE : value;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> ICell<T> getCell(IColumn<T> column) {
+        return (ICell<T>) getCell(column.getName());
+    }
+
+    @Override
+    public ICell<?> getCell(String columnName) {
+        int ordinal = schema.indexOf(columnName);
+        return ordinal >= 0 && hasValue(ordinal) ? new ArrayCell<>(ordinal) : null;
+    }
+
+    @Override
+    public <T> void setValue(IColumn<T> column, T value) {
+        setValue(column.getName(), value);
+    }
+
+    @Override
+    public void setValue(String columnName, Object value) {
+        int ordinal = ordinalFor(columnName);
+        if (ordinal < 0) {
+            throw new IllegalArgumentException("Column does not exist: " + columnName);
+        }
+        store(ordinal, value);
+    }
+
+    @Override
+    public List<ICell<?>> getCells() {
+        List<ICell<?>> cells = new ArrayList<>(values.length);
+        for (int i = 0; i < values.length; i++) {
+            if (values[i] != null) {
+                cells.add(new ArrayCell<>(i));
+            }
+        }
+        return cells;
+    }
+
+    @Override
+    public ITable getTable() {
+        return table;
+    }
+
+    /**
+     * A cell view onto one slot of the row's value array.
+     */
+    private class ArrayCell<T> implements ICell<T> {
+        private final int ordinal;
+
+        ArrayCell(int ordinal) {
+            this.ordinal = ordinal;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public T getValue() {
+            return (T) ArrayRow.this.getValue(ordinal);
+        }
+
+        @Override
+        public void setValue(T value) {
+            IColumn<?> column = schema.getColumn(ordinal);
+            if (!column.isValidValue(value)) {
+                throw new IllegalArgumentException("Invalid value for column: " + column.getName());
+            }
+            values[ordinal] = value == null ? NULL_VALUE : value;
+        }
+
+        @Override
+        public String getValueAsString() {
+            Object value = ArrayRow.this.getValue(ordinal);
+            return value == null ? "" : value.toString();
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public IColumn<T> getColumn() {
+            return (IColumn<T>) schema.getColumn(ordinal);
+        }
+    }
+}
@@ -0,0 +1,440 @@
+/*
+ * Copyright 2025 Mark Andrew Ray-Smith Cityline Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.mars.jtable.core.table;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+import java.util.RandomAccess;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.IntConsumer;
+import java.util.function.UnaryOperator;
+
+/**
+ * A thread-safe, append-only list stored in fixed-size chunks.
+ *
+ * Appending never copies existing elements: each appender makes sure the chunk for the next
+ * index exists (allocating it if it is the first to need it), claims the index from an
+ * atomic counter, writes into the chunk and then advances the published size over every
+ * contiguous written slot, including slots written by other appenders. Nothing that can
+ * fail runs between claiming a slot and writing it. {@link #size()} therefore always
+ * describes a fully written prefix and readers never see a gap, while no appender ever
+ * waits for another.
+ * Only installing a new chunk, once per {@value #CHUNK_SIZE} elements, takes a lock.
+ *
+ * {@link #snapshot(Function)} takes a frozen view in constant time: the view shares every
+ * full chunk and copies only the partly filled last one. Afterwards, {@link #update} copies
+ * an element, and the chunk holding it, before the first change that the view could see.
+ *
+ * Elements cannot be null or removed, and are only replaced through {@link #update}.
+ *
+ * @param <E> the type of elements in the list
+ */
+final class ChunkedRowList<E> extends AbstractList<E> implements RandomAccess {
+    static final int CHUNK_SHIFT = 10;
+    static final int CHUNK_SIZE = 1 << CHUNK_SHIFT;
+    private static final int CHUNK_MASK = CHUNK_SIZE - 1;
+    private static final int INITIAL_DIRECTORY_SIZE = 16;
+    private static final VarHandle SLOT = MethodHandles.arrayElementVarHandle(Object[].class);
+
+    // Next index to be claimed by an appender
+    private final AtomicInteger claimed = new AtomicInteger();
+    // Number of elements visible to readers; always a written prefix of the claimed indices
+    private final AtomicInteger published = new AtomicInteger();
+    private volatile AtomicReferenceArray<Object[]> chunks;
+
+    // Updates share the read lock so that a snapshot never sees an update half applied
+    private final StampedLock snapshotLock = new StampedLock();
+    // Elements below this index may be shared with a snapshot
+    private volatile int frozenSize;
+    // The following are guarded by this list's monitor
+    private int sharedChunks;
+    private boolean directoryShared;
+    private BitSet copiedElements = new BitSet();
+    private BitSet copiedChunks = new BitSet();
+
+    /**
+     * Creates a new, empty list.
+     */
+    ChunkedRowList() {
+        this(0);
+    }
+
+    /**
+     * Creates a new, empty list with its chunk directory sized for the given capacity.
+     *
+     * @param initialCapacity the expected number of elements
+     */
+    ChunkedRowList(int initialCapacity) {
+        int chunkCount = (Math.max(0, initialCapacity) + CHUNK_SIZE - 1) >>> CHUNK_SHIFT;
+        this.chunks = new AtomicReferenceArray<>(Math.max(INITIAL_DIRECTORY_SIZE, chunkCount));
+    }
+
+    /**
+     * Appends an element and returns the index it was stored at. The element becomes
+     * visible to readers once every element before it has been written.
+     *
+     * @param element the element to append
+     * @return the index of the element
+     */
+    int append(E element) {
+        return append(element, null);
+    }
+
+    /**
+     * Appends an element, running the given action with the element's index before the
+     * element becomes visible, so that state the action records for that index is visible
+     * to every reader of the element.
+     *
+     * @param element the element to append
+     * @param beforePublish the action to run with the index, or null
+     * @return the index of the element
+     */
+    int append(E element, IntConsumer beforePublish) {
+        if (element == null) {
+            throw new IllegalArgumentException("Row cannot be null");
+        }
+        // Nothing that can fail runs between claiming the slot and filling it, or later
+        // elements would never publish, so the chunk is installed before the claim
+        int index;
+        Object[] chunk;
+        do {
+            index = claimed.get();
+            checkCapacity(index, 1);
+            chunk = chunkFor(index);
+        } while (!claimed.compareAndSet(index, index + 1));
+        try {
+            if (beforePublish != null) {
+                beforePublish.accept(index);
+            }
+        } finally {
+            // The slot must be filled even if the action fails, or later elements never publish
+            SLOT.setRelease(chunk, index & CHUNK_MASK, element);
+            publishWrittenSlots();
+        }
+        return index;
+    }
+
+    /**
+     * Appends a run of elements that become visible together, running the given action with
+     * the index of the first element before any of them is visible.
+     *
+     * @param elements the elements to append
+     * @param beforePublish the action to run with the index of the first element, or null
+     * @return the index of the first element
+     */
+    int appendAll(E[] elements, IntConsumer beforePublish) {
+        for (E element : elements) {
+            if (element == null) {
+                throw new IllegalArgumentException("Row cannot be null");
+            }
+        }
+        int count = elements.length;
+        if (count == 0) {
+            return claimed.get();
+        }
+        // Install every chunk the run needs before claiming it, as in append
+        int first;
+        int firstChunk;
+        Object[][] runChunks;
+        do {
+            first = claimed.get();
+            checkCapacity(first, count);
+            firstChunk = first >>> CHUNK_SHIFT;
+            runChunks = new Object[((first + count - 1) >>> CHUNK_SHIFT) - firstChunk + 1][];
+            for (int chunk = 0; chunk < runChunks.length; chunk++) {
+                runChunks[chunk] = chunkFor(Math.max(first, (firstChunk + chunk) << CHUNK_SHIFT));
+            }
+        } while (!claimed.compareAndSet(first, first + count));
+        try {
+            if (beforePublish != null) {
+                beforePublish.accept(first);
+            }
+        } finally {
+            // Publishing stops at the first empty slot, so filling the run from its end keeps
+            // every element hidden until the first one, written last, releases them all
+            for (int i = count - 1; i >= 0; i--) {
+                int index = first + i;
+                SLOT.setRelease(runChunks[(index >>> CHUNK_SHIFT) - firstChunk], index & CHUNK_MASK, elements[i]);
+            }
+            publishWrittenSlots();
+        }
+        return first;
+    }
+
+    private static void checkCapacity(int first, int count) {
+        if (count > Integer.MAX_VALUE - first) {
+            throw new IllegalStateException("Row store cannot hold more than " + Integer.MAX_VALUE + " rows");
+        }
+    }
+
+    /**
+     * Advances the published size past every contiguous written slot. Whichever appender
+     * fills the lowest unpublished slot publishes the slots written after it, so the size
+     * catches up without any appender waiting for a slower one. The size jumps over each
+     * run of written slots in one step, so a run appended together becomes visible at once.
+     */
+    private void publishWrittenSlots() {
+        int size = published.get();
+        while (true) {
+            int end = size;
+            while (isWritten(end)) {
+                end++;
+            }
+            if (end == size) {
+                return;
+            }
+            if (published.compareAndSet(size, end)) {
+                size = end;
+            } else {
+                size = published.get();
+            }
+        }
+    }
+
+    private boolean isWritten(int index) {
+        AtomicReferenceArray<Object[]> directory = chunks;
+        int chunkIndex = index >>> CHUNK_SHIFT;
+        if (index < 0 || chunkIndex >= directory.length()) {
+            return false;
+        }
+        Object[] chunk = directory.get(chunkIndex);
+        return chunk != null && SLOT.getAcquire(chunk, index & CHUNK_MASK) != null;
+    }
+
+    private Object[] chunkFor(int index) {
+        int chunkIndex = index >>> CHUNK_SHIFT;
+        AtomicReferenceArray<Object[]> directory = chunks;
+        if (chunkIndex < directory.length()) {
+            Object[] chunk = directory.get(chunkIndex);
+            if (chunk != null) {
+                return chunk;
+            }
+        }
+        return installChunk(chunkIndex);
+    }
+
+    /**
+     * Installs the chunk with the given index, growing the directory if needed. This runs
+     * once per chunk, so the lock is rarely taken; holding it means a directory copy can
+     * never miss a chunk installed concurrently.
+     */
+    private synchronized Object[] installChunk(int chunkIndex) {
+        AtomicReferenceArray<Object[]> directory = chunks;
+        if (chunkIndex >= directory.length()) {
+            AtomicReferenceArray<Object[]> grown = new AtomicReferenceArray<>(
+                    Math.max(chunkIndex + 1, directory.length() * 2));
+            for (int i = 0; i < directory.length(); i++) {
+                grown.set(i, directory.get(i));
+            }
+            chunks = grown;
+            directory = grown;
+            directoryShared = false;
+        }
+        Object[] chunk = directory.get(chunkIndex);
+        if (chunk == null) {
+            chunk = new Object[CHUNK_SIZE];
+            directory.set(chunkIndex, chunk);
+        }
+        return chunk;
+    }
+
+    /**
+     * Applies a change to the element at the given index. If a snapshot may share the
+     * element, the change is applied to a copy that replaces it instead.
+     *
+     * @param index the index of the element
+     * @param copier makes a copy of an element that can be changed independently
+     * @param change the change to apply
+     */
+    void update(int index, UnaryOperator<E> copier, Consumer<? super E> change) {
+        long stamp = snapshotLock.readLock();
+        try {
+            E element = get(index);
+            if (index < frozenSize) {
+                element = ownedElement(index, copier);
+            }
+            change.accept(element);
+        } finally {
+            snapshotLock.unlockRead(stamp);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private synchronized E ownedElement(int index, UnaryOperator<E> copier) {
+        int chunkIndex = index >>> CHUNK_SHIFT;
+        Object[] chunk = chunks.get(chunkIndex);
+        if (copiedElements.get(index)) {
+            return (E) chunk[index & CHUNK_MASK];
+        }
+        if (chunkIndex < sharedChunks && !copiedChunks.get(chunkIndex)) {
+            // Full chunks have no appenders left, so a copy cannot miss a write
+            AtomicReferenceArray<Object[]> directory = chunks;
+            if (directoryShared) {
+                AtomicReferenceArray<Object[]> copy = new AtomicReferenceArray<>(directory.length());
+                for (int i = 0; i < directory.length(); i++) {
+                    copy.set(i, directory.get(i));
+                }
+                directory = copy;
+                directoryShared = false;
+            }
+            chunk = chunk.clone();
+            directory.set(chunkIndex, chunk);
+            chunks = directory;
+            copiedChunks.set(chunkIndex);
+        }
+        E copy = copier.apply((E) chunk[index & CHUNK_MASK]);
+        SLOT.setRelease(chunk, index & CHUNK_MASK, copy);
+        copiedElements.set(index);
+        return copy;
+    }
+
+    /**
+     * Takes a frozen view of the published elements, which later appends and updates do
+     * not change, and passes it to the given function. No update runs while the function
+     * does, so state the function captures alongside the view is consistent with it.
+     *
+     * @param builder builds the result from the frozen view
+     * @param <S> the type of the result
+     * @return the result of the builder
+     */
+    <S> S snapshot(Function<List<E>, S> builder) {
+        long stamp = snapshotLock.writeLock();
+        try {
+            List<E> view;
+            synchronized (this) {
+                int size = published.get();
+                AtomicReferenceArray<Object[]> directory = chunks;
+                int fullChunks = size >>> CHUNK_SHIFT;
+                // Appenders may still write to the last chunk, so the view gets its own copy
+                Object[] tail = (size & CHUNK_MASK) == 0
+                        ? null : Arrays.copyOf(directory.get(fullChunks), size & CHUNK_MASK);
+                view = new FrozenView<>(directory, tail, size);
+
+                frozenSize = size;
+                sharedChunks = fullChunks;
+                directoryShared = true;
+                copiedElements = new BitSet();
+                copiedChunks = new BitSet();
+            }
+            return builder.apply(view);
+        } finally {
+            snapshotLock.unlockWrite(stamp);
+        }
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public E get(int index) {
+        if (index < 0 || index >= published.get()) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + published.get());
+        }
+        return (E) chunks.get(index >>> CHUNK_SHIFT)[index & CHUNK_MASK];
+    }
+
+    @Override
+    public boolean add(E element) {
+        append(element);
+        return true;
+    }
+
+    @Override
+    public int size() {
+        return published.get();
+    }
+
+    @Override
+    public Object[] toArray() {
+        // Copy a single consistent prefix, chunk by chunk
+        int size = published.get();
+        Object[] result = new Object[size];
+        AtomicReferenceArray<Object[]> directory = chunks;
+        for (int from = 0; from < size; from += CHUNK_SIZE) {
+            System.arraycopy(directory.get(from >>> CHUNK_SHIFT), 0, result, from, Math.min(CHUNK_SIZE, size - from));
+        }
+        return result;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T[] toArray(T[] a) {
+        Object[] elements = toArray();
+        if (a.length < elements.length) {
+            return (T[]) Arrays.copyOf(elements, elements.length, a.getClass());
+        }
+        System.arraycopy(elements, 0, a, 0, elements.length);
+        if (a.length > elements.length) {
+            a[elements.length] = null;
+        }
+        return a;
+    }
+
+    /**
+     * Estimates the heap bytes held by the list, without its elements.
+     *
+     * @return the number of bytes
+     */
+    long estimateBytes() {
+        AtomicReferenceArray<Object[]> directory = chunks;
+        long bytes = MemoryEstimator.object(4 * MemoryEstimator.REFERENCE)
+                + MemoryEstimator.object(MemoryEstimator.REFERENCE)
+                + MemoryEstimator.array(directory.length(), MemoryEstimator.REFERENCE);
+        for (int chunk = 0; chunk < directory.length(); chunk++) {
+            if (directory.get(chunk) != null) {
+                bytes += MemoryEstimator.array(CHUNK_SIZE, MemoryEstimator.REFERENCE);
+            }
+        }
+        return bytes;
+    }
+
+    /**
+     * An immutable view of a prefix of the list, sharing the list's full chunks.
+     */
+    private static final class FrozenView<E> extends AbstractList<E> implements RandomAccess {
+        private final AtomicReferenceArray<Object[]> directory;
+        private final Object[] tail;
+        private final int size;
+
+        FrozenView(AtomicReferenceArray<Object[]> directory, Object[] tail, int size) {
+            this.directory = directory;
+            this.tail = tail;
+            this.size = size;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public E get(int index) {
+            if (index < 0 || index >= size) {
+                throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+            }
+            int chunkIndex = index >>> CHUNK_SHIFT;
+            Object[] chunk = tail != null && chunkIndex == size >>> CHUNK_SHIFT ? tail : directory.get(chunkIndex);
+            return (E) chunk[index & CHUNK_MASK];
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+    }
+}
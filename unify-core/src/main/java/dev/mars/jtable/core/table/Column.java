@@ -116,6 +116,8 @@ public class Column<T> implements IColumn<T> {
             return (T) value;
         } else if (type == Integer.class) {
             return (T) Integer.valueOf(value);
+        } else if (type == Long.class) {
+            return (T) Long.valueOf(value);
         } else if (type == Double.class) {
             return (T) Double.valueOf(value);
         } else if (type == Boolean.class) {
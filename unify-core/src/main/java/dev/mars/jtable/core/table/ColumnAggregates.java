@@ -0,0 +1,106 @@
+/*
+ * Copyright 2025 Mark Andrew Ray-Smith Cityline Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.mars.jtable.core.table;
+
+import dev.mars.jtable.core.model.IColumn;
+import dev.mars.jtable.core.model.IRowCursor;
+import dev.mars.jtable.core.model.ITable;
+
+import java.util.DoubleSummaryStatistics;
+
+/**
+ * Aggregates over the numeric columns of a table: count, sum, minimum, maximum and average
+ * of the non-null values, computed together in one pass.
+ *
+ * On a {@link ColumnarTableCore}, and on the wrappers and views that expose its vectors
+ * through {@link ColumnVectorSource}, the values are read straight from the column's primitive
+ * storage in runs of consecutive non-null rows, with no boxing. Integral columns are summed
+ * as long, which is exact until a long column's sum would overflow; from there the sum
+ * continues as double, like the sum on other tables. Double columns are summed with several
+ * independent running sums so that the additions can be pipelined; the sum of a double
+ * column may therefore differ in its last bits from a left-to-right sum. Other tables are
+ * read through a cursor.
+ *
+ * Usage example:
+ * <pre>
+ * DoubleSummaryStatistics salaries = ColumnAggregates.summarize(table, "Salary");
+ * double average = salaries.getAverage();
+ *
+ * RowSelection london = TableQuery.from(table).where("City", TableQuery.Operator.EQUALS, "London").select();
+ * double londonTotal = ColumnAggregates.summarize(london, "Salary").getSum();
+ * </pre>
+ */
+public final class ColumnAggregates {
+
+    private ColumnAggregates() {
+    }
+
+    /**
+     * Summarizes the non-null values of a numeric column over every row of a table.
+     *
+     * @param table the table
+     * @param columnName the name of the numeric column
+     * @return the count, sum, minimum, maximum and average of the values
+     * @throws IllegalArgumentException if the column does not exist or is not numeric
+     */
+    public static DoubleSummaryStatistics summarize(ITable table, String columnName) {
+        if (table == null) {
+            throw new IllegalArgumentException("Table cannot be null");
+        }
+        return summarize(table, columnName, null, table.getRowCount());
+    }
+
+    /**
+     * Summarizes the non-null values of a numeric column over the rows of a selection.
+     *
+     * @param selection the selected rows
+     * @param columnName the name of the numeric column
+     * @return the count, sum, minimum, maximum and average of the values
+     * @throws IllegalArgumentException if the column does not exist or is not numeric
+     */
+    public static DoubleSummaryStatistics summarize(RowSelection selection, String columnName) {
+        if (selection == null) {
+            throw new IllegalArgumentException("Selection cannot be null");
+        }
+        return summarize(selection.getTable(), columnName, selection, selection.rowCount());
+    }
+
+    private static DoubleSummaryStatistics summarize(ITable table, String columnName, RowSelection selection, int rowCount) {
+        IColumn<?> column = columnName == null ? null : table.getColumn(columnName);
+        if (column == null) {
+            throw new IllegalArgumentException("Column does not exist: " + columnName);
+        }
+        if (!Number.class.isAssignableFrom(column.getType())) {
+            throw new IllegalArgumentException("Column is not numeric: " + columnName);
+        }
+        int ordinal = table.getSchema().indexOf(columnName);
+
+        ColumnVector vector = table instanceof ColumnVectorSource
+                ? ((ColumnVectorSource) table).columnVector(ordinal) : null;
+        if (vector != null) {
+            return vector.summarize(selection == null ? null : selection.bitmap(), rowCount);
+        }
+
+        DoubleSummaryStatistics statistics = new DoubleSummaryStatistics();
+        IRowCursor cursor = selection == null ? table.cursor() : selection.cursor();
+        while (cursor.next() && cursor.getRowIndex() < rowCount) {
+            if (!cursor.isNull(ordinal)) {
+                statistics.accept(cursor.getDouble(ordinal));
+            }
+        }
+        return statistics;
+    }
+}
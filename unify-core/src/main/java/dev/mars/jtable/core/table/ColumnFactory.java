@@ -52,6 +52,7 @@ import dev.mars.jtable.core.model.IColumn;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
+import java.util.Objects;
 
 /**
  * Factory for creating columns of different types.
@@ -62,10 +63,31 @@ public class ColumnFactory {
         return new Column<>(name, String.class, "");
     }
 
+    /**
+     * Creates a new dictionary-encoded string column with the given name.
+     * Each distinct value is stored once, which suits low-cardinality columns.
+     *
+     * @param name the name of the column
+     * @return a new dictionary-encoded string column
+     */
+    public static IColumn<String> createDictionaryStringColumn(String name) {
+        return new DictionaryColumn(name);
+    }
+
     public static IColumn<Integer> createIntegerColumn(String name) {
         return new Column<>(name, Integer.class, 0);
     }
 
+    /**
+     * Creates a new long column with the given name, for integers too large for an int column.
+     *
+     * @param name the name of the column
+     * @return a new long column
+     */
+    public static IColumn<Long> createLongColumn(String name) {
+        return new Column<>(name, Long.class, 0L);
+    }
+
     public static IColumn<Double> createDoubleColumn(String name) {
         return new Column<>(name, Double.class, 0.0);
     }
@@ -107,12 +129,69 @@ public class ColumnFactory {
         return new Column<>(name, LocalDateTime.class, LocalDateTime.now());
     }
 
+    /**
+     * Creates a column like the given one, for the tables that operations such as grouping,
+     * joining and sorting build from existing tables. A column of one of the factory's types
+     * is created through {@link #createColumn(String, String)}, so a dictionary-encoded column
+     * stays dictionary-encoded; the copy keeps the default value of the given column.
+     *
+     * @param column the column to copy
+     * @param name the name of the new column
+     * @return a new column of the same type, encoding and default value
+     */
+    @SuppressWarnings("unchecked")
+    static <T> IColumn<T> copyColumn(IColumn<T> column, String name) {
+        String type = typeName(column);
+        if (type != null) {
+            IColumn<?> copy = createColumn(name, type);
+            if (Objects.equals(copy.createDefaultValue(), column.createDefaultValue())) {
+                return (IColumn<T>) copy;
+            }
+        }
+        return new Column<>(name, column.getType(), column.createDefaultValue());
+    }
+
+    /**
+     * Gets the name {@link #createColumn(String, String)} creates a column like the given
+     * one from.
+     *
+     * @return the type name, or null if the column is not of one of the factory's types
+     */
+    private static String typeName(IColumn<?> column) {
+        if (column instanceof DictionaryColumn) {
+            return "string:dict";
+        }
+        Class<?> type = column.getType();
+        if (type == String.class) {
+            return "string";
+        } else if (type == Integer.class) {
+            return "int";
+        } else if (type == Long.class) {
+            return "long";
+        } else if (type == Double.class) {
+            return "double";
+        } else if (type == Boolean.class) {
+            return "boolean";
+        } else if (type == LocalDate.class) {
+            return "date";
+        } else if (type == LocalTime.class) {
+            return "time";
+        } else if (type == LocalDateTime.class) {
+            return "datetime";
+        }
+        return null;
+    }
+
     public static IColumn<?> createColumn(String name, String type) {
         switch (type.toLowerCase()) {
             case "string":
                 return createStringColumn(name);
+            case "string:dict":
+                return createDictionaryStringColumn(name);
             case "int":
                 return createIntegerColumn(name);
+            case "long":
+                return createLongColumn(name);
             case "double":
                 return createDoubleColumn(name);
             case "boolean":
@@ -0,0 +1,129 @@
+/*
+ * Copyright 2025 Mark Andrew Ray-Smith Cityline Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.mars.jtable.core.table;
+
+import dev.mars.jtable.core.model.IColumnIndex;
+
+/**
+ * Base class of the column indexes, holding the rows of each value in a RowIds set.
+ *
+ * All methods are synchronized, so an index can be maintained by concurrent appenders.
+ */
+abstract class ColumnIndex implements IColumnIndex {
+    static final int[] NO_ROWS = new int[0];
+
+    private final String columnName;
+
+    ColumnIndex(String columnName) {
+        this.columnName = columnName;
+    }
+
+    static boolean isIntegral(Object value) {
+        return value instanceof Integer || value instanceof Long || value instanceof Short || value instanceof Byte;
+    }
+
+    static boolean isIntegralType(Class<?> type) {
+        return type == Integer.class || type == Long.class || type == Short.class || type == Byte.class;
+    }
+
+    /**
+     * Compares two non-null values of a column. Numbers compare by value across boxed types,
+     * as long when both are integral and as double otherwise; other values use their
+     * natural ordering.
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    static int compareValues(Object a, Object b) {
+        if (a instanceof Number && b instanceof Number) {
+            if (isIntegral(a) && isIntegral(b)) {
+                return Long.compare(((Number) a).longValue(), ((Number) b).longValue());
+            }
+            return Double.compare(((Number) a).doubleValue(), ((Number) b).doubleValue());
+        }
+        return ((Comparable) a).compareTo(b);
+    }
+
+    /**
+     * Adds a row holding the given value.
+     *
+     * @param value the value, may be null
+     * @param row the row index
+     */
+    abstract void add(Object value, int row);
+
+    /**
+     * Removes a row that held the given value.
+     *
+     * @param value the value the row held, may be null
+     * @param row the row index
+     */
+    synchronized void remove(Object value, int row) {
+        RowIds rows = find(value);
+        if (rows != null) {
+            rows.remove(row);
+        }
+    }
+
+    /**
+     * Moves a row from one value to another, under a single lock, so that no lookup sees
+     * the row under neither value.
+     *
+     * @param row the row index
+     * @param oldValue the value the row held, may be null
+     * @param newValue the value the row now holds, may be null
+     */
+    synchronized void replace(int row, Object oldValue, Object newValue) {
+        remove(oldValue, row);
+        add(newValue, row);
+    }
+
+    /**
+     * Finds the rows holding the given value. Called with the index locked.
+     *
+     * @param value the value, may be null
+     * @return the rows, or null if the value has never been added
+     */
+    abstract RowIds find(Object value);
+
+    /**
+     * Estimates the heap bytes held by the index, including its keys.
+     *
+     * @return the number of bytes
+     */
+    abstract long estimateBytes();
+
+    @Override
+    public String getColumnName() {
+        return columnName;
+    }
+
+    @Override
+    public synchronized int[] lookup(Object value) {
+        RowIds rows = find(value);
+        return rows == null ? NO_ROWS : rows.toArray();
+    }
+
+    @Override
+    public synchronized int lookupFirst(Object value) {
+        RowIds rows = find(value);
+        return rows == null ? -1 : rows.first();
+    }
+
+    @Override
+    public synchronized int count(Object value) {
+        RowIds rows = find(value);
+        return rows == null ? 0 : rows.size();
+    }
+}
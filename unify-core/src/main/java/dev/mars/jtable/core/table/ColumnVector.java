@@ -0,0 +1,1416 @@
+/*
+ * Copyright 2025 Mark Andrew Ray-Smith Cityline Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.mars.jtable.core.table;
+
+import dev.mars.jtable.core.model.IColumn;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.DoubleSummaryStatistics;
+import java.util.function.Predicate;
+
+/**
+ * Storage for the values of a single column in a {@link ColumnarTableCore}.
+ *
+ * Each vector keeps its values in a typed primitive array where the column type allows it,
+ * plus a null bitmap. Values are boxed only when they are read through the generic
+ * {@link #get(int)} accessor.
+ *
+ * A vector and its {@link #snapshot(int) snapshots} share their storage copy-on-write, in the
+ * same way {@link ChunkedRowList} shares its chunks: rows appended later lie beyond every
+ * snapshot and are written in place, and the storage is copied only before a write reaches
+ * a row or statistic that a snapshot can still read.
+ */
+abstract class ColumnVector {
+    private final IColumn<?> column;
+    // Bit i is set when row i holds a null value
+    private BitSet nulls;
+    // Per-chunk statistics that let queries skip chunks, kept up to date on every write
+    private ZoneMap zoneMap;
+    // Rows whose values are shared with a snapshot, and whether the null mask and
+    // statistics are shared with one
+    private int sharedRows;
+    private boolean nullsShared;
+    private boolean zoneMapShared;
+
+    /**
+     * Creates a new vector for the given column.
+     *
+     * @param column the column whose values this vector stores
+     */
+    protected ColumnVector(IColumn<?> column) {
+        this.column = column;
+        this.nulls = new BitSet();
+        this.zoneMap = new ZoneMap(ZoneMap.kindFor(column.getType()));
+    }
+
+    /**
+     * Creates a vector that shares the null mask and statistics of another, for
+     * {@link #snapshot(int)}.
+     *
+     * @param source the vector to share with
+     */
+    protected ColumnVector(ColumnVector source) {
+        this.column = source.column;
+        this.nulls = source.nulls;
+        this.zoneMap = source.zoneMap;
+        this.nullsShared = true;
+        this.zoneMapShared = true;
+    }
+
+    /**
+     * Creates the heap vector that matches the type of the given column.
+     *
+     * @param column the column to create a vector for
+     * @param capacity the initial row capacity
+     * @return a new vector for the column
+     */
+    static ColumnVector forColumn(IColumn<?> column, int capacity) {
+        Class<?> type = column.getType();
+        if (type == Integer.class) {
+            return new IntVector(column, capacity);
+        } else if (type == Double.class) {
+            return new DoubleVector(column, capacity);
+        } else if (type == Boolean.class) {
+            return new BooleanVector(column, capacity);
+        }
+        LongCodec codec = LongCodec.forType(type);
+        if (codec != null) {
+            return new LongVector(column, codec, capacity);
+        }
+        if (column instanceof DictionaryColumn) {
+            return new StringVector(column, ((DictionaryColumn) column).getDictionary(), Integer.MAX_VALUE, capacity);
+        } else if (type == String.class) {
+            return new StringVector(column, new StringDictionary(), StringVector.AUTO_DICTIONARY_MAX_CARDINALITY, capacity);
+        }
+        return new ObjectVector(column, capacity);
+    }
+
+    /**
+     * Takes a snapshot of the first rows of this vector without copying them. The snapshot
+     * shares this vector's storage until one of them writes to it, and must not be written
+     * to at or beyond the given row.
+     *
+     * @param rowCount the number of rows in the table
+     * @return a vector that keeps the values the rows hold now
+     */
+    final ColumnVector snapshot(int rowCount) {
+        ColumnVector snapshot = shareStorage();
+        snapshot.sharedRows = rowCount;
+        sharedRows = Math.max(sharedRows, rowCount);
+        nullsShared = true;
+        zoneMapShared = true;
+        return snapshot;
+    }
+
+    /**
+     * Creates a vector of the same column over this vector's storage, for
+     * {@link #snapshot(int)}.
+     *
+     * @return the new vector
+     */
+    protected abstract ColumnVector shareStorage();
+
+    /**
+     * Replaces the storage of the values with a copy this vector owns outright.
+     */
+    protected abstract void copyStorage();
+
+    /**
+     * Copies the storage of the values before the given row is written, if a snapshot
+     * shares the value it holds. Writers call this before changing the storage.
+     *
+     * @param row the row about to be written
+     */
+    protected final void prepareWrite(int row) {
+        if (row < sharedRows) {
+            copyStorage();
+            sharedRows = 0;
+        }
+    }
+
+    private BitSet writableNulls() {
+        if (nullsShared) {
+            nulls = (BitSet) nulls.clone();
+            nullsShared = false;
+        }
+        return nulls;
+    }
+
+    private ZoneMap writableZoneMap() {
+        if (zoneMapShared) {
+            zoneMap = zoneMap.copy();
+            zoneMapShared = false;
+        }
+        return zoneMap;
+    }
+
+    /**
+     * Gets the column whose values this vector stores.
+     *
+     * @return the column
+     */
+    IColumn<?> getColumn() {
+        return column;
+    }
+
+    /**
+     * Gets the per-chunk statistics of this vector.
+     *
+     * @return the zone map
+     */
+    ZoneMap zoneMap() {
+        return zoneMap;
+    }
+
+    /**
+     * Starts keeping a Bloom filter per chunk of rows, so that equality conditions skip the
+     * chunks that do not hold the value, and adds the values already stored.
+     *
+     * @param rowCount the number of rows in the table
+     */
+    void enableBloomFilter(int rowCount) {
+        if (zoneMap.hasBloomFilter()) {
+            return;
+        }
+        writableZoneMap().enableBloomFilter();
+        for (int row = 0; row < rowCount; row++) {
+            if (!nulls.get(row)) {
+                recordValue(row);
+            }
+        }
+    }
+
+    /**
+     * Adds the value just stored at a non-null row to the zone map.
+     */
+    private void recordValue(int row) {
+        ZoneMap zoneMap = writableZoneMap();
+        switch (zoneMap.kind()) {
+            case LONG:
+                zoneMap.recordLong(row, encodedLongNonNull(row));
+                break;
+            case DOUBLE:
+                zoneMap.recordDouble(row, getDoubleNonNull(row));
+                break;
+            default:
+                if (zoneMap.hasBloomFilter()) {
+                    zoneMap.recordObject(row, getNonNull(row));
+                } else {
+                    zoneMap.recordRow(row);
+                }
+                break;
+        }
+    }
+
+    /**
+     * Gets the boxed value at the given row.
+     *
+     * @param row the row index
+     * @return the value, or null if the row holds a null value
+     */
+    Object get(int row) {
+        return nulls.get(row) ? null : getNonNull(row);
+    }
+
+    /**
+     * Gets the value at the given row as an int, without boxing where the storage allows it.
+     *
+     * @param row the row index
+     * @return the value, or 0 if the row holds a null value
+     * @throws IllegalArgumentException if the column is not numeric
+     */
+    int getInt(int row) {
+        return nulls.get(row) ? 0 : getIntNonNull(row);
+    }
+
+    /**
+     * Gets the value at the given row as a long, without boxing where the storage allows it.
+     *
+     * @param row the row index
+     * @return the value, or 0 if the row holds a null value
+     * @throws IllegalArgumentException if the column is not numeric
+     */
+    long getLong(int row) {
+        return nulls.get(row) ? 0L : getLongNonNull(row);
+    }
+
+    /**
+     * Gets the value at the given row as a double, without boxing where the storage allows it.
+     *
+     * @param row the row index
+     * @return the value, or 0 if the row holds a null value
+     * @throws IllegalArgumentException if the column is not numeric
+     */
+    double getDouble(int row) {
+        return nulls.get(row) ? 0.0 : getDoubleNonNull(row);
+    }
+
+    /**
+     * Gets the value at the given row as a boolean, without boxing where the storage allows it.
+     *
+     * @param row the row index
+     * @return the value, or false if the row holds a null value
+     * @throws IllegalArgumentException if the column is not boolean
+     */
+    boolean getBoolean(int row) {
+        return !nulls.get(row) && getBooleanNonNull(row);
+    }
+
+    /**
+     * Sets the value at the given row.
+     *
+     * @param row the row index
+     * @param value the value to set, may be null
+     */
+    void set(int row, Object value) {
+        if (value == null) {
+            if (!nulls.get(row)) {
+                writableNulls().set(row);
+                writableZoneMap().recordNull(row);
+            }
+        } else {
+            prepareWrite(row);
+            setNonNull(row, value);
+            clearNull(row);
+        }
+    }
+
+    /**
+     * Sets the value at the given row to an int, without boxing where the storage allows it.
+     *
+     * @param row the row index
+     * @param value the value to set
+     * @throws IllegalArgumentException if the column does not hold int values
+     */
+    void setInt(int row, int value) {
+        setValidated(row, value);
+    }
+
+    /**
+     * Sets the value at the given row to a long, without boxing where the storage allows it.
+     *
+     * @param row the row index
+     * @param value the value to set
+     * @throws IllegalArgumentException if the column does not hold long values
+     */
+    void setLong(int row, long value) {
+        setValidated(row, value);
+    }
+
+    /**
+     * Sets the value at the given row to a double, without boxing where the storage allows it.
+     *
+     * @param row the row index
+     * @param value the value to set
+     * @throws IllegalArgumentException if the column does not hold double values
+     */
+    void setDouble(int row, double value) {
+        setValidated(row, value);
+    }
+
+    /**
+     * Sets the value at the given row to a boolean, without boxing where the storage allows it.
+     *
+     * @param row the row index
+     * @param value the value to set
+     * @throws IllegalArgumentException if the column does not hold boolean values
+     */
+    void setBoolean(int row, boolean value) {
+        setValidated(row, value);
+    }
+
+    private void setValidated(int row, Object value) {
+        if (!column.isValidValue(value)) {
+            throw new IllegalArgumentException("Invalid value for column: " + column.getName());
+        }
+        set(row, value);
+    }
+
+    /**
+     * Marks the given row as holding a value, after a typed setter has stored it, and adds
+     * the value to the zone map.
+     *
+     * @param row the row index
+     */
+    protected void clearNull(int row) {
+        if (nulls.get(row)) {
+            writableNulls().clear(row);
+            writableZoneMap().recordNotNull(row);
+        }
+        recordValue(row);
+    }
+
+    /**
+     * Checks whether the given row holds a null value.
+     *
+     * @param row the row index
+     * @return true if the value is null
+     */
+    boolean isNull(int row) {
+        return nulls.get(row);
+    }
+
+    /**
+     * Marks a range of rows as null.
+     *
+     * @param fromRow the first row index (inclusive)
+     * @param toRow the last row index (exclusive)
+     */
+    void setNull(int fromRow, int toRow) {
+        if (fromRow >= toRow) {
+            return;
+        }
+        ZoneMap zoneMap = writableZoneMap();
+        for (int row = nulls.nextClearBit(fromRow); row < toRow; row = nulls.nextClearBit(row + 1)) {
+            zoneMap.recordNull(row);
+        }
+        writableNulls().set(fromRow, toRow);
+    }
+
+    /**
+     * Ensures the vector can hold at least the given number of rows.
+     *
+     * @param capacity the required capacity
+     */
+    abstract void ensureCapacity(int capacity);
+
+    /**
+     * Estimates the heap bytes held by the vector: its values, its null mask and the vector
+     * itself, but not its statistics.
+     *
+     * @return the number of bytes
+     */
+    long estimateBytes() {
+        long nullMask = MemoryEstimator.object(MemoryEstimator.REFERENCE + 5)
+                + MemoryEstimator.array(nulls.size() >>> 6, 8);
+        return MemoryEstimator.object(3 * MemoryEstimator.REFERENCE) + nullMask + storageBytes();
+    }
+
+    /**
+     * Estimates the heap bytes held by the storage of the values.
+     *
+     * @return the number of bytes
+     */
+    protected abstract long storageBytes();
+
+    protected abstract Object getNonNull(int row);
+
+    protected abstract void setNonNull(int row, Object value);
+
+    // The typed accessors below fall back to the boxed value; primitive vectors override them
+
+    protected int getIntNonNull(int row) {
+        return numberAt(row).intValue();
+    }
+
+    protected long getLongNonNull(int row) {
+        return numberAt(row).longValue();
+    }
+
+    protected double getDoubleNonNull(int row) {
+        return numberAt(row).doubleValue();
+    }
+
+    protected boolean getBooleanNonNull(int row) {
+        Object value = getNonNull(row);
+        if (!(value instanceof Boolean)) {
+            throw new IllegalArgumentException("Column is not boolean: " + column.getName());
+        }
+        return (Boolean) value;
+    }
+
+    private Number numberAt(int row) {
+        Object value = getNonNull(row);
+        if (!(value instanceof Number)) {
+            throw new IllegalArgumentException("Column is not numeric: " + column.getName());
+        }
+        return (Number) value;
+    }
+
+    /**
+     * Gets the codec of a vector that stores its values as longs.
+     *
+     * @return the codec, or null if the values are not stored as longs
+     */
+    LongCodec longCodec() {
+        return null;
+    }
+
+    /**
+     * Gets the long stored for a non-null row of a vector with a {@link #longCodec()}, or
+     * the numeric value as a long for other vectors.
+     */
+    protected long encodedLongNonNull(int row) {
+        return getLongNonNull(row);
+    }
+
+    // Selection kernels used by TableQuery. A selection holds one bit per row, 64 rows to a
+    // long; each kernel clears the bits of selected rows that do not match, and rows holding
+    // null match only selectNulls.
+
+    /**
+     * Keeps the selected rows that hold null, or those that do not.
+     *
+     * @param selection the selection to narrow
+     * @param keepNulls true to keep the null rows, false to keep the others
+     */
+    void selectNulls(long[] selection, boolean keepNulls) {
+        long[] nullWords = nulls.toLongArray();
+        for (int word = 0; word < selection.length; word++) {
+            long isNull = word < nullWords.length ? nullWords[word] : 0L;
+            selection[word] &= keepNulls ? isNull : ~isNull;
+        }
+    }
+
+    /**
+     * Keeps the selected rows whose {@link #encodedLongNonNull(int)} value lies between the
+     * bounds inclusive, or outside them.
+     *
+     * @param selection the selection to narrow
+     * @param rowCount the number of rows in the table
+     * @param low the lower bound
+     * @param high the upper bound
+     * @param outside true to keep the rows outside the bounds instead
+     */
+    void selectLongRange(long[] selection, int rowCount, long low, long high, boolean outside) {
+        selectNulls(selection, false);
+        for (int word = 0; word < selection.length; word++) {
+            long keep = 0;
+            for (long bits = selection[word]; bits != 0; bits &= bits - 1) {
+                int bit = Long.numberOfTrailingZeros(bits);
+                long value = encodedLongNonNull((word << 6) + bit);
+                if ((value >= low && value <= high) != outside) {
+                    keep |= 1L << bit;
+                }
+            }
+            selection[word] = keep;
+        }
+    }
+
+    /**
+     * Keeps the selected rows whose value as a double lies between the bounds inclusive, or
+     * outside them. NaN values lie outside every range.
+     *
+     * @param selection the selection to narrow
+     * @param rowCount the number of rows in the table
+     * @param low the lower bound
+     * @param high the upper bound
+     * @param outside true to keep the rows outside the bounds instead
+     */
+    void selectDoubleRange(long[] selection, int rowCount, double low, double high, boolean outside) {
+        selectNulls(selection, false);
+        for (int word = 0; word < selection.length; word++) {
+            long keep = 0;
+            for (long bits = selection[word]; bits != 0; bits &= bits - 1) {
+                int bit = Long.numberOfTrailingZeros(bits);
+                double value = getDoubleNonNull((word << 6) + bit);
+                if ((value >= low && value <= high) != outside) {
+                    keep |= 1L << bit;
+                }
+            }
+            selection[word] = keep;
+        }
+    }
+
+    /**
+     * Keeps the selected rows whose boxed value passes the given test.
+     *
+     * @param selection the selection to narrow
+     * @param test the test applied to each non-null value
+     */
+    void selectMatching(long[] selection, Predicate<Object> test) {
+        selectNulls(selection, false);
+        for (int word = 0; word < selection.length; word++) {
+            long keep = 0;
+            for (long bits = selection[word]; bits != 0; bits &= bits - 1) {
+                int bit = Long.numberOfTrailingZeros(bits);
+                if (test.test(getNonNull((word << 6) + bit))) {
+                    keep |= 1L << bit;
+                }
+            }
+            selection[word] = keep;
+        }
+    }
+
+    /**
+     * Summarizes the non-null values of the given rows. Consecutive rows are handed to
+     * {@link #accumulateRange(int, int, Summary)} as one run, so a column without nulls is
+     * summarized in a single pass over its storage.
+     *
+     * @param selection the rows to include, 64 to a long, or null for every row
+     * @param rowCount the number of rows in the table
+     * @return the count, sum, minimum and maximum of the values
+     * @throws IllegalArgumentException if the column is not numeric
+     */
+    DoubleSummaryStatistics summarize(long[] selection, int rowCount) {
+        Summary summary = new Summary();
+        int firstNull = nulls.nextSetBit(0);
+        if (selection == null && (firstNull < 0 || firstNull >= rowCount)) {
+            if (rowCount > 0) {
+                accumulateRange(0, rowCount, summary);
+            }
+            return summary.toStatistics();
+        }
+
+        long[] rows = selection == null ? RowSelection.allRows(rowCount) : selection.clone();
+        selectNulls(rows, false);
+        int runStart = -1;
+        for (int word = 0; word < rows.length; word++) {
+            long bits = rows[word];
+            int base = word << 6;
+            int bit = 0;
+            while (bit < 64) {
+                if (runStart >= 0) {
+                    long unselected = ~bits & (-1L << bit);
+                    if (unselected == 0) {
+                        break;
+                    }
+                    bit = Long.numberOfTrailingZeros(unselected);
+                    accumulateRange(runStart, base + bit, summary);
+                    runStart = -1;
+                } else {
+                    long selected = bits & (-1L << bit);
+                    if (selected == 0) {
+                        break;
+                    }
+                    bit = Long.numberOfTrailingZeros(selected);
+                    runStart = base + bit;
+                }
+            }
+        }
+        if (runStart >= 0) {
+            accumulateRange(runStart, Math.min(rows.length << 6, rowCount), summary);
+        }
+        return summary.toStatistics();
+    }
+
+    /**
+     * Adds the values of a run of non-null rows to a summary. Primitive vectors override
+     * this with a loop over their storage.
+     *
+     * @param from the first row (inclusive)
+     * @param to the last row (exclusive)
+     * @param summary the summary to add to
+     */
+    protected void accumulateRange(int from, int to, Summary summary) {
+        double sum = 0.0;
+        double min = Double.POSITIVE_INFINITY;
+        double max = Double.NEGATIVE_INFINITY;
+        for (int row = from; row < to; row++) {
+            double value = getDoubleNonNull(row);
+            sum += value;
+            min = Math.min(min, value);
+            max = Math.max(max, value);
+        }
+        summary.addDoubles(to - from, sum, min, max);
+    }
+
+    /**
+     * Tells whether adding two longs overflowed, the same test {@link Math#addExact(long, long)}
+     * makes but without throwing inside a summing loop.
+     *
+     * @param a the first operand
+     * @param b the second operand
+     * @param sum the wrapped sum of the operands
+     * @return true if the sum has the wrong sign
+     */
+    static boolean overflowed(long a, long b, long sum) {
+        return ((a ^ sum) & (b ^ sum)) < 0;
+    }
+
+    /**
+     * Running totals for {@link #summarize(long[], int)}. Integral values are summed as long,
+     * which is exact, and only converted when the statistics are taken. A run that would
+     * overflow the long sum is added to the double sum instead, so a long column near
+     * {@link Long#MAX_VALUE} sums like it does on the row-based tables.
+     */
+    static final class Summary {
+        private long count;
+        private long longSum;
+        private double doubleSum;
+        private double min = Double.POSITIVE_INFINITY;
+        private double max = Double.NEGATIVE_INFINITY;
+
+        void addLongs(int count, long sum, long min, long max) {
+            this.count += count;
+            long total = longSum + sum;
+            if (overflowed(longSum, sum, total)) {
+                this.doubleSum += sum;
+            } else {
+                this.longSum = total;
+            }
+            this.min = Math.min(this.min, min);
+            this.max = Math.max(this.max, max);
+        }
+
+        void addDoubles(int count, double sum, double min, double max) {
+            this.count += count;
+            this.doubleSum += sum;
+            this.min = Math.min(this.min, min);
+            this.max = Math.max(this.max, max);
+        }
+
+        DoubleSummaryStatistics toStatistics() {
+            return count == 0 ? new DoubleSummaryStatistics() : new DoubleSummaryStatistics(count, min, max, longSum + doubleSum);
+        }
+    }
+
+    /**
+     * Releases any resources held by this vector. Heap vectors hold none.
+     */
+    void close() {
+    }
+
+    /**
+     * Computes the capacity to grow an array to so that appends stay amortised O(1).
+     */
+    static int grownCapacity(int current, int required) {
+        int grown = Math.max(16, current + (current >> 1));
+        return Math.max(grown, required);
+    }
+
+    /**
+     * Stores Integer values in an int[].
+     */
+    static final class IntVector extends ColumnVector {
+        private int[] values;
+
+        IntVector(IColumn<?> column, int capacity) {
+            super(column);
+            this.values = new int[capacity];
+        }
+
+        private IntVector(IntVector source) {
+            super(source);
+            this.values = source.values;
+        }
+
+        @Override
+        protected ColumnVector shareStorage() {
+            return new IntVector(this);
+        }
+
+        @Override
+        protected void copyStorage() {
+            values = values.clone();
+        }
+
+        @Override
+        void ensureCapacity(int capacity) {
+            if (capacity > values.length) {
+                values = Arrays.copyOf(values, grownCapacity(values.length, capacity));
+            }
+        }
+
+        @Override
+        protected long storageBytes() {
+            return MemoryEstimator.array(values.length, 4);
+        }
+
+        @Override
+        protected Object getNonNull(int row) {
+            return values[row];
+        }
+
+        @Override
+        protected void setNonNull(int row, Object value) {
+            values[row] = (Integer) value;
+        }
+
+        @Override
+        protected int getIntNonNull(int row) {
+            return values[row];
+        }
+
+        @Override
+        protected long getLongNonNull(int row) {
+            return values[row];
+        }
+
+        @Override
+        protected double getDoubleNonNull(int row) {
+            return values[row];
+        }
+
+        @Override
+        void setInt(int row, int value) {
+            prepareWrite(row);
+            values[row] = value;
+            clearNull(row);
+        }
+
+        @Override
+        protected void accumulateRange(int from, int to, Summary summary) {
+            long sum = 0;
+            int min = Integer.MAX_VALUE;
+            int max = Integer.MIN_VALUE;
+            for (int row = from; row < to; row++) {
+                int value = values[row];
+                sum += value;
+                min = Math.min(min, value);
+                max = Math.max(max, value);
+            }
+            summary.addLongs(to - from, sum, min, max);
+        }
+
+        @Override
+        void selectLongRange(long[] selection, int rowCount, long low, long high, boolean outside) {
+            selectNulls(selection, false);
+            // Words with any row selected are tested whole, which keeps the loop free of branches
+            for (int word = 0, base = 0; base < rowCount; word++, base += 64) {
+                long bits = selection[word];
+                if (bits != 0) {
+                    long keep = 0;
+                    for (int bit = 0, end = Math.min(64, rowCount - base); bit < end; bit++) {
+                        int value = values[base + bit];
+                        keep |= ((value >= low && value <= high) != outside ? 1L : 0L) << bit;
+                    }
+                    selection[word] = bits & keep;
+                }
+            }
+        }
+
+        @Override
+        void selectDoubleRange(long[] selection, int rowCount, double low, double high, boolean outside) {
+            selectNulls(selection, false);
+            for (int word = 0, base = 0; base < rowCount; word++, base += 64) {
+                long bits = selection[word];
+                if (bits != 0) {
+                    long keep = 0;
+                    for (int bit = 0, end = Math.min(64, rowCount - base); bit < end; bit++) {
+                        double value = values[base + bit];
+                        keep |= ((value >= low && value <= high) != outside ? 1L : 0L) << bit;
+                    }
+                    selection[word] = bits & keep;
+                }
+            }
+        }
+    }
+
+    /**
+     * Stores Double values in a double[].
+     */
+    static final class DoubleVector extends ColumnVector {
+        private double[] values;
+
+        DoubleVector(IColumn<?> column, int capacity) {
+            super(column);
+            this.values = new double[capacity];
+        }
+
+        private DoubleVector(DoubleVector source) {
+            super(source);
+            this.values = source.values;
+        }
+
+        @Override
+        protected ColumnVector shareStorage() {
+            return new DoubleVector(this);
+        }
+
+        @Override
+        protected void copyStorage() {
+            values = values.clone();
+        }
+
+        @Override
+        void ensureCapacity(int capacity) {
+            if (capacity > values.length) {
+                values = Arrays.copyOf(values, grownCapacity(values.length, capacity));
+            }
+        }
+
+        @Override
+        protected long storageBytes() {
+            return MemoryEstimator.array(values.length, 8);
+        }
+
+        @Override
+        protected Object getNonNull(int row) {
+            return values[row];
+        }
+
+        @Override
+        protected void setNonNull(int row, Object value) {
+            values[row] = (Double) value;
+        }
+
+        @Override
+        protected int getIntNonNull(int row) {
+            return (int) values[row];
+        }
+
+        @Override
+        protected long getLongNonNull(int row) {
+            return (long) values[row];
+        }
+
+        @Override
+        protected double getDoubleNonNull(int row) {
+            return values[row];
+        }
+
+        @Override
+        void setDouble(int row, double value) {
+            prepareWrite(row);
+            values[row] = value;
+            clearNull(row);
+        }
+
+        @Override
+        protected void accumulateRange(int from, int to, Summary summary) {
+            // Four independent sums let additions overlap instead of waiting on one another
+            double sum0 = 0.0, sum1 = 0.0, sum2 = 0.0, sum3 = 0.0;
+            double min = Double.POSITIVE_INFINITY;
+            double max = Double.NEGATIVE_INFINITY;
+            int row = from;
+            for (; row + 3 < to; row += 4) {
+                double a = values[row], b = values[row + 1], c = values[row + 2], d = values[row + 3];
+                sum0 += a;
+                sum1 += b;
+                sum2 += c;
+                sum3 += d;
+                min = Math.min(min, Math.min(Math.min(a, b), Math.min(c, d)));
+                max = Math.max(max, Math.max(Math.max(a, b), Math.max(c, d)));
+            }
+            for (; row < to; row++) {
+                double value = values[row];
+                sum0 += value;
+                min = Math.min(min, value);
+                max = Math.max(max, value);
+            }
+            summary.addDoubles(to - from, (sum0 + sum1) + (sum2 + sum3), min, max);
+        }
+
+        @Override
+        void selectDoubleRange(long[] selection, int rowCount, double low, double high, boolean outside) {
+            selectNulls(selection, false);
+            for (int word = 0, base = 0; base < rowCount; word++, base += 64) {
+                long bits = selection[word];
+                if (bits != 0) {
+                    long keep = 0;
+                    for (int bit = 0, end = Math.min(64, rowCount - base); bit < end; bit++) {
+                        double value = values[base + bit];
+                        keep |= ((value >= low && value <= high) != outside ? 1L : 0L) << bit;
+                    }
+                    selection[word] = bits & keep;
+                }
+            }
+        }
+    }
+
+    /**
+     * Stores Boolean values packed 64 to a long.
+     */
+    static final class BooleanVector extends ColumnVector {
+        private long[] bits;
+
+        BooleanVector(IColumn<?> column, int capacity) {
+            super(column);
+            this.bits = new long[wordsFor(capacity)];
+        }
+
+        private BooleanVector(BooleanVector source) {
+            super(source);
+            this.bits = source.bits;
+        }
+
+        @Override
+        protected ColumnVector shareStorage() {
+            return new BooleanVector(this);
+        }
+
+        @Override
+        protected void copyStorage() {
+            bits = bits.clone();
+        }
+
+        private static int wordsFor(int capacity) {
+            return (capacity + 63) >>> 6;
+        }
+
+        @Override
+        void ensureCapacity(int capacity) {
+            int words = wordsFor(capacity);
+            if (words > bits.length) {
+                bits = Arrays.copyOf(bits, grownCapacity(bits.length, words));
+            }
+        }
+
+        @Override
+        protected long storageBytes() {
+            return MemoryEstimator.array(bits.length, 8);
+        }
+
+        @Override
+        protected Object getNonNull(int row) {
+            return (bits[row >>> 6] & (1L << row)) != 0;
+        }
+
+        @Override
+        protected void setNonNull(int row, Object value) {
+            if ((Boolean) value) {
+                bits[row >>> 6] |= 1L << row;
+            } else {
+                bits[row >>> 6] &= ~(1L << row);
+            }
+        }
+
+        @Override
+        protected boolean getBooleanNonNull(int row) {
+            return (bits[row >>> 6] & (1L << row)) != 0;
+        }
+
+        @Override
+        void setBoolean(int row, boolean value) {
+            prepareWrite(row);
+            if (value) {
+                bits[row >>> 6] |= 1L << row;
+            } else {
+                bits[row >>> 6] &= ~(1L << row);
+            }
+            clearNull(row);
+        }
+    }
+
+    /**
+     * Maps the values of a column to and from the long stored in a long-backed vector.
+     */
+    enum LongCodec {
+        LONG {
+            @Override
+            long encode(Object value) {
+                return (Long) value;
+            }
+
+            @Override
+            Object decode(long value) {
+                return value;
+            }
+        },
+        EPOCH_DAY {
+            @Override
+            long encode(Object value) {
+                return ((LocalDate) value).toEpochDay();
+            }
+
+            @Override
+            Object decode(long value) {
+                return LocalDate.ofEpochDay(value);
+            }
+        },
+        NANO_OF_DAY {
+            @Override
+            long encode(Object value) {
+                return ((LocalTime) value).toNanoOfDay();
+            }
+
+            @Override
+            Object decode(long value) {
+                return LocalTime.ofNanoOfDay(value);
+            }
+        };
+
+        abstract long encode(Object value);
+
+        abstract Object decode(long value);
+
+        /**
+         * Gets the codec for the given column type.
+         *
+         * @param type the column type
+         * @return the codec, or null if the type has no long representation
+         */
+        static LongCodec forType(Class<?> type) {
+            if (type == Long.class) {
+                return LONG;
+            } else if (type == LocalDate.class) {
+                return EPOCH_DAY;
+            } else if (type == LocalTime.class) {
+                return NANO_OF_DAY;
+            }
+            return null;
+        }
+    }
+
+    /**
+     * Stores values that can be encoded as a long (dates as epoch days, times as
+     * nanoseconds of the day) in a long[].
+     */
+    static final class LongVector extends ColumnVector {
+        private final LongCodec codec;
+        private long[] values;
+
+        LongVector(IColumn<?> column, LongCodec codec, int capacity) {
+            super(column);
+            this.codec = codec;
+            this.values = new long[capacity];
+        }
+
+        private LongVector(LongVector source) {
+            super(source);
+            this.codec = source.codec;
+            this.values = source.values;
+        }
+
+        @Override
+        protected ColumnVector shareStorage() {
+            return new LongVector(this);
+        }
+
+        @Override
+        protected void copyStorage() {
+            values = values.clone();
+        }
+
+        @Override
+        void ensureCapacity(int capacity) {
+            if (capacity > values.length) {
+                values = Arrays.copyOf(values, grownCapacity(values.length, capacity));
+            }
+        }
+
+        @Override
+        protected long storageBytes() {
+            return MemoryEstimator.array(values.length, 8);
+        }
+
+        @Override
+        protected Object getNonNull(int row) {
+            return codec.decode(values[row]);
+        }
+
+        @Override
+        protected void setNonNull(int row, Object value) {
+            values[row] = codec.encode(value);
+        }
+
+        @Override
+        protected int getIntNonNull(int row) {
+            return codec == LongCodec.LONG ? (int) values[row] : super.getIntNonNull(row);
+        }
+
+        @Override
+        protected long getLongNonNull(int row) {
+            return codec == LongCodec.LONG ? values[row] : super.getLongNonNull(row);
+        }
+
+        @Override
+        protected double getDoubleNonNull(int row) {
+            return codec == LongCodec.LONG ? values[row] : super.getDoubleNonNull(row);
+        }
+
+        @Override
+        void setLong(int row, long value) {
+            if (codec != LongCodec.LONG) {
+                super.setLong(row, value);
+                return;
+            }
+            prepareWrite(row);
+            values[row] = value;
+            clearNull(row);
+        }
+
+        @Override
+        LongCodec longCodec() {
+            return codec;
+        }
+
+        @Override
+        protected long encodedLongNonNull(int row) {
+            return values[row];
+        }
+
+        @Override
+        protected void accumulateRange(int from, int to, Summary summary) {
+            if (codec != LongCodec.LONG) {
+                super.accumulateRange(from, to, summary);
+                return;
+            }
+            long sum = 0;
+            long min = Long.MAX_VALUE;
+            long max = Long.MIN_VALUE;
+            int row = from;
+            for (; row < to; row++) {
+                long value = values[row];
+                long next = sum + value;
+                if (overflowed(sum, value, next)) {
+                    break;
+                }
+                sum = next;
+                min = Math.min(min, value);
+                max = Math.max(max, value);
+            }
+            if (row > from) {
+                summary.addLongs(row - from, sum, min, max);
+            }
+            if (row < to) {
+                // The rest of the run would overflow a long, so it is summed as double
+                super.accumulateRange(row, to, summary);
+            }
+        }
+
+        @Override
+        void selectLongRange(long[] selection, int rowCount, long low, long high, boolean outside) {
+            selectNulls(selection, false);
+            for (int word = 0, base = 0; base < rowCount; word++, base += 64) {
+                long bits = selection[word];
+                if (bits != 0) {
+                    long keep = 0;
+                    for (int bit = 0, end = Math.min(64, rowCount - base); bit < end; bit++) {
+                        long value = values[base + bit];
+                        keep |= ((value >= low && value <= high) != outside ? 1L : 0L) << bit;
+                    }
+                    selection[word] = bits & keep;
+                }
+            }
+        }
+    }
+
+    /**
+     * Stores String values as int codes into a dictionary while the number of distinct
+     * values stays at or below a cardinality limit, and as plain references once it grows
+     * past it.
+     *
+     * Dictionary-encoded columns (see {@link DictionaryColumn}) share the column's own
+     * dictionary and never fall back. Other string columns start dictionary-encoded with a
+     * private dictionary so low-cardinality data is compacted automatically.
+     */
+    static final class StringVector extends ColumnVector {
+        // Above this many distinct values a plain string column stops dictionary encoding
+        static final int AUTO_DICTIONARY_MAX_CARDINALITY = 1 << 16;
+
+        private final int maxCardinality;
+        // Null once the vector has fallen back to plain references
+        private StringDictionary dictionary;
+        private int[] codes;
+        private String[] plain;
+
+        StringVector(IColumn<?> column, StringDictionary dictionary, int maxCardinality, int capacity) {
+            super(column);
+            this.dictionary = dictionary;
+            this.maxCardinality = maxCardinality;
+            this.codes = new int[capacity];
+        }
+
+        private StringVector(StringVector source) {
+            super(source);
+            // The dictionary is append-only, so the codes of the shared rows stay valid
+            this.dictionary = source.dictionary;
+            this.maxCardinality = source.maxCardinality;
+            this.codes = source.codes;
+            this.plain = source.plain;
+        }
+
+        @Override
+        protected ColumnVector shareStorage() {
+            return new StringVector(this);
+        }
+
+        @Override
+        protected void copyStorage() {
+            if (dictionary != null) {
+                codes = codes.clone();
+            } else {
+                plain = plain.clone();
+            }
+        }
+
+        /**
+         * Checks whether the values are currently stored as dictionary codes.
+         *
+         * @return true if dictionary-encoded
+         */
+        boolean isDictionaryEncoded() {
+            return dictionary != null;
+        }
+
+        /**
+         * Gets the dictionary the codes refer to.
+         *
+         * @return the dictionary, or null if the vector is not dictionary-encoded
+         */
+        StringDictionary dictionary() {
+            return dictionary;
+        }
+
+        /**
+         * Gets the dictionary code stored at the given row. Only meaningful while the
+         * vector is dictionary-encoded and the row is not null.
+         *
+         * @param row the row index
+         * @return the code
+         */
+        int code(int row) {
+            return codes[row];
+        }
+
+        @Override
+        void ensureCapacity(int capacity) {
+            if (dictionary != null) {
+                if (capacity > codes.length) {
+                    codes = Arrays.copyOf(codes, grownCapacity(codes.length, capacity));
+                }
+            } else if (capacity > plain.length) {
+                plain = Arrays.copyOf(plain, grownCapacity(plain.length, capacity));
+            }
+        }
+
+        @Override
+        protected long storageBytes() {
+            if (dictionary != null) {
+                return MemoryEstimator.array(codes.length, 4) + dictionary.estimateBytes();
+            }
+            long bytes = MemoryEstimator.array(plain.length, MemoryEstimator.REFERENCE);
+            for (String value : plain) {
+                if (value != null) {
+                    bytes += MemoryEstimator.string(value);
+                }
+            }
+            return bytes;
+        }
+
+        @Override
+        protected Object getNonNull(int row) {
+            return dictionary != null ? dictionary.valueOf(codes[row]) : plain[row];
+        }
+
+        @Override
+        protected void setNonNull(int row, Object value) {
+            String string = (String) value;
+            if (dictionary != null) {
+                int code = dictionary.encode(string);
+                if (code < maxCardinality) {
+                    codes[row] = code;
+                    return;
+                }
+                decodeAll();
+            }
+            plain[row] = string;
+        }
+
+        @Override
+        void set(int row, Object value) {
+            // Drop the reference so nulled-out values can be collected
+            if (value == null && plain != null) {
+                prepareWrite(row);
+                plain[row] = null;
+            }
+            super.set(row, value);
+        }
+
+        /**
+         * Keeps the selected rows whose dictionary code equals the given code, or those whose
+         * code differs. Only valid while the vector is dictionary-encoded.
+         *
+         * @param selection the selection to narrow
+         * @param rowCount the number of rows in the table
+         * @param code the dictionary code to compare with
+         * @param different true to keep the rows with a different code instead
+         */
+        void selectCode(long[] selection, int rowCount, int code, boolean different) {
+            selectNulls(selection, false);
+            for (int word = 0, base = 0; base < rowCount; word++, base += 64) {
+                long bits = selection[word];
+                if (bits != 0) {
+                    long keep = 0;
+                    for (int bit = 0, end = Math.min(64, rowCount - base); bit < end; bit++) {
+                        keep |= ((codes[base + bit] == code) != different ? 1L : 0L) << bit;
+                    }
+                    selection[word] = bits & keep;
+                }
+            }
+        }
+
+        private void decodeAll() {
+            String[] decoded = new String[codes.length];
+            for (int i = 0; i < codes.length; i++) {
+                if (!isNull(i)) {
+                    decoded[i] = dictionary.valueOf(codes[i]);
+                }
+            }
+            plain = decoded;
+            codes = null;
+            dictionary = null;
+        }
+    }
+
+    /**
+     * Stores values without a primitive representation (such as date-times) as references.
+     */
+    static final class ObjectVector extends ColumnVector {
+        private Object[] values;
+
+        ObjectVector(IColumn<?> column, int capacity) {
+            super(column);
+            this.values = new Object[capacity];
+        }
+
+        private ObjectVector(ObjectVector source) {
+            super(source);
+            this.values = source.values;
+        }
+
+        @Override
+        protected ColumnVector shareStorage() {
+            return new ObjectVector(this);
+        }
+
+        @Override
+        protected void copyStorage() {
+            values = values.clone();
+        }
+
+        @Override
+        void ensureCapacity(int capacity) {
+            if (capacity > values.length) {
+                values = Arrays.copyOf(values, grownCapacity(values.length, capacity));
+            }
+        }
+
+        @Override
+        protected long storageBytes() {
+            long bytes = MemoryEstimator.array(values.length, MemoryEstimator.REFERENCE);
+            for (Object value : values) {
+                bytes += MemoryEstimator.value(value);
+            }
+            return bytes;
+        }
+
+        @Override
+        protected Object getNonNull(int row) {
+            return values[row];
+        }
+
+        @Override
+        protected void setNonNull(int row, Object value) {
+            values[row] = value;
+        }
+
+        @Override
+        void set(int row, Object value) {
+            // Drop the reference so nulled-out values can be collected
+            if (value == null) {
+                prepareWrite(row);
+                values[row] = null;
+            }
+            super.set(row, value);
+        }
+    }
+}
@@ -0,0 +1,36 @@
+/*
+ * Copyright 2025 Mark Andrew Ray-Smith Cityline Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.mars.jtable.core.table;
+
+/**
+ * A table that can hand the vector of a column to {@link TableQuery} and
+ * {@link ColumnAggregates}, so that they run the column kernels over it instead of reading
+ * every row through a cursor.
+ *
+ * Columnar tables return their own vectors. Wrappers and views return the vector of the
+ * table they wrap, so a query through them takes the same path as one on the table itself.
+ */
+interface ColumnVectorSource {
+
+    /**
+     * Gets a vector holding the values of a column, whose row i is row i of this table.
+     *
+     * @param ordinal the ordinal of the column in this table's schema
+     * @return the vector, or null if this table has none for the column, in which case the
+     *         caller reads the rows through a cursor
+     */
+    ColumnVector columnVector(int ordinal);
+}
@@ -0,0 +1,887 @@
+/*
+ * Copyright 2025 Mark Andrew Ray-Smith Cityline Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.mars.jtable.core.table;
+
+import dev.mars.jtable.core.model.ICell;
+import dev.mars.jtable.core.model.IColumn;
+import dev.mars.jtable.core.model.IColumnIndex;
+import dev.mars.jtable.core.model.IRow;
+import dev.mars.jtable.core.model.IRowCursor;
+import dev.mars.jtable.core.model.ISortedColumnIndex;
+import dev.mars.jtable.core.model.ITable;
+import dev.mars.jtable.core.model.ITableSchema;
+import dev.mars.jtable.core.model.SortSpec;
+import dev.mars.jtable.core.model.TableMemoryUsage;
+
+import java.util.*;
+
+/**
+ * A column-oriented implementation of ITable.
+ *
+ * Instead of keeping a list of rows that each hold a map of cells, this table stores
+ * every column in its own {@link ColumnVector}: a typed primitive array (int[], double[],
+ * long[] or packed booleans) plus a null bitmap. Strings are dictionary-encoded as int
+ * codes while their cardinality is low (always, for {@link DictionaryColumn}s) and kept as
+ * references otherwise; date-times are kept in a reference array.
+ *
+ * Compared to TableCore and OptimizedTableCore this removes the boxed value, the Cell and
+ * the hash-map entry per value, and makes scans over a single column cache-friendly.
+ *
+ * Rows returned by {@link #getRow(int)} and {@link #getRows()} are lightweight views over
+ * the column vectors; reading or writing through them reads or writes the table directly.
+ * Rows created by {@link #createRow()} are detached until they are passed to
+ * {@link #addRow(IRow)}, at which point their values are copied into the columns.
+ */
+public class ColumnarTableCore implements ITable, ColumnVectorSource {
+    private static final int DEFAULT_ROW_CAPACITY = 16;
+
+    // Columns in insertion order, together with the vectors holding their values
+    private final Map<String, ColumnVector> vectorsByName = new HashMap<>();
+    private final List<ColumnVector> vectors = new ArrayList<>();
+    private TableSchema schema = TableSchema.EMPTY;
+
+    // Scales of double values parsed from text, so getValueAt can reproduce the text
+    private final Map<String, DecimalScales> decimalScales = new HashMap<>();
+    // Hash indexes on columns, maintained on every append and write through the table
+    private final TableIndexes indexes = new TableIndexes();
+
+    private int rowCount;
+    private int rowCapacity;
+    private boolean createDefaultValue = true;
+    private String name;
+
+    /**
+     * Creates a new ColumnarTableCore.
+     */
+    public ColumnarTableCore() {
+        this("ColumnarTableCore", DEFAULT_ROW_CAPACITY);
+    }
+
+    /**
+     * Creates a new ColumnarTableCore with the specified name.
+     *
+     * @param name the name of the table
+     */
+    public ColumnarTableCore(String name) {
+        this(name, DEFAULT_ROW_CAPACITY);
+    }
+
+    /**
+     * Creates a new ColumnarTableCore with the specified initial capacity for rows.
+     * Sizing the column vectors up front avoids repeated array copies during large loads.
+     *
+     * @param initialRowCapacity the initial capacity of each column vector
+     */
+    public ColumnarTableCore(int initialRowCapacity) {
+        this("ColumnarTableCore", initialRowCapacity);
+    }
+
+    /**
+     * Creates a new ColumnarTableCore with the specified name and initial capacity for rows.
+     *
+     * @param name the name of the table
+     * @param initialRowCapacity the initial capacity of each column vector
+     */
+    public ColumnarTableCore(String name, int initialRowCapacity) {
+        if (initialRowCapacity < 0) {
+            throw new IllegalArgumentException("Initial row capacity cannot be negative: " + initialRowCapacity);
+        }
+        this.name = name;
+        this.rowCapacity = initialRowCapacity;
+        TableMemoryRegistry.register(this);
+    }
+
+    /**
+     * Creates a table over snapshots of the vectors of another table, for {@link #snapshot()}.
+     * Like the row snapshots, it is not registered with the {@link TableMemoryRegistry}.
+     *
+     * @param source the table to take the snapshot of
+     */
+    ColumnarTableCore(ColumnarTableCore source) {
+        this.name = source.name;
+        this.createDefaultValue = source.createDefaultValue;
+        this.rowCount = source.rowCount;
+        this.rowCapacity = source.rowCount;
+        this.schema = source.schema;
+        for (ColumnVector vector : source.vectors) {
+            ColumnVector snapshot = vector.snapshot(rowCount);
+            vectors.add(snapshot);
+            vectorsByName.put(vector.getColumn().getName(), snapshot);
+        }
+        decimalScales.putAll(TableSnapshot.snapshotScales(source.decimalScales));
+    }
+
+    /**
+     * Creates the vector that stores the values of the given column.
+     *
+     * <p>This method is designed for extension. Subclasses can override it to place
+     * column data in a different kind of storage.</p>
+     *
+     * @param column the column to create a vector for
+     * @param capacity the initial row capacity of the vector
+     * @return a new vector for the column
+     */
+    ColumnVector createVector(IColumn<?> column, int capacity) {
+        return ColumnVector.forColumn(column, capacity);
+    }
+
+    /**
+     * Gets the vectors holding the column values, in column order.
+     *
+     * @return the live list of column vectors
+     */
+    List<ColumnVector> vectors() {
+        return vectors;
+    }
+
+    @Override
+    public ColumnVector columnVector(int ordinal) {
+        return vectors.get(ordinal);
+    }
+
+    /**
+     * Closes and removes every column vector and discards all rows.
+     */
+    void releaseStorage() {
+        for (ColumnVector vector : vectors) {
+            vector.close();
+        }
+        vectors.clear();
+        vectorsByName.clear();
+        schema = TableSchema.EMPTY;
+        decimalScales.clear();
+        indexes.clear();
+        rowCount = 0;
+    }
+
+    /**
+     * Checks that the storage of the table can still be used, before a row view reads or
+     * writes it. Tables whose storage can be released override this.
+     *
+     * @throws IllegalStateException if the storage has been released
+     */
+    void checkOpen() {
+    }
+
+    private void checkRowIndex(int rowIndex) {
+        if (rowIndex < 0 || rowIndex >= rowCount) {
+            throw new IndexOutOfBoundsException("Invalid row index: " + rowIndex);
+        }
+    }
+
+    private void ensureRowCapacity(int capacity) {
+        if (capacity > rowCapacity) {
+            rowCapacity = ColumnVector.grownCapacity(rowCapacity, capacity);
+            for (ColumnVector vector : vectors) {
+                vector.ensureCapacity(rowCapacity);
+            }
+        }
+    }
+
+    private void writeValue(ColumnVector vector, int rowIndex, Object value) {
+        if (!vector.getColumn().isValidValue(value)) {
+            throw new IllegalArgumentException("Invalid value for column: " + vector.getColumn().getName());
+        }
+        vector.set(rowIndex, value);
+    }
+
+    @Override
+    public IColumn<?> getColumn(String name) {
+        ColumnVector vector = vectorsByName.get(name);
+        return vector == null ? null : vector.getColumn();
+    }
+
+    @Override
+    public IColumn<?> getColumn(int index) {
+        if (index < 0 || index >= vectors.size()) {
+            throw new IndexOutOfBoundsException("Invalid column index: " + index);
+        }
+        return vectors.get(index).getColumn();
+    }
+
+    @Override
+    public List<IColumn<?>> getColumns() {
+        return new ArrayList<>(schema.getColumns());
+    }
+
+    @Override
+    public ITableSchema getSchema() {
+        return schema;
+    }
+
+    @Override
+    public void addColumn(IColumn<?> column) {
+        if (column == null) {
+            throw new IllegalArgumentException("Column cannot be null");
+        }
+        if (vectorsByName.containsKey(column.getName())) {
+            throw new IllegalArgumentException("Column already exists: " + column.getName());
+        }
+        ColumnVector vector = createVector(column, rowCapacity);
+        // Rows that existed before the column was added have no value for it
+        vector.setNull(0, rowCount);
+        vectorsByName.put(column.getName(), vector);
+        vectors.add(vector);
+        schema = schema.withColumn(column);
+    }
+
+    @Override
+    public String getColumnName(int index) {
+        return schema.getColumnName(index);
+    }
+
+    @Override
+    public IRow getRow(int index) {
+        checkRowIndex(index);
+        return new ColumnarRow(index);
+    }
+
+    @Override
+    public List<IRow> getRows() {
+        List<IRow> result = new ArrayList<>(rowCount);
+        for (int i = 0; i < rowCount; i++) {
+            result.add(new ColumnarRow(i));
+        }
+        return result;
+    }
+
+    @Override
+    public void addRow(IRow row) {
+        if (row == null) {
+            throw new IllegalArgumentException("Row cannot be null");
+        }
+
+        // Validate all cells before touching the column vectors
+        for (ICell<?> cell : row.getCells()) {
+            IColumn<?> column = getColumn(cell.getColumn().getName());
+            if (column == null) {
+                throw new IllegalArgumentException("Column does not exist: " + cell.getColumn().getName());
+            }
+            if (!column.isValidValue(cell.getValue())) {
+                throw new IllegalArgumentException("Invalid value for column: " + column.getName());
+            }
+        }
+
+        // Check if all required columns are present
+        for (ColumnVector vector : vectors) {
+            if (row.getCell(vector.getColumn().getName()) == null && !createDefaultValue) {
+                throw new IllegalArgumentException("Row is missing column: " + vector.getColumn().getName());
+            }
+        }
+
+        int rowIndex = rowCount;
+        ensureRowCapacity(rowIndex + 1);
+        for (ColumnVector vector : vectors) {
+            ICell<?> cell = row.getCell(vector.getColumn().getName());
+            vector.set(rowIndex, cell == null ? vector.getColumn().createDefaultValue() : cell.getValue());
+        }
+        rowCount++;
+        indexes.rowAdded(rowIndex, columnName -> vectorsByName.get(columnName).get(rowIndex));
+    }
+
+    @Override
+    public void addRow(Map<String, String> row) {
+        if (row == null) {
+            throw new IllegalArgumentException("Row map cannot be null");
+        }
+
+        for (String columnName : row.keySet()) {
+            if (!vectorsByName.containsKey(columnName)) {
+                throw new IllegalArgumentException("Column '" + columnName + "' does not exist");
+            }
+        }
+
+        // Convert every value before writing so a failed conversion leaves the table unchanged
+        Object[] converted = new Object[vectors.size()];
+        for (int i = 0; i < vectors.size(); i++) {
+            IColumn<?> column = vectors.get(i).getColumn();
+            if (row.containsKey(column.getName())) {
+                converted[i] = column.convertFromString(row.get(column.getName()));
+            } else if (createDefaultValue) {
+                converted[i] = column.createDefaultValue();
+            } else {
+                throw new IllegalArgumentException("Row is missing column: " + column.getName());
+            }
+        }
+
+        int rowIndex = rowCount;
+        ensureRowCapacity(rowIndex + 1);
+        for (int i = 0; i < vectors.size(); i++) {
+            ColumnVector vector = vectors.get(i);
+            vector.set(rowIndex, converted[i]);
+
+            // Record the scale of double values
+            if (converted[i] instanceof Double) {
+                String columnName = vector.getColumn().getName();
+                recordDecimalScale(columnName, rowIndex, row.get(columnName), (Double) converted[i]);
+            }
+        }
+        rowCount++;
+        indexes.rowAdded(rowIndex, columnName -> vectorsByName.get(columnName).get(rowIndex));
+    }
+
+    @Override
+    public void appendBatch(String[][] rows) {
+        appendBatch(RowBatch.convert(schema, rows, createDefaultValue));
+    }
+
+    @Override
+    public void appendBatch(Object[][] rows) {
+        appendBatch(RowBatch.of(schema, rows, createDefaultValue));
+    }
+
+    private void appendBatch(RowBatch batch) {
+        int firstRow = rowCount;
+        int count = batch.size();
+
+        // Grow every vector once, then fill each column in turn
+        ensureRowCapacity(firstRow + count);
+        for (int column = 0; column < vectors.size(); column++) {
+            ColumnVector vector = vectors.get(column);
+            for (int i = 0; i < count; i++) {
+                vector.set(firstRow + i, batch.row(i)[column]);
+            }
+        }
+        batch.recordScales(decimalScales, firstRow);
+        rowCount += count;
+        for (int i = 0; i < count; i++) {
+            int rowIndex = firstRow + i;
+            indexes.rowAdded(rowIndex, columnName -> vectorsByName.get(columnName).get(rowIndex));
+        }
+    }
+
+    @Override
+    public IRow createRow() {
+        return new Row(this);
+    }
+
+    @Override
+    public IRowCursor cursor() {
+        return new ColumnarCursor();
+    }
+
+    @Override
+    public IColumnIndex createIndex(String columnName) {
+        return indexes.create(this, columnName);
+    }
+
+    @Override
+    public ISortedColumnIndex createSortedIndex(String columnName) {
+        return indexes.createSorted(this, columnName);
+    }
+
+    /**
+     * Keeps a small Bloom filter over each chunk of rows of the given column, so that
+     * {@link TableQuery} skips the chunks that cannot hold the value an equality condition
+     * asks for. This suits lookups of ids or codes that are spread over the table, where the
+     * range of each chunk does not rule them out; it costs about a byte per row. Replacing
+     * the columns with {@link #setColumns(LinkedHashMap)} drops every filter.
+     *
+     * @param columnName the name of the column
+     * @throws IllegalArgumentException if the column does not exist
+     */
+    public void createBloomFilter(String columnName) {
+        ColumnVector vector = columnName == null ? null : vectorsByName.get(columnName);
+        if (vector == null) {
+            throw new IllegalArgumentException("Column does not exist: " + columnName);
+        }
+        vector.enableBloomFilter(rowCount);
+    }
+
+    @Override
+    public IColumnIndex getIndex(String columnName) {
+        return indexes.get(columnName);
+    }
+
+    @Override
+    public ITable view(int[] rowSelection, String... columnNames) {
+        return TableView.of(this, rowSelection, columnNames);
+    }
+
+    @Override
+    public int[] sort(SortSpec... specs) {
+        return TableSort.sort(this, specs);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * The snapshot shares the column vectors copy-on-write, so taking it does not copy the
+     * values. A vector copies its storage before it overwrites a row the snapshot holds;
+     * rows appended afterwards are written in place. The snapshot is itself columnar, so
+     * queries on it use the column kernels.
+     */
+    @Override
+    public ITable snapshot() {
+        return new ColumnarTableSnapshot(this);
+    }
+
+    @Override
+    public TableMemoryUsage estimateMemoryUsage() {
+        return MemoryEstimator.estimateColumns(this, vectors, decimalScales, indexes);
+    }
+
+    @Override
+    public int getRowCount() {
+        return rowCount;
+    }
+
+    @Override
+    public int getColumnCount() {
+        return vectors.size();
+    }
+
+    @Override
+    public Object getValueObject(int rowIndex, String columnName) {
+        checkRowIndex(rowIndex);
+        ColumnVector vector = vectorsByName.get(columnName);
+        return vector == null ? null : vector.get(rowIndex);
+    }
+
+    @Override
+    public void setValue(int rowIndex, String columnName, Object value) {
+        checkRowIndex(rowIndex);
+        ColumnVector vector = vectorsByName.get(columnName);
+        if (vector == null) {
+            throw new IllegalArgumentException("Column does not exist: " + columnName);
+        }
+        Object oldValue = indexes.isIndexed(columnName) ? vector.get(rowIndex) : null;
+        writeValue(vector, rowIndex, value);
+        indexes.valueChanged(columnName, rowIndex, oldValue, value);
+        forgetDecimalScale(columnName, rowIndex);
+    }
+
+    private void forgetDecimalScale(String columnName, int rowIndex) {
+        DecimalScales scales = decimalScales.get(columnName);
+        if (scales != null) {
+            scales.set(rowIndex, DecimalScales.NO_SCALE);
+        }
+    }
+
+    /**
+     * Records the scale of the text a double was parsed from, so getValueAt can reproduce
+     * the text, for example its trailing zeros.
+     */
+    private void recordDecimalScale(String columnName, int rowIndex, String text, double value) {
+        int scale = DecimalScales.scaleOf(text, value);
+        DecimalScales scales = decimalScales.get(columnName);
+        if (scales == null) {
+            if (scale == DecimalScales.NO_SCALE) {
+                return;
+            }
+            scales = decimalScales.computeIfAbsent(columnName, k -> new DecimalScales());
+        }
+        scales.set(rowIndex, scale);
+    }
+
+    private ColumnVector vectorAt(int columnIndex) {
+        if (columnIndex < 0 || columnIndex >= vectors.size()) {
+            throw new IndexOutOfBoundsException("Invalid column index: " + columnIndex);
+        }
+        return vectors.get(columnIndex);
+    }
+
+    @Override
+    public boolean isNull(int rowIndex, int columnIndex) {
+        checkRowIndex(rowIndex);
+        return vectorAt(columnIndex).isNull(rowIndex);
+    }
+
+    @Override
+    public int getInt(int rowIndex, int columnIndex) {
+        checkRowIndex(rowIndex);
+        return vectorAt(columnIndex).getInt(rowIndex);
+    }
+
+    @Override
+    public long getLong(int rowIndex, int columnIndex) {
+        checkRowIndex(rowIndex);
+        return vectorAt(columnIndex).getLong(rowIndex);
+    }
+
+    @Override
+    public double getDouble(int rowIndex, int columnIndex) {
+        checkRowIndex(rowIndex);
+        return vectorAt(columnIndex).getDouble(rowIndex);
+    }
+
+    @Override
+    public boolean getBoolean(int rowIndex, int columnIndex) {
+        checkRowIndex(rowIndex);
+        return vectorAt(columnIndex).getBoolean(rowIndex);
+    }
+
+    @Override
+    public void setInt(int rowIndex, int columnIndex, int value) {
+        checkRowIndex(rowIndex);
+        ColumnVector vector = vectorAt(columnIndex);
+        Object oldValue = indexedValue(vector, rowIndex);
+        vector.setInt(rowIndex, value);
+        reindex(vector, rowIndex, oldValue);
+    }
+
+    @Override
+    public void setLong(int rowIndex, int columnIndex, long value) {
+        checkRowIndex(rowIndex);
+        ColumnVector vector = vectorAt(columnIndex);
+        Object oldValue = indexedValue(vector, rowIndex);
+        vector.setLong(rowIndex, value);
+        reindex(vector, rowIndex, oldValue);
+    }
+
+    @Override
+    public void setDouble(int rowIndex, int columnIndex, double value) {
+        checkRowIndex(rowIndex);
+        ColumnVector vector = vectorAt(columnIndex);
+        Object oldValue = indexedValue(vector, rowIndex);
+        vector.setDouble(rowIndex, value);
+        reindex(vector, rowIndex, oldValue);
+        forgetDecimalScale(vector.getColumn().getName(), rowIndex);
+    }
+
+    /**
+     * Gets the value a typed setter is about to replace, if an index needs it.
+     */
+    private Object indexedValue(ColumnVector vector, int rowIndex) {
+        return indexes.isIndexed(vector.getColumn().getName()) ? vector.get(rowIndex) : null;
+    }
+
+    /**
+     * Updates the index on a column after a typed setter, boxing the new value only if the
+     * column is indexed.
+     */
+    private void reindex(ColumnVector vector, int rowIndex, Object oldValue) {
+        String columnName = vector.getColumn().getName();
+        if (indexes.isIndexed(columnName)) {
+            indexes.valueChanged(columnName, rowIndex, oldValue, vector.get(rowIndex));
+        }
+    }
+
+    @Override
+    public void setBoolean(int rowIndex, int columnIndex, boolean value) {
+        checkRowIndex(rowIndex);
+        ColumnVector vector = vectorAt(columnIndex);
+        Object oldValue = indexedValue(vector, rowIndex);
+        vector.setBoolean(rowIndex, value);
+        reindex(vector, rowIndex, oldValue);
+    }
+
+    @Override
+    public String getValueAt(int rowIndex, String columnName) {
+        Object value = getValueObject(rowIndex, columnName);
+        if (value == null) {
+            return null;
+        }
+
+        // General handling for Double values to preserve trailing zeros
+        if (value instanceof Double) {
+            // Reproduce the original text from the value and its recorded scale, if any
+            DecimalScales scales = decimalScales.get(columnName);
+            return DecimalScales.format((Double) value, scales == null ? DecimalScales.NO_SCALE : scales.get(rowIndex));
+        } else if (value instanceof java.time.LocalDate) {
+            return ((java.time.LocalDate) value).format(java.time.format.DateTimeFormatter.ISO_LOCAL_DATE);
+        } else if (value instanceof java.time.LocalTime) {
+            return ((java.time.LocalTime) value).format(java.time.format.DateTimeFormatter.ISO_LOCAL_TIME);
+        } else if (value instanceof java.time.LocalDateTime) {
+            return ((java.time.LocalDateTime) value).format(java.time.format.DateTimeFormatter.ISO_LOCAL_DATE_TIME);
+        }
+
+        return value.toString();
+    }
+
+    @Override
+    public void setValueAt(int rowIndex, String columnName, String value) {
+        IColumn<?> column = getColumn(columnName);
+        if (column == null) {
+            throw new IllegalArgumentException("Column '" + columnName + "' does not exist");
+        }
+
+        Object convertedValue = column.convertFromString(value);
+        setValue(rowIndex, columnName, convertedValue);
+
+        // Record the scale of double values
+        if (convertedValue instanceof Double) {
+            recordDecimalScale(columnName, rowIndex, value, (Double) convertedValue);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public Object convertValue(String value, IColumn<?> column) {
+        return ((IColumn<Object>) column).convertFromString(value);
+    }
+
+    /**
+     * Replaces the columns of the table. The values of a columnar table are stored by
+     * column, so the existing rows are discarded along with the old columns.
+     */
+    @Override
+    public void setColumns(LinkedHashMap<String, String> newColumns) {
+        if (newColumns == null) {
+            throw new IllegalArgumentException("Columns map cannot be null");
+        }
+        for (Map.Entry<String, String> entry : newColumns.entrySet()) {
+            String columnName = entry.getKey();
+            String columnType = entry.getValue();
+            if (columnName == null || columnName.trim().isEmpty()) {
+                throw new IllegalArgumentException("Column names cannot be null or blank");
+            }
+            if (columnType == null || columnType.trim().isEmpty()) {
+                throw new IllegalArgumentException("Column types cannot be null or blank");
+            }
+        }
+
+        // Create all columns first so an unsupported type leaves the table unchanged
+        List<IColumn<?>> created = new ArrayList<>(newColumns.size());
+        for (Map.Entry<String, String> entry : newColumns.entrySet()) {
+            created.add(ColumnFactory.createColumn(entry.getKey(), entry.getValue()));
+        }
+
+        // The rows are stored in the old columns' vectors, so they go with them
+        releaseStorage();
+        for (IColumn<?> column : created) {
+            addColumn(column);
+        }
+    }
+
+    @Override
+    public String inferType(String value) {
+        return TypeInference.inferType(value);
+    }
+
+    @Override
+    public String getDefaultValue(String type) {
+        if (type == null) {
+            throw new IllegalArgumentException("Type cannot be null");
+        }
+
+        switch (type) {
+            case "int":
+            case "long":
+                return "0";
+            case "double":
+                return "0.0";
+            case "boolean":
+                return "false";
+            case "date":
+                return java.time.LocalDate.now().format(java.time.format.DateTimeFormatter.ISO_LOCAL_DATE);
+            case "time":
+                return java.time.LocalTime.now().format(java.time.format.DateTimeFormatter.ISO_LOCAL_TIME);
+            case "datetime":
+                return java.time.LocalDateTime.now().format(java.time.format.DateTimeFormatter.ISO_LOCAL_DATE_TIME);
+            case "string":
+            default:
+                return "";
+        }
+    }
+
+    @Override
+    public void printTable() {
+        for (ColumnVector vector : vectors) {
+            System.out.print(vector.getColumn().getName() + "\t");
+        }
+        System.out.println();
+
+        for (int i = 0; i < rowCount; i++) {
+            for (ColumnVector vector : vectors) {
+                Object value = vector.get(i);
+                System.out.print((value == null ? "" : value.toString()) + "\t");
+            }
+            System.out.println();
+        }
+    }
+
+    @Override
+    public void setCreateDefaultValue(boolean createDefaultValue) {
+        this.createDefaultValue = createDefaultValue;
+    }
+
+    @Override
+    public boolean isCreateDefaultValue() {
+        return createDefaultValue;
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    /**
+     * A cursor that reads values straight out of the column vectors, so numeric columns
+     * are scanned without boxing.
+     */
+    private class ColumnarCursor implements IRowCursor {
+        private int rowIndex = -1;
+
+        @Override
+        public boolean next() {
+            if (rowIndex + 1 >= rowCount) {
+                rowIndex = rowCount;
+                return false;
+            }
+            rowIndex++;
+            return true;
+        }
+
+        @Override
+        public void moveTo(int rowIndex) {
+            checkRowIndex(rowIndex);
+            this.rowIndex = rowIndex;
+        }
+
+        @Override
+        public int getRowIndex() {
+            return rowIndex;
+        }
+
+        private ColumnVector vector(int column) {
+            if (rowIndex < 0 || rowIndex >= rowCount) {
+                throw new IllegalStateException("Cursor is not positioned on a row");
+            }
+            return vectorAt(column);
+        }
+
+        @Override
+        public boolean isNull(int column) {
+            return vector(column).isNull(rowIndex);
+        }
+
+        @Override
+        public int getInt(int column) {
+            return vector(column).getInt(rowIndex);
+        }
+
+        @Override
+        public long getLong(int column) {
+            return vector(column).getLong(rowIndex);
+        }
+
+        @Override
+        public double getDouble(int column) {
+            return vector(column).getDouble(rowIndex);
+        }
+
+        @Override
+        public boolean getBoolean(int column) {
+            return vector(column).getBoolean(rowIndex);
+        }
+
+        @Override
+        public String getString(int column) {
+            Object value = vector(column).get(rowIndex);
+            return value == null ? null : value.toString();
+        }
+
+        @Override
+        public Object getObject(int column) {
+            return vector(column).get(rowIndex);
+        }
+    }
+
+    /**
+     * A row view over the column vectors. It holds only the row index.
+     */
+    private class ColumnarRow implements IRow {
+        private final int rowIndex;
+
+        ColumnarRow(int rowIndex) {
+            this.rowIndex = rowIndex;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public <T> ICell<T> getCell(IColumn<T> column) {
+            return (ICell<T>) getCell(column.getName());
+        }
+
+        @Override
+        public ICell<?> getCell(String columnName) {
+            checkOpen();
+            ColumnVector vector = vectorsByName.get(columnName);
+            return vector == null ? null : new ColumnarCell<>(vector, rowIndex);
+        }
+
+        @Override
+        public <T> void setValue(IColumn<T> column, T value) {
+            setValue(column.getName(), value);
+        }
+
+        @Override
+        public void setValue(String columnName, Object value) {
+            checkOpen();
+            ColumnarTableCore.this.setValue(rowIndex, columnName, value);
+        }
+
+        @Override
+        public List<ICell<?>> getCells() {
+            checkOpen();
+            List<ICell<?>> cells = new ArrayList<>(vectors.size());
+            for (ColumnVector vector : vectors) {
+                cells.add(new ColumnarCell<>(vector, rowIndex));
+            }
+            return cells;
+        }
+
+        @Override
+        public ITable getTable() {
+            return ColumnarTableCore.this;
+        }
+    }
+
+    /**
+     * A cell view that reads and writes a single slot of a column vector.
+     */
+    private class ColumnarCell<T> implements ICell<T> {
+        private final ColumnVector vector;
+        private final int rowIndex;
+
+        ColumnarCell(ColumnVector vector, int rowIndex) {
+            this.vector = vector;
+            this.rowIndex = rowIndex;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public T getValue() {
+            checkOpen();
+            return (T) vector.get(rowIndex);
+        }
+
+        @Override
+        public void setValue(T value) {
+            checkOpen();
+            ColumnarTableCore.this.setValue(rowIndex, vector.getColumn().getName(), value);
+        }
+
+        @Override
+        public String getValueAsString() {
+            checkOpen();
+            Object value = vector.get(rowIndex);
+            return value == null ? "" : value.toString();
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public IColumn<T> getColumn() {
+            return (IColumn<T>) vector.getColumn();
+        }
+    }
+}
@@ -0,0 +1,132 @@
+/*
+ * Copyright 2025 Mark Andrew Ray-Smith Cityline Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.mars.jtable.core.table;
+
+import dev.mars.jtable.core.model.IColumn;
+import dev.mars.jtable.core.model.IRow;
+import dev.mars.jtable.core.model.ITable;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * An immutable, point-in-time view of a {@link ColumnarTableCore}, as returned by its
+ * {@link ColumnarTableCore#snapshot()}.
+ *
+ * The snapshot holds snapshots of the table's column vectors, which share their storage
+ * with the table until the table overwrites a row, so taking it costs a few objects per
+ * column rather than a copy of the values. It reads, scans and queries like any columnar
+ * table, and keeps its values after the source table is closed or its columns replaced.
+ * Every write throws an UnsupportedOperationException, as on {@link TableSnapshot}.
+ */
+final class ColumnarTableSnapshot extends ColumnarTableCore {
+
+    /**
+     * Creates a snapshot of the given table.
+     *
+     * @param source the table to take the snapshot of
+     */
+    ColumnarTableSnapshot(ColumnarTableCore source) {
+        super(source);
+    }
+
+    @Override
+    public void setName(String name) {
+        throw TableSnapshot.readOnly();
+    }
+
+    @Override
+    public void setCreateDefaultValue(boolean createDefaultValue) {
+        throw TableSnapshot.readOnly();
+    }
+
+    @Override
+    public void addColumn(IColumn<?> column) {
+        throw TableSnapshot.readOnly();
+    }
+
+    @Override
+    public List<IRow> getRows() {
+        return Collections.unmodifiableList(super.getRows());
+    }
+
+    @Override
+    public void addRow(IRow row) {
+        throw TableSnapshot.readOnly();
+    }
+
+    @Override
+    public void addRow(Map<String, String> row) {
+        throw TableSnapshot.readOnly();
+    }
+
+    @Override
+    public void appendBatch(String[][] rows) {
+        throw TableSnapshot.readOnly();
+    }
+
+    @Override
+    public void appendBatch(Object[][] rows) {
+        throw TableSnapshot.readOnly();
+    }
+
+    @Override
+    public IRow createRow() {
+        throw TableSnapshot.readOnly();
+    }
+
+    @Override
+    public ITable snapshot() {
+        return this;
+    }
+
+    @Override
+    public void setValue(int rowIndex, String columnName, Object value) {
+        throw TableSnapshot.readOnly();
+    }
+
+    @Override
+    public void setValueAt(int rowIndex, String columnName, String value) {
+        throw TableSnapshot.readOnly();
+    }
+
+    @Override
+    public void setInt(int rowIndex, int columnIndex, int value) {
+        throw TableSnapshot.readOnly();
+    }
+
+    @Override
+    public void setLong(int rowIndex, int columnIndex, long value) {
+        throw TableSnapshot.readOnly();
+    }
+
+    @Override
+    public void setDouble(int rowIndex, int columnIndex, double value) {
+        throw TableSnapshot.readOnly();
+    }
+
+    @Override
+    public void setBoolean(int rowIndex, int columnIndex, boolean value) {
+        throw TableSnapshot.readOnly();
+    }
+
+    @Override
+    public void setColumns(LinkedHashMap<String, String> columns) {
+        throw TableSnapshot.readOnly();
+    }
+}
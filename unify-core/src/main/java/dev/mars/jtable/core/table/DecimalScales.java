@@ -0,0 +1,238 @@
+/*
+ * Copyright 2025 Mark Andrew Ray-Smith Cityline Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.mars.jtable.core.table;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.text.DecimalFormat;
+import java.util.Arrays;
+
+/**
+ * The decimal scale of each row of a double column, and the formatting that uses it.
+ *
+ * A double parsed from text such as "50000.50" loses its trailing zeros. Rather than
+ * keeping the original text, a table records the number of fraction digits the text had;
+ * the double and that scale together give back the unscaled value (5000050) and so the
+ * original text. A scale is only recorded when the default formatting would not already
+ * reproduce the text, so most columns never allocate a store at all.
+ *
+ * Only text that a scale can reproduce comes back as it was written. Surrounding whitespace
+ * is trimmed before the scale is taken, and text such as "1.5e3" or "+1.50", which no scale
+ * reproduces, comes back in the default format ("1500.0", "1.5").
+ *
+ * Scales are kept one byte per row. Writes are synchronized and reads see a volatile
+ * array, so a store can be shared by concurrent readers and writers, and table snapshots
+ * share the array copy-on-write.
+ */
+final class DecimalScales {
+    /** Marks a row with no recorded scale, which is formatted with {@link #format(double)}. */
+    static final int NO_SCALE = -1;
+
+    // Scales are stored as scale + 1 so that a zeroed slot means "no scale"
+    private static final int MAX_SCALE = Byte.MAX_VALUE - 1;
+    private static final int MAX_FRACTION_DIGITS = 10;
+    // Unscaled values below this bound survive the multiplication by a power of ten exactly
+    private static final double EXACT_UNSCALED_LIMIT = 0x1p50;
+    private static final long[] POWERS_OF_TEN = new long[16];
+
+    static {
+        POWERS_OF_TEN[0] = 1;
+        for (int i = 1; i < POWERS_OF_TEN.length; i++) {
+            POWERS_OF_TEN[i] = POWERS_OF_TEN[i - 1] * 10;
+        }
+    }
+
+    private volatile byte[] scales;
+    // Set while a snapshot shares the array, which must then be copied before it is changed
+    private boolean shared;
+
+    /**
+     * Creates a new, empty store.
+     */
+    DecimalScales() {
+        this(new byte[0]);
+    }
+
+    private DecimalScales(byte[] scales) {
+        this.scales = scales;
+    }
+
+    /**
+     * Gets the scale recorded for the given row.
+     *
+     * @param row the row index
+     * @return the scale, or {@link #NO_SCALE} if none was recorded
+     */
+    int get(int row) {
+        byte[] current = scales;
+        return row < current.length ? current[row] - 1 : NO_SCALE;
+    }
+
+    /**
+     * Records the scale for the given row.
+     *
+     * @param row the row index
+     * @param scale the scale, or {@link #NO_SCALE} to clear it
+     */
+    synchronized void set(int row, int scale) {
+        byte[] current = scales;
+        if (row >= current.length) {
+            if (scale == NO_SCALE) {
+                return;
+            }
+            current = Arrays.copyOf(current, ColumnVector.grownCapacity(current.length, row + 1));
+        } else if (shared) {
+            current = current.clone();
+        }
+        shared = false;
+        current[row] = (byte) (scale + 1);
+        // Republish so readers of the volatile field see the write
+        scales = current;
+    }
+
+    /**
+     * Records the scales of a run of consecutive rows, growing the store at most once.
+     *
+     * @param fromRow the index of the first row
+     * @param rowScales the scales of the rows, {@link #NO_SCALE} where none is recorded
+     */
+    synchronized void setAll(int fromRow, int[] rowScales) {
+        byte[] current = scales;
+        int toRow = fromRow + rowScales.length;
+        if (toRow > current.length) {
+            current = Arrays.copyOf(current, ColumnVector.grownCapacity(current.length, toRow));
+        } else if (shared) {
+            current = current.clone();
+        }
+        shared = false;
+        for (int i = 0; i < rowScales.length; i++) {
+            current[fromRow + i] = (byte) (rowScales[i] + 1);
+        }
+        scales = current;
+    }
+
+    /**
+     * Takes a copy of this store in constant time. The copy shares the scales array until
+     * this store next changes it.
+     *
+     * @return a store holding the current scales, which must not be changed
+     */
+    synchronized DecimalScales snapshot() {
+        shared = true;
+        return new DecimalScales(scales);
+    }
+
+    /**
+     * Estimates the heap bytes held by the store.
+     *
+     * @return the number of bytes
+     */
+    long estimateBytes() {
+        return MemoryEstimator.object(MemoryEstimator.REFERENCE + 1) + MemoryEstimator.array(scales.length, 1);
+    }
+
+    /**
+     * Gets the scale that reproduces the given text from the double parsed from it.
+     *
+     * @param text the text the value was parsed from, may be null; surrounding whitespace is ignored
+     * @param value the parsed value
+     * @return the scale, or {@link #NO_SCALE} if {@link #format(double)} already reproduces
+     *         the text or no scale can (for example in exponent notation)
+     */
+    static int scaleOf(String text, double value) {
+        if (text == null) {
+            return NO_SCALE;
+        }
+        // The value was parsed with Double.parseDouble, which ignores surrounding whitespace
+        text = text.strip();
+        int dot = text.indexOf('.');
+        if (dot < 0) {
+            return NO_SCALE;
+        }
+        int scale = text.length() - dot - 1;
+        if (scale > MAX_SCALE || text.equals(format(value))) {
+            return NO_SCALE;
+        }
+        return text.equals(format(value, scale)) ? scale : NO_SCALE;
+    }
+
+    /**
+     * Formats a double with exactly the given number of fraction digits.
+     *
+     * @param value the value to format
+     * @param scale the number of fraction digits, or {@link #NO_SCALE} for the default format
+     * @return the formatted value
+     */
+    static String format(double value, int scale) {
+        if (scale == NO_SCALE || Double.isNaN(value) || Double.isInfinite(value)) {
+            return format(value);
+        }
+        if (scale >= POWERS_OF_TEN.length || Math.abs(value) * POWERS_OF_TEN[scale] >= EXACT_UNSCALED_LIMIT) {
+            return BigDecimal.valueOf(value).setScale(scale, RoundingMode.HALF_EVEN).toPlainString();
+        }
+
+        long unscaled = Math.abs(Math.round(value * POWERS_OF_TEN[scale]));
+        StringBuilder builder = new StringBuilder(24);
+        if (value < 0 || (value == 0 && Double.doubleToRawLongBits(value) != 0)) {
+            builder.append('-');
+        }
+        builder.append(unscaled / POWERS_OF_TEN[scale]);
+        if (scale > 0) {
+            builder.append('.');
+            String fraction = Long.toString(unscaled % POWERS_OF_TEN[scale]);
+            for (int i = fraction.length(); i < scale; i++) {
+                builder.append('0');
+            }
+            builder.append(fraction);
+        }
+        return builder.toString();
+    }
+
+    /**
+     * Formats a double without a recorded scale: plain notation, no grouping, and at least
+     * the fraction digits of {@link Double#toString(double)}. NaN and the infinities are
+     * formatted with the symbols of the default locale, as DecimalFormat formats them.
+     *
+     * @param value the value to format
+     * @return the formatted value
+     */
+    static String format(double value) {
+        if (Double.isNaN(value) || Double.isInfinite(value)) {
+            return new DecimalFormat().format(value);
+        }
+        String text = Double.toString(value);
+        int exponent = text.indexOf('E');
+        if (exponent < 0) {
+            // Already plain, with the shortest digits that identify the value
+            return text;
+        }
+
+        // Expand exponent notation, showing at least as many fraction digits as the text had
+        // characters after its decimal point, and at most ten unless that minimum is higher
+        int minimumFractionDigits = text.length() - text.indexOf('.') - 1;
+        BigDecimal decimal = new BigDecimal(text);
+        int maximumFractionDigits = Math.max(MAX_FRACTION_DIGITS, minimumFractionDigits);
+        if (decimal.scale() > maximumFractionDigits) {
+            // Round the exact binary value: the shortest digits can sit on a tie that it does not
+            decimal = new BigDecimal(value).setScale(maximumFractionDigits, RoundingMode.HALF_EVEN);
+        }
+        decimal = decimal.stripTrailingZeros();
+        if (decimal.scale() < minimumFractionDigits) {
+            decimal = decimal.setScale(minimumFractionDigits);
+        }
+        return decimal.toPlainString();
+    }
+}
@@ -0,0 +1,74 @@
+/*
+ * Copyright 2025 Mark Andrew Ray-Smith Cityline Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.mars.jtable.core.table;
+
+/**
+ * A string column whose values are dictionary-encoded.
+ *
+ * Each distinct value is stored once in the column's dictionary. In a ColumnarTableCore
+ * the rows hold only an int code per value; in row-based tables such as TableCore the
+ * values converted from strings share the single canonical String instance for each
+ * distinct value.
+ *
+ * This suits low-cardinality columns such as country, status or currency codes, where
+ * millions of rows carry a handful of distinct values. Create one with
+ * {@code ColumnFactory.createColumn(name, "string:dict")}.
+ */
+public class DictionaryColumn extends Column<String> {
+    private final StringDictionary dictionary = new StringDictionary();
+
+    /**
+     * Creates a new dictionary-encoded string column with the given name.
+     *
+     * @param name the name of the column
+     */
+    public DictionaryColumn(String name) {
+        super(name, String.class, "");
+    }
+
+    /**
+     * Gets the canonical instance of the given value, adding it to the dictionary if needed.
+     *
+     * @param value the value to intern, may be null
+     * @return the canonical instance, or null if the value is null
+     */
+    public String intern(String value) {
+        return value == null ? null : dictionary.valueOf(dictionary.encode(value));
+    }
+
+    /**
+     * Gets the number of distinct values seen by this column.
+     *
+     * @return the number of distinct values
+     */
+    public int getCardinality() {
+        return dictionary.size();
+    }
+
+    /**
+     * Gets the dictionary that holds the distinct values of this column.
+     *
+     * @return the dictionary
+     */
+    StringDictionary getDictionary() {
+        return dictionary;
+    }
+
+    @Override
+    public String convertFromString(String value) {
+        return intern(super.convertFromString(value));
+    }
+}
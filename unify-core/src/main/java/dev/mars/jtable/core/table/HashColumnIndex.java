@@ -0,0 +1,159 @@
+/*
+ * Copyright 2025 Mark Andrew Ray-Smith Cityline Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.mars.jtable.core.table;
+
+import dev.mars.jtable.core.model.IColumn;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * A hash index from the values of a column to the rows holding them.
+ *
+ * Integral columns are keyed by primitive long in an open-addressing table, so neither
+ * maintaining nor probing the index boxes a key; other columns use a HashMap keyed by the
+ * column values. A value whose last row is removed keeps an empty entry, which is reused
+ * if the value comes back.
+ */
+final class HashColumnIndex extends ColumnIndex {
+    private static final int INITIAL_CAPACITY = 16;
+
+    private final boolean integralKeys;
+
+    // Open-addressing table for integral keys; a null entry marks a free slot
+    private long[] keys;
+    private RowIds[] entries;
+    private int entryCount;
+
+    // Entries for other columns
+    private final Map<Object, RowIds> objectEntries;
+    private RowIds nullRows;
+
+    /**
+     * Creates a new, empty index for the given column.
+     *
+     * @param column the column to index
+     */
+    HashColumnIndex(IColumn<?> column) {
+        super(column.getName());
+        this.integralKeys = isIntegralType(column.getType());
+        if (integralKeys) {
+            this.keys = new long[INITIAL_CAPACITY];
+            this.entries = new RowIds[INITIAL_CAPACITY];
+            this.objectEntries = null;
+        } else {
+            this.objectEntries = new HashMap<>();
+        }
+    }
+
+    @Override
+    synchronized void add(Object value, int row) {
+        if (value == null) {
+            if (nullRows == null) {
+                nullRows = new RowIds(row);
+            } else {
+                nullRows.add(row);
+            }
+        } else if (integralKeys && isIntegral(value)) {
+            addIntegral(((Number) value).longValue(), row);
+        } else if (objectEntries != null) {
+            RowIds rows = objectEntries.get(value);
+            if (rows == null) {
+                objectEntries.put(value, new RowIds(row));
+            } else {
+                rows.add(row);
+            }
+        }
+    }
+
+    @Override
+    RowIds find(Object value) {
+        if (value == null) {
+            return nullRows;
+        }
+        if (integralKeys) {
+            return isIntegral(value) ? findIntegral(((Number) value).longValue()) : null;
+        }
+        return objectEntries.get(value);
+    }
+
+    private int slotOf(long key) {
+        long hash = key * 0x9E3779B97F4A7C15L;
+        return (int) (hash ^ (hash >>> 32)) & (entries.length - 1);
+    }
+
+    private RowIds findIntegral(long key) {
+        for (int slot = slotOf(key); entries[slot] != null; slot = (slot + 1) & (entries.length - 1)) {
+            if (keys[slot] == key) {
+                return entries[slot];
+            }
+        }
+        return null;
+    }
+
+    private void addIntegral(long key, int row) {
+        int slot = slotOf(key);
+        for (; entries[slot] != null; slot = (slot + 1) & (entries.length - 1)) {
+            if (keys[slot] == key) {
+                entries[slot].add(row);
+                return;
+            }
+        }
+        keys[slot] = key;
+        entries[slot] = new RowIds(row);
+        // Keep the table at most half full so probe sequences stay short
+        if (++entryCount * 2 > entries.length) {
+            rehash();
+        }
+    }
+
+    private void rehash() {
+        long[] oldKeys = keys;
+        RowIds[] oldEntries = entries;
+        keys = new long[oldKeys.length * 2];
+        entries = new RowIds[oldEntries.length * 2];
+        for (int i = 0; i < oldEntries.length; i++) {
+            if (oldEntries[i] != null) {
+                int slot = slotOf(oldKeys[i]);
+                while (entries[slot] != null) {
+                    slot = (slot + 1) & (entries.length - 1);
+                }
+                keys[slot] = oldKeys[i];
+                entries[slot] = oldEntries[i];
+            }
+        }
+    }
+
+    @Override
+    synchronized long estimateBytes() {
+        long bytes = MemoryEstimator.object(6 * MemoryEstimator.REFERENCE)
+                + (nullRows == null ? 0 : nullRows.estimateBytes());
+        if (integralKeys) {
+            bytes += MemoryEstimator.array(keys.length, 8) + MemoryEstimator.array(entries.length, MemoryEstimator.REFERENCE);
+            for (RowIds rows : entries) {
+                if (rows != null) {
+                    bytes += rows.estimateBytes();
+                }
+            }
+        } else {
+            bytes += MemoryEstimator.hashMap(objectEntries.size());
+            for (Map.Entry<Object, RowIds> entry : objectEntries.entrySet()) {
+                bytes += MemoryEstimator.value(entry.getKey()) + entry.getValue().estimateBytes();
+            }
+        }
+        return bytes;
+    }
+}
@@ -0,0 +1,133 @@
+/*
+ * Copyright 2025 Mark Andrew Ray-Smith Cityline Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.mars.jtable.core.table;
+
+import dev.mars.jtable.core.model.ICell;
+import dev.mars.jtable.core.model.IColumn;
+import dev.mars.jtable.core.model.IRow;
+import dev.mars.jtable.core.model.ITable;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.IntFunction;
+
+/**
+ * A view of a row of a row-based table such as {@link TableCore} or {@link OptimizedTableCore}.
+ * It holds only the row index.
+ *
+ * The stored rows are shared with the table's snapshots, so they are never handed out to be
+ * changed in place. Reads go to the row currently stored at the index, and writes go through
+ * {@link ITable#setValue(int, String, Object)}, which copies a shared row before changing it
+ * and keeps the table's indexes up to date.
+ */
+final class LiveRow implements IRow {
+    private final ITable table;
+    private final IntFunction<IRow> storedRows;
+    private final int rowIndex;
+
+    /**
+     * Creates a view of a row.
+     *
+     * @param table the table the row belongs to
+     * @param storedRows gets the row currently stored at an index
+     * @param rowIndex the index of the row
+     */
+    LiveRow(ITable table, IntFunction<IRow> storedRows, int rowIndex) {
+        this.table = table;
+        this.storedRows = storedRows;
+        this.rowIndex = rowIndex;
+    }
+
+    /**
+     * Gets the row currently stored at this view's index, for readers that never change it.
+     */
+    IRow storedRow() {
+        return storedRows.apply(rowIndex);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> ICell<T> getCell(IColumn<T> column) {
+        return (ICell<T>) getCell(column.getName());
+    }
+
+    @Override
+    public ICell<?> getCell(String columnName) {
+        ICell<?> cell = storedRow().getCell(columnName);
+        return cell == null ? null : new LiveCell<>(cell.getColumn());
+    }
+
+    @Override
+    public <T> void setValue(IColumn<T> column, T value) {
+        setValue(column.getName(), value);
+    }
+
+    @Override
+    public void setValue(String columnName, Object value) {
+        table.setValue(rowIndex, columnName, value);
+    }
+
+    @Override
+    public List<ICell<?>> getCells() {
+        List<ICell<?>> cells = new ArrayList<>();
+        for (ICell<?> cell : storedRow().getCells()) {
+            cells.add(new LiveCell<>(cell.getColumn()));
+        }
+        return cells;
+    }
+
+    @Override
+    public ITable getTable() {
+        return table;
+    }
+
+    /**
+     * A cell view of one column of the row, which reads and writes through the row.
+     */
+    private final class LiveCell<T> implements ICell<T> {
+        private final IColumn<T> column;
+
+        LiveCell(IColumn<T> column) {
+            this.column = column;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public T getValue() {
+            ICell<?> cell = storedRow().getCell(column.getName());
+            return cell == null ? null : (T) cell.getValue();
+        }
+
+        @Override
+        public void setValue(T value) {
+            if (!column.isValidValue(value)) {
+                throw new IllegalArgumentException("Invalid value for column: " + column.getName());
+            }
+            table.setValue(rowIndex, column.getName(), value);
+        }
+
+        @Override
+        public String getValueAsString() {
+            Object value = getValue();
+            return value == null ? "" : value.toString();
+        }
+
+        @Override
+        public IColumn<T> getColumn() {
+            return column;
+        }
+    }
+}
@@ -0,0 +1,210 @@
+/*
+ * Copyright 2025 Mark Andrew Ray-Smith Cityline Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.mars.jtable.core.table;
+
+import dev.mars.jtable.core.model.IColumn;
+import dev.mars.jtable.core.model.IRow;
+import dev.mars.jtable.core.model.IRowCursor;
+import dev.mars.jtable.core.model.ITable;
+import dev.mars.jtable.core.model.ITableSchema;
+import dev.mars.jtable.core.model.TableMemoryUsage;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Estimates the heap memory held by objects and arrays, for
+ * {@link ITable#estimateMemoryUsage()}.
+ *
+ * Sizes assume a 64-bit JVM with compressed references: a 12-byte object header, a 16-byte
+ * array header, 4-byte references and objects padded to 8 bytes. Strings are assumed to
+ * hold Latin-1 text in one byte per character. A value referenced from several places is
+ * counted at each of them, so shared values are overestimated.
+ */
+final class MemoryEstimator {
+    static final int OBJECT_HEADER = 12;
+    static final int ARRAY_HEADER = 16;
+    static final int REFERENCE = 4;
+    // A HashMap node: header, hash and three references
+    static final int HASH_ENTRY = 32;
+    // A TreeMap entry: header, colour and five references
+    static final int TREE_ENTRY = 40;
+
+    private MemoryEstimator() {
+    }
+
+    /**
+     * Pads a size to the 8-byte alignment of objects.
+     */
+    static long align(long bytes) {
+        return (bytes + 7) & ~7L;
+    }
+
+    /**
+     * Gets the size of an object with the given bytes of fields.
+     */
+    static long object(int fieldBytes) {
+        return align(OBJECT_HEADER + fieldBytes);
+    }
+
+    /**
+     * Gets the size of an array of the given length and element size.
+     */
+    static long array(int length, int elementBytes) {
+        return align(ARRAY_HEADER + (long) length * elementBytes);
+    }
+
+    /**
+     * Gets the size of a HashMap holding the given number of entries, without the keys and
+     * values.
+     */
+    static long hashMap(int size) {
+        int capacity = size == 0 ? 0 : Integer.highestOneBit(Math.max(1, size * 4 / 3)) << 1;
+        return object(36) + (capacity == 0 ? 0 : array(capacity, REFERENCE)) + (long) size * HASH_ENTRY;
+    }
+
+    /**
+     * Gets the size of a String, including its byte array.
+     */
+    static long string(String value) {
+        return object(12) + array(value.length(), 1);
+    }
+
+    /**
+     * Gets the size of a value boxed in a row. Booleans and small Integers come from caches
+     * and take no memory of their own.
+     *
+     * @param value the value, may be null
+     * @return the number of bytes
+     */
+    static long value(Object value) {
+        if (value == null || value instanceof Boolean) {
+            return 0;
+        } else if (value instanceof String) {
+            return string((String) value);
+        } else if (value instanceof Integer) {
+            int number = (Integer) value;
+            return number >= -128 && number <= 127 ? 0 : object(4);
+        } else if (value instanceof Long || value instanceof Double) {
+            return object(8);
+        } else if (value instanceof LocalDate) {
+            return object(8);
+        } else if (value instanceof LocalTime) {
+            return object(8);
+        } else if (value instanceof LocalDateTime) {
+            return object(8) + object(8) + object(8);
+        } else if (value instanceof BigDecimal) {
+            return object(20) + array(2, 4);
+        }
+        return object(8);
+    }
+
+    /**
+     * Estimates a table whose rows are row objects holding their values, such as
+     * {@link TableCore} and {@link OptimizedTableCore}.
+     *
+     * @param table the table
+     * @param rows the rows of the table
+     * @param decimalScales the decimal scales of the table's double columns
+     * @param indexes the indexes of the table
+     * @return the estimate
+     */
+    static TableMemoryUsage estimateRows(ITable table, List<IRow> rows, Map<String, DecimalScales> decimalScales,
+                                         TableIndexes indexes) {
+        ITableSchema schema = table.getSchema();
+        int columnCount = schema.getColumnCount();
+        int rowCount = rows.size();
+        long[] valueBytes = new long[columnCount];
+
+        long rowBytes = rowList(rows);
+        for (IRow row : rows) {
+            rowBytes += row(row, columnCount);
+        }
+        IRowCursor cursor = table.cursor();
+        while (cursor.next()) {
+            for (int column = 0; column < columnCount; column++) {
+                valueBytes[column] += value(cursor.getObject(column));
+            }
+        }
+
+        List<TableMemoryUsage.Column> columns = new ArrayList<>(columnCount);
+        for (int column = 0; column < columnCount; column++) {
+            String columnName = schema.getColumnName(column);
+            columns.add(new TableMemoryUsage.Column(columnName, valueBytes[column],
+                    decimalScales(decimalScales, columnName), indexes.estimateBytes(columnName), 0));
+        }
+        return new TableMemoryUsage(table.getName(), rowCount, rowBytes, 0, columns);
+    }
+
+    /**
+     * Gets the size of the structure holding the rows, without the rows.
+     */
+    private static long rowList(List<IRow> rows) {
+        if (rows instanceof ChunkedRowList) {
+            return ((ChunkedRowList<IRow>) rows).estimateBytes();
+        }
+        return object(8) + array(rows.size(), REFERENCE);
+    }
+
+    /**
+     * Gets the size of a row object, without its values.
+     */
+    private static long row(IRow row, int columnCount) {
+        if (row instanceof ArrayRow) {
+            return object(3 * REFERENCE) + array(columnCount, REFERENCE);
+        } else if (row instanceof Row) {
+            // A HashMap of Cell objects, each holding its value and column
+            return object(2 * REFERENCE) + hashMap(columnCount) + (long) columnCount * object(2 * REFERENCE);
+        }
+        return object(2 * REFERENCE);
+    }
+
+    static long decimalScales(Map<String, DecimalScales> decimalScales, String columnName) {
+        DecimalScales scales = decimalScales.get(columnName);
+        return scales == null ? 0 : scales.estimateBytes();
+    }
+
+    /**
+     * Estimates a columnar table from its column vectors.
+     *
+     * @param table the table
+     * @param vectors the vectors holding the columns
+     * @param decimalScales the decimal scales of the table's double columns
+     * @param indexes the indexes of the table
+     * @return the estimate
+     */
+    static TableMemoryUsage estimateColumns(ITable table, List<ColumnVector> vectors,
+                                            Map<String, DecimalScales> decimalScales, TableIndexes indexes) {
+        List<TableMemoryUsage.Column> columns = new ArrayList<>(vectors.size());
+        long offHeapBytes = 0;
+        for (ColumnVector vector : vectors) {
+            IColumn<?> column = vector.getColumn();
+            String columnName = column.getName();
+            columns.add(new TableMemoryUsage.Column(columnName, vector.estimateBytes(),
+                    decimalScales(decimalScales, columnName), indexes.estimateBytes(columnName),
+                    vector.zoneMap().estimateBytes()));
+            if (vector instanceof OffHeapColumnVector) {
+                offHeapBytes += ((OffHeapColumnVector) vector).allocatedBytes();
+            }
+        }
+        return new TableMemoryUsage(table.getName(), table.getRowCount(), 0, offHeapBytes, columns);
+    }
+}
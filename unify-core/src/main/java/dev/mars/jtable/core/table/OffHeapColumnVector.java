@@ -0,0 +1,464 @@
+/*
+ * Copyright 2025 Mark Andrew Ray-Smith Cityline Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.mars.jtable.core.table;
+
+import dev.mars.jtable.core.model.IColumn;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * A column vector whose values live in a direct (off-heap) buffer.
+ *
+ * The buffer is allocated outside the Java heap, so large numeric columns do not
+ * contribute to old-generation occupancy or GC pause times. Once {@link #close()} has
+ * been called the vector drops its buffer and any further access fails; the buffer's
+ * memory is freed by its cleaner when the buffer is garbage collected.
+ */
+abstract class OffHeapColumnVector extends ColumnVector {
+    private final int bytesPerValue;
+    private ByteBuffer buffer;
+
+    /**
+     * Creates a new off-heap vector.
+     *
+     * @param column the column whose values this vector stores
+     * @param bytesPerValue the number of bytes used per row
+     * @param capacity the initial row capacity
+     */
+    protected OffHeapColumnVector(IColumn<?> column, int bytesPerValue, int capacity) {
+        super(column);
+        this.bytesPerValue = bytesPerValue;
+        this.buffer = allocate(bytesFor(capacity));
+    }
+
+    /**
+     * Creates a vector that shares the buffer of another, for {@link #snapshot(int)}. The
+     * snapshot keeps the buffer reachable after the source vector is closed.
+     *
+     * @param source the vector to share with
+     */
+    protected OffHeapColumnVector(OffHeapColumnVector source) {
+        super(source);
+        this.bytesPerValue = source.bytesPerValue;
+        this.buffer = source.buffer();
+    }
+
+    /**
+     * Creates the off-heap vector that matches the type of the given column. Column types
+     * without a fixed-width primitive form (strings, date-times) stay on the heap.
+     *
+     * @param column the column to create a vector for
+     * @param capacity the initial row capacity
+     * @return a new vector for the column
+     */
+    static ColumnVector forColumn(IColumn<?> column, int capacity) {
+        Class<?> type = column.getType();
+        if (type == Integer.class) {
+            return new IntVector(column, capacity);
+        } else if (type == Double.class) {
+            return new DoubleVector(column, capacity);
+        } else if (type == Boolean.class) {
+            return new BooleanVector(column, capacity);
+        }
+        LongCodec codec = LongCodec.forType(type);
+        if (codec != null) {
+            return new LongVector(column, codec, capacity);
+        }
+        return ColumnVector.forColumn(column, capacity);
+    }
+
+    private static ByteBuffer allocate(long bytes) {
+        if (bytes > Integer.MAX_VALUE) {
+            throw new IllegalStateException("Off-heap column cannot exceed " + Integer.MAX_VALUE + " bytes");
+        }
+        return ByteBuffer.allocateDirect((int) bytes).order(ByteOrder.nativeOrder());
+    }
+
+    /**
+     * Computes the number of bytes needed to hold the given number of rows.
+     *
+     * @param capacity the row capacity
+     * @return the number of bytes
+     */
+    protected long bytesFor(int capacity) {
+        return (long) capacity * bytesPerValue;
+    }
+
+    /**
+     * Computes the number of rows a buffer of the given size can hold.
+     *
+     * @param bytes the buffer size
+     * @return the row capacity
+     */
+    protected int rowsFor(int bytes) {
+        return bytes / bytesPerValue;
+    }
+
+    /**
+     * Gets the buffer holding the values of this vector.
+     *
+     * @return the buffer
+     * @throws IllegalStateException if the vector has been closed
+     */
+    protected ByteBuffer buffer() {
+        ByteBuffer current = buffer;
+        if (current == null) {
+            throw new IllegalStateException("Off-heap storage for column '" + getColumn().getName() + "' has been closed");
+        }
+        return current;
+    }
+
+    /**
+     * Gets the number of bytes currently reserved outside the heap by this vector.
+     *
+     * @return the number of off-heap bytes, or 0 once closed
+     */
+    long allocatedBytes() {
+        ByteBuffer current = buffer;
+        return current == null ? 0 : current.capacity();
+    }
+
+    @Override
+    void ensureCapacity(int capacity) {
+        ByteBuffer current = buffer();
+        long required = bytesFor(capacity);
+        if (required > current.capacity()) {
+            ByteBuffer grown = allocate(bytesFor(grownCapacity(rowsFor(current.capacity()), capacity)));
+            grown.put(current.duplicate().clear());
+            grown.clear();
+            // The outgrown buffer is freed by its cleaner once it is garbage collected
+            buffer = grown;
+        }
+    }
+
+    @Override
+    protected void copyStorage() {
+        ByteBuffer current = buffer();
+        ByteBuffer copy = allocate(current.capacity());
+        copy.put(current.duplicate().clear());
+        copy.clear();
+        buffer = copy;
+    }
+
+    @Override
+    protected long storageBytes() {
+        // Only the buffer object is on the heap; its memory is reported by allocatedBytes()
+        return MemoryEstimator.object(40);
+    }
+
+    @Override
+    void close() {
+        // Dropping the last reference lets the buffer's cleaner return the memory to the OS
+        buffer = null;
+    }
+
+    /**
+     * Stores Integer values as 4-byte ints.
+     */
+    static final class IntVector extends OffHeapColumnVector {
+        IntVector(IColumn<?> column, int capacity) {
+            super(column, Integer.BYTES, capacity);
+        }
+
+        private IntVector(IntVector source) {
+            super(source);
+        }
+
+        @Override
+        protected ColumnVector shareStorage() {
+            return new IntVector(this);
+        }
+
+        @Override
+        protected Object getNonNull(int row) {
+            return buffer().getInt(row << 2);
+        }
+
+        @Override
+        protected void setNonNull(int row, Object value) {
+            buffer().putInt(row << 2, (Integer) value);
+        }
+
+        @Override
+        protected int getIntNonNull(int row) {
+            return buffer().getInt(row << 2);
+        }
+
+        @Override
+        protected long getLongNonNull(int row) {
+            return buffer().getInt(row << 2);
+        }
+
+        @Override
+        protected double getDoubleNonNull(int row) {
+            return buffer().getInt(row << 2);
+        }
+
+        @Override
+        void setInt(int row, int value) {
+            prepareWrite(row);
+            buffer().putInt(row << 2, value);
+            clearNull(row);
+        }
+
+        @Override
+        protected void accumulateRange(int from, int to, Summary summary) {
+            ByteBuffer values = buffer();
+            long sum = 0;
+            int min = Integer.MAX_VALUE;
+            int max = Integer.MIN_VALUE;
+            for (int row = from; row < to; row++) {
+                int value = values.getInt(row << 2);
+                sum += value;
+                min = Math.min(min, value);
+                max = Math.max(max, value);
+            }
+            summary.addLongs(to - from, sum, min, max);
+        }
+    }
+
+    /**
+     * Stores Double values as 8-byte doubles.
+     */
+    static final class DoubleVector extends OffHeapColumnVector {
+        DoubleVector(IColumn<?> column, int capacity) {
+            super(column, Double.BYTES, capacity);
+        }
+
+        private DoubleVector(DoubleVector source) {
+            super(source);
+        }
+
+        @Override
+        protected ColumnVector shareStorage() {
+            return new DoubleVector(this);
+        }
+
+        @Override
+        protected Object getNonNull(int row) {
+            return buffer().getDouble(row << 3);
+        }
+
+        @Override
+        protected void setNonNull(int row, Object value) {
+            buffer().putDouble(row << 3, (Double) value);
+        }
+
+        @Override
+        protected int getIntNonNull(int row) {
+            return (int) buffer().getDouble(row << 3);
+        }
+
+        @Override
+        protected long getLongNonNull(int row) {
+            return (long) buffer().getDouble(row << 3);
+        }
+
+        @Override
+        protected double getDoubleNonNull(int row) {
+            return buffer().getDouble(row << 3);
+        }
+
+        @Override
+        void setDouble(int row, double value) {
+            prepareWrite(row);
+            buffer().putDouble(row << 3, value);
+            clearNull(row);
+        }
+
+        @Override
+        protected void accumulateRange(int from, int to, Summary summary) {
+            ByteBuffer values = buffer();
+            // Four independent sums let additions overlap instead of waiting on one another
+            double sum0 = 0.0, sum1 = 0.0, sum2 = 0.0, sum3 = 0.0;
+            double min = Double.POSITIVE_INFINITY;
+            double max = Double.NEGATIVE_INFINITY;
+            int row = from;
+            for (; row + 3 < to; row += 4) {
+                double a = values.getDouble(row << 3), b = values.getDouble((row + 1) << 3);
+                double c = values.getDouble((row + 2) << 3), d = values.getDouble((row + 3) << 3);
+                sum0 += a;
+                sum1 += b;
+                sum2 += c;
+                sum3 += d;
+                min = Math.min(min, Math.min(Math.min(a, b), Math.min(c, d)));
+                max = Math.max(max, Math.max(Math.max(a, b), Math.max(c, d)));
+            }
+            for (; row < to; row++) {
+                double value = values.getDouble(row << 3);
+                sum0 += value;
+                min = Math.min(min, value);
+                max = Math.max(max, value);
+            }
+            summary.addDoubles(to - from, (sum0 + sum1) + (sum2 + sum3), min, max);
+        }
+    }
+
+    /**
+     * Stores long-encodable values (longs, dates, times) as 8-byte longs.
+     */
+    static final class LongVector extends OffHeapColumnVector {
+        private final LongCodec codec;
+
+        LongVector(IColumn<?> column, LongCodec codec, int capacity) {
+            super(column, Long.BYTES, capacity);
+            this.codec = codec;
+        }
+
+        private LongVector(LongVector source) {
+            super(source);
+            this.codec = source.codec;
+        }
+
+        @Override
+        protected ColumnVector shareStorage() {
+            return new LongVector(this);
+        }
+
+        @Override
+        protected Object getNonNull(int row) {
+            return codec.decode(buffer().getLong(row << 3));
+        }
+
+        @Override
+        protected void setNonNull(int row, Object value) {
+            buffer().putLong(row << 3, codec.encode(value));
+        }
+
+        @Override
+        protected int getIntNonNull(int row) {
+            return codec == LongCodec.LONG ? (int) buffer().getLong(row << 3) : super.getIntNonNull(row);
+        }
+
+        @Override
+        protected long getLongNonNull(int row) {
+            return codec == LongCodec.LONG ? buffer().getLong(row << 3) : super.getLongNonNull(row);
+        }
+
+        @Override
+        protected double getDoubleNonNull(int row) {
+            return codec == LongCodec.LONG ? buffer().getLong(row << 3) : super.getDoubleNonNull(row);
+        }
+
+        @Override
+        void setLong(int row, long value) {
+            if (codec != LongCodec.LONG) {
+                super.setLong(row, value);
+                return;
+            }
+            prepareWrite(row);
+            buffer().putLong(row << 3, value);
+            clearNull(row);
+        }
+
+        @Override
+        LongCodec longCodec() {
+            return codec;
+        }
+
+        @Override
+        protected long encodedLongNonNull(int row) {
+            return buffer().getLong(row << 3);
+        }
+
+        @Override
+        protected void accumulateRange(int from, int to, Summary summary) {
+            if (codec != LongCodec.LONG) {
+                super.accumulateRange(from, to, summary);
+                return;
+            }
+            ByteBuffer values = buffer();
+            long sum = 0;
+            long min = Long.MAX_VALUE;
+            long max = Long.MIN_VALUE;
+            int row = from;
+            for (; row < to; row++) {
+                long value = values.getLong(row << 3);
+                long next = sum + value;
+                if (overflowed(sum, value, next)) {
+                    break;
+                }
+                sum = next;
+                min = Math.min(min, value);
+                max = Math.max(max, value);
+            }
+            if (row > from) {
+                summary.addLongs(row - from, sum, min, max);
+            }
+            if (row < to) {
+                // The rest of the run would overflow a long, so it is summed as double
+                super.accumulateRange(row, to, summary);
+            }
+        }
+    }
+
+    /**
+     * Stores Boolean values packed 64 to an 8-byte word.
+     */
+    static final class BooleanVector extends OffHeapColumnVector {
+        BooleanVector(IColumn<?> column, int capacity) {
+            super(column, Long.BYTES, capacity);
+        }
+
+        private BooleanVector(BooleanVector source) {
+            super(source);
+        }
+
+        @Override
+        protected ColumnVector shareStorage() {
+            return new BooleanVector(this);
+        }
+
+        @Override
+        protected long bytesFor(int capacity) {
+            return (long) ((capacity + 63) >>> 6) * Long.BYTES;
+        }
+
+        @Override
+        protected int rowsFor(int bytes) {
+            return bytes / Long.BYTES * 64;
+        }
+
+        @Override
+        protected Object getNonNull(int row) {
+            return (buffer().getLong((row >>> 6) << 3) & (1L << row)) != 0;
+        }
+
+        @Override
+        protected void setNonNull(int row, Object value) {
+            ByteBuffer bits = buffer();
+            int offset = (row >>> 6) << 3;
+            long word = bits.getLong(offset);
+            bits.putLong(offset, (Boolean) value ? word | (1L << row) : word & ~(1L << row));
+        }
+
+        @Override
+        protected boolean getBooleanNonNull(int row) {
+            return (buffer().getLong((row >>> 6) << 3) & (1L << row)) != 0;
+        }
+
+        @Override
+        void setBoolean(int row, boolean value) {
+            prepareWrite(row);
+            ByteBuffer bits = buffer();
+            int offset = (row >>> 6) << 3;
+            long word = bits.getLong(offset);
+            bits.putLong(offset, value ? word | (1L << row) : word & ~(1L << row));
+            clearNull(row);
+        }
+    }
+}
@@ -0,0 +1,132 @@
+/*
+ * Copyright 2025 Mark Andrew Ray-Smith Cityline Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.mars.jtable.core.table;
+
+import dev.mars.jtable.core.model.IColumn;
+
+/**
+ * A columnar table whose numeric, boolean, date and time columns are stored off the Java heap.
+ *
+ * Column data is held in direct buffers rather than heap arrays, so large reference tables
+ * do not sit in the old generation and do not lengthen GC pauses as they grow. String and
+ * date-time columns, which have no fixed-width form, remain on the heap.
+ *
+ * The table has an explicit lifecycle: {@link #close()} drops all column storage and leaves
+ * the table empty. Any row views obtained before closing fail with an IllegalStateException,
+ * as does adding columns to a closed table. The direct buffers are freed by their cleaners
+ * once the garbage collector finds them unreachable, not when close returns; the same holds
+ * for the smaller buffer a column outgrows. Until then they count against
+ * {@code -XX:MaxDirectMemorySize}, and the JVM collects them before failing an allocation
+ * that would exceed it. A snapshot taken before closing shares the buffers, so they stay
+ * reserved until the snapshot is unreachable too.
+ *
+ * Usage example:
+ * <pre>
+ * try (OffHeapTableCore table = new OffHeapTableCore("prices", 1_000_000)) {
+ *     table.setColumns(columns);
+ *     csvReader.readData(new CSVTableAdapter(table), connection, options);
+ *     ...
+ * }
+ * </pre>
+ */
+public class OffHeapTableCore extends ColumnarTableCore implements AutoCloseable {
+    private boolean closed;
+
+    /**
+     * Creates a new OffHeapTableCore.
+     */
+    public OffHeapTableCore() {
+        super("OffHeapTableCore");
+    }
+
+    /**
+     * Creates a new OffHeapTableCore with the specified name.
+     *
+     * @param name the name of the table
+     */
+    public OffHeapTableCore(String name) {
+        super(name);
+    }
+
+    /**
+     * Creates a new OffHeapTableCore with the specified initial capacity for rows.
+     *
+     * @param initialRowCapacity the initial capacity of each column
+     */
+    public OffHeapTableCore(int initialRowCapacity) {
+        super("OffHeapTableCore", initialRowCapacity);
+    }
+
+    /**
+     * Creates a new OffHeapTableCore with the specified name and initial capacity for rows.
+     *
+     * @param name the name of the table
+     * @param initialRowCapacity the initial capacity of each column
+     */
+    public OffHeapTableCore(String name, int initialRowCapacity) {
+        super(name, initialRowCapacity);
+    }
+
+    @Override
+    ColumnVector createVector(IColumn<?> column, int capacity) {
+        checkOpen();
+        return OffHeapColumnVector.forColumn(column, capacity);
+    }
+
+    @Override
+    void checkOpen() {
+        if (closed) {
+            throw new IllegalStateException("Table '" + getName() + "' has been closed");
+        }
+    }
+
+    /**
+     * Gets the number of bytes currently reserved outside the heap for column data.
+     *
+     * @return the number of off-heap bytes
+     */
+    public long getOffHeapBytes() {
+        long total = 0;
+        for (ColumnVector vector : vectors()) {
+            if (vector instanceof OffHeapColumnVector) {
+                total += ((OffHeapColumnVector) vector).allocatedBytes();
+            }
+        }
+        return total;
+    }
+
+    /**
+     * Checks whether this table has been closed.
+     *
+     * @return true if {@link #close()} has been called
+     */
+    public boolean isClosed() {
+        return closed;
+    }
+
+    /**
+     * Drops all column storage, so that its direct buffers become unreachable and are freed
+     * by the garbage collector. The table is empty afterwards and cannot be reused. Calling
+     * this method more than once has no further effect.
+     */
+    @Override
+    public void close() {
+        if (!closed) {
+            closed = true;
+            releaseStorage();
+        }
+    }
+}
@@ -49,12 +49,17 @@ package dev.mars.jtable.core.table;
 
 import dev.mars.jtable.core.model.ICell;
 import dev.mars.jtable.core.model.IColumn;
+import dev.mars.jtable.core.model.IColumnIndex;
 import dev.mars.jtable.core.model.IRow;
+import dev.mars.jtable.core.model.IRowCursor;
+import dev.mars.jtable.core.model.ISortedColumnIndex;
 import dev.mars.jtable.core.model.ITable;
+import dev.mars.jtable.core.model.ITableSchema;
+import dev.mars.jtable.core.model.SortSpec;
+import dev.mars.jtable.core.model.TableMemoryUsage;
 
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.CopyOnWriteArrayList;
 
 /**
  * An optimized implementation of TableCore that uses appropriate collection types
@@ -63,41 +68,41 @@ import java.util.concurrent.CopyOnWriteArrayList;
  * 
  * Key optimizations:
  * 1. LinkedHashMap for columns (read-heavy, order matters)
- * 2. ArrayList for rows (balanced read-write, random access)
- * 3. ConcurrentHashMap for originalDoubleStrings (thread-safe for potential concurrent access)
+ * 2. ChunkedRowList for rows (random access, appends never copy existing rows, and
+ *    snapshots share its chunks)
+ * 3. ConcurrentHashMap of per-row decimal scales for double columns (thread-safe for potential
+ *    concurrent access), rather than a map entry holding the original text of every double
+ * 4. ArrayRow for row storage: values in an array indexed by column ordinal, with one
+ *    schema shared by all rows instead of a HashMap and a Cell per value
  * 
  * For multi-threaded scenarios:
  * 1. ConcurrentHashMap with custom ordering logic for columns
- * 2. CopyOnWriteArrayList for rows (if read-heavy)
+ * 2. ChunkedRowList for rows, used in both modes: lock-free appends into fixed-size
+ *    chunks, so concurrent ingestion never copies the rows already added
+ * 3. StampedLockTable around any table for mixed read and update workloads, which also
+ *    guards the column map
  */
 public class OptimizedTableCore implements ITable {
     // Read-heavy collection (mostly read after initialization)
     // LinkedHashMap preserves column order which is important
     private final Map<String, IColumn<?>> columns = new LinkedHashMap<>();
 
-    // Balanced read-write collection (frequent reads and writes)
-    // ArrayList provides fast random access and efficient iteration
-    private final List<IRow> rows;
+    // Immutable schema shared by every row created by this table; replaced whenever the columns change
+    private volatile TableSchema schema = TableSchema.EMPTY;
 
-    // For single-threaded access, HashMap is appropriate
-    // For multi-threaded access, ConcurrentHashMap provides thread safety
-    // This example uses ConcurrentHashMap to demonstrate thread-safe collections
-    // Using default initial capacity (16) and load factor (0.75)
-    private final Map<String, Map<Integer, String>> originalDoubleStrings = new ConcurrentHashMap<>(16, 0.75f);
+    // The rows in an append-only chunked collection with fast random access, with the decimal
+    // scales and indexes kept in step with them; appends never copy existing rows,
+    // concurrent appends need no lock and snapshots share its chunks
+    private final RowStore store;
 
     private boolean createDefaultValue = true;
     private String name;
 
-    // Constants for Double handling
-    private static final int MAX_FRACTION_DIGITS = 10;
-
     /**
      * Creates a new OptimizedTableCore.
      */
     public OptimizedTableCore() {
-        // Initialize with default capacity
-        this.rows = new ArrayList<>();
-        this.name = "OptimizedTableCore";
+        this("OptimizedTableCore", 0);
     }
 
     /**
@@ -106,9 +111,7 @@ public class OptimizedTableCore implements ITable {
      * @param name the name of the table
      */
     public OptimizedTableCore(String name) {
-        // Initialize with default capacity
-        this.rows = new ArrayList<>();
-        this.name = name;
+        this(name, 0);
     }
 
     /**
@@ -119,10 +122,7 @@ public class OptimizedTableCore implements ITable {
      * @param initialRowCapacity the initial capacity for the rows collection
      */
     public OptimizedTableCore(int initialRowCapacity) {
-        // Initialize with specified capacity for better performance
-        // when the number of rows is known in advance
-        this.rows = new ArrayList<>(initialRowCapacity);
-        this.name = "OptimizedTableCore";
+        this("OptimizedTableCore", initialRowCapacity);
     }
 
     /**
@@ -134,98 +134,56 @@ public class OptimizedTableCore implements ITable {
      * @param initialRowCapacity the initial capacity for the rows collection
      */
     public OptimizedTableCore(String name, int initialRowCapacity) {
-        // Initialize with specified capacity for better performance
-        // when the number of rows is known in advance
-        this.rows = new ArrayList<>(initialRowCapacity);
+        // The capacity sizes the chunk directory of the rows; chunks are allocated as rows arrive.
+        // The decimal scales are kept in a ConcurrentHashMap, so they are safe for concurrent access
+        this.store = new RowStore(this, new ConcurrentHashMap<>(16, 0.75f), initialRowCapacity);
         this.name = name;
+        TableMemoryRegistry.register(this);
     }
 
     /**
-     * Creates a new OptimizedTableCore optimized for concurrent access.
-     * This constructor uses thread-safe collections for all internal data structures.
+     * Creates a new OptimizedTableCore. The flag has no effect: the rows are always kept in a
+     * ChunkedRowList, which is safe for concurrent appends, and the decimal scales in a
+     * ConcurrentHashMap. Wrap the table in a {@link StampedLockTable} for concurrent updates.
      *
-     * @param concurrent whether to use thread-safe collections
+     * @param concurrent ignored
      */
     public OptimizedTableCore(boolean concurrent) {
-        if (concurrent) {
-            // Use thread-safe collections for concurrent access
-            // CopyOnWriteArrayList is appropriate for read-heavy scenarios
-            // No initial capacity parameter is provided as CopyOnWriteArrayList doesn't have a constructor with capacity
-            this.rows = new CopyOnWriteArrayList<>();
-            // Note: ConcurrentHashMap doesn't preserve order, so we need custom ordering logic
-            // This is just a demonstration - in a real implementation, we would need to
-            // implement custom ordering logic for columns
-        } else {
-            // Use standard collections for single-threaded access
-            this.rows = new ArrayList<>();
-        }
-        this.name = "OptimizedTableCore";
+        this("OptimizedTableCore", 0);
     }
 
     /**
-     * Creates a new OptimizedTableCore with the specified name, optimized for concurrent access.
-     * This constructor uses thread-safe collections for all internal data structures.
+     * Creates a new OptimizedTableCore with the specified name. The flag has no effect, as
+     * described in {@link #OptimizedTableCore(boolean)}.
      *
      * @param name the name of the table
-     * @param concurrent whether to use thread-safe collections
+     * @param concurrent ignored
      */
     public OptimizedTableCore(String name, boolean concurrent) {
-        if (concurrent) {
-            // Use thread-safe collections for concurrent access
-            // CopyOnWriteArrayList is appropriate for read-heavy scenarios
-            // No initial capacity parameter is provided as CopyOnWriteArrayList doesn't have a constructor with capacity
-            this.rows = new CopyOnWriteArrayList<>();
-            // Note: ConcurrentHashMap doesn't preserve order, so we need custom ordering logic
-            // This is just a demonstration - in a real implementation, we would need to
-            // implement custom ordering logic for columns
-        } else {
-            // Use standard collections for single-threaded access
-            this.rows = new ArrayList<>();
-        }
-        this.name = name;
+        this(name, 0);
     }
 
     /**
-     * Creates a new OptimizedTableCore with specified initial capacity and concurrent access option.
-     * This constructor allows specifying the initial capacity for collections to reduce resizing operations.
+     * Creates a new OptimizedTableCore with the specified initial capacity for rows. The flag
+     * has no effect, as described in {@link #OptimizedTableCore(boolean)}.
      *
-     * @param concurrent whether to use thread-safe collections
+     * @param concurrent ignored
      * @param initialRowCapacity the initial capacity for the rows collection
      */
     public OptimizedTableCore(boolean concurrent, int initialRowCapacity) {
-        if (concurrent) {
-            // Use thread-safe collections for concurrent access
-            // Since CopyOnWriteArrayList doesn't have a constructor with capacity,
-            // we create an ArrayList with the specified capacity and convert it to a CopyOnWriteArrayList
-            List<IRow> initialList = new ArrayList<>(initialRowCapacity);
-            this.rows = new CopyOnWriteArrayList<>(initialList);
-        } else {
-            // Use standard collections for single-threaded access with specified capacity
-            this.rows = new ArrayList<>(initialRowCapacity);
-        }
-        this.name = "OptimizedTableCore";
+        this("OptimizedTableCore", initialRowCapacity);
     }
 
     /**
-     * Creates a new OptimizedTableCore with the specified name, initial capacity, and concurrent access option.
-     * This constructor allows specifying the initial capacity for collections to reduce resizing operations.
+     * Creates a new OptimizedTableCore with the specified name and initial capacity for rows.
+     * The flag has no effect, as described in {@link #OptimizedTableCore(boolean)}.
      *
      * @param name the name of the table
-     * @param concurrent whether to use thread-safe collections
+     * @param concurrent ignored
      * @param initialRowCapacity the initial capacity for the rows collection
      */
     public OptimizedTableCore(String name, boolean concurrent, int initialRowCapacity) {
-        if (concurrent) {
-            // Use thread-safe collections for concurrent access
-            // Since CopyOnWriteArrayList doesn't have a constructor with capacity,
-            // we create an ArrayList with the specified capacity and convert it to a CopyOnWriteArrayList
-            List<IRow> initialList = new ArrayList<>(initialRowCapacity);
-            this.rows = new CopyOnWriteArrayList<>(initialList);
-        } else {
-            // Use standard collections for single-threaded access with specified capacity
-            this.rows = new ArrayList<>(initialRowCapacity);
-        }
-        this.name = name;
+        this(name, initialRowCapacity);
     }
 
     @Override
@@ -235,10 +193,7 @@ public class OptimizedTableCore implements ITable {
 
     @Override
     public IColumn<?> getColumn(int index) {
-        if (index < 0 || index >= columns.size()) {
-            throw new IndexOutOfBoundsException("Invalid column index: " + index);
-        }
-        return new ArrayList<>(columns.values()).get(index);
+        return schema.getColumn(index);
     }
 
     @Override
@@ -246,6 +201,11 @@ public class OptimizedTableCore implements ITable {
         return new ArrayList<>(columns.values());
     }
 
+    @Override
+    public ITableSchema getSchema() {
+        return schema;
+    }
+
     @Override
     public void addColumn(IColumn<?> column) {
         if (column == null) {
@@ -255,28 +215,34 @@ public class OptimizedTableCore implements ITable {
             throw new IllegalArgumentException("Column already exists: " + column.getName());
         }
         columns.put(column.getName(), column);
+        schema = schema.withColumn(column);
     }
 
     @Override
     public String getColumnName(int index) {
-        if (index < 0 || index >= columns.size()) {
-            throw new IndexOutOfBoundsException("Invalid column index: " + index);
-        }
-        IColumn<?> column = new ArrayList<>(columns.values()).get(index);
-        return column.getName();
+        return schema.getColumnName(index);
     }
 
+    /**
+     * Gets a view of the row at the given index. The stored rows are shared with snapshots,
+     * so writes through the view go through {@link #setValue(int, String, Object)}.
+     */
     @Override
     public IRow getRow(int index) {
-        if (index < 0 || index >= rows.size()) {
-            throw new IndexOutOfBoundsException("Invalid row index: " + index);
-        }
-        return rows.get(index);
+        return store.view(index);
+    }
+
+    /**
+     * Gets the stored row at the given index rather than a view of it, for readers such as
+     * cursors that never change it.
+     */
+    IRow storedRow(int index) {
+        return store.storedRow(index);
     }
 
     @Override
     public List<IRow> getRows() {
-        return new ArrayList<>(rows);
+        return store.views();
     }
 
     @Override
@@ -308,7 +274,7 @@ public class OptimizedTableCore implements ITable {
             }
         }
 
-        rows.add(row);
+        store.addCopy(row);
     }
 
     @Override
@@ -334,6 +300,8 @@ public class OptimizedTableCore implements ITable {
                             columnType = "string";
                         } else if (valueType == Integer.class) {
                             columnType = "int";
+                        } else if (valueType == Long.class) {
+                            columnType = "long";
                         } else if (valueType == Double.class) {
                             columnType = "double";
                         } else if (valueType == Boolean.class) {
@@ -349,6 +317,7 @@ public class OptimizedTableCore implements ITable {
 
         // Create a new row
         IRow newRow = createRow();
+        Map<String, Integer> scalesToRecord = null;
 
         // Add values from the map
         for (Map.Entry<String, String> entry : rowCopy.entrySet()) {
@@ -364,18 +333,30 @@ public class OptimizedTableCore implements ITable {
             Object convertedValue = column.convertFromString(value);
             newRow.setValue(columnName, convertedValue);
 
-            // Store original string representation for double values
-            if (convertedValue instanceof Double && value.contains(".")) {
-                // Initialize the map for this column if needed
-                // Using createSizedConcurrentMap to create a properly sized ConcurrentHashMap
-                originalDoubleStrings.computeIfAbsent(columnName, k -> createSizedConcurrentMap(8));
-                // Store the original string at the next row index
-                originalDoubleStrings.get(columnName).put(getRowCount(), value);
+            // Keep the scale of double values until the row index is known
+            if (convertedValue instanceof Double) {
+                int scale = DecimalScales.scaleOf(value, (Double) convertedValue);
+                if (scale != DecimalScales.NO_SCALE) {
+                    if (scalesToRecord == null) {
+                        scalesToRecord = new HashMap<>();
+                    }
+                    scalesToRecord.put(columnName, scale);
+                }
             }
         }
 
-        // Add the row to the table
-        rows.add(newRow);
+        // Add the row to the table, recording its scales before the row becomes visible
+        store.add(newRow, scalesToRecord);
+    }
+
+    @Override
+    public void appendBatch(String[][] rows) {
+        store.addBatch(RowBatch.convert(schema, rows, createDefaultValue), schema);
+    }
+
+    @Override
+    public void appendBatch(Object[][] rows) {
+        store.addBatch(RowBatch.of(schema, rows, createDefaultValue), schema);
     }
 
     @SuppressWarnings("unchecked")
@@ -387,12 +368,52 @@ public class OptimizedTableCore implements ITable {
 
     @Override
     public IRow createRow() {
-        return new OptimizedRow(this);
+        return new ArrayRow(this, schema);
+    }
+
+    @Override
+    public IRowCursor cursor() {
+        return new TableRowCursor(this, this::storedRow);
+    }
+
+    @Override
+    public IColumnIndex createIndex(String columnName) {
+        return store.createIndex(columnName);
+    }
+
+    @Override
+    public ISortedColumnIndex createSortedIndex(String columnName) {
+        return store.createSortedIndex(columnName);
+    }
+
+    @Override
+    public IColumnIndex getIndex(String columnName) {
+        return store.getIndex(columnName);
+    }
+
+    @Override
+    public ITable view(int[] rowSelection, String... columnNames) {
+        return TableView.of(this, rowSelection, columnNames);
+    }
+
+    @Override
+    public int[] sort(SortSpec... specs) {
+        return TableSort.sort(this, specs);
+    }
+
+    @Override
+    public ITable snapshot() {
+        return store.snapshot(schema);
+    }
+
+    @Override
+    public TableMemoryUsage estimateMemoryUsage() {
+        return store.estimateMemoryUsage();
     }
 
     @Override
     public int getRowCount() {
-        return rows.size();
+        return store.size();
     }
 
     @Override
@@ -402,18 +423,13 @@ public class OptimizedTableCore implements ITable {
 
     @Override
     public Object getValueObject(int rowIndex, String columnName) {
-        IRow row = getRow(rowIndex);
-        ICell<?> cell = row.getCell(columnName);
-        if (cell == null) {
-            return null;
-        }
-        return cell.getValue();
+        return store.valueOf(rowIndex, columnName);
     }
 
     @Override
     public void setValue(int rowIndex, String columnName, Object value) {
-        IRow row = getRow(rowIndex);
-        row.setValue(columnName, value);
+        // A value set directly no longer has an original string representation
+        store.write(rowIndex, columnName, value, null);
     }
 
     @Override
@@ -423,18 +439,7 @@ public class OptimizedTableCore implements ITable {
             throw new IllegalArgumentException("Column '" + columnName + "' does not exist");
         }
 
-        Object convertedValue = column.convertFromString(value);
-        setValue(rowIndex, columnName, convertedValue);
-
-        // Store original string representation for double values
-        if (convertedValue instanceof Double && value.contains(".")) {
-            // Initialize the map for this column if needed
-            // Using createSizedConcurrentMap to create a properly sized ConcurrentHashMap
-            // Initial capacity of 8 is appropriate for most columns as they will have a moderate number of rows
-            originalDoubleStrings.computeIfAbsent(columnName, k -> createSizedConcurrentMap(8));
-            // Store the original string
-            originalDoubleStrings.get(columnName).put(rowIndex, value);
-        }
+        store.write(rowIndex, columnName, column.convertFromString(value), value);
     }
 
     @Override
@@ -468,49 +473,13 @@ public class OptimizedTableCore implements ITable {
             IColumn<?> column = ColumnFactory.createColumn(columnName, columnType);
             columns.put(column.getName(), column);
         }
+        schema = new TableSchema(columns.values());
+        store.clearIndexes();
     }
 
     @Override
     public String inferType(String value) {
-        if (value == null) {
-            return "string";
-        }
-
-        // Trim whitespace for better pattern matching
-        String trimmedValue = value.trim();
-        if (trimmedValue.isEmpty()) {
-            return "string";
-        }
-
-        // Integer pattern: optional negative sign followed by one or more digits
-        if (trimmedValue.matches("^-?\\d+$")) {
-            return "int";
-        } 
-        // Double patterns:
-        // 1. Standard decimal: optional sign, digits, decimal point, optional digits
-        // 2. Leading decimal: optional sign, decimal point, one or more digits
-        // 3. Scientific notation: any of the above followed by e or E, optional sign, and digits
-        else if (trimmedValue.matches("^[-+]?\\d+\\.\\d*$") || 
-                 trimmedValue.matches("^[-+]?\\.\\d+$") ||
-                 trimmedValue.matches("^[-+]?\\d+\\.?\\d*[eE][-+]?\\d+$") ||
-                 trimmedValue.matches("^[-+]?\\.\\d+[eE][-+]?\\d+$")) {
-            return "double";
-        } 
-        // Boolean pattern: case-insensitive "true" or "false"
-        else if (trimmedValue.equalsIgnoreCase("true") || trimmedValue.equalsIgnoreCase("false")) {
-            return "boolean";
-        } 
-        // Special numeric values
-        else if (trimmedValue.equalsIgnoreCase("NaN") || 
-                 trimmedValue.equalsIgnoreCase("Infinity") || 
-                 trimmedValue.equalsIgnoreCase("+Infinity") || 
-                 trimmedValue.equalsIgnoreCase("-Infinity")) {
-            return "double";
-        } 
-        // Everything else is a string
-        else {
-            return "string";
-        }
+        return TypeInference.inferType(value);
     }
 
     @SuppressWarnings("unchecked")
@@ -527,6 +496,7 @@ public class OptimizedTableCore implements ITable {
 
         switch (type) {
             case "int":
+            case "long":
                 return "0";
             case "double":
                 return "0.0";
@@ -547,28 +517,8 @@ public class OptimizedTableCore implements ITable {
 
         // General handling for Double values to preserve trailing zeros
         if (value instanceof Double) {
-            // Check if we have the original string representation
-            if (originalDoubleStrings.containsKey(columnName) &&
-                    originalDoubleStrings.get(columnName).containsKey(rowIndex)) {
-                return originalDoubleStrings.get(columnName).get(rowIndex);
-            }
-
-            // Use DecimalFormat to preserve decimal places
-            java.text.DecimalFormat df = new java.text.DecimalFormat();
-            df.setMinimumFractionDigits(0);
-            df.setMaximumFractionDigits(MAX_FRACTION_DIGITS);
-            df.setGroupingUsed(false);
-
-            // Check if the value has decimal places
-            String stringValue = value.toString();
-            if (stringValue.contains(".")) {
-                // Count the number of digits after decimal point in the original string
-                int decimalPlaces = stringValue.length() - stringValue.indexOf('.') - 1;
-                // Ensure we keep at least that many decimal places
-                df.setMinimumFractionDigits(decimalPlaces);
-            }
-
-            return df.format(value);
+            // Reproduce the original text from the value and its recorded scale, if any
+            return DecimalScales.format((Double) value, store.decimalScale(rowIndex, columnName));
         }
 
         return value.toString();
@@ -583,7 +533,7 @@ public class OptimizedTableCore implements ITable {
         System.out.println();
 
         // Print rows
-        for (IRow row : rows) {
+        for (IRow row : store.rows()) {
             for (IColumn<?> column : columns.values()) {
                 ICell<?> cell = row.getCell(column.getName());
                 System.out.print(cell.getValueAsString() + "\t");
@@ -611,84 +561,4 @@ public class OptimizedTableCore implements ITable {
     public void setName(String name) {
         this.name = name;
     }
-
-    /**
-     * Creates a properly sized ConcurrentHashMap with the specified initial capacity.
-     * This utility method helps reduce resizing operations, which can be expensive in concurrent contexts.
-     *
-     * @param initialCapacity the initial capacity for the map
-     * @param <K> the type of keys in the map
-     * @param <V> the type of values in the map
-     * @return a new ConcurrentHashMap with the specified initial capacity
-     */
-    private <K, V> ConcurrentHashMap<K, V> createSizedConcurrentMap(int initialCapacity) {
-        // Using a load factor of 0.75 (default) which provides a good balance between
-        // space efficiency and performance
-        return new ConcurrentHashMap<>(initialCapacity, 0.75f);
-    }
-
-    /**
-     * An optimized implementation of Row that uses a HashMap for cells.
-     * This class demonstrates how to optimize collections for different usage patterns.
-     */
-    private static class OptimizedRow implements IRow {
-        private final ITable table;
-        // Balanced read-write collection (frequent reads and writes)
-        // HashMap provides fast access by key
-        private final Map<String, ICell<?>> cells = new HashMap<>();
-
-        public OptimizedRow(ITable table) {
-            this.table = table;
-        }
-
-        @Override
-        @SuppressWarnings("unchecked")
-        public <T> ICell<T> getCell(IColumn<T> column) {
-            return (ICell<T>) cells.get(column.getName());
-        }
-
-        @Override
-        public ICell<?> getCell(String columnName) {
-            return cells.get(columnName);
-        }
-
-        @Override
-        public <T> void setValue(IColumn<T> column, T value) {
-            ICell<T> cell = getCell(column);
-            if (cell == null) {
-                cell = column.createCell(value);
-                cells.put(column.getName(), cell);
-            } else {
-                cell.setValue(value);
-            }
-        }
-
-        @Override
-        @SuppressWarnings("unchecked")
-        public void setValue(String columnName, Object value) {
-            IColumn<?> column = table.getColumn(columnName);
-            if (column == null) {
-                throw new IllegalArgumentException("Column does not exist: " + columnName);
-            }
-
-            ICell<?> cell = getCell(columnName);
-            if (cell == null) {
-                IColumn<Object> objectColumn = (IColumn<Object>) column;
-                cell = objectColumn.createCell((Object) value);
-                cells.put(columnName, cell);
-            } else {
-                ((ICell<Object>) cell).setValue(value);
-            }
-        }
-
-        @Override
-        public List<ICell<?>> getCells() {
-            return new ArrayList<>(cells.values());
-        }
-
-        @Override
-        public ITable getTable() {
-            return table;
-        }
-    }
 }
@@ -105,9 +105,10 @@ public class ProfiledOptimizedTableCore extends OptimizedTableCore {
     }
 
     /**
-     * Creates a new ProfiledOptimizedTableCore optimized for concurrent access.
+     * Creates a new ProfiledOptimizedTableCore. The flag has no effect, as described in
+     * {@link OptimizedTableCore#OptimizedTableCore(boolean)}.
      * 
-     * @param concurrent whether to use thread-safe collections
+     * @param concurrent ignored
      */
     public ProfiledOptimizedTableCore(boolean concurrent) {
         super(concurrent);
@@ -117,9 +118,10 @@ public class ProfiledOptimizedTableCore extends OptimizedTableCore {
     }
 
     /**
-     * Creates a new ProfiledOptimizedTableCore with specified initial capacity and concurrent access option.
+     * Creates a new ProfiledOptimizedTableCore with specified initial capacity. The flag has no
+     * effect, as described in {@link OptimizedTableCore#OptimizedTableCore(boolean)}.
      * 
-     * @param concurrent whether to use thread-safe collections
+     * @param concurrent ignored
      * @param initialRowCapacity the initial capacity for the rows collection
      */
     public ProfiledOptimizedTableCore(boolean concurrent, int initialRowCapacity) {
@@ -148,9 +150,10 @@ public class ProfiledOptimizedTableCore extends OptimizedTableCore {
     }
 
     /**
-     * Gets the profiler for the originalDoubleStrings collection.
+     * Gets the profiler for the decimal scales recorded for double columns.
+     * Operations are recorded against the column name.
      * 
-     * @return the originalDoubleStrings profiler
+     * @return the decimal scales profiler
      */
     public ConcurrentCollectionProfiler.MapProfiler<String, Map<Integer, String>> getDoubleStringsProfiler() {
         return doubleStringsProfiler;
@@ -265,7 +268,7 @@ public class ProfiledOptimizedTableCore extends OptimizedTableCore {
 
     @Override
     public String getValueAt(int rowIndex, String columnName) {
-        // This method potentially accesses the originalDoubleStrings map
+        // This method potentially reads the decimal scales of a double column
         // We need to manually time this operation since the return types don't match
         if (!ConcurrentCollectionProfiler.getInstance().isProfilingEnabled()) {
             return super.getValueAt(rowIndex, columnName);
@@ -295,7 +298,7 @@ public class ProfiledOptimizedTableCore extends OptimizedTableCore {
 
     @Override
     public void setValueAt(int rowIndex, String columnName, String value) {
-        // This method potentially updates the originalDoubleStrings map
+        // This method potentially records the decimal scale of a double value
         // Use manual timing to ensure we record the operation correctly
         if (!ConcurrentCollectionProfiler.getInstance().isProfilingEnabled()) {
             super.setValueAt(rowIndex, columnName, value);
@@ -303,7 +306,7 @@ public class ProfiledOptimizedTableCore extends OptimizedTableCore {
         }
 
         // Only profile doubleStrings access if the value is a potential Double with a decimal point
-        // This matches the condition in OptimizedTableCore.setValueAt() for adding to originalDoubleStrings
+        // Only text with a decimal point can carry a scale for OptimizedTableCore.setValueAt() to record
         IColumn<?> column = getColumn(columnName);
         if (column != null && column.getType() == Double.class && value != null && value.contains(".")) {
             long startTime = System.nanoTime();
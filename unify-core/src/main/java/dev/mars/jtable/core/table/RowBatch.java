@@ -0,0 +1,172 @@
+/*
+ * Copyright 2025 Mark Andrew Ray-Smith Cityline Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.mars.jtable.core.table;
+
+import dev.mars.jtable.core.model.IColumn;
+import dev.mars.jtable.core.model.ITable;
+import dev.mars.jtable.core.model.ITableSchema;
+
+import java.util.Arrays;
+import java.util.Map;
+
+/**
+ * A batch of rows given as positional values, for {@link ITable#appendBatch(String[][])} and
+ * {@link ITable#appendBatch(Object[][])}.
+ *
+ * The whole batch is validated and converted before any row is appended, one column at a
+ * time, so each column's conversion runs as one loop and a bad value leaves the table
+ * unchanged. The converted values are held row by row, ready to become the value arrays
+ * of {@link ArrayRow}s.
+ */
+final class RowBatch {
+    private final ITableSchema schema;
+    private final Object[][] rows;
+    // The scales of each double column, or null where no value of the column has one
+    private final int[][] scales;
+
+    private RowBatch(ITableSchema schema, Object[][] rows, int[][] scales) {
+        this.schema = schema;
+        this.rows = rows;
+        this.scales = scales;
+    }
+
+    /**
+     * Validates and converts a batch of rows.
+     *
+     * @param schema the schema of the table the rows are appended to
+     * @param values the values of each row in column order, where a row may omit trailing
+     *               values and a null value is missing
+     * @param createDefaultValue whether missing values take the column's default value
+     * @return the converted batch
+     * @throws IllegalArgumentException if a row is null or too long, a value is missing and
+     *                                  no default is created, or a value cannot be converted
+     */
+    static RowBatch convert(ITableSchema schema, String[][] values, boolean createDefaultValue) {
+        int columnCount = schema.getColumnCount();
+        checkRows(values, columnCount);
+
+        Object[][] rows = new Object[values.length][columnCount];
+        int[][] scales = new int[columnCount][];
+        for (int column = 0; column < columnCount; column++) {
+            IColumn<?> target = schema.getColumn(column);
+            boolean isDouble = target.getType() == Double.class;
+            for (int row = 0; row < values.length; row++) {
+                String text = column < values[row].length ? values[row][column] : null;
+                Object value;
+                if (text != null) {
+                    value = target.convertFromString(text);
+                } else if (createDefaultValue) {
+                    value = target.createDefaultValue();
+                } else {
+                    throw new IllegalArgumentException("Row is missing column: " + target.getName());
+                }
+                rows[row][column] = value;
+
+                // Keep the scale of double values, allocating the column's scales on the first one
+                if (isDouble && text != null && value != null) {
+                    int scale = DecimalScales.scaleOf(text, (Double) value);
+                    if (scale != DecimalScales.NO_SCALE) {
+                        if (scales[column] == null) {
+                            scales[column] = new int[values.length];
+                            Arrays.fill(scales[column], DecimalScales.NO_SCALE);
+                        }
+                        scales[column][row] = scale;
+                    }
+                }
+            }
+        }
+        return new RowBatch(schema, rows, scales);
+    }
+
+    /**
+     * Validates a batch of rows whose values already have their columns' types.
+     *
+     * @param schema the schema of the table the rows are appended to
+     * @param values the values of each row in column order, where a row may omit trailing
+     *               values and a null value is a null
+     * @param createDefaultValue whether omitted values take the column's default value
+     * @return the batch, holding copies of the rows
+     * @throws IllegalArgumentException if a row is null or too long, a value is missing and
+     *                                  no default is created, or a value has the wrong type
+     */
+    static RowBatch of(ITableSchema schema, Object[][] values, boolean createDefaultValue) {
+        int columnCount = schema.getColumnCount();
+        checkRows(values, columnCount);
+
+        Object[][] rows = new Object[values.length][];
+        for (int row = 0; row < values.length; row++) {
+            rows[row] = Arrays.copyOf(values[row], columnCount);
+        }
+        for (int column = 0; column < columnCount; column++) {
+            IColumn<?> target = schema.getColumn(column);
+            for (int row = 0; row < values.length; row++) {
+                if (column >= values[row].length) {
+                    if (!createDefaultValue) {
+                        throw new IllegalArgumentException("Row is missing column: " + target.getName());
+                    }
+                    rows[row][column] = target.createDefaultValue();
+                } else if (!target.isValidValue(rows[row][column])) {
+                    throw new IllegalArgumentException("Invalid value for column: " + target.getName());
+                }
+            }
+        }
+        return new RowBatch(schema, rows, new int[columnCount][]);
+    }
+
+    private static void checkRows(Object[][] values, int columnCount) {
+        if (values == null) {
+            throw new IllegalArgumentException("Rows cannot be null");
+        }
+        for (Object[] row : values) {
+            if (row == null) {
+                throw new IllegalArgumentException("Row cannot be null");
+            }
+            if (row.length > columnCount) {
+                throw new IllegalArgumentException("Row has " + row.length + " values but the table has "
+                        + columnCount + " columns");
+            }
+        }
+    }
+
+    int size() {
+        return rows.length;
+    }
+
+    /**
+     * Gets the values of a row, indexed by column ordinal.
+     *
+     * @param row the index of the row in the batch
+     * @return the values, which the caller may take ownership of
+     */
+    Object[] row(int row) {
+        return rows[row];
+    }
+
+    /**
+     * Records the scales of the batch's double values, as rows starting at the given index.
+     *
+     * @param decimalScales the decimal scales of the table by column name
+     * @param firstRow the index the first row of the batch is appended at
+     */
+    void recordScales(Map<String, DecimalScales> decimalScales, int firstRow) {
+        for (int column = 0; column < scales.length; column++) {
+            if (scales[column] != null) {
+                decimalScales.computeIfAbsent(schema.getColumnName(column), k -> new DecimalScales())
+                        .setAll(firstRow, scales[column]);
+            }
+        }
+    }
+}
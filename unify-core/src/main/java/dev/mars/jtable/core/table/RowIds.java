@@ -0,0 +1,109 @@
+/*
+ * Copyright 2025 Mark Andrew Ray-Smith Cityline Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.mars.jtable.core.table;
+
+import java.util.Arrays;
+
+/**
+ * A sorted set of row indices held in an int array, as stored by the column indexes.
+ *
+ * Rows are usually added in ascending order as they are appended to a table, which is an
+ * append to the array; other additions and removals shift the array.
+ */
+final class RowIds {
+    private static final int[] EMPTY = new int[0];
+
+    private int[] rows;
+    private int size;
+
+    /**
+     * Creates a set holding one row.
+     *
+     * @param row the row index
+     */
+    RowIds(int row) {
+        this.rows = new int[] {row};
+        this.size = 1;
+    }
+
+    /**
+     * Adds a row.
+     *
+     * @param row the row index
+     */
+    void add(int row) {
+        int position = size > 0 && rows[size - 1] < row ? size : Arrays.binarySearch(rows, 0, size, row);
+        if (position >= 0 && position < size) {
+            return;
+        }
+        int insertion = position >= 0 ? position : -position - 1;
+        if (size == rows.length) {
+            rows = Arrays.copyOf(rows, ColumnVector.grownCapacity(rows.length, size + 1));
+        }
+        System.arraycopy(rows, insertion, rows, insertion + 1, size - insertion);
+        rows[insertion] = row;
+        size++;
+    }
+
+    /**
+     * Removes a row.
+     *
+     * @param row the row index
+     */
+    void remove(int row) {
+        int position = Arrays.binarySearch(rows, 0, size, row);
+        if (position >= 0) {
+            System.arraycopy(rows, position + 1, rows, position, size - position - 1);
+            size--;
+        }
+    }
+
+    int size() {
+        return size;
+    }
+
+    /**
+     * Estimates the heap bytes held by the set.
+     *
+     * @return the number of bytes
+     */
+    long estimateBytes() {
+        return MemoryEstimator.object(MemoryEstimator.REFERENCE + 4)
+                + (rows == EMPTY ? 0 : MemoryEstimator.array(rows.length, 4));
+    }
+
+    int get(int index) {
+        return rows[index];
+    }
+
+    int first() {
+        return size == 0 ? -1 : rows[0];
+    }
+
+    /**
+     * Copies the rows into the given array.
+     *
+     * @param target the array to copy into
+     * @param offset the position of the first row in the target
+     */
+    void copyTo(int[] target, int offset) {
+        System.arraycopy(rows, 0, target, offset, size);
+    }
+
+    int[] toArray() {
+        return size == 0 ? EMPTY : Arrays.copyOf(rows, size);
+    }
+}
@@ -0,0 +1,235 @@
+/*
+ * Copyright 2025 Mark Andrew Ray-Smith Cityline Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.mars.jtable.core.table;
+
+import dev.mars.jtable.core.model.IRowCursor;
+import dev.mars.jtable.core.model.ITable;
+
+import java.util.Arrays;
+
+/**
+ * The rows of a table selected by a {@link TableQuery}, held as one bit per row rather
+ * than as copies of the rows.
+ *
+ * A selection is a view: values are read from the table when they are accessed, so values
+ * set after the query ran are seen, but the query is not evaluated again and rows added
+ * afterwards are never selected.
+ */
+public final class RowSelection {
+    private final ITable table;
+    private final long[] words;
+    private final int rowCount;
+    private final int size;
+
+    /**
+     * Creates a selection over the given table.
+     *
+     * @param table the table the rows belong to
+     * @param words the selection bitmap, 64 rows to a long; not copied
+     * @param rowCount the number of rows the table held when the selection was made
+     */
+    RowSelection(ITable table, long[] words, int rowCount) {
+        this.table = table;
+        this.words = words;
+        this.rowCount = rowCount;
+        int count = 0;
+        for (long word : words) {
+            count += Long.bitCount(word);
+        }
+        this.size = count;
+    }
+
+    /**
+     * Creates a bitmap that selects every row of a table.
+     *
+     * @param rowCount the number of rows in the table
+     * @return the bitmap, 64 rows to a long
+     */
+    static long[] allRows(int rowCount) {
+        long[] words = new long[(rowCount + 63) >>> 6];
+        Arrays.fill(words, -1L);
+        if ((rowCount & 63) != 0) {
+            words[words.length - 1] = -1L >>> (64 - (rowCount & 63));
+        }
+        return words;
+    }
+
+    /**
+     * Gets the selection bitmap. The array is shared and must not be changed.
+     */
+    long[] bitmap() {
+        return words;
+    }
+
+    /**
+     * Gets the number of rows the table held when the selection was made.
+     */
+    int rowCount() {
+        return rowCount;
+    }
+
+    /**
+     * Gets the table the selected rows belong to.
+     *
+     * @return the table
+     */
+    public ITable getTable() {
+        return table;
+    }
+
+    /**
+     * Gets the number of selected rows.
+     *
+     * @return the number of rows
+     */
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Checks whether the given row is selected.
+     *
+     * @param rowIndex the index of the row
+     * @return true if the row is selected, false if it is not or is out of range
+     */
+    public boolean contains(int rowIndex) {
+        return rowIndex >= 0 && rowIndex < rowCount && (words[rowIndex >>> 6] & (1L << rowIndex)) != 0;
+    }
+
+    /**
+     * Finds the first selected row at or after the given row.
+     *
+     * @param fromRow the row index to start from
+     * @return the index of the selected row, or -1 if there is none
+     */
+    public int nextSelected(int fromRow) {
+        int row = Math.max(fromRow, 0);
+        if (row >= rowCount) {
+            return -1;
+        }
+        int word = row >>> 6;
+        long bits = words[word] & (-1L << row);
+        while (bits == 0) {
+            if (++word == words.length) {
+                return -1;
+            }
+            bits = words[word];
+        }
+        return (word << 6) + Long.numberOfTrailingZeros(bits);
+    }
+
+    /**
+     * Gets the indices of the selected rows.
+     *
+     * @return the row indices in ascending order
+     */
+    public int[] toArray() {
+        int[] rows = new int[size];
+        int next = 0;
+        for (int word = 0; word < words.length; word++) {
+            for (long bits = words[word]; bits != 0; bits &= bits - 1) {
+                rows[next++] = (word << 6) + Long.numberOfTrailingZeros(bits);
+            }
+        }
+        return rows;
+    }
+
+    /**
+     * Creates a cursor over the selected rows of the table. The cursor reports the rows'
+     * indices in the table and can only be moved onto selected rows.
+     *
+     * @return a new cursor positioned before the first selected row
+     */
+    public IRowCursor cursor() {
+        return new SelectionCursor(table.cursor());
+    }
+
+    /**
+     * A cursor that skips the rows the selection does not hold.
+     */
+    private final class SelectionCursor implements IRowCursor {
+        private final IRowCursor cursor;
+        private int rowIndex = -1;
+
+        SelectionCursor(IRowCursor cursor) {
+            this.cursor = cursor;
+        }
+
+        @Override
+        public boolean next() {
+            int next = nextSelected(rowIndex + 1);
+            if (next < 0) {
+                rowIndex = rowCount;
+                return false;
+            }
+            moveTo(next);
+            return true;
+        }
+
+        @Override
+        public void moveTo(int rowIndex) {
+            if (!contains(rowIndex)) {
+                throw new IndexOutOfBoundsException("Invalid row index: " + rowIndex);
+            }
+            cursor.moveTo(rowIndex);
+            this.rowIndex = rowIndex;
+        }
+
+        @Override
+        public int getRowIndex() {
+            return rowIndex;
+        }
+
+        @Override
+        public boolean isNull(int column) {
+            return cursor.isNull(column);
+        }
+
+        @Override
+        public int getInt(int column) {
+            return cursor.getInt(column);
+        }
+
+        @Override
+        public long getLong(int column) {
+            return cursor.getLong(column);
+        }
+
+        @Override
+        public double getDouble(int column) {
+            return cursor.getDouble(column);
+        }
+
+        @Override
+        public boolean getBoolean(int column) {
+            return cursor.getBoolean(column);
+        }
+
+        @Override
+        public String getString(int column) {
+            return cursor.getString(column);
+        }
+
+        @Override
+        public Object getObject(int column) {
+            return cursor.getObject(column);
+        }
+    }
+}
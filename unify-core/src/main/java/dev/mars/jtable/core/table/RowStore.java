@@ -0,0 +1,285 @@
+/*
+ * Copyright 2025 Mark Andrew Ray-Smith Cityline Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.mars.jtable.core.table;
+
+import dev.mars.jtable.core.model.ICell;
+import dev.mars.jtable.core.model.IColumnIndex;
+import dev.mars.jtable.core.model.IRow;
+import dev.mars.jtable.core.model.ISortedColumnIndex;
+import dev.mars.jtable.core.model.ITable;
+import dev.mars.jtable.core.model.ITableSchema;
+import dev.mars.jtable.core.model.TableMemoryUsage;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The row storage shared by the row-based tables, {@link TableCore} and
+ * {@link OptimizedTableCore}: the rows themselves, the decimal scales of their double
+ * values and the indexes on their columns.
+ *
+ * The tables keep their columns and validate what is added to them; the store keeps the
+ * three structures in step. Rows are {@link ArrayRow}s in a {@link ChunkedRowList}, shared
+ * with the table's snapshots, so a row is copied before it is changed and is only handed
+ * out as a {@link LiveRow} view.
+ */
+final class RowStore {
+    private final ITable table;
+    // Appends never copy existing rows, and snapshots share its chunks
+    private final ChunkedRowList<IRow> rows;
+    // Scales of double values parsed from text, so getValueAt can reproduce the text
+    private final Map<String, DecimalScales> decimalScales;
+    // Hash indexes on columns, maintained on every append and write through the table
+    private final TableIndexes indexes = new TableIndexes();
+
+    /**
+     * Creates an empty store.
+     *
+     * @param table the table that owns the store and creates its rows
+     * @param decimalScales the map to keep the decimal scales in, by column name
+     * @param initialRowCapacity the expected number of rows
+     */
+    RowStore(ITable table, Map<String, DecimalScales> decimalScales, int initialRowCapacity) {
+        this.table = table;
+        this.rows = new ChunkedRowList<>(initialRowCapacity);
+        this.decimalScales = decimalScales;
+    }
+
+    int size() {
+        return rows.size();
+    }
+
+    /**
+     * Gets the stored rows, for readers that never change them.
+     *
+     * @return the live list of stored rows
+     */
+    List<IRow> rows() {
+        return rows;
+    }
+
+    private void checkRowIndex(int rowIndex) {
+        if (rowIndex < 0 || rowIndex >= rows.size()) {
+            throw new IndexOutOfBoundsException("Invalid row index: " + rowIndex);
+        }
+    }
+
+    /**
+     * Gets a view of the row at the given index, whose writes go through the table.
+     *
+     * @param rowIndex the index of the row
+     * @return the view
+     */
+    IRow view(int rowIndex) {
+        checkRowIndex(rowIndex);
+        return new LiveRow(table, rows::get, rowIndex);
+    }
+
+    /**
+     * Gets views of every row, as {@link #view(int)} does.
+     *
+     * @return the views, in row order
+     */
+    List<IRow> views() {
+        int rowCount = rows.size();
+        List<IRow> result = new ArrayList<>(rowCount);
+        for (int i = 0; i < rowCount; i++) {
+            result.add(new LiveRow(table, rows::get, i));
+        }
+        return result;
+    }
+
+    /**
+     * Gets the stored row at the given index rather than a view of it.
+     *
+     * @param rowIndex the index of the row
+     * @return the stored row
+     */
+    IRow storedRow(int rowIndex) {
+        checkRowIndex(rowIndex);
+        return rows.get(rowIndex);
+    }
+
+    /**
+     * Gets the value of a column of a stored row.
+     *
+     * @param rowIndex the index of the row
+     * @param columnName the name of the column
+     * @return the value, or null if it is null or has not been set
+     */
+    Object valueOf(int rowIndex, String columnName) {
+        return valueOf(storedRow(rowIndex), columnName);
+    }
+
+    private static Object valueOf(IRow row, String columnName) {
+        if (row instanceof ArrayRow) {
+            return ((ArrayRow) row).getValue(columnName);
+        }
+        ICell<?> cell = row.getCell(columnName);
+        return cell == null ? null : cell.getValue();
+    }
+
+    /**
+     * Gets the scale recorded for a double value.
+     *
+     * @param rowIndex the index of the row
+     * @param columnName the name of the column
+     * @return the scale, or {@link DecimalScales#NO_SCALE} if none is recorded
+     */
+    int decimalScale(int rowIndex, String columnName) {
+        DecimalScales scales = decimalScales.get(columnName);
+        return scales == null ? DecimalScales.NO_SCALE : scales.get(rowIndex);
+    }
+
+    /**
+     * Appends a copy of a validated row, so that the caller's row cannot change the table
+     * behind its snapshots.
+     *
+     * @param row the row to append
+     */
+    void addCopy(IRow row) {
+        IRow stored = copyRow(row);
+        int rowIndex = rows.append(stored);
+        indexes.rowAdded(rowIndex, columnName -> valueOf(stored, columnName));
+    }
+
+    /**
+     * Appends a new row that the table created and no one else holds.
+     *
+     * @param row the row to append
+     * @param scales the scales of its double values by column name, or null if there are none
+     */
+    void add(IRow row, Map<String, Integer> scales) {
+        // Record the scales before the row becomes visible
+        int rowIndex = rows.append(row, scales == null ? null : index -> {
+            for (Map.Entry<String, Integer> entry : scales.entrySet()) {
+                decimalScales.computeIfAbsent(entry.getKey(), k -> new DecimalScales())
+                        .set(index, entry.getValue());
+            }
+        });
+        indexes.rowAdded(rowIndex, columnName -> valueOf(row, columnName));
+    }
+
+    /**
+     * Appends a converted batch of rows, which become visible together.
+     *
+     * @param batch the batch
+     * @param schema the schema of the table, which the batch's values are ordered by
+     */
+    void addBatch(RowBatch batch, ITableSchema schema) {
+        ArrayRow[] newRows = new ArrayRow[batch.size()];
+        for (int i = 0; i < newRows.length; i++) {
+            newRows[i] = ArrayRow.of(table, schema, batch.row(i));
+        }
+
+        // Record the scales before the rows become visible, then publish every row at once
+        int firstRow = rows.appendAll(newRows, first -> batch.recordScales(decimalScales, first));
+        // Index the stored rows, whose arrays now mark explicit nulls
+        for (int i = 0; i < newRows.length; i++) {
+            ArrayRow row = newRows[i];
+            indexes.rowAdded(firstRow + i, row::getValue);
+        }
+    }
+
+    /**
+     * Changes a value together with its recorded decimal scale, so that a snapshot sees
+     * both or neither. A row shared with a snapshot is copied before it is changed.
+     *
+     * @param rowIndex the index of the row
+     * @param columnName the name of the column
+     * @param value the new value
+     * @param text the text a double value was parsed from, or null if it was set directly
+     */
+    void write(int rowIndex, String columnName, Object value, String text) {
+        checkRowIndex(rowIndex);
+        rows.update(rowIndex, this::copyRow, row -> {
+            Object oldValue = indexes.isIndexed(columnName) ? valueOf(row, columnName) : null;
+            row.setValue(columnName, value);
+            indexes.valueChanged(columnName, rowIndex, oldValue, value);
+            if (text != null && value instanceof Double) {
+                recordDecimalScale(columnName, rowIndex, text, (Double) value);
+            } else {
+                DecimalScales scales = decimalScales.get(columnName);
+                if (scales != null) {
+                    scales.set(rowIndex, DecimalScales.NO_SCALE);
+                }
+            }
+        });
+    }
+
+    private IRow copyRow(IRow row) {
+        if (row instanceof ArrayRow && row.getTable() == table) {
+            return ((ArrayRow) row).copy();
+        }
+        IRow copy = table.createRow();
+        for (ICell<?> cell : row.getCells()) {
+            copy.setValue(cell.getColumn().getName(), cell.getValue());
+        }
+        return copy;
+    }
+
+    /**
+     * Records the scale of the text a double was parsed from, so getValueAt can reproduce
+     * the text, for example its trailing zeros.
+     */
+    private void recordDecimalScale(String columnName, int rowIndex, String text, double value) {
+        int scale = DecimalScales.scaleOf(text, value);
+        DecimalScales scales = decimalScales.get(columnName);
+        if (scales == null) {
+            if (scale == DecimalScales.NO_SCALE) {
+                return;
+            }
+            scales = decimalScales.computeIfAbsent(columnName, k -> new DecimalScales());
+        }
+        scales.set(rowIndex, scale);
+    }
+
+    IColumnIndex createIndex(String columnName) {
+        return indexes.create(table, columnName);
+    }
+
+    ISortedColumnIndex createSortedIndex(String columnName) {
+        return indexes.createSorted(table, columnName);
+    }
+
+    IColumnIndex getIndex(String columnName) {
+        return indexes.get(columnName);
+    }
+
+    /**
+     * Drops every index, for when the table's columns are replaced.
+     */
+    void clearIndexes() {
+        indexes.clear();
+    }
+
+    /**
+     * Takes a snapshot of the table in constant time.
+     *
+     * @param schema the current schema of the table
+     * @return the snapshot
+     */
+    ITable snapshot(ITableSchema schema) {
+        // Shares the row chunks; rows and decimal scales are copied when next changed
+        return rows.snapshot(frozenRows ->
+                new TableSnapshot(table, schema, frozenRows, TableSnapshot.snapshotScales(decimalScales)));
+    }
+
+    TableMemoryUsage estimateMemoryUsage() {
+        return MemoryEstimator.estimateRows(table, rows, decimalScales, indexes);
+    }
+}
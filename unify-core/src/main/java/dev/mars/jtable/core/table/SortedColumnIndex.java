@@ -0,0 +1,146 @@
+/*
+ * Copyright 2025 Mark Andrew Ray-Smith Cityline Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.mars.jtable.core.table;
+
+import dev.mars.jtable.core.model.IColumn;
+import dev.mars.jtable.core.model.ISortedColumnIndex;
+
+import java.util.Comparator;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+/**
+ * A sorted index from the values of a column to the rows holding them, kept in a red-black
+ * tree so that a range is found in O(log n) and its k rows copied in O(k).
+ *
+ * Numeric values are ordered by value across boxed types, comparing as long when both are
+ * integral and as double otherwise. Values of other columns use their natural ordering, which
+ * for LocalDate, LocalTime and LocalDateTime is chronological.
+ */
+final class SortedColumnIndex extends ColumnIndex implements ISortedColumnIndex {
+    private static final Comparator<Object> KEY_ORDER = ColumnIndex::compareValues;
+
+    private final Class<?> type;
+    private final boolean numeric;
+    private final NavigableMap<Object, RowIds> entries = new TreeMap<>(KEY_ORDER);
+    private RowIds nullRows;
+
+    /**
+     * Creates a new, empty index for the given column.
+     *
+     * @param column the column to index
+     * @throws IllegalArgumentException if the column's values have no natural ordering
+     */
+    SortedColumnIndex(IColumn<?> column) {
+        super(column.getName());
+        this.type = column.getType();
+        this.numeric = Number.class.isAssignableFrom(type);
+        if (!numeric && !Comparable.class.isAssignableFrom(type)) {
+            throw new IllegalArgumentException("Column cannot be sorted: " + column.getName());
+        }
+    }
+
+    private boolean isKey(Object value) {
+        return numeric ? value instanceof Number : type.isInstance(value);
+    }
+
+    @Override
+    synchronized void add(Object value, int row) {
+        if (value == null) {
+            if (nullRows == null) {
+                nullRows = new RowIds(row);
+            } else {
+                nullRows.add(row);
+            }
+        } else if (isKey(value)) {
+            RowIds rows = entries.get(value);
+            if (rows == null) {
+                entries.put(value, new RowIds(row));
+            } else {
+                rows.add(row);
+            }
+        }
+    }
+
+    @Override
+    synchronized void remove(Object value, int row) {
+        super.remove(value, row);
+        // Drop emptied values so that ranges only visit values some row still holds
+        if (value != null && isKey(value)) {
+            RowIds rows = entries.get(value);
+            if (rows != null && rows.size() == 0) {
+                entries.remove(value);
+            }
+        }
+    }
+
+    @Override
+    RowIds find(Object value) {
+        if (value == null) {
+            return nullRows;
+        }
+        return isKey(value) ? entries.get(value) : null;
+    }
+
+    @Override
+    public synchronized int[] range(Object from, boolean fromInclusive, Object to, boolean toInclusive) {
+        if ((from != null && !isKey(from)) || (to != null && !isKey(to))) {
+            throw new IllegalArgumentException("Invalid value for column: " + getColumnName());
+        }
+        if (from != null && to != null) {
+            int order = compareValues(from, to);
+            if (order > 0 || (order == 0 && !(fromInclusive && toInclusive))) {
+                return NO_ROWS;
+            }
+        }
+
+        NavigableMap<Object, RowIds> selected = entries;
+        if (from != null) {
+            selected = selected.tailMap(from, fromInclusive);
+        }
+        if (to != null) {
+            selected = selected.headMap(to, toInclusive);
+        }
+
+        int count = 0;
+        for (RowIds rows : selected.values()) {
+            count += rows.size();
+        }
+        if (count == 0) {
+            return NO_ROWS;
+        }
+        int[] result = new int[count];
+        int offset = 0;
+        for (RowIds rows : selected.values()) {
+            rows.copyTo(result, offset);
+            offset += rows.size();
+        }
+        return result;
+    }
+
+    @Override
+    synchronized long estimateBytes() {
+        long bytes = MemoryEstimator.object(4 * MemoryEstimator.REFERENCE + 1)
+                + MemoryEstimator.object(4 * MemoryEstimator.REFERENCE + 8)
+                + (long) entries.size() * MemoryEstimator.TREE_ENTRY
+                + (nullRows == null ? 0 : nullRows.estimateBytes());
+        for (Map.Entry<Object, RowIds> entry : entries.entrySet()) {
+            bytes += MemoryEstimator.value(entry.getKey()) + entry.getValue().estimateBytes();
+        }
+        return bytes;
+    }
+}
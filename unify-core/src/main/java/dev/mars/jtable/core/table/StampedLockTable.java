@@ -0,0 +1,534 @@
+/*
+ * Copyright 2025 Mark Andrew Ray-Smith Cityline Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.mars.jtable.core.table;
+
+import dev.mars.jtable.core.model.ICell;
+import dev.mars.jtable.core.model.IColumn;
+import dev.mars.jtable.core.model.IColumnIndex;
+import dev.mars.jtable.core.model.IRow;
+import dev.mars.jtable.core.model.IRowCursor;
+import dev.mars.jtable.core.model.ISortedColumnIndex;
+import dev.mars.jtable.core.model.ITable;
+import dev.mars.jtable.core.model.ITableSchema;
+import dev.mars.jtable.core.model.SortSpec;
+import dev.mars.jtable.core.model.TableMemoryUsage;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.Supplier;
+
+/**
+ * A thread-safe decorator that guards the rows and columns of any ITable with a StampedLock.
+ *
+ * Reads by row and column ordinal, the schema, the row and column counts and the name are
+ * optimistic: they run without blocking and are retried under the read lock only if a write
+ * happened meanwhile, so readers never contend with each other and never write to shared
+ * memory. An optimistic read may run while a writer changes the wrapped table, so it is only
+ * used where the cores of this package read immutable schemas, the append-only row list or
+ * the column vectors, which at worst yield a stale value or an exception that the retry
+ * discards. Reads that look a column up by name, or that hand out or copy state, go through
+ * hash maps or collections that writers restructure, so they always take the read lock.
+ * Writes such as addRow, setValue and setColumns take the write lock. Unlike the concurrent
+ * mode of OptimizedTableCore, which only makes appends thread-safe, updates and the column
+ * map of the wrapped table are protected as well.
+ *
+ * Rows returned by getRow, getRows and createRow are wrapped, so that reads through them take
+ * the read lock and writes the write lock. Cursors read each value under the lock but are not
+ * isolated from writes between calls.
+ *
+ * Usage example:
+ * <pre>
+ * ITable table = new StampedLockTable(new ColumnarTableCore());
+ * table.setColumns(columns);
+ * // addRow and getValueAt may now be called from any thread
+ * </pre>
+ */
+public class StampedLockTable implements ITable, ColumnVectorSource {
+    private final ITable table;
+    private final StampedLock lock = new StampedLock();
+
+    /**
+     * Creates a new StampedLockTable wrapping the given table.
+     *
+     * @param table the table to guard; it must not be accessed other than through this wrapper
+     */
+    public StampedLockTable(ITable table) {
+        if (table == null) {
+            throw new IllegalArgumentException("Table cannot be null");
+        }
+        this.table = table;
+    }
+
+    /**
+     * Runs a read optimistically, repeating it under the read lock if a write intervened.
+     * A read that races with a write may see inconsistent state and fail, so a failure only
+     * propagates if the stamp is still valid. The primitive reads go through here as well;
+     * their values are boxed only for the hand-off out of the supplier.
+     */
+    private <T> T read(Supplier<T> reader) {
+        long stamp = lock.tryOptimisticRead();
+        if (stamp != 0L) {
+            try {
+                T value = reader.get();
+                if (lock.validate(stamp)) {
+                    return value;
+                }
+            } catch (RuntimeException e) {
+                if (lock.validate(stamp)) {
+                    throw e;
+                }
+            }
+        }
+        stamp = lock.readLock();
+        try {
+            return reader.get();
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * Runs a read that looks a column up by name, hands out mutable state or is too long to
+     * repeat under the read lock.
+     */
+    private <T> T readLocked(Supplier<T> reader) {
+        long stamp = lock.readLock();
+        try {
+            return reader.get();
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    private void write(Runnable writer) {
+        long stamp = lock.writeLock();
+        try {
+            writer.run();
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    @Override
+    public String getName() {
+        return read(table::getName);
+    }
+
+    @Override
+    public void setName(String name) {
+        write(() -> table.setName(name));
+    }
+
+    @Override
+    public void setCreateDefaultValue(boolean createDefaultValue) {
+        write(() -> table.setCreateDefaultValue(createDefaultValue));
+    }
+
+    @Override
+    public boolean isCreateDefaultValue() {
+        return read(table::isCreateDefaultValue);
+    }
+
+    @Override
+    public String getDefaultValue(String type) {
+        return table.getDefaultValue(type);
+    }
+
+    @Override
+    public IColumn<?> getColumn(String name) {
+        return readLocked(() -> table.getColumn(name));
+    }
+
+    @Override
+    public IColumn<?> getColumn(int index) {
+        return read(() -> table.getColumn(index));
+    }
+
+    @Override
+    public List<IColumn<?>> getColumns() {
+        return readLocked(table::getColumns);
+    }
+
+    @Override
+    public ITableSchema getSchema() {
+        return read(table::getSchema);
+    }
+
+    @Override
+    public void addColumn(IColumn<?> column) {
+        write(() -> table.addColumn(column));
+    }
+
+    @Override
+    public String getColumnName(int index) {
+        return read(() -> table.getColumnName(index));
+    }
+
+    @Override
+    public IRow getRow(int index) {
+        return new LockedRow(readLocked(() -> table.getRow(index)));
+    }
+
+    @Override
+    public List<IRow> getRows() {
+        List<IRow> rows = readLocked(table::getRows);
+        List<IRow> lockedRows = new ArrayList<>(rows.size());
+        for (IRow row : rows) {
+            lockedRows.add(new LockedRow(row));
+        }
+        return lockedRows;
+    }
+
+    @Override
+    public void addRow(IRow row) {
+        // The wrapped table reads the row while the write lock is held, so it is given the
+        // unwrapped row, whose reads do not take the lock again
+        IRow unwrapped = row instanceof LockedRow ? ((LockedRow) row).row : row;
+        write(() -> table.addRow(unwrapped));
+    }
+
+    @Override
+    public void addRow(Map<String, String> row) {
+        write(() -> table.addRow(row));
+    }
+
+    @Override
+    public void appendBatch(String[][] rows) {
+        write(() -> table.appendBatch(rows));
+    }
+
+    @Override
+    public void appendBatch(Object[][] rows) {
+        write(() -> table.appendBatch(rows));
+    }
+
+    @Override
+    public IRow createRow() {
+        return new LockedRow(readLocked(table::createRow));
+    }
+
+    @Override
+    public IRowCursor cursor() {
+        return new LockedCursor(readLocked(table::cursor));
+    }
+
+    @Override
+    public IColumnIndex createIndex(String columnName) {
+        long stamp = lock.writeLock();
+        try {
+            return table.createIndex(columnName);
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    @Override
+    public ISortedColumnIndex createSortedIndex(String columnName) {
+        long stamp = lock.writeLock();
+        try {
+            return table.createSortedIndex(columnName);
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    @Override
+    public IColumnIndex getIndex(String columnName) {
+        return readLocked(() -> table.getIndex(columnName));
+    }
+
+    @Override
+    public ITable view(int[] rowSelection, String... columnNames) {
+        return TableView.of(this, rowSelection, columnNames);
+    }
+
+    @Override
+    public int[] sort(SortSpec... specs) {
+        return readLocked(() -> table.sort(specs));
+    }
+
+    @Override
+    public ITable snapshot() {
+        return readLocked(table::snapshot);
+    }
+
+    @Override
+    public TableMemoryUsage estimateMemoryUsage() {
+        return readLocked(table::estimateMemoryUsage);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * The vector is a snapshot of the wrapped table's vector, taken under the read lock, so
+     * a query can scan it after the lock is released while writers carry on.
+     */
+    @Override
+    public ColumnVector columnVector(int ordinal) {
+        if (!(table instanceof ColumnVectorSource)) {
+            return null;
+        }
+        return readLocked(() -> {
+            ColumnVector vector = ((ColumnVectorSource) table).columnVector(ordinal);
+            return vector == null ? null : vector.snapshot(table.getRowCount());
+        });
+    }
+
+    @Override
+    public int getRowCount() {
+        return read(table::getRowCount);
+    }
+
+    @Override
+    public int getColumnCount() {
+        return read(table::getColumnCount);
+    }
+
+    @Override
+    public Object getValueObject(int rowIndex, String columnName) {
+        return readLocked(() -> table.getValueObject(rowIndex, columnName));
+    }
+
+    @Override
+    public void setValue(int rowIndex, String columnName, Object value) {
+        write(() -> table.setValue(rowIndex, columnName, value));
+    }
+
+    @Override
+    public String getValueAt(int rowIndex, String columnName) {
+        return readLocked(() -> table.getValueAt(rowIndex, columnName));
+    }
+
+    @Override
+    public void setValueAt(int rowIndex, String columnName, String value) {
+        write(() -> table.setValueAt(rowIndex, columnName, value));
+    }
+
+    @Override
+    public boolean isNull(int rowIndex, int columnIndex) {
+        return read(() -> table.isNull(rowIndex, columnIndex));
+    }
+
+    @Override
+    public int getInt(int rowIndex, int columnIndex) {
+        return read(() -> table.getInt(rowIndex, columnIndex));
+    }
+
+    @Override
+    public long getLong(int rowIndex, int columnIndex) {
+        return read(() -> table.getLong(rowIndex, columnIndex));
+    }
+
+    @Override
+    public double getDouble(int rowIndex, int columnIndex) {
+        return read(() -> table.getDouble(rowIndex, columnIndex));
+    }
+
+    @Override
+    public boolean getBoolean(int rowIndex, int columnIndex) {
+        return read(() -> table.getBoolean(rowIndex, columnIndex));
+    }
+
+    @Override
+    public void setInt(int rowIndex, int columnIndex, int value) {
+        write(() -> table.setInt(rowIndex, columnIndex, value));
+    }
+
+    @Override
+    public void setLong(int rowIndex, int columnIndex, long value) {
+        write(() -> table.setLong(rowIndex, columnIndex, value));
+    }
+
+    @Override
+    public void setDouble(int rowIndex, int columnIndex, double value) {
+        write(() -> table.setDouble(rowIndex, columnIndex, value));
+    }
+
+    @Override
+    public void setBoolean(int rowIndex, int columnIndex, boolean value) {
+        write(() -> table.setBoolean(rowIndex, columnIndex, value));
+    }
+
+    @Override
+    public Object convertValue(String value, IColumn<?> column) {
+        return table.convertValue(value, column);
+    }
+
+    @Override
+    public void setColumns(LinkedHashMap<String, String> columns) {
+        write(() -> table.setColumns(columns));
+    }
+
+    @Override
+    public String inferType(String value) {
+        return table.inferType(value);
+    }
+
+    @Override
+    public void printTable() {
+        readLocked(() -> {
+            table.printTable();
+            return null;
+        });
+    }
+
+    /**
+     * A cursor over the wrapped table that reads each value, and each move, under the lock.
+     */
+    private class LockedCursor implements IRowCursor {
+        private final IRowCursor cursor;
+
+        LockedCursor(IRowCursor cursor) {
+            this.cursor = cursor;
+        }
+
+        @Override
+        public boolean next() {
+            return readLocked(cursor::next);
+        }
+
+        @Override
+        public void moveTo(int rowIndex) {
+            readLocked(() -> {
+                cursor.moveTo(rowIndex);
+                return null;
+            });
+        }
+
+        @Override
+        public int getRowIndex() {
+            return cursor.getRowIndex();
+        }
+
+        @Override
+        public boolean isNull(int columnIndex) {
+            return read(() -> cursor.isNull(columnIndex));
+        }
+
+        @Override
+        public int getInt(int columnIndex) {
+            return read(() -> cursor.getInt(columnIndex));
+        }
+
+        @Override
+        public long getLong(int columnIndex) {
+            return read(() -> cursor.getLong(columnIndex));
+        }
+
+        @Override
+        public double getDouble(int columnIndex) {
+            return read(() -> cursor.getDouble(columnIndex));
+        }
+
+        @Override
+        public boolean getBoolean(int columnIndex) {
+            return read(() -> cursor.getBoolean(columnIndex));
+        }
+
+        @Override
+        public String getString(int columnIndex) {
+            return read(() -> cursor.getString(columnIndex));
+        }
+
+        @Override
+        public Object getObject(int columnIndex) {
+            return read(() -> cursor.getObject(columnIndex));
+        }
+    }
+
+    /**
+     * A row of the wrapped table whose reads take the read lock and whose writes take the
+     * write lock, with cells that do the same.
+     */
+    private class LockedRow implements IRow {
+        private final IRow row;
+
+        LockedRow(IRow row) {
+            this.row = row;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public <T> ICell<T> getCell(IColumn<T> column) {
+            return (ICell<T>) getCell(column.getName());
+        }
+
+        @Override
+        public ICell<?> getCell(String columnName) {
+            ICell<?> cell = readLocked(() -> row.getCell(columnName));
+            return cell == null ? null : new LockedCell<>(cell);
+        }
+
+        @Override
+        public <T> void setValue(IColumn<T> column, T value) {
+            write(() -> row.setValue(column, value));
+        }
+
+        @Override
+        public void setValue(String columnName, Object value) {
+            write(() -> row.setValue(columnName, value));
+        }
+
+        @Override
+        public List<ICell<?>> getCells() {
+            List<ICell<?>> cells = readLocked(row::getCells);
+            List<ICell<?>> lockedCells = new ArrayList<>(cells.size());
+            for (ICell<?> cell : cells) {
+                lockedCells.add(new LockedCell<>(cell));
+            }
+            return lockedCells;
+        }
+
+        @Override
+        public ITable getTable() {
+            return StampedLockTable.this;
+        }
+    }
+
+    /**
+     * A cell of a locked row, which reads under the read lock and writes under the write lock.
+     */
+    private class LockedCell<T> implements ICell<T> {
+        private final ICell<T> cell;
+
+        LockedCell(ICell<T> cell) {
+            this.cell = cell;
+        }
+
+        @Override
+        public T getValue() {
+            return readLocked(cell::getValue);
+        }
+
+        @Override
+        public void setValue(T value) {
+            write(() -> cell.setValue(value));
+        }
+
+        @Override
+        public String getValueAsString() {
+            return readLocked(cell::getValueAsString);
+        }
+
+        @Override
+        public IColumn<T> getColumn() {
+            return cell.getColumn();
+        }
+    }
+}
@@ -0,0 +1,111 @@
+/*
+ * Copyright 2025 Mark Andrew Ray-Smith Cityline Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.mars.jtable.core.table;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * An append-only dictionary that assigns a dense int code to each distinct string.
+ *
+ * Codes are allocated in insertion order starting at 0 and never change, so two values
+ * are equal exactly when their codes are equal. Lookups are lock-free; adding a new value
+ * takes a lock so codes stay dense when several threads encode concurrently.
+ */
+final class StringDictionary {
+    /** Code returned by {@link #codeOf(String)} for values that are not in the dictionary. */
+    static final int NOT_FOUND = -1;
+
+    private final Map<String, Integer> codes = new ConcurrentHashMap<>();
+    private volatile String[] values = new String[16];
+    private volatile int size;
+
+    /**
+     * Gets the code for the given value, adding the value to the dictionary if needed.
+     *
+     * @param value the value to encode, must not be null
+     * @return the code of the value
+     */
+    int encode(String value) {
+        Integer code = codes.get(value);
+        if (code != null) {
+            return code;
+        }
+        synchronized (this) {
+            code = codes.get(value);
+            if (code != null) {
+                return code;
+            }
+            int next = size;
+            if (next == values.length) {
+                values = Arrays.copyOf(values, next << 1);
+            }
+            values[next] = value;
+            size = next + 1;
+            codes.put(value, next);
+            return next;
+        }
+    }
+
+    /**
+     * Gets the code for the given value without adding it.
+     *
+     * @param value the value to look up
+     * @return the code of the value, or {@link #NOT_FOUND} if the value is not present
+     */
+    int codeOf(String value) {
+        Integer code = value == null ? null : codes.get(value);
+        return code == null ? NOT_FOUND : code;
+    }
+
+    /**
+     * Gets the value for the given code.
+     *
+     * @param code a code previously returned by {@link #encode(String)}
+     * @return the value
+     */
+    String valueOf(int code) {
+        return values[code];
+    }
+
+    /**
+     * Gets the number of distinct values in the dictionary.
+     *
+     * @return the number of distinct values
+     */
+    int size() {
+        return size;
+    }
+
+    /**
+     * Estimates the heap bytes held by the dictionary, including its values.
+     *
+     * @return the number of bytes
+     */
+    long estimateBytes() {
+        String[] current = values;
+        int count = Math.min(size, current.length);
+        // The map shares its keys with the values array; codes above 127 are boxed
+        long bytes = MemoryEstimator.object(2 * MemoryEstimator.REFERENCE + 4)
+                + MemoryEstimator.hashMap(count) + (long) Math.max(0, count - 128) * MemoryEstimator.object(4)
+                + MemoryEstimator.array(current.length, MemoryEstimator.REFERENCE);
+        for (int code = 0; code < count; code++) {
+            bytes += MemoryEstimator.string(current[code]);
+        }
+        return bytes;
+    }
+}
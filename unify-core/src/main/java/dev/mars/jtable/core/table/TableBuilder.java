@@ -48,26 +48,76 @@
 package dev.mars.jtable.core.table;
 
 import dev.mars.jtable.core.model.IColumn;
-import dev.mars.jtable.core.model.IRow;
 import dev.mars.jtable.core.model.ITable;
+import dev.mars.jtable.core.model.ITableSchema;
 
-import java.util.ArrayList;
 import java.util.HashMap;
-import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.function.IntFunction;
 
+/**
+ * Builds a table column by column and row by row.
+ *
+ * Each row is converted and written to the target table as soon as it is added, so the
+ * builder holds no rows of its own and a bad value is reported by the call that adds it.
+ * The target can be any {@link ITable}; given an expected row count, a table whose
+ * constructor takes an initial capacity is sized up front:
+ *
+ * <pre>
+ * ITable table = new TableBuilder(ColumnarTableCore::new, 1_000_000)
+ *         .addStringColumn("Name")
+ *         .addIntColumn("Age")
+ *         .addValues("Alice", 30)
+ *         .addRow("Name", "Bob", "Age", "25")
+ *         .build();
+ * </pre>
+ */
 public class TableBuilder {
     private final ITable table;
-    private final Map<String, IColumn<?>> columns = new LinkedHashMap<>();
-    private final List<Map<String, String>> rows = new ArrayList<>();
 
+    /**
+     * Creates a builder for a new {@link TableCore}.
+     */
     public TableBuilder() {
-        this.table = new TableCore();
+        this(new TableCore());
+    }
+
+    /**
+     * Creates a builder that adds columns and rows to the given table.
+     *
+     * @param table the table to build
+     * @throws IllegalArgumentException if the table is null
+     */
+    public TableBuilder(ITable table) {
+        if (table == null) {
+            throw new IllegalArgumentException("Table cannot be null");
+        }
+        this.table = table;
+    }
+
+    /**
+     * Creates a builder for a table created with room for the expected number of rows,
+     * such as {@code new TableBuilder(OptimizedTableCore::new, 10_000)}.
+     *
+     * @param factory creates the table from its initial row capacity
+     * @param expectedRowCount the number of rows the table is expected to hold
+     * @throws IllegalArgumentException if the expected row count is negative or the factory
+     *                                  returns null
+     */
+    public TableBuilder(IntFunction<? extends ITable> factory, int expectedRowCount) {
+        this(create(factory, expectedRowCount));
+    }
+
+    private static ITable create(IntFunction<? extends ITable> factory, int expectedRowCount) {
+        if (expectedRowCount < 0) {
+            throw new IllegalArgumentException("Expected row count cannot be negative: " + expectedRowCount);
+        }
+        return factory.apply(expectedRowCount);
     }
 
     public TableBuilder addColumn(IColumn<?> column) {
-        columns.put(column.getName(), column);
+        table.addColumn(column);
         return this;
     }
 
@@ -88,13 +138,34 @@ public class TableBuilder {
     }
 
     /**
-     * Adds a row to the table being built.
+     * Adds a row to the table being built. Columns missing from the map take their default
+     * value when the table creates default values, and are null otherwise.
      *
      * @param row a map of column names to values
      * @return this builder for method chaining
+     * @throws IllegalArgumentException if a column does not exist or a value cannot be converted
      */
     public TableBuilder addRow(Map<String, String> row) {
-        rows.add(new HashMap<>(row)); // Create a copy to avoid external modifications
+        if (row == null) {
+            throw new IllegalArgumentException("Row map cannot be null");
+        }
+        ITableSchema schema = table.getSchema();
+        Object[] values = new Object[schema.getColumnCount()];
+        for (Map.Entry<String, String> entry : row.entrySet()) {
+            int ordinal = schema.indexOf(entry.getKey());
+            if (ordinal < 0) {
+                throw new IllegalArgumentException("Column '" + entry.getKey() + "' does not exist");
+            }
+            values[ordinal] = schema.getColumn(ordinal).convertFromString(entry.getValue());
+        }
+        if (row.size() < values.length && table.isCreateDefaultValue()) {
+            for (int ordinal = 0; ordinal < values.length; ordinal++) {
+                if (!row.containsKey(schema.getColumnName(ordinal))) {
+                    values[ordinal] = schema.getColumn(ordinal).createDefaultValue();
+                }
+            }
+        }
+        table.appendBatch(new Object[][] {values});
         return this;
     }
 
@@ -117,6 +188,21 @@ public class TableBuilder {
         return addRow(row);
     }
 
+    /**
+     * Adds a row of values that already have their columns' types, in column order, so no
+     * value is converted from a string. Omitted trailing values take their column's default
+     * value when the table creates default values.
+     *
+     * @param values the values of the row, e.g. {@code "Alice", 30, 75000.5, true}
+     * @return this builder for method chaining
+     * @throws IllegalArgumentException if there are too many values, a value is missing and no
+     *                                  default is created, or a value is not of its column's type
+     */
+    public TableBuilder addValues(Object... values) {
+        table.appendBatch(new Object[][] {values});
+        return this;
+    }
+
     /**
      * Adds multiple rows to the table being built.
      *
@@ -137,49 +223,16 @@ public class TableBuilder {
      * @return this builder for method chaining
      */
     public TableBuilder setCreateDefaultValue(boolean createDefaultValue) {
-        ((TableCore) table).setCreateDefaultValue(createDefaultValue);
+        table.setCreateDefaultValue(createDefaultValue);
         return this;
     }
 
     /**
-     * Builds the table with the configured columns and rows.
+     * Gets the built table. The rows have already been written to it as they were added.
      *
      * @return the built table
      */
     public ITable build() {
-        // Add columns to the table
-        for (IColumn<?> column : columns.values()) {
-            table.addColumn(column);
-        }
-
-        // Add rows to the table
-        for (Map<String, String> rowData : rows) {
-            IRow row = table.createRow();
-
-            // Add values from the map
-            for (Map.Entry<String, String> entry : rowData.entrySet()) {
-                String columnName = entry.getKey();
-                String value = entry.getValue();
-                IColumn<?> column = table.getColumn(columnName);
-
-                if (column == null) {
-                    throw new IllegalArgumentException("Column '" + columnName + "' does not exist");
-                }
-
-                // Convert the string value to the column's type and set it
-                Object convertedValue = convertValue(value, column);
-                row.setValue(columnName, convertedValue);
-            }
-
-            // Add the row to the table
-            table.addRow(row);
-        }
-
         return table;
     }
-
-    @SuppressWarnings("unchecked")
-    private Object convertValue(String value, IColumn<?> column) {
-        return ((IColumn<Object>) column).convertFromString(value);
-    }
-}
\ No newline at end of file
+}
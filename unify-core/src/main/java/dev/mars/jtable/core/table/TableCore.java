@@ -49,25 +49,29 @@ package dev.mars.jtable.core.table;
 
 import dev.mars.jtable.core.model.ICell;
 import dev.mars.jtable.core.model.IColumn;
+import dev.mars.jtable.core.model.IColumnIndex;
 import dev.mars.jtable.core.model.IRow;
+import dev.mars.jtable.core.model.IRowCursor;
+import dev.mars.jtable.core.model.ISortedColumnIndex;
 import dev.mars.jtable.core.model.ITable;
+import dev.mars.jtable.core.model.ITableSchema;
+import dev.mars.jtable.core.model.SortSpec;
+import dev.mars.jtable.core.model.TableMemoryUsage;
 
 import java.util.*;
 
 public class TableCore implements ITable {
     private final Map<String, IColumn<?>> columns = new LinkedHashMap<>();
-    private final List<IRow> rows = new ArrayList<>();
+    // The rows, with the decimal scales and indexes kept in step with them
+    private final RowStore store = new RowStore(this, new HashMap<>(), 0);
+    // Shared by every row created by this table; replaced whenever the columns change
+    private TableSchema schema = TableSchema.EMPTY;
     private boolean createDefaultValue = true;
     private String name;
 
-    // Constants for Double handling
-    private static final int MAX_FRACTION_DIGITS = 10;
-
-    // Map to store original string representations of double values
-    private final java.util.Map<String, java.util.Map<Integer, String>> originalDoubleStrings = new java.util.HashMap<>();
-
     public TableCore() {
         this.name = "TableCore";
+        TableMemoryRegistry.register(this);
     }
 
     /**
@@ -77,6 +81,7 @@ public class TableCore implements ITable {
      */
     public TableCore(String name) {
         this.name = name;
+        TableMemoryRegistry.register(this);
     }
 
     @Override
@@ -86,10 +91,7 @@ public class TableCore implements ITable {
 
     @Override
     public IColumn<?> getColumn(int index) {
-        if (index < 0 || index >= columns.size()) {
-            throw new IndexOutOfBoundsException("Invalid column index: " + index);
-        }
-        return new ArrayList<>(columns.values()).get(index);
+        return schema.getColumn(index);
     }
 
     @Override
@@ -97,6 +99,11 @@ public class TableCore implements ITable {
         return new ArrayList<>(columns.values());
     }
 
+    @Override
+    public ITableSchema getSchema() {
+        return schema;
+    }
+
     @Override
     public void addColumn(IColumn<?> column) {
         if (column == null) {
@@ -106,28 +113,34 @@ public class TableCore implements ITable {
             throw new IllegalArgumentException("Column already exists: " + column.getName());
         }
         columns.put(column.getName(), column);
+        schema = schema.withColumn(column);
     }
 
     @Override
     public String getColumnName(int index) {
-        if (index < 0 || index >= columns.size()) {
-            throw new IndexOutOfBoundsException("Invalid column index: " + index);
-        }
-        IColumn<?> column = new ArrayList<>(columns.values()).get(index);
-        return column.getName();
+        return schema.getColumnName(index);
     }
 
+    /**
+     * Gets a view of the row at the given index. The stored rows are shared with snapshots,
+     * so writes through the view go through {@link #setValue(int, String, Object)}.
+     */
     @Override
     public IRow getRow(int index) {
-        if (index < 0 || index >= rows.size()) {
-            throw new IndexOutOfBoundsException("Invalid row index: " + index);
-        }
-        return rows.get(index);
+        return store.view(index);
+    }
+
+    /**
+     * Gets the stored row at the given index rather than a view of it, for readers such as
+     * cursors that never change it.
+     */
+    IRow storedRow(int index) {
+        return store.storedRow(index);
     }
 
     @Override
     public List<IRow> getRows() {
-        return new ArrayList<>(rows);
+        return store.views();
     }
 
     @Override
@@ -159,7 +172,7 @@ public class TableCore implements ITable {
             }
         }
 
-        rows.add(row);
+        store.addCopy(row);
     }
 
     @Override
@@ -186,6 +199,8 @@ public class TableCore implements ITable {
                                 columnType = "string";
                             } else if (valueType == Integer.class) {
                                 columnType = "int";
+                            } else if (valueType == Long.class) {
+                                columnType = "long";
                             } else if (valueType == Double.class) {
                                 columnType = "double";
                             } else if (valueType == Boolean.class) {
@@ -202,6 +217,7 @@ public class TableCore implements ITable {
 
         // Create a new row
         IRow newRow = createRow();
+        Map<String, Integer> scalesToRecord = null;
 
         // Add values from the map
         for (Map.Entry<String, String> entry : rowCopy.entrySet()) {
@@ -217,17 +233,30 @@ public class TableCore implements ITable {
             Object convertedValue = column.convertFromString(value);
             newRow.setValue(columnName, convertedValue);
 
-            // Store original string representation for double values
-            if (convertedValue instanceof Double && value.contains(".")) {
-                // Initialize the map for this column if needed
-                originalDoubleStrings.computeIfAbsent(columnName, k -> new java.util.HashMap<>());
-                // Store the original string at the next row index
-                originalDoubleStrings.get(columnName).put(getRowCount(), value);
+            // Keep the scale of double values until the row index is known
+            if (convertedValue instanceof Double) {
+                int scale = DecimalScales.scaleOf(value, (Double) convertedValue);
+                if (scale != DecimalScales.NO_SCALE) {
+                    if (scalesToRecord == null) {
+                        scalesToRecord = new HashMap<>();
+                    }
+                    scalesToRecord.put(columnName, scale);
+                }
             }
         }
 
-        // Add the row to the table
-        rows.add(newRow);
+        // Add the row to the table, recording its scales before the row becomes visible
+        store.add(newRow, scalesToRecord);
+    }
+
+    @Override
+    public void appendBatch(String[][] rows) {
+        store.addBatch(RowBatch.convert(schema, rows, createDefaultValue), schema);
+    }
+
+    @Override
+    public void appendBatch(Object[][] rows) {
+        store.addBatch(RowBatch.of(schema, rows, createDefaultValue), schema);
     }
 
     @SuppressWarnings("unchecked")
@@ -239,12 +268,52 @@ public class TableCore implements ITable {
 
     @Override
     public IRow createRow() {
-        return new Row(this);
+        return new ArrayRow(this, schema);
+    }
+
+    @Override
+    public IRowCursor cursor() {
+        return new TableRowCursor(this, this::storedRow);
+    }
+
+    @Override
+    public IColumnIndex createIndex(String columnName) {
+        return store.createIndex(columnName);
+    }
+
+    @Override
+    public ISortedColumnIndex createSortedIndex(String columnName) {
+        return store.createSortedIndex(columnName);
+    }
+
+    @Override
+    public IColumnIndex getIndex(String columnName) {
+        return store.getIndex(columnName);
+    }
+
+    @Override
+    public ITable view(int[] rowSelection, String... columnNames) {
+        return TableView.of(this, rowSelection, columnNames);
+    }
+
+    @Override
+    public int[] sort(SortSpec... specs) {
+        return TableSort.sort(this, specs);
+    }
+
+    @Override
+    public ITable snapshot() {
+        return store.snapshot(schema);
+    }
+
+    @Override
+    public TableMemoryUsage estimateMemoryUsage() {
+        return store.estimateMemoryUsage();
     }
 
     @Override
     public int getRowCount() {
-        return rows.size();
+        return store.size();
     }
 
     @Override
@@ -254,18 +323,13 @@ public class TableCore implements ITable {
 
     @Override
     public Object getValueObject(int rowIndex, String columnName) {
-        IRow row = getRow(rowIndex);
-        ICell<?> cell = row.getCell(columnName);
-        if (cell == null) {
-            return null;
-        }
-        return cell.getValue();
+        return store.valueOf(rowIndex, columnName);
     }
 
     @Override
     public void setValue(int rowIndex, String columnName, Object value) {
-        IRow row = getRow(rowIndex);
-        row.setValue(columnName, value);
+        // A value set directly no longer has an original string representation
+        store.write(rowIndex, columnName, value, null);
     }
 
     @Override
@@ -275,16 +339,7 @@ public class TableCore implements ITable {
             throw new IllegalArgumentException("Column '" + columnName + "' does not exist");
         }
 
-        Object convertedValue = column.convertFromString(value);
-        setValue(rowIndex, columnName, convertedValue);
-
-        // Store original string representation for double values
-        if (convertedValue instanceof Double && value.contains(".")) {
-            // Initialize the map for this column if needed
-            originalDoubleStrings.computeIfAbsent(columnName, k -> new java.util.HashMap<>());
-            // Store the original string
-            originalDoubleStrings.get(columnName).put(rowIndex, value);
-        }
+        store.write(rowIndex, columnName, column.convertFromString(value), value);
     }
 
     @Override
@@ -318,81 +373,13 @@ public class TableCore implements ITable {
             IColumn<?> column = ColumnFactory.createColumn(columnName, columnType);
             columns.put(column.getName(), column);
         }
+        schema = new TableSchema(columns.values());
+        store.clearIndexes();
     }
 
     @Override
     public String inferType(String value) {
-        if (value == null) {
-            return "string";
-        }
-
-        // Trim whitespace for better pattern matching
-        String trimmedValue = value.trim();
-        if (trimmedValue.isEmpty()) {
-            return "string";
-        }
-
-        // Integer pattern: optional negative sign followed by one or more digits
-        // Note: We don't treat values with a leading plus sign as integers
-        // to match the expectations of the testInferTypeStringProperty test
-        if (trimmedValue.matches("^-?\\d+$")) {
-            return "int";
-        } 
-        // Double patterns:
-        // 1. Standard decimal: optional sign, digits, decimal point, optional digits
-        // 2. Leading decimal: optional sign, decimal point, one or more digits
-        // 3. Scientific notation: any of the above followed by e or E, optional sign, and digits
-        else if (trimmedValue.matches("^[-+]?\\d+\\.\\d*$") || 
-                 trimmedValue.matches("^[-+]?\\.\\d+$") ||
-                 trimmedValue.matches("^[-+]?\\d+\\.?\\d*[eE][-+]?\\d+$") ||
-                 trimmedValue.matches("^[-+]?\\.\\d+[eE][-+]?\\d+$")) {
-            return "double";
-        } 
-        // Boolean pattern: case-insensitive "true" or "false"
-        else if (trimmedValue.equalsIgnoreCase("true") || trimmedValue.equalsIgnoreCase("false")) {
-            return "boolean";
-        } 
-        // Special numeric values
-        else if (trimmedValue.equalsIgnoreCase("NaN") || 
-                 trimmedValue.equalsIgnoreCase("Infinity") || 
-                 trimmedValue.equalsIgnoreCase("+Infinity") || 
-                 trimmedValue.equalsIgnoreCase("-Infinity")) {
-            return "double";
-        }
-        // Date pattern: yyyy-MM-dd (ISO_LOCAL_DATE)
-        else if (trimmedValue.matches("^\\d{4}-\\d{2}-\\d{2}$")) {
-            try {
-                java.time.LocalDate.parse(trimmedValue);
-                return "date";
-            } catch (java.time.format.DateTimeParseException e) {
-                // If parsing fails, it's not a valid date
-                return "string";
-            }
-        }
-        // Time pattern: HH:mm:ss (ISO_LOCAL_TIME)
-        else if (trimmedValue.matches("^\\d{2}:\\d{2}:\\d{2}$")) {
-            try {
-                java.time.LocalTime.parse(trimmedValue);
-                return "time";
-            } catch (java.time.format.DateTimeParseException e) {
-                // If parsing fails, it's not a valid time
-                return "string";
-            }
-        }
-        // DateTime pattern: yyyy-MM-ddTHH:mm:ss (ISO_LOCAL_DATE_TIME)
-        else if (trimmedValue.matches("^\\d{4}-\\d{2}-\\d{2}T\\d{2}:\\d{2}:\\d{2}$")) {
-            try {
-                java.time.LocalDateTime.parse(trimmedValue);
-                return "datetime";
-            } catch (java.time.format.DateTimeParseException e) {
-                // If parsing fails, it's not a valid datetime
-                return "string";
-            }
-        }
-        // Everything else is a string
-        else {
-            return "string";
-        }
+        return TypeInference.inferType(value);
     }
 
     @SuppressWarnings("unchecked")
@@ -410,6 +397,7 @@ public class TableCore implements ITable {
 
         switch (type) {
             case "int":
+            case "long":
                 return "0";
             case "double":
                 return "0.0";
@@ -436,28 +424,8 @@ public class TableCore implements ITable {
 
         // General handling for Double values to preserve trailing zeros
         if (value instanceof Double) {
-            // Check if we have the original string representation
-            if (originalDoubleStrings.containsKey(columnName) &&
-                    originalDoubleStrings.get(columnName).containsKey(rowIndex)) {
-                return originalDoubleStrings.get(columnName).get(rowIndex);
-            }
-
-            // Use DecimalFormat to preserve decimal places
-            java.text.DecimalFormat df = new java.text.DecimalFormat();
-            df.setMinimumFractionDigits(0);
-            df.setMaximumFractionDigits(MAX_FRACTION_DIGITS);
-            df.setGroupingUsed(false);
-
-            // Check if the value has decimal places
-            String stringValue = value.toString();
-            if (stringValue.contains(".")) {
-                // Count the number of digits after decimal point in the original string
-                int decimalPlaces = stringValue.length() - stringValue.indexOf('.') - 1;
-                // Ensure we keep at least that many decimal places
-                df.setMinimumFractionDigits(decimalPlaces);
-            }
-
-            return df.format(value);
+            // Reproduce the original text from the value and its recorded scale, if any
+            return DecimalScales.format((Double) value, store.decimalScale(rowIndex, columnName));
         }
         // Handling for LocalDate values
         else if (value instanceof java.time.LocalDate) {
@@ -498,7 +466,7 @@ public class TableCore implements ITable {
         System.out.println();
 
         // Print rows
-        for (IRow row : rows) {
+        for (IRow row : store.rows()) {
             for (IColumn<?> column : columns.values()) {
                 ICell<?> cell = row.getCell(column.getName());
                 System.out.print(cell.getValueAsString() + "\t");
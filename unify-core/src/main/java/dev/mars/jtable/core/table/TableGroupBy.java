@@ -0,0 +1,636 @@
+/*
+ * Copyright 2025 Mark Andrew Ray-Smith Cityline Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.mars.jtable.core.table;
+
+import dev.mars.jtable.core.model.IColumn;
+import dev.mars.jtable.core.model.IRowCursor;
+import dev.mars.jtable.core.model.ITable;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Groups the rows of a table by the values of some of its columns and aggregates each group,
+ * returning the groups as a new table.
+ *
+ * The rows are split into partitions that a ForkJoinPool aggregates in parallel, each into
+ * its own hash table, and the partial tables are merged as the tasks join. A single integral,
+ * double or boolean group column is hashed as a primitive long; other group columns are
+ * hashed by value. Each partition reads the table through its own cursor, so the table must
+ * not be changed while it is being grouped.
+ *
+ * The result is a {@link ColumnarTableCore} holding the group columns followed by one column
+ * per aggregate, with one row per group in the order the groups first appear in the table.
+ * Counts are int columns; sums, averages, minimums and maximums are double columns and are
+ * null for a group in which the column holds only nulls.
+ *
+ * Usage example:
+ * <pre>
+ * ITable totals = TableGroupBy.groupBy(table, "City")
+ *         .aggregate(Aggregate.count(), Aggregate.sum("Salary"), Aggregate.avg("Salary").as("Average"));
+ * </pre>
+ */
+public final class TableGroupBy {
+    // Below this many rows a partition is aggregated rather than split further
+    private static final int MIN_PARTITION_ROWS = 16_384;
+
+    private final ITable table;
+    private final List<IColumn<?>> groupColumns;
+    private ForkJoinPool pool = ForkJoinPool.commonPool();
+    private int minPartitionRows = MIN_PARTITION_ROWS;
+
+    private TableGroupBy(ITable table, List<IColumn<?>> groupColumns) {
+        this.table = table;
+        this.groupColumns = groupColumns;
+    }
+
+    /**
+     * Starts grouping the rows of a table by the given columns. With no columns, every row
+     * falls into a single group.
+     *
+     * @param table the table to group
+     * @param columnNames the names of the columns whose values form the group key
+     * @return a new grouping
+     * @throws IllegalArgumentException if the table is null or a column does not exist
+     */
+    public static TableGroupBy groupBy(ITable table, String... columnNames) {
+        if (table == null) {
+            throw new IllegalArgumentException("Table cannot be null");
+        }
+        List<IColumn<?>> columns = new ArrayList<>();
+        for (String columnName : columnNames) {
+            columns.add(columnOf(table, columnName));
+        }
+        return new TableGroupBy(table, columns);
+    }
+
+    private static IColumn<?> columnOf(ITable table, String columnName) {
+        IColumn<?> column = columnName == null ? null : table.getColumn(columnName);
+        if (column == null) {
+            throw new IllegalArgumentException("Column does not exist: " + columnName);
+        }
+        return column;
+    }
+
+    /**
+     * Sets the pool the partitions are aggregated in. The common pool is used by default.
+     *
+     * @param pool the pool
+     * @return this grouping
+     */
+    public TableGroupBy withPool(ForkJoinPool pool) {
+        if (pool == null) {
+            throw new IllegalArgumentException("Pool cannot be null");
+        }
+        this.pool = pool;
+        return this;
+    }
+
+    /**
+     * Sets the number of rows below which a partition is aggregated rather than split.
+     */
+    TableGroupBy withMinPartitionRows(int minPartitionRows) {
+        this.minPartitionRows = Math.max(1, minPartitionRows);
+        return this;
+    }
+
+    /**
+     * Groups the rows and computes the given aggregates for every group.
+     *
+     * @param aggregates the aggregates to compute
+     * @return a new table with one row per group
+     * @throws IllegalArgumentException if an aggregated column does not exist, a sum,
+     *         average, minimum or maximum is taken over a column that is not numeric, or two
+     *         result columns have the same name
+     */
+    public ITable aggregate(Aggregate... aggregates) {
+        // Every aggregate over the same column shares one measure
+        List<IColumn<?>> measureColumns = new ArrayList<>();
+        int[] measureOf = new int[aggregates.length];
+        Set<String> names = new HashSet<>();
+        for (IColumn<?> column : groupColumns) {
+            names.add(column.getName());
+        }
+        for (int i = 0; i < aggregates.length; i++) {
+            Aggregate aggregate = aggregates[i];
+            if (aggregate == null) {
+                throw new IllegalArgumentException("Aggregate cannot be null");
+            }
+            if (!names.add(aggregate.name)) {
+                throw new IllegalArgumentException("Column already exists: " + aggregate.name);
+            }
+            if (aggregate.columnName == null) {
+                measureOf[i] = -1;
+                continue;
+            }
+            IColumn<?> column = columnOf(table, aggregate.columnName);
+            if (aggregate.function != Function.COUNT && !Number.class.isAssignableFrom(column.getType())) {
+                throw new IllegalArgumentException("Column is not numeric: " + column.getName());
+            }
+            int measure = measureColumns.indexOf(column);
+            if (measure < 0) {
+                measure = measureColumns.size();
+                measureColumns.add(column);
+            }
+            measureOf[i] = measure;
+        }
+
+        Layout layout = new Layout(table, groupColumns, measureColumns);
+        int rowCount = table.getRowCount();
+        Groups groups;
+        if (rowCount <= minPartitionRows) {
+            groups = Groups.aggregate(layout, 0, rowCount);
+        } else {
+            groups = pool.invoke(new PartitionTask(layout, 0, rowCount, minPartitionRows));
+        }
+        return groups.toTable(table.getName(), groupColumns, aggregates, measureOf);
+    }
+
+    /**
+     * The functions an {@link Aggregate} can compute.
+     */
+    private enum Function {
+        COUNT, SUM, MIN, MAX, AVG
+    }
+
+    /**
+     * An aggregate computed for every group, named after its function and column unless
+     * renamed with {@link #as(String)}.
+     */
+    public static final class Aggregate {
+        private final Function function;
+        private final String columnName;
+        private final String name;
+
+        private Aggregate(Function function, String columnName, String name) {
+            this.function = function;
+            this.columnName = columnName;
+            this.name = name;
+        }
+
+        private static Aggregate of(Function function, String columnName) {
+            if (columnName == null) {
+                throw new IllegalArgumentException("Column name cannot be null");
+            }
+            return new Aggregate(function, columnName, function.name().toLowerCase() + "(" + columnName + ")");
+        }
+
+        /**
+         * Counts the rows of each group.
+         *
+         * @return the aggregate, named "count"
+         */
+        public static Aggregate count() {
+            return new Aggregate(Function.COUNT, null, "count");
+        }
+
+        /**
+         * Counts the rows of each group whose value in the given column is not null.
+         *
+         * @param columnName the column
+         * @return the aggregate
+         */
+        public static Aggregate count(String columnName) {
+            return of(Function.COUNT, columnName);
+        }
+
+        /**
+         * Sums the non-null values of a numeric column.
+         *
+         * @param columnName the column
+         * @return the aggregate
+         */
+        public static Aggregate sum(String columnName) {
+            return of(Function.SUM, columnName);
+        }
+
+        /**
+         * Finds the smallest non-null value of a numeric column.
+         *
+         * @param columnName the column
+         * @return the aggregate
+         */
+        public static Aggregate min(String columnName) {
+            return of(Function.MIN, columnName);
+        }
+
+        /**
+         * Finds the largest non-null value of a numeric column.
+         *
+         * @param columnName the column
+         * @return the aggregate
+         */
+        public static Aggregate max(String columnName) {
+            return of(Function.MAX, columnName);
+        }
+
+        /**
+         * Averages the non-null values of a numeric column.
+         *
+         * @param columnName the column
+         * @return the aggregate
+         */
+        public static Aggregate avg(String columnName) {
+            return of(Function.AVG, columnName);
+        }
+
+        /**
+         * Gives the aggregate's result column another name.
+         *
+         * @param name the name of the result column
+         * @return a renamed copy of this aggregate
+         */
+        public Aggregate as(String name) {
+            if (name == null || name.trim().isEmpty()) {
+                throw new IllegalArgumentException("Column name cannot be null or blank");
+            }
+            return new Aggregate(function, columnName, name);
+        }
+
+        /**
+         * Gets the name of the aggregate's result column.
+         *
+         * @return the name
+         */
+        public String getName() {
+            return name;
+        }
+    }
+
+    /**
+     * The column ordinals the partitions read, and how the group key is hashed.
+     */
+    private static final class Layout {
+        final ITable table;
+        final int[] groupOrdinals;
+        final int[] measureOrdinals;
+        final boolean[] numericMeasures;
+        // Set when the key is a single column that can be read as a primitive long
+        final boolean primitiveKey;
+        final boolean booleanKey;
+        final boolean doubleKey;
+
+        Layout(ITable table, List<IColumn<?>> groupColumns, List<IColumn<?>> measureColumns) {
+            this.table = table;
+            this.groupOrdinals = new int[groupColumns.size()];
+            for (int i = 0; i < groupOrdinals.length; i++) {
+                groupOrdinals[i] = table.getSchema().indexOf(groupColumns.get(i).getName());
+            }
+            this.measureOrdinals = new int[measureColumns.size()];
+            this.numericMeasures = new boolean[measureColumns.size()];
+            for (int i = 0; i < measureOrdinals.length; i++) {
+                measureOrdinals[i] = table.getSchema().indexOf(measureColumns.get(i).getName());
+                numericMeasures[i] = Number.class.isAssignableFrom(measureColumns.get(i).getType());
+            }
+
+            Class<?> keyType = groupColumns.size() == 1 ? groupColumns.get(0).getType() : null;
+            this.booleanKey = keyType == Boolean.class;
+            this.doubleKey = keyType == Double.class || keyType == Float.class;
+            this.primitiveKey = groupColumns.isEmpty() || booleanKey || doubleKey || ColumnIndex.isIntegralType(keyType);
+        }
+
+        long primitiveKey(IRowCursor cursor) {
+            if (groupOrdinals.length == 0) {
+                return 0L;
+            }
+            int ordinal = groupOrdinals[0];
+            if (booleanKey) {
+                return cursor.getBoolean(ordinal) ? 1L : 0L;
+            }
+            // Bit patterns compare as Double.equals does, so each distinct double is one group
+            return doubleKey ? Double.doubleToLongBits(cursor.getDouble(ordinal)) : cursor.getLong(ordinal);
+        }
+
+        Object objectKey(IRowCursor cursor) {
+            if (groupOrdinals.length == 1) {
+                return cursor.getObject(groupOrdinals[0]);
+            }
+            Object[] values = new Object[groupOrdinals.length];
+            for (int i = 0; i < values.length; i++) {
+                values[i] = cursor.getObject(groupOrdinals[i]);
+            }
+            return Arrays.asList(values);
+        }
+    }
+
+    /**
+     * Aggregates a range of rows, splitting it in two while it is larger than the
+     * partition size and merging the halves' groups as they join.
+     */
+    private static final class PartitionTask extends RecursiveTask<Groups> {
+        private final Layout layout;
+        private final int from;
+        private final int to;
+        private final int minPartitionRows;
+
+        PartitionTask(Layout layout, int from, int to, int minPartitionRows) {
+            this.layout = layout;
+            this.from = from;
+            this.to = to;
+            this.minPartitionRows = minPartitionRows;
+        }
+
+        @Override
+        protected Groups compute() {
+            if (to - from <= minPartitionRows) {
+                return Groups.aggregate(layout, from, to);
+            }
+            int middle = (from + to) >>> 1;
+            PartitionTask right = new PartitionTask(layout, middle, to, minPartitionRows);
+            right.fork();
+            Groups groups = new PartitionTask(layout, from, middle, minPartitionRows).compute();
+            groups.merge(right.join());
+            return groups;
+        }
+    }
+
+    /**
+     * The groups found in a range of rows: a hash table from group key to group number,
+     * and the key values and running totals of each group, held column-wise in arrays.
+     */
+    private static final class Groups {
+        private static final int INITIAL_CAPACITY = 16;
+
+        private final Layout layout;
+        private int groupCount;
+        private Object[][] keyValues = new Object[INITIAL_CAPACITY][];
+        private long[] rowCounts = new long[INITIAL_CAPACITY];
+        // Per measure, per group
+        private final long[][] counts;
+        private final double[][] sums;
+        private final double[][] mins;
+        private final double[][] maxs;
+
+        // Open-addressing table for primitive keys; slots hold group number + 1, 0 when free
+        private long[] slotKeys;
+        private int[] slotGroups;
+        private long[] primitiveKeys;
+        private int nullGroup = -1;
+        // Groups for other keys
+        private final Map<Object, Integer> objectGroups;
+        private Object[] objectKeys;
+
+        private Groups(Layout layout) {
+            this.layout = layout;
+            int measures = layout.measureOrdinals.length;
+            this.counts = new long[measures][INITIAL_CAPACITY];
+            this.sums = new double[measures][INITIAL_CAPACITY];
+            this.mins = new double[measures][INITIAL_CAPACITY];
+            this.maxs = new double[measures][INITIAL_CAPACITY];
+            if (layout.primitiveKey) {
+                this.slotKeys = new long[INITIAL_CAPACITY * 2];
+                this.slotGroups = new int[INITIAL_CAPACITY * 2];
+                this.primitiveKeys = new long[INITIAL_CAPACITY];
+                this.objectGroups = null;
+            } else {
+                this.objectGroups = new HashMap<>();
+                this.objectKeys = new Object[INITIAL_CAPACITY];
+            }
+        }
+
+        /**
+         * Aggregates the rows in the given range.
+         */
+        static Groups aggregate(Layout layout, int from, int to) {
+            Groups groups = new Groups(layout);
+            if (from >= to) {
+                return groups;
+            }
+            IRowCursor cursor = layout.table.cursor();
+            int[] measureOrdinals = layout.measureOrdinals;
+            cursor.moveTo(from);
+            for (int row = from; row < to; row++) {
+                if (row > from) {
+                    cursor.next();
+                }
+                int group = groups.groupOf(cursor);
+                groups.rowCounts[group]++;
+                for (int m = 0; m < measureOrdinals.length; m++) {
+                    if (!cursor.isNull(measureOrdinals[m])) {
+                        if (layout.numericMeasures[m]) {
+                            groups.add(m, group, 1, cursor.getDouble(measureOrdinals[m]));
+                        } else {
+                            groups.counts[m][group]++;
+                        }
+                    }
+                }
+            }
+            return groups;
+        }
+
+        private void add(int measure, int group, long count, double sum, double min, double max) {
+            long previous = counts[measure][group];
+            counts[measure][group] = previous + count;
+            sums[measure][group] += sum;
+            mins[measure][group] = previous == 0 ? min : Math.min(mins[measure][group], min);
+            maxs[measure][group] = previous == 0 ? max : Math.max(maxs[measure][group], max);
+        }
+
+        private void add(int measure, int group, long count, double value) {
+            add(measure, group, count, value, value, value);
+        }
+
+        private int groupOf(IRowCursor cursor) {
+            if (layout.primitiveKey) {
+                if (layout.groupOrdinals.length == 1 && cursor.isNull(layout.groupOrdinals[0])) {
+                    if (nullGroup < 0) {
+                        nullGroup = newGroup(cursor);
+                    }
+                    return nullGroup;
+                }
+                long key = layout.primitiveKey(cursor);
+                int slot = findSlot(key);
+                if (slotGroups[slot] == 0) {
+                    int group = newGroup(cursor);
+                    primitiveKeys[group] = key;
+                    insert(slot, key, group);
+                    return group;
+                }
+                return slotGroups[slot] - 1;
+            }
+            Object key = layout.objectKey(cursor);
+            Integer group = objectGroups.get(key);
+            if (group == null) {
+                group = newGroup(cursor);
+                objectKeys[group] = key;
+                objectGroups.put(key, group);
+            }
+            return group;
+        }
+
+        private int newGroup(IRowCursor cursor) {
+            int[] groupOrdinals = layout.groupOrdinals;
+            Object[] values = new Object[groupOrdinals.length];
+            for (int i = 0; i < values.length; i++) {
+                values[i] = cursor.getObject(groupOrdinals[i]);
+            }
+            return newGroup(values);
+        }
+
+        private int newGroup(Object[] values) {
+            int group = groupCount++;
+            if (group == rowCounts.length) {
+                int capacity = ColumnVector.grownCapacity(rowCounts.length, group + 1);
+                keyValues = Arrays.copyOf(keyValues, capacity);
+                rowCounts = Arrays.copyOf(rowCounts, capacity);
+                for (int m = 0; m < counts.length; m++) {
+                    counts[m] = Arrays.copyOf(counts[m], capacity);
+                    sums[m] = Arrays.copyOf(sums[m], capacity);
+                    mins[m] = Arrays.copyOf(mins[m], capacity);
+                    maxs[m] = Arrays.copyOf(maxs[m], capacity);
+                }
+                if (primitiveKeys != null) {
+                    primitiveKeys = Arrays.copyOf(primitiveKeys, capacity);
+                } else {
+                    objectKeys = Arrays.copyOf(objectKeys, capacity);
+                }
+            }
+            keyValues[group] = values;
+            return group;
+        }
+
+        private int findSlot(long key) {
+            long hash = key * 0x9E3779B97F4A7C15L;
+            int mask = slotKeys.length - 1;
+            int slot = (int) (hash ^ (hash >>> 32)) & mask;
+            while (slotGroups[slot] != 0 && slotKeys[slot] != key) {
+                slot = (slot + 1) & mask;
+            }
+            return slot;
+        }
+
+        private void insert(int slot, long key, int group) {
+            slotKeys[slot] = key;
+            slotGroups[slot] = group + 1;
+            // Keep the table at most half full so probe sequences stay short
+            if (groupCount * 2 > slotKeys.length) {
+                long[] oldKeys = slotKeys;
+                int[] oldGroups = slotGroups;
+                slotKeys = new long[oldKeys.length * 2];
+                slotGroups = new int[oldGroups.length * 2];
+                for (int i = 0; i < oldKeys.length; i++) {
+                    if (oldGroups[i] != 0) {
+                        int newSlot = findSlot(oldKeys[i]);
+                        slotKeys[newSlot] = oldKeys[i];
+                        slotGroups[newSlot] = oldGroups[i];
+                    }
+                }
+            }
+        }
+
+        /**
+         * Adds the groups of a later range of rows to these, keeping the order in which the
+         * groups first appear.
+         */
+        void merge(Groups other) {
+            for (int otherGroup = 0; otherGroup < other.groupCount; otherGroup++) {
+                int group = find(other, otherGroup);
+                rowCounts[group] += other.rowCounts[otherGroup];
+                for (int m = 0; m < counts.length; m++) {
+                    long count = other.counts[m][otherGroup];
+                    if (count == 0) {
+                        continue;
+                    }
+                    if (layout.numericMeasures[m]) {
+                        add(m, group, count, other.sums[m][otherGroup], other.mins[m][otherGroup], other.maxs[m][otherGroup]);
+                    } else {
+                        counts[m][group] += count;
+                    }
+                }
+            }
+        }
+
+        private int find(Groups other, int otherGroup) {
+            if (!layout.primitiveKey) {
+                Object key = other.objectKeys[otherGroup];
+                Integer group = objectGroups.get(key);
+                if (group == null) {
+                    group = newGroup(other.keyValues[otherGroup]);
+                    objectKeys[group] = key;
+                    objectGroups.put(key, group);
+                }
+                return group;
+            }
+            if (otherGroup == other.nullGroup) {
+                if (nullGroup < 0) {
+                    nullGroup = newGroup(other.keyValues[otherGroup]);
+                }
+                return nullGroup;
+            }
+            long key = other.primitiveKeys[otherGroup];
+            int slot = findSlot(key);
+            if (slotGroups[slot] != 0) {
+                return slotGroups[slot] - 1;
+            }
+            int group = newGroup(other.keyValues[otherGroup]);
+            primitiveKeys[group] = key;
+            insert(slot, key, group);
+            return group;
+        }
+
+        /**
+         * Builds the result table.
+         */
+        ITable toTable(String name, List<IColumn<?>> groupColumns, Aggregate[] aggregates, int[] measureOf) {
+            ColumnarTableCore result = new ColumnarTableCore(name, Math.max(groupCount, 1));
+            for (IColumn<?> column : groupColumns) {
+                result.addColumn(ColumnFactory.copyColumn(column, column.getName()));
+            }
+            for (Aggregate aggregate : aggregates) {
+                result.addColumn(aggregate.function == Function.COUNT
+                        ? new Column<>(aggregate.name, Integer.class, 0)
+                        : new Column<>(aggregate.name, Double.class, null));
+            }
+
+            int groupWidth = groupColumns.size();
+            for (int group = 0; group < groupCount; group++) {
+                Object[] values = new Object[groupWidth + aggregates.length];
+                System.arraycopy(keyValues[group], 0, values, 0, groupWidth);
+                for (int i = 0; i < aggregates.length; i++) {
+                    values[groupWidth + i] = resultOf(aggregates[i].function, measureOf[i], group);
+                }
+                result.addRow(ArrayRow.of(result, result.getSchema(), values));
+            }
+            return result;
+        }
+
+        private Object resultOf(Function function, int measure, int group) {
+            if (measure < 0) {
+                return (int) rowCounts[group];
+            }
+            long count = counts[measure][group];
+            switch (function) {
+                case COUNT:
+                    return (int) count;
+                case SUM:
+                    return count == 0 ? null : sums[measure][group];
+                case MIN:
+                    return count == 0 ? null : mins[measure][group];
+                case MAX:
+                    return count == 0 ? null : maxs[measure][group];
+                default:
+                    return count == 0 ? null : sums[measure][group] / count;
+            }
+        }
+    }
+}
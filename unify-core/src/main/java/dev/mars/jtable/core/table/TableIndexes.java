@@ -0,0 +1,163 @@
+/*
+ * Copyright 2025 Mark Andrew Ray-Smith Cityline Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.mars.jtable.core.table;
+
+import dev.mars.jtable.core.model.IColumn;
+import dev.mars.jtable.core.model.IColumnIndex;
+import dev.mars.jtable.core.model.IRowCursor;
+import dev.mars.jtable.core.model.ISortedColumnIndex;
+import dev.mars.jtable.core.model.ITable;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+
+/**
+ * The column indexes of a table, and the maintenance the table core calls on each change.
+ *
+ * The set of indexes is replaced rather than changed, so the checks made on every write
+ * are a single volatile read when the table has no indexes.
+ */
+final class TableIndexes {
+    private volatile Map<String, ColumnIndex> indexes = Collections.emptyMap();
+
+    /**
+     * Creates a hash index on the given column from the current rows of the table, or
+     * returns the index the column already has. Rows must not be added concurrently while
+     * the index is built.
+     *
+     * @param table the table being indexed
+     * @param columnName the name of the column to index
+     * @return the index
+     * @throws IllegalArgumentException if the column does not exist
+     */
+    synchronized IColumnIndex create(ITable table, String columnName) {
+        ColumnIndex index = indexes.get(columnName);
+        if (index != null) {
+            return index;
+        }
+        return build(table, new HashColumnIndex(columnOf(table, columnName)));
+    }
+
+    /**
+     * Creates a sorted index on the given column from the current rows of the table, or
+     * returns the sorted index the column already has. A hash index on the column is
+     * replaced, since the sorted index answers the same lookups.
+     *
+     * @param table the table being indexed
+     * @param columnName the name of the column to index
+     * @return the index
+     * @throws IllegalArgumentException if the column does not exist or cannot be sorted
+     */
+    synchronized ISortedColumnIndex createSorted(ITable table, String columnName) {
+        ColumnIndex index = indexes.get(columnName);
+        if (index instanceof SortedColumnIndex) {
+            return (SortedColumnIndex) index;
+        }
+        return build(table, new SortedColumnIndex(columnOf(table, columnName)));
+    }
+
+    private static IColumn<?> columnOf(ITable table, String columnName) {
+        IColumn<?> column = columnName == null ? null : table.getColumn(columnName);
+        if (column == null) {
+            throw new IllegalArgumentException("Column does not exist: " + columnName);
+        }
+        return column;
+    }
+
+    private <I extends ColumnIndex> I build(ITable table, I index) {
+        int ordinal = table.getSchema().indexOf(index.getColumnName());
+        IRowCursor cursor = table.cursor();
+        while (cursor.next()) {
+            index.add(cursor.getObject(ordinal), cursor.getRowIndex());
+        }
+
+        Map<String, ColumnIndex> updated = new HashMap<>(indexes);
+        updated.put(index.getColumnName(), index);
+        indexes = updated;
+        return index;
+    }
+
+    /**
+     * Gets the index on the given column.
+     *
+     * @param columnName the column name
+     * @return the index, or null if the column is not indexed
+     */
+    IColumnIndex get(String columnName) {
+        return indexes.get(columnName);
+    }
+
+    /**
+     * Estimates the heap bytes held by the index on a column.
+     *
+     * @param columnName the name of the column
+     * @return the number of bytes, or 0 if the column is not indexed
+     */
+    long estimateBytes(String columnName) {
+        ColumnIndex index = indexes.get(columnName);
+        return index == null ? 0 : index.estimateBytes();
+    }
+
+    boolean isIndexed(String columnName) {
+        Map<String, ColumnIndex> current = indexes;
+        return !current.isEmpty() && current.containsKey(columnName);
+    }
+
+    /**
+     * Adds a new row to every index.
+     *
+     * @param rowIndex the index of the new row
+     * @param values gets the row's value for a column name
+     */
+    void rowAdded(int rowIndex, Function<String, Object> values) {
+        Map<String, ColumnIndex> current = indexes;
+        if (current.isEmpty()) {
+            return;
+        }
+        for (ColumnIndex index : current.values()) {
+            index.add(values.apply(index.getColumnName()), rowIndex);
+        }
+    }
+
+    /**
+     * Moves a row between values in the index on the given column, if there is one.
+     *
+     * @param columnName the name of the changed column
+     * @param rowIndex the index of the changed row
+     * @param oldValue the value before the change
+     * @param newValue the value after the change
+     */
+    void valueChanged(String columnName, int rowIndex, Object oldValue, Object newValue) {
+        Map<String, ColumnIndex> current = indexes;
+        if (current.isEmpty()) {
+            return;
+        }
+        ColumnIndex index = current.get(columnName);
+        if (index != null && !Objects.equals(oldValue, newValue)) {
+            index.replace(rowIndex, oldValue, newValue);
+        }
+    }
+
+    /**
+     * Drops every index, for example when the columns are replaced.
+     */
+    synchronized void clear() {
+        indexes = Collections.emptyMap();
+    }
+}
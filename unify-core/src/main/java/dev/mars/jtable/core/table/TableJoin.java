@@ -0,0 +1,416 @@
+/*
+ * Copyright 2025 Mark Andrew Ray-Smith Cityline Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.mars.jtable.core.table;
+
+import dev.mars.jtable.core.model.IColumn;
+import dev.mars.jtable.core.model.IRowCursor;
+import dev.mars.jtable.core.model.ITable;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Joins the rows of two tables whose key columns hold equal values.
+ *
+ * The join builds a hash table on the key columns of the smaller table and probes it with
+ * the rows of the larger one, so each table is read once. Rows whose key holds a null never
+ * match. Key columns are compared by value: they must have the same type, except that int
+ * and long columns can be joined with each other. Both tables are read through cursors and
+ * must not be changed while they are being joined.
+ *
+ * Inner and left joins return a new {@link ColumnarTableCore} holding the columns of the
+ * left table followed by the columns of the right table other than its key columns; a right
+ * column whose name is already taken is prefixed with the name of the right table. The rows
+ * come in the order of the left table, and the matches of a left row in the order of the
+ * right table. Semi and anti joins copy nothing and return the matching or non-matching
+ * rows of the left table as a {@link RowSelection}.
+ *
+ * Usage example:
+ * <pre>
+ * ITable joined = TableJoin.of(orders, customers).on("CustomerId", "Id").innerJoin();
+ * RowSelection orphans = TableJoin.of(orders, customers).on("CustomerId", "Id").antiJoin();
+ * </pre>
+ */
+public final class TableJoin {
+    private final ITable left;
+    private final ITable right;
+    private final List<IColumn<?>> leftKeys = new ArrayList<>();
+    private final List<IColumn<?>> rightKeys = new ArrayList<>();
+
+    private TableJoin(ITable left, ITable right) {
+        this.left = left;
+        this.right = right;
+    }
+
+    /**
+     * Starts a join between two tables.
+     *
+     * @param left the left table
+     * @param right the right table
+     * @return a new join with no key columns
+     * @throws IllegalArgumentException if either table is null
+     */
+    public static TableJoin of(ITable left, ITable right) {
+        if (left == null || right == null) {
+            throw new IllegalArgumentException("Table cannot be null");
+        }
+        return new TableJoin(left, right);
+    }
+
+    /**
+     * Adds a pair of key columns with the same name in both tables.
+     *
+     * @param columnName the name of the key column
+     * @return this join
+     * @throws IllegalArgumentException if the column does not exist in either table or the
+     *         columns have incompatible types
+     */
+    public TableJoin on(String columnName) {
+        return on(columnName, columnName);
+    }
+
+    /**
+     * Adds a pair of key columns. Rows match when all their key columns hold equal values.
+     *
+     * @param leftColumnName the name of the key column in the left table
+     * @param rightColumnName the name of the key column in the right table
+     * @return this join
+     * @throws IllegalArgumentException if a column does not exist or the columns have
+     *         incompatible types
+     */
+    public TableJoin on(String leftColumnName, String rightColumnName) {
+        IColumn<?> leftColumn = columnOf(left, leftColumnName);
+        IColumn<?> rightColumn = columnOf(right, rightColumnName);
+        if (leftColumn.getType() != rightColumn.getType()
+                && !(ColumnIndex.isIntegralType(leftColumn.getType()) && ColumnIndex.isIntegralType(rightColumn.getType()))) {
+            throw new IllegalArgumentException("Join columns have incompatible types: "
+                    + leftColumnName + " and " + rightColumnName);
+        }
+        leftKeys.add(leftColumn);
+        rightKeys.add(rightColumn);
+        return this;
+    }
+
+    private static IColumn<?> columnOf(ITable table, String columnName) {
+        IColumn<?> column = columnName == null ? null : table.getColumn(columnName);
+        if (column == null) {
+            throw new IllegalArgumentException("Column does not exist: " + columnName);
+        }
+        return column;
+    }
+
+    /**
+     * Joins the tables, keeping only the pairs of rows that match.
+     *
+     * @return a new table with one row per matching pair of rows
+     * @throws IllegalStateException if no key columns have been given
+     */
+    public ITable innerJoin() {
+        return toTable(pairs(false));
+    }
+
+    /**
+     * Joins the tables, keeping every row of the left table. A left row with no match
+     * appears once, with nulls in the columns from the right table.
+     *
+     * @return a new table with one row per matching pair and per unmatched left row
+     * @throws IllegalStateException if no key columns have been given
+     */
+    public ITable leftJoin() {
+        return toTable(pairs(true));
+    }
+
+    /**
+     * Selects the rows of the left table that match at least one row of the right table.
+     *
+     * @return the matching rows of the left table
+     * @throws IllegalStateException if no key columns have been given
+     */
+    public RowSelection semiJoin() {
+        return new RowSelection(left, matchedLeftRows(), left.getRowCount());
+    }
+
+    /**
+     * Selects the rows of the left table that match no row of the right table, including
+     * the rows whose key holds a null.
+     *
+     * @return the non-matching rows of the left table
+     * @throws IllegalStateException if no key columns have been given
+     */
+    public RowSelection antiJoin() {
+        int rowCount = left.getRowCount();
+        long[] words = RowSelection.allRows(rowCount);
+        long[] matched = matchedLeftRows();
+        for (int i = 0; i < words.length; i++) {
+            words[i] &= ~matched[i];
+        }
+        return new RowSelection(left, words, rowCount);
+    }
+
+    private boolean buildOnRight() {
+        if (leftKeys.isEmpty()) {
+            throw new IllegalStateException("No join columns have been given");
+        }
+        return right.getRowCount() <= left.getRowCount();
+    }
+
+    private long[] matchedLeftRows() {
+        long[] matched = new long[(left.getRowCount() + 63) >>> 6];
+        if (buildOnRight()) {
+            HashTable hashTable = new HashTable(right, rightKeys);
+            Probe probe = new Probe(left, leftKeys);
+            while (probe.next()) {
+                int row = probe.cursor.getRowIndex();
+                if (hashTable.find(probe) != null) {
+                    matched[row >>> 6] |= 1L << row;
+                }
+            }
+        } else {
+            HashTable hashTable = new HashTable(left, leftKeys);
+            Probe probe = new Probe(right, rightKeys);
+            while (probe.next()) {
+                RowIds rows = hashTable.find(probe);
+                for (int i = 0; rows != null && i < rows.size(); i++) {
+                    int row = rows.get(i);
+                    matched[row >>> 6] |= 1L << row;
+                }
+            }
+        }
+        return matched;
+    }
+
+    /**
+     * Finds the matching pairs of rows, each packed into a long with the left row in the high
+     * half and one more than the right row in the low half, so that sorting the pairs orders
+     * them by left row and then by right row. An unmatched left row has zero as its low half.
+     */
+    private Pairs pairs(boolean keepUnmatched) {
+        Pairs pairs = new Pairs();
+        if (buildOnRight()) {
+            // Probing with the left rows produces the pairs in order
+            HashTable hashTable = new HashTable(right, rightKeys);
+            Probe probe = new Probe(left, leftKeys);
+            while (probe.next()) {
+                long row = (long) probe.cursor.getRowIndex() << 32;
+                RowIds rows = hashTable.find(probe);
+                if (rows == null) {
+                    if (keepUnmatched) {
+                        pairs.add(row);
+                    }
+                    continue;
+                }
+                for (int i = 0; i < rows.size(); i++) {
+                    pairs.add(row | (rows.get(i) + 1L));
+                }
+            }
+        } else {
+            HashTable hashTable = new HashTable(left, leftKeys);
+            Probe probe = new Probe(right, rightKeys);
+            long[] matched = new long[(left.getRowCount() + 63) >>> 6];
+            while (probe.next()) {
+                long row = probe.cursor.getRowIndex() + 1L;
+                RowIds rows = hashTable.find(probe);
+                for (int i = 0; rows != null && i < rows.size(); i++) {
+                    int leftRow = rows.get(i);
+                    matched[leftRow >>> 6] |= 1L << leftRow;
+                    pairs.add((long) leftRow << 32 | row);
+                }
+            }
+            if (keepUnmatched) {
+                int rowCount = left.getRowCount();
+                for (int leftRow = 0; leftRow < rowCount; leftRow++) {
+                    if ((matched[leftRow >>> 6] & (1L << leftRow)) == 0) {
+                        pairs.add((long) leftRow << 32);
+                    }
+                }
+            }
+            pairs.sort();
+        }
+        return pairs;
+    }
+
+    private ITable toTable(Pairs pairs) {
+        ColumnarTableCore result = new ColumnarTableCore(left.getName(), Math.max(pairs.size, 1));
+        Set<String> names = new HashSet<>();
+        for (int i = 0; i < left.getColumnCount(); i++) {
+            IColumn<?> column = left.getColumn(left.getColumnName(i));
+            names.add(column.getName());
+            result.addColumn(ColumnFactory.copyColumn(column, column.getName()));
+        }
+        Set<String> rightKeyNames = new HashSet<>();
+        for (IColumn<?> column : rightKeys) {
+            rightKeyNames.add(column.getName());
+        }
+        int[] rightOrdinals = new int[right.getColumnCount()];
+        int rightWidth = 0;
+        for (int i = 0; i < right.getColumnCount(); i++) {
+            IColumn<?> column = right.getColumn(right.getColumnName(i));
+            if (rightKeyNames.contains(column.getName())) {
+                continue;
+            }
+            String name = column.getName();
+            if (!names.add(name)) {
+                name = right.getName() + "." + name;
+                if (!names.add(name)) {
+                    throw new IllegalArgumentException("Column already exists: " + name);
+                }
+            }
+            result.addColumn(ColumnFactory.copyColumn(column, name));
+            rightOrdinals[rightWidth++] = i;
+        }
+
+        int leftWidth = left.getColumnCount();
+        IRowCursor leftCursor = left.cursor();
+        IRowCursor rightCursor = right.cursor();
+        int current = -1;
+        for (int p = 0; p < pairs.size; p++) {
+            long pair = pairs.pairs[p];
+            int leftRow = (int) (pair >>> 32);
+            int rightRow = (int) pair - 1;
+            if (leftRow != current) {
+                leftCursor.moveTo(leftRow);
+                current = leftRow;
+            }
+            Object[] values = new Object[leftWidth + rightWidth];
+            for (int i = 0; i < leftWidth; i++) {
+                values[i] = leftCursor.getObject(i);
+            }
+            if (rightRow >= 0) {
+                rightCursor.moveTo(rightRow);
+                for (int i = 0; i < rightWidth; i++) {
+                    values[leftWidth + i] = rightCursor.getObject(rightOrdinals[i]);
+                }
+            }
+            result.addRow(ArrayRow.of(result, result.getSchema(), values));
+        }
+        return result;
+    }
+
+    /**
+     * The key columns of the table being probed, read through a cursor row by row.
+     */
+    private static final class Probe {
+        final IRowCursor cursor;
+        final int[] ordinals;
+
+        Probe(ITable table, List<IColumn<?>> keys) {
+            this.cursor = table.cursor();
+            this.ordinals = ordinalsOf(table, keys);
+        }
+
+        boolean next() {
+            return cursor.next();
+        }
+    }
+
+    private static int[] ordinalsOf(ITable table, List<IColumn<?>> keys) {
+        int[] ordinals = new int[keys.size()];
+        for (int i = 0; i < ordinals.length; i++) {
+            ordinals[i] = table.getSchema().indexOf(keys.get(i).getName());
+        }
+        return ordinals;
+    }
+
+    /**
+     * The rows of the build table by key. A single key column is held in a
+     * {@link HashColumnIndex}, which keys integral columns by primitive long; composite keys
+     * are held as lists of values, with integral values widened to long so that int and long
+     * keys compare equal.
+     */
+    private static final class HashTable {
+        private final HashColumnIndex index;
+        private final Map<List<Object>, RowIds> entries;
+
+        HashTable(ITable table, List<IColumn<?>> keys) {
+            int[] ordinals = ordinalsOf(table, keys);
+            IRowCursor cursor = table.cursor();
+            if (ordinals.length == 1) {
+                this.index = new HashColumnIndex(keys.get(0));
+                this.entries = null;
+                while (cursor.next()) {
+                    Object value = cursor.getObject(ordinals[0]);
+                    if (value != null) {
+                        index.add(value, cursor.getRowIndex());
+                    }
+                }
+            } else {
+                this.index = null;
+                this.entries = new HashMap<>();
+                while (cursor.next()) {
+                    List<Object> key = keyOf(cursor, ordinals);
+                    if (key != null) {
+                        RowIds rows = entries.get(key);
+                        if (rows == null) {
+                            entries.put(key, new RowIds(cursor.getRowIndex()));
+                        } else {
+                            rows.add(cursor.getRowIndex());
+                        }
+                    }
+                }
+            }
+        }
+
+        /**
+         * Finds the rows whose key matches the current row of a probe.
+         *
+         * @return the rows, or null if there are none
+         */
+        RowIds find(Probe probe) {
+            if (index != null) {
+                Object value = probe.cursor.getObject(probe.ordinals[0]);
+                return value == null ? null : index.find(value);
+            }
+            List<Object> key = keyOf(probe.cursor, probe.ordinals);
+            return key == null ? null : entries.get(key);
+        }
+
+        private static List<Object> keyOf(IRowCursor cursor, int[] ordinals) {
+            Object[] values = new Object[ordinals.length];
+            for (int i = 0; i < ordinals.length; i++) {
+                Object value = cursor.getObject(ordinals[i]);
+                if (value == null) {
+                    return null;
+                }
+                values[i] = ColumnIndex.isIntegral(value) ? (Object) ((Number) value).longValue() : value;
+            }
+            return Arrays.asList(values);
+        }
+    }
+
+    /**
+     * A growable array of packed row pairs.
+     */
+    private static final class Pairs {
+        long[] pairs = new long[16];
+        int size;
+
+        void add(long pair) {
+            if (size == pairs.length) {
+                pairs = Arrays.copyOf(pairs, ColumnVector.grownCapacity(pairs.length, size + 1));
+            }
+            pairs[size++] = pair;
+        }
+
+        void sort() {
+            Arrays.sort(pairs, 0, size);
+        }
+    }
+}
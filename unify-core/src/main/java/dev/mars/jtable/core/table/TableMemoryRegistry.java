@@ -0,0 +1,104 @@
+/*
+ * Copyright 2025 Mark Andrew Ray-Smith Cityline Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.mars.jtable.core.table;
+
+import dev.mars.jtable.core.model.ITable;
+import dev.mars.jtable.core.model.TableMemoryUsage;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * A process-wide registry of the live tables, for reporting how much memory they hold.
+ *
+ * Every {@link TableCore}, {@link OptimizedTableCore} and {@link ColumnarTableCore} registers
+ * itself when created. Tables are held weakly, so the registry never keeps a table alive and a
+ * table drops out of it once it has been garbage collected. Snapshots, views and wrappers such
+ * as {@link StampedLockTable} share the memory of the table they come from and are not
+ * registered.
+ *
+ * <pre>
+ * for (TableMemoryUsage usage : TableMemoryRegistry.report()) {
+ *     System.out.println(usage);
+ * }
+ * System.out.println("Total: " + TableMemoryRegistry.getTotalBytes() + " bytes");
+ * </pre>
+ */
+public final class TableMemoryRegistry {
+    // The cores use identity equality, so a weak map keys them by identity
+    private static final Map<ITable, Boolean> TABLES = new WeakHashMap<>();
+
+    private TableMemoryRegistry() {
+    }
+
+    /**
+     * Registers a newly created table.
+     *
+     * @param table the table
+     */
+    static void register(ITable table) {
+        synchronized (TABLES) {
+            TABLES.put(table, Boolean.TRUE);
+        }
+    }
+
+    private static List<ITable> liveTables() {
+        synchronized (TABLES) {
+            return new ArrayList<>(TABLES.keySet());
+        }
+    }
+
+    /**
+     * Gets the number of tables that have not yet been garbage collected.
+     *
+     * @return the number of live tables
+     */
+    public static int getLiveTableCount() {
+        synchronized (TABLES) {
+            return TABLES.size();
+        }
+    }
+
+    /**
+     * Estimates the memory held by each live table. The tables are estimated one at a time
+     * without holding the registry's lock, so tables may be created meanwhile.
+     *
+     * @return the estimates, one per live table
+     */
+    public static List<TableMemoryUsage> report() {
+        List<ITable> tables = liveTables();
+        List<TableMemoryUsage> report = new ArrayList<>(tables.size());
+        for (ITable table : tables) {
+            report.add(table.estimateMemoryUsage());
+        }
+        return report;
+    }
+
+    /**
+     * Estimates the total bytes, on and off the heap, held by the live tables.
+     *
+     * @return the number of bytes
+     */
+    public static long getTotalBytes() {
+        long total = 0;
+        for (TableMemoryUsage usage : report()) {
+            total += usage.getTotalBytes();
+        }
+        return total;
+    }
+}
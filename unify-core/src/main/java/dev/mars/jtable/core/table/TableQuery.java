@@ -0,0 +1,427 @@
+/*
+ * Copyright 2025 Mark Andrew Ray-Smith Cityline Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.mars.jtable.core.table;
+
+import dev.mars.jtable.core.model.IColumn;
+import dev.mars.jtable.core.model.IRowCursor;
+import dev.mars.jtable.core.model.ITable;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * A filter over the rows of a table that evaluates its conditions a column at a time into
+ * a selection bitmap, rather than row by row through getValueObject.
+ *
+ * Conditions are combined with AND, and each one only tests the rows the earlier ones kept.
+ * On a {@link ColumnarTableCore}, and on the wrappers and views that expose its vectors
+ * through {@link ColumnVectorSource}, a condition runs over the column's own storage without
+ * boxing: numbers compare as long or double, dates and times as their encoded longs, and
+ * equality on dictionary-encoded strings as int codes. Before a condition is tested, the
+ * column's {@link ZoneMap} skips the chunks of rows whose null counts, value ranges or Bloom
+ * filters show that none of their rows can match. Other tables are read through a cursor.
+ * A row holding null matches IS_NULL and no comparison, as in SQL.
+ *
+ * The result is a {@link RowSelection} over the table, not a copy of the rows.
+ *
+ * Usage example:
+ * <pre>
+ * RowSelection londoners = TableQuery.from(table)
+ *         .where("City", TableQuery.Operator.EQUALS, "London")
+ *         .and("Salary", TableQuery.Operator.GREATER_THAN, 50000)
+ *         .select();
+ * </pre>
+ */
+public final class TableQuery {
+
+    /**
+     * The comparisons a condition can make between a column and a value.
+     */
+    public enum Operator {
+        EQUALS,
+        NOT_EQUALS,
+        LESS_THAN,
+        LESS_THAN_OR_EQUAL,
+        GREATER_THAN,
+        GREATER_THAN_OR_EQUAL,
+        IS_NULL,
+        IS_NOT_NULL
+    }
+
+    private final ITable table;
+    private final List<Condition> conditions = new ArrayList<>();
+
+    private TableQuery(ITable table) {
+        this.table = table;
+    }
+
+    /**
+     * Starts a query over the given table.
+     *
+     * @param table the table to filter
+     * @return a new query that selects every row
+     * @throws IllegalArgumentException if the table is null
+     */
+    public static TableQuery from(ITable table) {
+        if (table == null) {
+            throw new IllegalArgumentException("Table cannot be null");
+        }
+        return new TableQuery(table);
+    }
+
+    /**
+     * Adds a condition that the selected rows must meet.
+     *
+     * @param columnName the name of the column to test
+     * @param operator the comparison to make
+     * @param value the value to compare with; ignored by IS_NULL and IS_NOT_NULL. Numeric
+     *        columns compare with any Number, other columns with a value of their own type
+     * @return this query
+     * @throws IllegalArgumentException if the column does not exist or the value cannot be
+     *         compared with it
+     */
+    public TableQuery where(String columnName, Operator operator, Object value) {
+        IColumn<?> column = columnName == null ? null : table.getColumn(columnName);
+        if (column == null) {
+            throw new IllegalArgumentException("Column does not exist: " + columnName);
+        }
+        if (operator == null) {
+            throw new IllegalArgumentException("Operator cannot be null");
+        }
+        conditions.add(new Condition(column, operator, value));
+        return this;
+    }
+
+    /**
+     * Adds a further condition that the selected rows must meet. Same as
+     * {@link #where(String, Operator, Object)}, for queries that read as a sentence.
+     *
+     * @param columnName the name of the column to test
+     * @param operator the comparison to make
+     * @param value the value to compare with
+     * @return this query
+     * @throws IllegalArgumentException if the column does not exist or the value cannot be
+     *         compared with it
+     */
+    public TableQuery and(String columnName, Operator operator, Object value) {
+        return where(columnName, operator, value);
+    }
+
+    /**
+     * Evaluates the query over the rows the table holds now.
+     *
+     * @return the selected rows
+     * @throws IllegalArgumentException if a queried column has been removed from the table
+     */
+    public RowSelection select() {
+        int rowCount = table.getRowCount();
+        long[] selection = RowSelection.allRows(rowCount);
+
+        IRowCursor cursor = null;
+        for (Condition condition : conditions) {
+            int ordinal = table.getSchema().indexOf(condition.columnName);
+            if (ordinal < 0) {
+                throw new IllegalArgumentException("Column does not exist: " + condition.columnName);
+            }
+            ColumnVector vector = table instanceof ColumnVectorSource
+                    ? ((ColumnVectorSource) table).columnVector(ordinal) : null;
+            if (vector != null) {
+                condition.select(vector, selection, rowCount);
+            } else {
+                if (cursor == null) {
+                    cursor = table.cursor();
+                }
+                condition.select(cursor, ordinal, selection);
+            }
+            if (isEmpty(selection)) {
+                break;
+            }
+        }
+        return new RowSelection(table, selection, rowCount);
+    }
+
+    /**
+     * Counts the rows the query selects.
+     *
+     * @return the number of selected rows
+     */
+    public int count() {
+        return select().size();
+    }
+
+    private static boolean isEmpty(long[] selection) {
+        for (long word : selection) {
+            if (word != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * One condition of a query, holding the comparison value in the form the column's
+     * storage compares it in.
+     */
+    private static final class Condition {
+        private final String columnName;
+        private final Operator operator;
+        private final Object value;
+        // Integral columns compared with an integral value compare as long, other numbers as double
+        private final boolean numeric;
+        private final boolean integral;
+        private final long longValue;
+        private final double doubleValue;
+
+        Condition(IColumn<?> column, Operator operator, Object value) {
+            this.columnName = column.getName();
+            this.operator = operator;
+            this.value = value;
+            Class<?> type = column.getType();
+            this.numeric = Number.class.isAssignableFrom(type);
+
+            boolean nullTest = operator == Operator.IS_NULL || operator == Operator.IS_NOT_NULL;
+            if (!nullTest) {
+                if (value == null) {
+                    throw new IllegalArgumentException("Value cannot be null for operator: " + operator);
+                }
+                if (numeric ? !(value instanceof Number) : !type.isInstance(value)) {
+                    throw new IllegalArgumentException("Invalid value for column: " + columnName);
+                }
+                boolean ordering = operator != Operator.EQUALS && operator != Operator.NOT_EQUALS;
+                if (ordering && !numeric && !(value instanceof Comparable)) {
+                    throw new IllegalArgumentException("Column cannot be sorted: " + columnName);
+                }
+            }
+            this.integral = numeric && ColumnIndex.isIntegralType(type) && ColumnIndex.isIntegral(value);
+            this.longValue = integral ? ((Number) value).longValue() : 0L;
+            this.doubleValue = numeric && value != null ? ((Number) value).doubleValue() : 0.0;
+        }
+
+        /**
+         * Narrows the selection to the rows of a columnar table that meet the condition.
+         */
+        void select(ColumnVector vector, long[] selection, int rowCount) {
+            ZoneMap zoneMap = vector.zoneMap();
+            if (operator == Operator.IS_NULL || operator == Operator.IS_NOT_NULL) {
+                zoneMap.pruneNulls(selection, rowCount, operator == Operator.IS_NULL);
+                vector.selectNulls(selection, operator == Operator.IS_NULL);
+                return;
+            }
+            ColumnVector.LongCodec codec = vector.longCodec();
+            if (integral) {
+                selectLong(vector, selection, rowCount, longValue);
+            } else if (numeric) {
+                selectDouble(vector, selection, rowCount);
+            } else if (codec != null && codec != ColumnVector.LongCodec.LONG) {
+                // Dates and times are stored as longs that order as the values do
+                selectLong(vector, selection, rowCount, codec.encode(value));
+            } else if (isDictionaryEquality(vector)) {
+                if (operator == Operator.EQUALS) {
+                    zoneMap.pruneEquals(selection, rowCount, value);
+                } else {
+                    zoneMap.pruneNulls(selection, rowCount, false);
+                }
+                ColumnVector.StringVector strings = (ColumnVector.StringVector) vector;
+                int code = strings.dictionary().codeOf((String) value);
+                if (code == StringDictionary.NOT_FOUND && operator == Operator.EQUALS) {
+                    Arrays.fill(selection, 0L);
+                } else if (code == StringDictionary.NOT_FOUND) {
+                    vector.selectNulls(selection, false);
+                } else {
+                    strings.selectCode(selection, rowCount, code, operator == Operator.NOT_EQUALS);
+                }
+            } else {
+                if (operator == Operator.EQUALS) {
+                    zoneMap.pruneEquals(selection, rowCount, value);
+                } else {
+                    zoneMap.pruneNulls(selection, rowCount, false);
+                }
+                vector.selectMatching(selection, this::matchesObject);
+            }
+        }
+
+        private boolean isDictionaryEquality(ColumnVector vector) {
+            return (operator == Operator.EQUALS || operator == Operator.NOT_EQUALS)
+                    && vector instanceof ColumnVector.StringVector
+                    && ((ColumnVector.StringVector) vector).isDictionaryEncoded();
+        }
+
+        private void selectLong(ColumnVector vector, long[] selection, int rowCount, long constant) {
+            switch (operator) {
+                case EQUALS:
+                    selectLongRange(vector, selection, rowCount, constant, constant, false);
+                    break;
+                case NOT_EQUALS:
+                    selectLongRange(vector, selection, rowCount, constant, constant, true);
+                    break;
+                case LESS_THAN:
+                    if (constant == Long.MIN_VALUE) {
+                        Arrays.fill(selection, 0L);
+                    } else {
+                        selectLongRange(vector, selection, rowCount, Long.MIN_VALUE, constant - 1, false);
+                    }
+                    break;
+                case LESS_THAN_OR_EQUAL:
+                    selectLongRange(vector, selection, rowCount, Long.MIN_VALUE, constant, false);
+                    break;
+                case GREATER_THAN:
+                    if (constant == Long.MAX_VALUE) {
+                        Arrays.fill(selection, 0L);
+                    } else {
+                        selectLongRange(vector, selection, rowCount, constant + 1, Long.MAX_VALUE, false);
+                    }
+                    break;
+                default:
+                    selectLongRange(vector, selection, rowCount, constant, Long.MAX_VALUE, false);
+                    break;
+            }
+        }
+
+        /**
+         * Skips the chunks whose zone map rules out the range, then tests the rest.
+         */
+        private static void selectLongRange(ColumnVector vector, long[] selection, int rowCount,
+                                            long low, long high, boolean outside) {
+            vector.zoneMap().pruneLongRange(selection, rowCount, low, high, outside);
+            vector.selectLongRange(selection, rowCount, low, high, outside);
+        }
+
+        private static void selectDoubleRange(ColumnVector vector, long[] selection, int rowCount,
+                                              double low, double high, boolean outside) {
+            vector.zoneMap().pruneDoubleRange(selection, rowCount, low, high, outside);
+            vector.selectDoubleRange(selection, rowCount, low, high, outside);
+        }
+
+        private void selectDouble(ColumnVector vector, long[] selection, int rowCount) {
+            double constant = doubleValue;
+            double infinity = Double.POSITIVE_INFINITY;
+            switch (operator) {
+                case EQUALS:
+                    selectDoubleRange(vector, selection, rowCount, constant, constant, false);
+                    break;
+                case NOT_EQUALS:
+                    selectDoubleRange(vector, selection, rowCount, constant, constant, true);
+                    break;
+                case LESS_THAN:
+                    if (constant == -infinity) {
+                        Arrays.fill(selection, 0L);
+                    } else {
+                        selectDoubleRange(vector, selection, rowCount, -infinity, Math.nextDown(constant), false);
+                    }
+                    break;
+                case LESS_THAN_OR_EQUAL:
+                    selectDoubleRange(vector, selection, rowCount, -infinity, constant, false);
+                    break;
+                case GREATER_THAN:
+                    if (constant == infinity) {
+                        Arrays.fill(selection, 0L);
+                    } else {
+                        selectDoubleRange(vector, selection, rowCount, Math.nextUp(constant), infinity, false);
+                    }
+                    break;
+                default:
+                    selectDoubleRange(vector, selection, rowCount, constant, infinity, false);
+                    break;
+            }
+        }
+
+        /**
+         * Narrows the selection to the rows of a row-based table that meet the condition,
+         * reading each selected row through the cursor.
+         */
+        void select(IRowCursor cursor, int ordinal, long[] selection) {
+            for (int word = 0; word < selection.length; word++) {
+                long keep = 0;
+                for (long bits = selection[word]; bits != 0; bits &= bits - 1) {
+                    int bit = Long.numberOfTrailingZeros(bits);
+                    cursor.moveTo((word << 6) + bit);
+                    if (matches(cursor, ordinal)) {
+                        keep |= 1L << bit;
+                    }
+                }
+                selection[word] = keep;
+            }
+        }
+
+        private boolean matches(IRowCursor cursor, int ordinal) {
+            boolean isNull = cursor.isNull(ordinal);
+            if (operator == Operator.IS_NULL || operator == Operator.IS_NOT_NULL) {
+                return isNull == (operator == Operator.IS_NULL);
+            }
+            if (isNull) {
+                return false;
+            }
+            if (integral) {
+                return matchesLong(cursor.getLong(ordinal));
+            } else if (numeric) {
+                return matchesDouble(cursor.getDouble(ordinal));
+            }
+            return matchesObject(cursor.getObject(ordinal));
+        }
+
+        private boolean matchesLong(long actual) {
+            switch (operator) {
+                case EQUALS:
+                    return actual == longValue;
+                case NOT_EQUALS:
+                    return actual != longValue;
+                case LESS_THAN:
+                    return actual < longValue;
+                case LESS_THAN_OR_EQUAL:
+                    return actual <= longValue;
+                case GREATER_THAN:
+                    return actual > longValue;
+                default:
+                    return actual >= longValue;
+            }
+        }
+
+        private boolean matchesDouble(double actual) {
+            switch (operator) {
+                case EQUALS:
+                    return actual == doubleValue;
+                case NOT_EQUALS:
+                    return actual != doubleValue;
+                case LESS_THAN:
+                    return actual < doubleValue;
+                case LESS_THAN_OR_EQUAL:
+                    return actual <= doubleValue;
+                case GREATER_THAN:
+                    return actual > doubleValue;
+                default:
+                    return actual >= doubleValue;
+            }
+        }
+
+        private boolean matchesObject(Object actual) {
+            switch (operator) {
+                case EQUALS:
+                    return actual.equals(value);
+                case NOT_EQUALS:
+                    return !actual.equals(value);
+                case LESS_THAN:
+                    return ColumnIndex.compareValues(actual, value) < 0;
+                case LESS_THAN_OR_EQUAL:
+                    return ColumnIndex.compareValues(actual, value) <= 0;
+                case GREATER_THAN:
+                    return ColumnIndex.compareValues(actual, value) > 0;
+                default:
+                    return ColumnIndex.compareValues(actual, value) >= 0;
+            }
+        }
+    }
+}
@@ -0,0 +1,139 @@
+/*
+ * Copyright 2025 Mark Andrew Ray-Smith Cityline Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.mars.jtable.core.table;
+
+import dev.mars.jtable.core.model.ICell;
+import dev.mars.jtable.core.model.IRow;
+import dev.mars.jtable.core.model.IRowCursor;
+import dev.mars.jtable.core.model.ITable;
+import dev.mars.jtable.core.model.ITableSchema;
+
+import java.util.function.IntFunction;
+
+/**
+ * A cursor over a row-based table such as {@link TableCore} or {@link OptimizedTableCore}.
+ *
+ * The cursor holds a reference to the current stored row rather than copying it, and reads
+ * {@link ArrayRow} values directly by ordinal. The table supplies its stored rows through
+ * its package-private {@code storedRow(int)} hook, so subclasses that override the hook are
+ * scanned the same way.
+ */
+class TableRowCursor implements IRowCursor {
+    private final ITable table;
+    private final IntFunction<IRow> storedRows;
+    private ITableSchema schema;
+    private IRow row;
+    private int rowIndex = -1;
+
+    /**
+     * Creates a new cursor over the given table.
+     *
+     * @param table the table to scan
+     * @param storedRows gets the row stored at an index rather than a view of it
+     */
+    TableRowCursor(ITable table, IntFunction<IRow> storedRows) {
+        this.table = table;
+        this.storedRows = storedRows;
+    }
+
+    @Override
+    public boolean next() {
+        int rowCount = table.getRowCount();
+        if (rowIndex + 1 >= rowCount) {
+            rowIndex = rowCount;
+            row = null;
+            return false;
+        }
+        moveTo(rowIndex + 1);
+        return true;
+    }
+
+    @Override
+    public void moveTo(int rowIndex) {
+        // Reading the row validates the index before the cursor is moved
+        row = storedRows.apply(rowIndex);
+        schema = table.getSchema();
+        this.rowIndex = rowIndex;
+    }
+
+    @Override
+    public int getRowIndex() {
+        return rowIndex;
+    }
+
+    @Override
+    public boolean isNull(int column) {
+        return getObject(column) == null;
+    }
+
+    @Override
+    public int getInt(int column) {
+        Object value = getObject(column);
+        return value == null ? 0 : toNumber(value, column).intValue();
+    }
+
+    @Override
+    public long getLong(int column) {
+        Object value = getObject(column);
+        return value == null ? 0L : toNumber(value, column).longValue();
+    }
+
+    @Override
+    public double getDouble(int column) {
+        Object value = getObject(column);
+        return value == null ? 0.0 : toNumber(value, column).doubleValue();
+    }
+
+    @Override
+    public boolean getBoolean(int column) {
+        Object value = getObject(column);
+        if (value == null) {
+            return false;
+        }
+        if (!(value instanceof Boolean)) {
+            throw new IllegalArgumentException("Column is not boolean: " + schema.getColumnName(column));
+        }
+        return (Boolean) value;
+    }
+
+    @Override
+    public String getString(int column) {
+        Object value = getObject(column);
+        return value == null ? null : value.toString();
+    }
+
+    @Override
+    public Object getObject(int column) {
+        if (row == null) {
+            throw new IllegalStateException("Cursor is not positioned on a row");
+        }
+        if (column < 0 || column >= schema.getColumnCount()) {
+            throw new IndexOutOfBoundsException("Invalid column index: " + column);
+        }
+        if (row instanceof ArrayRow) {
+            return ((ArrayRow) row).getValue(schema, column);
+        }
+        ICell<?> cell = row.getCell(schema.getColumnName(column));
+        return cell == null ? null : cell.getValue();
+    }
+
+    private Number toNumber(Object value, int column) {
+        if (!(value instanceof Number)) {
+            throw new IllegalArgumentException("Column is not numeric: " + schema.getColumnName(column));
+        }
+        return (Number) value;
+    }
+}
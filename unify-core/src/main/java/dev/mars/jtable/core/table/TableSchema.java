@@ -0,0 +1,150 @@
+/*
+ * Copyright 2025 Mark Andrew Ray-Smith Cityline Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.mars.jtable.core.table;
+
+import dev.mars.jtable.core.model.IColumn;
+import dev.mars.jtable.core.model.ITableSchema;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * An immutable, ordered set of columns with constant-time lookup of a column's ordinal.
+ *
+ * A table holds one schema at a time and replaces it whenever its columns change, so the
+ * same instance can be shared by every row created against it.
+ */
+public final class TableSchema implements ITableSchema {
+    /** A schema with no columns. */
+    public static final TableSchema EMPTY = new TableSchema(Collections.emptyList());
+
+    private final IColumn<?>[] columns;
+    private final String[] names;
+    private final Map<String, Integer> ordinals;
+
+    /**
+     * Creates a new schema with the given columns, in iteration order.
+     *
+     * @param columns the columns of the schema
+     * @throws IllegalArgumentException if two columns share a name
+     */
+    public TableSchema(Collection<? extends IColumn<?>> columns) {
+        this.columns = columns.toArray(new IColumn<?>[0]);
+        this.names = new String[this.columns.length];
+        this.ordinals = new HashMap<>(Math.max(16, this.columns.length * 2));
+        for (int i = 0; i < this.columns.length; i++) {
+            names[i] = this.columns[i].getName();
+            if (ordinals.put(names[i], i) != null) {
+                throw new IllegalArgumentException("Column already exists: " + this.columns[i].getName());
+            }
+        }
+    }
+
+    /**
+     * Creates a new schema with the columns of this schema followed by the given column.
+     *
+     * @param column the column to append
+     * @return the new schema
+     */
+    public TableSchema withColumn(IColumn<?> column) {
+        IColumn<?>[] extended = Arrays.copyOf(columns, columns.length + 1);
+        extended[columns.length] = column;
+        return new TableSchema(Arrays.asList(extended));
+    }
+
+    /**
+     * Gets the ordinal of the column with the given name.
+     *
+     * @param columnName the name of the column
+     * @return the ordinal, or -1 if there is no such column
+     */
+    @Override
+    public int indexOf(String columnName) {
+        Integer ordinal = ordinals.get(columnName);
+        return ordinal == null ? -1 : ordinal;
+    }
+
+    /**
+     * Gets the column at the given ordinal.
+     *
+     * @param ordinal the ordinal of the column
+     * @return the column
+     * @throws IndexOutOfBoundsException if the ordinal is out of range
+     */
+    @Override
+    public IColumn<?> getColumn(int ordinal) {
+        if (ordinal < 0 || ordinal >= columns.length) {
+            throw new IndexOutOfBoundsException("Invalid column index: " + ordinal);
+        }
+        return columns[ordinal];
+    }
+
+    /**
+     * Gets the column with the given name.
+     *
+     * @param columnName the name of the column
+     * @return the column, or null if there is no such column
+     */
+    @Override
+    public IColumn<?> getColumn(String columnName) {
+        Integer ordinal = ordinals.get(columnName);
+        return ordinal == null ? null : columns[ordinal];
+    }
+
+    /**
+     * Gets the name of the column at the given ordinal.
+     *
+     * @param ordinal the ordinal of the column
+     * @return the column name
+     * @throws IndexOutOfBoundsException if the ordinal is out of range
+     */
+    @Override
+    public String getColumnName(int ordinal) {
+        if (ordinal < 0 || ordinal >= names.length) {
+            throw new IndexOutOfBoundsException("Invalid column index: " + ordinal);
+        }
+        return names[ordinal];
+    }
+
+    @Override
+    public String[] getColumnNames() {
+        return names.clone();
+    }
+
+    /**
+     * Gets the number of columns in the schema.
+     *
+     * @return the number of columns
+     */
+    @Override
+    public int getColumnCount() {
+        return columns.length;
+    }
+
+    /**
+     * Gets the columns of the schema in order.
+     *
+     * @return an unmodifiable list of the columns
+     */
+    @Override
+    public List<IColumn<?>> getColumns() {
+        return Collections.unmodifiableList(Arrays.asList(columns));
+    }
+}
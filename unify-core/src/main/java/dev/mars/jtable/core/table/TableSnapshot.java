@@ -0,0 +1,429 @@
+/*
+ * Copyright 2025 Mark Andrew Ray-Smith Cityline Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.mars.jtable.core.table;
+
+import dev.mars.jtable.core.model.ICell;
+import dev.mars.jtable.core.model.IColumn;
+import dev.mars.jtable.core.model.IColumnIndex;
+import dev.mars.jtable.core.model.IRow;
+import dev.mars.jtable.core.model.IRowCursor;
+import dev.mars.jtable.core.model.ISortedColumnIndex;
+import dev.mars.jtable.core.model.ITable;
+import dev.mars.jtable.core.model.ITableSchema;
+import dev.mars.jtable.core.model.SortSpec;
+import dev.mars.jtable.core.model.TableMemoryUsage;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.RandomAccess;
+
+/**
+ * An immutable, point-in-time view of a row-based table, as returned by
+ * {@link ITable#snapshot()}. Columnar tables return a {@link ColumnarTableSnapshot}.
+ *
+ * The snapshot holds the schema, rows and decimal scales the table had when it was taken.
+ * The row cores share their rows with the snapshot and copy a row before changing it, so
+ * taking a snapshot does not copy the table. Rows handed out by the snapshot are read-only
+ * views.
+ */
+final class TableSnapshot implements ITable {
+    private final ITable source;
+    private final String name;
+    private final boolean createDefaultValue;
+    private final ITableSchema schema;
+    private final List<IRow> rows;
+    private final Map<String, DecimalScales> decimalScales;
+    // Built on request; the snapshot never changes, so the indexes need no maintenance
+    private final TableIndexes indexes = new TableIndexes();
+
+    /**
+     * Creates a snapshot from state captured from a table.
+     *
+     * @param source the table the snapshot was taken from, used for its conversion rules
+     * @param schema the schema of the table
+     * @param rows the rows of the table, which must not change afterwards
+     * @param decimalScales the decimal scales of the table, which must not change afterwards
+     */
+    TableSnapshot(ITable source, ITableSchema schema, List<IRow> rows, Map<String, DecimalScales> decimalScales) {
+        this.source = source;
+        this.name = source.getName();
+        this.createDefaultValue = source.isCreateDefaultValue();
+        this.schema = schema;
+        this.rows = rows;
+        this.decimalScales = decimalScales;
+    }
+
+    /**
+     * Takes a snapshot of each decimal scale store of a table.
+     *
+     * @param decimalScales the stores of the table by column name
+     * @return the snapshots by column name
+     */
+    static Map<String, DecimalScales> snapshotScales(Map<String, DecimalScales> decimalScales) {
+        if (decimalScales.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        Map<String, DecimalScales> snapshot = new HashMap<>();
+        for (Map.Entry<String, DecimalScales> entry : decimalScales.entrySet()) {
+            snapshot.put(entry.getKey(), entry.getValue().snapshot());
+        }
+        return snapshot;
+    }
+
+    static UnsupportedOperationException readOnly() {
+        return new UnsupportedOperationException("Table snapshot is read-only");
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public void setName(String name) {
+        throw readOnly();
+    }
+
+    @Override
+    public void setCreateDefaultValue(boolean createDefaultValue) {
+        throw readOnly();
+    }
+
+    @Override
+    public boolean isCreateDefaultValue() {
+        return createDefaultValue;
+    }
+
+    @Override
+    public String getDefaultValue(String type) {
+        return source.getDefaultValue(type);
+    }
+
+    @Override
+    public IColumn<?> getColumn(String name) {
+        return schema.getColumn(name);
+    }
+
+    @Override
+    public IColumn<?> getColumn(int index) {
+        return schema.getColumn(index);
+    }
+
+    @Override
+    public List<IColumn<?>> getColumns() {
+        return new ArrayList<>(schema.getColumns());
+    }
+
+    @Override
+    public ITableSchema getSchema() {
+        return schema;
+    }
+
+    @Override
+    public void addColumn(IColumn<?> column) {
+        throw readOnly();
+    }
+
+    @Override
+    public String getColumnName(int index) {
+        return schema.getColumnName(index);
+    }
+
+    @Override
+    public IRow getRow(int index) {
+        return new SnapshotRow(storedRow(index));
+    }
+
+    /**
+     * Gets the stored row at the given index rather than a read-only view of it, for
+     * readers such as cursors that never change it.
+     */
+    IRow storedRow(int index) {
+        if (index < 0 || index >= rows.size()) {
+            throw new IndexOutOfBoundsException("Invalid row index: " + index);
+        }
+        return rows.get(index);
+    }
+
+    @Override
+    public List<IRow> getRows() {
+        return new SnapshotRows();
+    }
+
+    @Override
+    public void addRow(IRow row) {
+        throw readOnly();
+    }
+
+    @Override
+    public void addRow(Map<String, String> row) {
+        throw readOnly();
+    }
+
+    @Override
+    public void appendBatch(String[][] rows) {
+        throw readOnly();
+    }
+
+    @Override
+    public void appendBatch(Object[][] rows) {
+        throw readOnly();
+    }
+
+    @Override
+    public IRow createRow() {
+        throw readOnly();
+    }
+
+    @Override
+    public IRowCursor cursor() {
+        return new TableRowCursor(this, this::storedRow);
+    }
+
+    @Override
+    public ITable snapshot() {
+        return this;
+    }
+
+    @Override
+    public TableMemoryUsage estimateMemoryUsage() {
+        return MemoryEstimator.estimateRows(this, rows, decimalScales, indexes);
+    }
+
+    @Override
+    public IColumnIndex createIndex(String columnName) {
+        return indexes.create(this, columnName);
+    }
+
+    @Override
+    public ISortedColumnIndex createSortedIndex(String columnName) {
+        return indexes.createSorted(this, columnName);
+    }
+
+    @Override
+    public IColumnIndex getIndex(String columnName) {
+        return indexes.get(columnName);
+    }
+
+    @Override
+    public ITable view(int[] rowSelection, String... columnNames) {
+        return TableView.of(this, rowSelection, columnNames);
+    }
+
+    @Override
+    public int[] sort(SortSpec... specs) {
+        return TableSort.sort(this, specs);
+    }
+
+    @Override
+    public int getRowCount() {
+        return rows.size();
+    }
+
+    @Override
+    public int getColumnCount() {
+        return schema.getColumnCount();
+    }
+
+    @Override
+    public Object getValueObject(int rowIndex, String columnName) {
+        IRow row = storedRow(rowIndex);
+        if (row instanceof ArrayRow) {
+            return ((ArrayRow) row).getValue(columnName);
+        }
+        ICell<?> cell = row.getCell(columnName);
+        return cell == null ? null : cell.getValue();
+    }
+
+    @Override
+    public void setValue(int rowIndex, String columnName, Object value) {
+        throw readOnly();
+    }
+
+    @Override
+    public String getValueAt(int rowIndex, String columnName) {
+        Object value = getValueObject(rowIndex, columnName);
+        if (value == null) {
+            return null;
+        }
+
+        if (value instanceof Double) {
+            DecimalScales scales = decimalScales.get(columnName);
+            return DecimalScales.format((Double) value, scales == null ? DecimalScales.NO_SCALE : scales.get(rowIndex));
+        } else if (value instanceof java.time.LocalDate) {
+            return ((java.time.LocalDate) value).format(java.time.format.DateTimeFormatter.ISO_LOCAL_DATE);
+        } else if (value instanceof java.time.LocalTime) {
+            return ((java.time.LocalTime) value).format(java.time.format.DateTimeFormatter.ISO_LOCAL_TIME);
+        } else if (value instanceof java.time.LocalDateTime) {
+            return ((java.time.LocalDateTime) value).format(java.time.format.DateTimeFormatter.ISO_LOCAL_DATE_TIME);
+        }
+        return value.toString();
+    }
+
+    @Override
+    public void setValueAt(int rowIndex, String columnName, String value) {
+        throw readOnly();
+    }
+
+    @Override
+    public void setInt(int rowIndex, int columnIndex, int value) {
+        throw readOnly();
+    }
+
+    @Override
+    public void setLong(int rowIndex, int columnIndex, long value) {
+        throw readOnly();
+    }
+
+    @Override
+    public void setDouble(int rowIndex, int columnIndex, double value) {
+        throw readOnly();
+    }
+
+    @Override
+    public void setBoolean(int rowIndex, int columnIndex, boolean value) {
+        throw readOnly();
+    }
+
+    @Override
+    public Object convertValue(String value, IColumn<?> column) {
+        return source.convertValue(value, column);
+    }
+
+    @Override
+    public void setColumns(LinkedHashMap<String, String> columns) {
+        throw readOnly();
+    }
+
+    @Override
+    public String inferType(String value) {
+        return source.inferType(value);
+    }
+
+    @Override
+    public void printTable() {
+        for (IColumn<?> column : schema.getColumns()) {
+            System.out.print(column.getName() + "\t");
+        }
+        System.out.println();
+
+        for (IRow row : rows) {
+            for (IColumn<?> column : schema.getColumns()) {
+                ICell<?> cell = row.getCell(column.getName());
+                System.out.print((cell == null ? "" : cell.getValueAsString()) + "\t");
+            }
+            System.out.println();
+        }
+    }
+
+    /**
+     * The rows of the snapshot as read-only views, created as they are accessed.
+     */
+    private class SnapshotRows extends AbstractList<IRow> implements RandomAccess {
+        @Override
+        public IRow get(int index) {
+            return getRow(index);
+        }
+
+        @Override
+        public int size() {
+            return rows.size();
+        }
+    }
+
+    /**
+     * A read-only view of a stored row.
+     */
+    private final class SnapshotRow implements IRow {
+        private final IRow row;
+
+        SnapshotRow(IRow row) {
+            this.row = row;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public <T> ICell<T> getCell(IColumn<T> column) {
+            return (ICell<T>) getCell(column.getName());
+        }
+
+        @Override
+        public ICell<?> getCell(String columnName) {
+            ICell<?> cell = row.getCell(columnName);
+            return cell == null ? null : new SnapshotCell<>(cell);
+        }
+
+        @Override
+        public <T> void setValue(IColumn<T> column, T value) {
+            throw readOnly();
+        }
+
+        @Override
+        public void setValue(String columnName, Object value) {
+            throw readOnly();
+        }
+
+        @Override
+        public List<ICell<?>> getCells() {
+            List<ICell<?>> cells = new ArrayList<>();
+            for (ICell<?> cell : row.getCells()) {
+                cells.add(new SnapshotCell<>(cell));
+            }
+            return cells;
+        }
+
+        @Override
+        public ITable getTable() {
+            return TableSnapshot.this;
+        }
+    }
+
+    /**
+     * A read-only view of a cell of a stored row.
+     */
+    private static final class SnapshotCell<T> implements ICell<T> {
+        private final ICell<T> cell;
+
+        SnapshotCell(ICell<T> cell) {
+            this.cell = cell;
+        }
+
+        @Override
+        public T getValue() {
+            return cell.getValue();
+        }
+
+        @Override
+        public void setValue(T value) {
+            throw readOnly();
+        }
+
+        @Override
+        public String getValueAsString() {
+            return cell.getValueAsString();
+        }
+
+        @Override
+        public IColumn<T> getColumn() {
+            return cell.getColumn();
+        }
+    }
+}
@@ -0,0 +1,453 @@
+/*
+ * Copyright 2025 Mark Andrew Ray-Smith Cityline Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.mars.jtable.core.table;
+
+import dev.mars.jtable.core.model.IColumn;
+import dev.mars.jtable.core.model.IRowCursor;
+import dev.mars.jtable.core.model.ITable;
+import dev.mars.jtable.core.model.SortSpec;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Sorts the rows of a table, and walks or copies them in the sorted order.
+ *
+ * {@link ITable#sort(SortSpec...)} reads each sort column once into an array of primitive
+ * long keys that order the same way as the values: integral and boolean values are used as
+ * they are, doubles are mapped onto longs with their order kept, and other values are
+ * replaced by their rank among the distinct values of the column. A descending column has
+ * its keys inverted. The row indices are then merge sorted by the keys, with the halves of
+ * large tables sorted in parallel in the common ForkJoinPool. Merge sort is stable, so rows
+ * that compare equal keep their order.
+ *
+ * Usage example:
+ * <pre>
+ * int[] order = table.sort(SortSpec.ascending("City"), SortSpec.descending("Salary"));
+ * IRowCursor cursor = TableSort.cursor(table, order);
+ * ITable sorted = TableSort.toTable(table, order);
+ * </pre>
+ */
+public final class TableSort {
+    // Below this many rows a range is sorted rather than split further
+    private static final int MIN_PARTITION_ROWS = 8_192;
+
+    // Runs this short are insertion sorted before merging
+    private static final int INSERTION_SORT_ROWS = 32;
+
+    private TableSort() {
+    }
+
+    /**
+     * Sorts the rows of a table, as {@link ITable#sort(SortSpec...)} does.
+     */
+    static int[] sort(ITable table, SortSpec... specs) {
+        return sort(table, ForkJoinPool.commonPool(), MIN_PARTITION_ROWS, specs);
+    }
+
+    /**
+     * Sorts the rows of a table in the given pool, splitting ranges down to the given size.
+     */
+    static int[] sort(ITable table, ForkJoinPool pool, int minPartitionRows, SortSpec... specs) {
+        if (specs == null) {
+            throw new IllegalArgumentException("Sort specifications cannot be null");
+        }
+        int rowCount = table.getRowCount();
+        Keys keys = new Keys(table, rowCount, specs);
+        int[] rows = new int[rowCount];
+        for (int i = 0; i < rowCount; i++) {
+            rows[i] = i;
+        }
+        if (specs.length == 0 || rowCount < 2) {
+            return rows;
+        }
+        int[] buffer = new int[rowCount];
+        int threshold = Math.max(minPartitionRows, INSERTION_SORT_ROWS);
+        if (rowCount <= threshold) {
+            sortRange(keys, rows, buffer, 0, rowCount);
+        } else {
+            pool.invoke(new SortTask(keys, rows, buffer, 0, rowCount, threshold));
+        }
+        return rows;
+    }
+
+    /**
+     * Creates a cursor that walks the rows of a table in the given order. The cursor reports
+     * the rows' indices in the table, and {@link IRowCursor#moveTo(int)} takes such an index
+     * and carries on from that row's place in the order.
+     *
+     * @param table the table
+     * @param order the row indices in the order to walk them, as returned by {@link ITable#sort(SortSpec...)}
+     * @return a new cursor positioned before the first row of the order
+     */
+    public static IRowCursor cursor(ITable table, int[] order) {
+        checkArguments(table, order);
+        return new OrderedCursor(table.cursor(), order);
+    }
+
+    /**
+     * Copies the rows of a table into a new table in the given order.
+     *
+     * @param table the table
+     * @param order the row indices in the order to copy them, as returned by {@link ITable#sort(SortSpec...)}
+     * @return a new {@link ColumnarTableCore} with the same columns as the table
+     * @throws IndexOutOfBoundsException if the order holds an invalid row index
+     */
+    public static ITable toTable(ITable table, int[] order) {
+        checkArguments(table, order);
+        IRowCursor cursor = table.cursor();
+        ColumnarTableCore result = new ColumnarTableCore(table.getName(), Math.max(order.length, 1));
+        int width = table.getColumnCount();
+        for (int i = 0; i < width; i++) {
+            IColumn<?> column = table.getColumn(table.getColumnName(i));
+            result.addColumn(ColumnFactory.copyColumn(column, column.getName()));
+        }
+        for (int row : order) {
+            cursor.moveTo(row);
+            Object[] values = new Object[width];
+            for (int i = 0; i < width; i++) {
+                values[i] = cursor.getObject(i);
+            }
+            result.addRow(ArrayRow.of(result, result.getSchema(), values));
+        }
+        return result;
+    }
+
+    private static void checkArguments(ITable table, int[] order) {
+        if (table == null) {
+            throw new IllegalArgumentException("Table cannot be null");
+        }
+        if (order == null) {
+            throw new IllegalArgumentException("Order cannot be null");
+        }
+    }
+
+    /**
+     * Sorts a range of rows on the calling thread: runs of a few rows are insertion sorted,
+     * then merged in passes of doubling width.
+     */
+    private static void sortRange(Keys keys, int[] rows, int[] buffer, int from, int to) {
+        for (int start = from; start < to; start += INSERTION_SORT_ROWS) {
+            int end = Math.min(start + INSERTION_SORT_ROWS, to);
+            for (int i = start + 1; i < end; i++) {
+                int row = rows[i];
+                int j = i - 1;
+                while (j >= start && keys.compare(rows[j], row) > 0) {
+                    rows[j + 1] = rows[j];
+                    j--;
+                }
+                rows[j + 1] = row;
+            }
+        }
+        for (int width = INSERTION_SORT_ROWS; width < to - from; width *= 2) {
+            for (int start = from; start + width < to; start += 2 * width) {
+                merge(keys, rows, buffer, start, start + width, Math.min(start + 2 * width, to));
+            }
+        }
+    }
+
+    /**
+     * Merges the sorted ranges [from, middle) and [middle, to). The left range is copied out
+     * and merged back ahead of the right one, which keeps equal rows in order.
+     */
+    private static void merge(Keys keys, int[] rows, int[] buffer, int from, int middle, int to) {
+        if (keys.compare(rows[middle - 1], rows[middle]) <= 0) {
+            return;
+        }
+        System.arraycopy(rows, from, buffer, from, middle - from);
+        int left = from;
+        int right = middle;
+        int target = from;
+        while (left < middle && right < to) {
+            rows[target++] = keys.compare(rows[right], buffer[left]) < 0 ? rows[right++] : buffer[left++];
+        }
+        System.arraycopy(buffer, left, rows, target, middle - left);
+    }
+
+    /**
+     * Sorts the two halves of a range in parallel and merges them.
+     */
+    private static final class SortTask extends RecursiveAction {
+        private final Keys keys;
+        private final int[] rows;
+        private final int[] buffer;
+        private final int from;
+        private final int to;
+        private final int threshold;
+
+        SortTask(Keys keys, int[] rows, int[] buffer, int from, int to, int threshold) {
+            this.keys = keys;
+            this.rows = rows;
+            this.buffer = buffer;
+            this.from = from;
+            this.to = to;
+            this.threshold = threshold;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= threshold) {
+                sortRange(keys, rows, buffer, from, to);
+                return;
+            }
+            int middle = (from + to) >>> 1;
+            invokeAll(new SortTask(keys, rows, buffer, from, middle, threshold),
+                    new SortTask(keys, rows, buffer, middle, to, threshold));
+            merge(keys, rows, buffer, from, middle, to);
+        }
+    }
+
+    /**
+     * The sort keys of every row, one array per sort column, with a bitmap of the rows that
+     * hold a null for the columns that have any.
+     */
+    private static final class Keys {
+        private final long[][] keys;
+        private final long[][] nulls;
+        private final boolean[] nullsLast;
+
+        Keys(ITable table, int rowCount, SortSpec[] specs) {
+            int[] ordinals = new int[specs.length];
+            Class<?>[] types = new Class<?>[specs.length];
+            for (int k = 0; k < specs.length; k++) {
+                if (specs[k] == null) {
+                    throw new IllegalArgumentException("Sort specification cannot be null");
+                }
+                String columnName = specs[k].getColumnName();
+                IColumn<?> column = table.getColumn(columnName);
+                if (column == null) {
+                    throw new IllegalArgumentException("Column does not exist: " + columnName);
+                }
+                types[k] = column.getType();
+                if (!Comparable.class.isAssignableFrom(types[k])) {
+                    throw new IllegalArgumentException("Column cannot be sorted: " + columnName);
+                }
+                ordinals[k] = table.getSchema().indexOf(columnName);
+            }
+
+            this.keys = new long[specs.length][];
+            this.nulls = new long[specs.length][];
+            this.nullsLast = new boolean[specs.length];
+            for (int k = 0; k < specs.length; k++) {
+                long[] columnKeys = new long[rowCount];
+                long[] columnNulls = new long[(rowCount + 63) >>> 6];
+                boolean anyNulls = read(table, ordinals[k], types[k], columnKeys, columnNulls);
+                if (specs[k].isDescending()) {
+                    for (int i = 0; i < rowCount; i++) {
+                        columnKeys[i] = ~columnKeys[i];
+                    }
+                }
+                keys[k] = columnKeys;
+                nulls[k] = anyNulls ? columnNulls : null;
+                nullsLast[k] = specs[k].isNullsLast();
+            }
+        }
+
+        /**
+         * Reads the keys of one column, returning whether any row holds a null.
+         */
+        private static boolean read(ITable table, int ordinal, Class<?> type, long[] keys, long[] nulls) {
+            boolean anyNulls = false;
+            IRowCursor cursor = table.cursor();
+            if (type == Double.class || type == Float.class) {
+                while (cursor.next()) {
+                    int row = cursor.getRowIndex();
+                    if (cursor.isNull(ordinal)) {
+                        nulls[row >>> 6] |= 1L << row;
+                        anyNulls = true;
+                    } else {
+                        // Flip the magnitude bits of negatives so the longs order as the doubles do
+                        long bits = Double.doubleToLongBits(cursor.getDouble(ordinal));
+                        keys[row] = bits ^ ((bits >> 63) & Long.MAX_VALUE);
+                    }
+                }
+            } else if (ColumnIndex.isIntegralType(type) || type == Boolean.class) {
+                boolean integral = type != Boolean.class;
+                while (cursor.next()) {
+                    int row = cursor.getRowIndex();
+                    if (cursor.isNull(ordinal)) {
+                        nulls[row >>> 6] |= 1L << row;
+                        anyNulls = true;
+                    } else {
+                        keys[row] = integral ? cursor.getLong(ordinal) : cursor.getBoolean(ordinal) ? 1 : 0;
+                    }
+                }
+            } else {
+                // Number the distinct values, then replace each number by the value's rank
+                Map<Object, Integer> ids = new HashMap<>();
+                Object[] distinct = new Object[16];
+                while (cursor.next()) {
+                    int row = cursor.getRowIndex();
+                    Object value = cursor.getObject(ordinal);
+                    if (value == null) {
+                        nulls[row >>> 6] |= 1L << row;
+                        anyNulls = true;
+                        continue;
+                    }
+                    Integer id = ids.get(value);
+                    if (id == null) {
+                        id = ids.size();
+                        ids.put(value, id);
+                        if (id == distinct.length) {
+                            distinct = Arrays.copyOf(distinct, distinct.length * 2);
+                        }
+                        distinct[id] = value;
+                    }
+                    keys[row] = id;
+                }
+                Integer[] byValue = new Integer[ids.size()];
+                for (int id = 0; id < byValue.length; id++) {
+                    byValue[id] = id;
+                }
+                Object[] values = distinct;
+                Arrays.sort(byValue, (a, b) -> compare(values[a], values[b]));
+                long[] ranks = new long[byValue.length];
+                for (int rank = 0; rank < byValue.length; rank++) {
+                    ranks[byValue[rank]] = rank;
+                }
+                for (int row = 0; row < keys.length; row++) {
+                    if ((nulls[row >>> 6] & (1L << row)) == 0) {
+                        keys[row] = ranks[(int) keys[row]];
+                    }
+                }
+            }
+            return anyNulls;
+        }
+
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        private static int compare(Object a, Object b) {
+            return ((Comparable) a).compareTo(b);
+        }
+
+        /**
+         * Compares two rows by the sort columns.
+         */
+        int compare(int a, int b) {
+            for (int k = 0; k < keys.length; k++) {
+                long[] columnNulls = nulls[k];
+                if (columnNulls != null) {
+                    boolean nullA = (columnNulls[a >>> 6] & (1L << a)) != 0;
+                    boolean nullB = (columnNulls[b >>> 6] & (1L << b)) != 0;
+                    if (nullA || nullB) {
+                        if (nullA == nullB) {
+                            continue;
+                        }
+                        return nullA == nullsLast[k] ? 1 : -1;
+                    }
+                }
+                int result = Long.compare(keys[k][a], keys[k][b]);
+                if (result != 0) {
+                    return result;
+                }
+            }
+            return 0;
+        }
+    }
+
+    /**
+     * A cursor that walks the rows of a table in a given order.
+     */
+    private static final class OrderedCursor implements IRowCursor {
+        private final IRowCursor cursor;
+        private final int[] order;
+        private int[] positions;
+        private int position = -1;
+
+        OrderedCursor(IRowCursor cursor, int[] order) {
+            this.cursor = cursor;
+            this.order = order;
+        }
+
+        @Override
+        public boolean next() {
+            if (position + 1 >= order.length) {
+                position = order.length;
+                return false;
+            }
+            cursor.moveTo(order[++position]);
+            return true;
+        }
+
+        @Override
+        public void moveTo(int rowIndex) {
+            if (positions == null) {
+                // Invert the order the first time a row is looked up
+                int rowCount = 0;
+                for (int row : order) {
+                    rowCount = Math.max(rowCount, row + 1);
+                }
+                positions = new int[rowCount];
+                Arrays.fill(positions, -1);
+                for (int i = 0; i < order.length; i++) {
+                    if (order[i] >= 0) {
+                        positions[order[i]] = i;
+                    }
+                }
+            }
+            if (rowIndex < 0 || rowIndex >= positions.length || positions[rowIndex] < 0) {
+                throw new IndexOutOfBoundsException("Invalid row index: " + rowIndex);
+            }
+            cursor.moveTo(rowIndex);
+            position = positions[rowIndex];
+        }
+
+        @Override
+        public int getRowIndex() {
+            if (position < 0) {
+                return -1;
+            }
+            return position < order.length ? order[position] : order.length;
+        }
+
+        @Override
+        public boolean isNull(int column) {
+            return cursor.isNull(column);
+        }
+
+        @Override
+        public int getInt(int column) {
+            return cursor.getInt(column);
+        }
+
+        @Override
+        public long getLong(int column) {
+            return cursor.getLong(column);
+        }
+
+        @Override
+        public double getDouble(int column) {
+            return cursor.getDouble(column);
+        }
+
+        @Override
+        public boolean getBoolean(int column) {
+            return cursor.getBoolean(column);
+        }
+
+        @Override
+        public String getString(int column) {
+            return cursor.getString(column);
+        }
+
+        @Override
+        public Object getObject(int column) {
+            return cursor.getObject(column);
+        }
+    }
+}
@@ -0,0 +1,551 @@
+/*
+ * Copyright 2025 Mark Andrew Ray-Smith Cityline Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.mars.jtable.core.table;
+
+import dev.mars.jtable.core.model.ICell;
+import dev.mars.jtable.core.model.IColumn;
+import dev.mars.jtable.core.model.IColumnIndex;
+import dev.mars.jtable.core.model.IRow;
+import dev.mars.jtable.core.model.IRowCursor;
+import dev.mars.jtable.core.model.ISortedColumnIndex;
+import dev.mars.jtable.core.model.ITable;
+import dev.mars.jtable.core.model.ITableSchema;
+import dev.mars.jtable.core.model.SortSpec;
+import dev.mars.jtable.core.model.TableMemoryUsage;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.RandomAccess;
+
+/**
+ * A read-only view of some of the rows and columns of a table, as returned by
+ * {@link ITable#view(int[], String...)}.
+ *
+ * The view holds only the indices of its rows and the ordinals of its columns; every value
+ * is read from the parent table when it is accessed, so values set in the parent are seen
+ * through the view. A view of all rows also sees rows added to the parent, while a view of
+ * selected rows keeps the rows it was given. The view's columns are fixed when it is created.
+ * A view of a view reads straight from the underlying table.
+ */
+final class TableView implements ITable, ColumnVectorSource {
+    private final ITable parent;
+    // Null when the view holds every row of the parent
+    private final int[] rows;
+    private final int[] ordinals;
+    private final ITableSchema schema;
+
+    private TableView(ITable parent, int[] rows, int[] ordinals, ITableSchema schema) {
+        this.parent = parent;
+        this.rows = rows;
+        this.ordinals = ordinals;
+        this.schema = schema;
+    }
+
+    /**
+     * Creates a view of a table.
+     *
+     * @param parent the table to view
+     * @param rowSelection the indices of the rows to view in the order to view them, or null for every row
+     * @param columnNames the names of the columns to view in the order to view them, or none for every column
+     * @return a new view
+     * @throws IndexOutOfBoundsException if a row index is out of range
+     * @throws IllegalArgumentException if a column does not exist or is named twice
+     */
+    static ITable of(ITable parent, int[] rowSelection, String... columnNames) {
+        ITableSchema parentSchema = parent.getSchema();
+        int[] ordinals;
+        List<IColumn<?>> columns = new ArrayList<>();
+        if (columnNames == null || columnNames.length == 0) {
+            ordinals = new int[parentSchema.getColumnCount()];
+            for (int i = 0; i < ordinals.length; i++) {
+                ordinals[i] = i;
+                columns.add(parentSchema.getColumn(i));
+            }
+        } else {
+            ordinals = new int[columnNames.length];
+            for (int i = 0; i < ordinals.length; i++) {
+                int ordinal = columnNames[i] == null ? -1 : parentSchema.indexOf(columnNames[i]);
+                if (ordinal < 0) {
+                    throw new IllegalArgumentException("Column does not exist: " + columnNames[i]);
+                }
+                IColumn<?> column = parentSchema.getColumn(ordinal);
+                if (columns.contains(column)) {
+                    throw new IllegalArgumentException("Column already exists: " + columnNames[i]);
+                }
+                ordinals[i] = ordinal;
+                columns.add(column);
+            }
+        }
+
+        int[] rows = null;
+        if (rowSelection != null) {
+            int rowCount = parent.getRowCount();
+            rows = rowSelection.clone();
+            for (int row : rows) {
+                if (row < 0 || row >= rowCount) {
+                    throw new IndexOutOfBoundsException("Invalid row index: " + row);
+                }
+            }
+        }
+
+        if (parent instanceof TableView) {
+            // Map the rows and columns onto the underlying table
+            TableView view = (TableView) parent;
+            for (int i = 0; i < ordinals.length; i++) {
+                ordinals[i] = view.ordinals[ordinals[i]];
+            }
+            if (rows == null) {
+                rows = view.rows == null ? null : view.rows.clone();
+            } else if (view.rows != null) {
+                for (int i = 0; i < rows.length; i++) {
+                    rows[i] = view.rows[rows[i]];
+                }
+            }
+            parent = view.parent;
+        }
+        return new TableView(parent, rows, ordinals, new TableSchema(columns));
+    }
+
+    private static UnsupportedOperationException readOnly() {
+        return new UnsupportedOperationException("Table view is read-only");
+    }
+
+    /**
+     * Maps a row index of the view onto the parent table.
+     */
+    private int parentRow(int rowIndex) {
+        if (rowIndex < 0 || rowIndex >= getRowCount()) {
+            throw new IndexOutOfBoundsException("Invalid row index: " + rowIndex);
+        }
+        return rows == null ? rowIndex : rows[rowIndex];
+    }
+
+    @Override
+    public String getName() {
+        return parent.getName();
+    }
+
+    @Override
+    public void setName(String name) {
+        throw readOnly();
+    }
+
+    @Override
+    public void setCreateDefaultValue(boolean createDefaultValue) {
+        throw readOnly();
+    }
+
+    @Override
+    public boolean isCreateDefaultValue() {
+        return parent.isCreateDefaultValue();
+    }
+
+    @Override
+    public String getDefaultValue(String type) {
+        return parent.getDefaultValue(type);
+    }
+
+    @Override
+    public IColumn<?> getColumn(String name) {
+        return schema.getColumn(name);
+    }
+
+    @Override
+    public IColumn<?> getColumn(int index) {
+        return schema.getColumn(index);
+    }
+
+    @Override
+    public List<IColumn<?>> getColumns() {
+        return new ArrayList<>(schema.getColumns());
+    }
+
+    @Override
+    public ITableSchema getSchema() {
+        return schema;
+    }
+
+    @Override
+    public void addColumn(IColumn<?> column) {
+        throw readOnly();
+    }
+
+    @Override
+    public String getColumnName(int index) {
+        return schema.getColumnName(index);
+    }
+
+    @Override
+    public IRow getRow(int index) {
+        return new ViewRow(parentRow(index));
+    }
+
+    @Override
+    public List<IRow> getRows() {
+        return new ViewRows();
+    }
+
+    @Override
+    public void addRow(IRow row) {
+        throw readOnly();
+    }
+
+    @Override
+    public void addRow(Map<String, String> row) {
+        throw readOnly();
+    }
+
+    @Override
+    public void appendBatch(String[][] rows) {
+        throw readOnly();
+    }
+
+    @Override
+    public void appendBatch(Object[][] rows) {
+        throw readOnly();
+    }
+
+    @Override
+    public IRow createRow() {
+        throw readOnly();
+    }
+
+    @Override
+    public IRowCursor cursor() {
+        return new ViewCursor(parent.cursor());
+    }
+
+    @Override
+    public ITable snapshot() {
+        return new TableView(parent.snapshot(), rows, ordinals, schema);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * Only a view of every row lines up with the parent's vectors; a view of selected rows
+     * numbers them afresh, so it is read through its cursor.
+     */
+    @Override
+    public ColumnVector columnVector(int ordinal) {
+        if (rows != null || !(parent instanceof ColumnVectorSource)) {
+            return null;
+        }
+        return ((ColumnVectorSource) parent).columnVector(ordinals[ordinal]);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * A view holds no values of its own, so only its row and column selections are counted;
+     * the values are reported by the parent table.
+     */
+    @Override
+    public TableMemoryUsage estimateMemoryUsage() {
+        long rowBytes = MemoryEstimator.object(4 * MemoryEstimator.REFERENCE)
+                + (rows == null ? 0 : MemoryEstimator.array(rows.length, 4))
+                + MemoryEstimator.array(ordinals.length, 4);
+        List<TableMemoryUsage.Column> columns = new ArrayList<>(ordinals.length);
+        for (int column = 0; column < schema.getColumnCount(); column++) {
+            columns.add(new TableMemoryUsage.Column(schema.getColumnName(column), 0, 0, 0, 0));
+        }
+        return new TableMemoryUsage(getName(), getRowCount(), rowBytes, 0, columns);
+    }
+
+    @Override
+    public ITable view(int[] rowSelection, String... columnNames) {
+        return of(this, rowSelection, columnNames);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * A view reads its values from its parent and cannot keep an index up to date, so views
+     * are not indexed; index the parent table instead.
+     */
+    @Override
+    public IColumnIndex createIndex(String columnName) {
+        throw new UnsupportedOperationException("Table view cannot be indexed");
+    }
+
+    @Override
+    public ISortedColumnIndex createSortedIndex(String columnName) {
+        throw new UnsupportedOperationException("Table view cannot be indexed");
+    }
+
+    @Override
+    public IColumnIndex getIndex(String columnName) {
+        return null;
+    }
+
+    @Override
+    public int[] sort(SortSpec... specs) {
+        return TableSort.sort(this, specs);
+    }
+
+    @Override
+    public int getRowCount() {
+        return rows == null ? parent.getRowCount() : rows.length;
+    }
+
+    @Override
+    public int getColumnCount() {
+        return ordinals.length;
+    }
+
+    @Override
+    public Object getValueObject(int rowIndex, String columnName) {
+        int row = parentRow(rowIndex);
+        return schema.indexOf(columnName) < 0 ? null : parent.getValueObject(row, columnName);
+    }
+
+    @Override
+    public void setValue(int rowIndex, String columnName, Object value) {
+        throw readOnly();
+    }
+
+    @Override
+    public String getValueAt(int rowIndex, String columnName) {
+        int row = parentRow(rowIndex);
+        return schema.indexOf(columnName) < 0 ? null : parent.getValueAt(row, columnName);
+    }
+
+    @Override
+    public void setValueAt(int rowIndex, String columnName, String value) {
+        throw readOnly();
+    }
+
+    @Override
+    public void setInt(int rowIndex, int columnIndex, int value) {
+        throw readOnly();
+    }
+
+    @Override
+    public void setLong(int rowIndex, int columnIndex, long value) {
+        throw readOnly();
+    }
+
+    @Override
+    public void setDouble(int rowIndex, int columnIndex, double value) {
+        throw readOnly();
+    }
+
+    @Override
+    public void setBoolean(int rowIndex, int columnIndex, boolean value) {
+        throw readOnly();
+    }
+
+    @Override
+    public Object convertValue(String value, IColumn<?> column) {
+        return parent.convertValue(value, column);
+    }
+
+    @Override
+    public void setColumns(LinkedHashMap<String, String> columns) {
+        throw readOnly();
+    }
+
+    @Override
+    public String inferType(String value) {
+        return parent.inferType(value);
+    }
+
+    @Override
+    public void printTable() {
+        for (IColumn<?> column : schema.getColumns()) {
+            System.out.print(column.getName() + "\t");
+        }
+        System.out.println();
+
+        int rowCount = getRowCount();
+        for (int i = 0; i < rowCount; i++) {
+            for (IColumn<?> column : schema.getColumns()) {
+                String value = getValueAt(i, column.getName());
+                System.out.print((value == null ? "" : value) + "\t");
+            }
+            System.out.println();
+        }
+    }
+
+    /**
+     * The rows of the view, created as they are accessed.
+     */
+    private class ViewRows extends AbstractList<IRow> implements RandomAccess {
+        @Override
+        public IRow get(int index) {
+            return getRow(index);
+        }
+
+        @Override
+        public int size() {
+            return getRowCount();
+        }
+    }
+
+    /**
+     * A read-only row of the view, reading its cells from a row of the parent.
+     */
+    private final class ViewRow implements IRow {
+        private final int row;
+
+        ViewRow(int row) {
+            this.row = row;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public <T> ICell<T> getCell(IColumn<T> column) {
+            return (ICell<T>) getCell(column.getName());
+        }
+
+        @Override
+        public ICell<?> getCell(String columnName) {
+            IColumn<?> column = schema.getColumn(columnName);
+            return column == null ? null : new ViewCell<>(column, row);
+        }
+
+        @Override
+        public <T> void setValue(IColumn<T> column, T value) {
+            throw readOnly();
+        }
+
+        @Override
+        public void setValue(String columnName, Object value) {
+            throw readOnly();
+        }
+
+        @Override
+        public List<ICell<?>> getCells() {
+            List<ICell<?>> cells = new ArrayList<>();
+            for (IColumn<?> column : schema.getColumns()) {
+                cells.add(new ViewCell<>(column, row));
+            }
+            return cells;
+        }
+
+        @Override
+        public ITable getTable() {
+            return TableView.this;
+        }
+    }
+
+    /**
+     * A read-only cell of the view, reading its value from the parent.
+     */
+    private final class ViewCell<T> implements ICell<T> {
+        private final IColumn<T> column;
+        private final int row;
+
+        ViewCell(IColumn<T> column, int row) {
+            this.column = column;
+            this.row = row;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public T getValue() {
+            return (T) parent.getValueObject(row, column.getName());
+        }
+
+        @Override
+        public void setValue(T value) {
+            throw readOnly();
+        }
+
+        @Override
+        public String getValueAsString() {
+            T value = getValue();
+            return value == null ? "" : value.toString();
+        }
+
+        @Override
+        public IColumn<T> getColumn() {
+            return column;
+        }
+    }
+
+    /**
+     * A cursor over the view, moving a cursor over the parent and mapping column ordinals.
+     */
+    private final class ViewCursor implements IRowCursor {
+        private final IRowCursor cursor;
+        private int rowIndex = -1;
+
+        ViewCursor(IRowCursor cursor) {
+            this.cursor = cursor;
+        }
+
+        @Override
+        public boolean next() {
+            int rowCount = getRowCount();
+            if (rowIndex + 1 >= rowCount) {
+                rowIndex = rowCount;
+                return false;
+            }
+            moveTo(rowIndex + 1);
+            return true;
+        }
+
+        @Override
+        public void moveTo(int rowIndex) {
+            cursor.moveTo(parentRow(rowIndex));
+            this.rowIndex = rowIndex;
+        }
+
+        @Override
+        public int getRowIndex() {
+            return rowIndex;
+        }
+
+        @Override
+        public boolean isNull(int column) {
+            return cursor.isNull(ordinals[column]);
+        }
+
+        @Override
+        public int getInt(int column) {
+            return cursor.getInt(ordinals[column]);
+        }
+
+        @Override
+        public long getLong(int column) {
+            return cursor.getLong(ordinals[column]);
+        }
+
+        @Override
+        public double getDouble(int column) {
+            return cursor.getDouble(ordinals[column]);
+        }
+
+        @Override
+        public boolean getBoolean(int column) {
+            return cursor.getBoolean(ordinals[column]);
+        }
+
+        @Override
+        public String getString(int column) {
+            return cursor.getString(ordinals[column]);
+        }
+
+        @Override
+        public Object getObject(int column) {
+            return cursor.getObject(ordinals[column]);
+        }
+    }
+}
@@ -0,0 +1,427 @@
+/*
+ * Copyright 2025 Mark Andrew Ray-Smith Cityline Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.mars.jtable.core.table;
+
+import java.time.Month;
+import java.time.Year;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.function.Function;
+
+/**
+ * Infers column types from text values.
+ *
+ * {@link #inferType(String)} classifies a single value with one scan over its characters,
+ * without regular expressions or exceptions. It recognises "int", "long", "double",
+ * "boolean", "date" (yyyy-MM-dd), "time" (HH:mm:ss) and "datetime" (yyyy-MM-ddTHH:mm:ss);
+ * anything else is a "string". Integers too large for an int are longs, and integers too
+ * large for a long are doubles.
+ *
+ * An instance reaches a verdict for each column of a file over a sample of its rows. Either
+ * the first rows are sampled, in which case the readers can stop sampling once enough rows
+ * have been seen, or a fixed-size reservoir is sampled uniformly from every row. The types
+ * of a column's values are combined by widening int to long to double; values of any other
+ * mix of types make the column a string. Null and blank values say nothing about the type,
+ * and a column with no other values is a string.
+ *
+ * Usage example:
+ * <pre>
+ * TypeInference inference = new TypeInference(headers.length, 1000, TypeInference.Sampling.FIRST_ROWS);
+ * while (inference.isSampling() &amp;&amp; (line = reader.readLine()) != null) {
+ *     inference.addRow(line.split(","));
+ * }
+ * String[] types = inference.getTypes();
+ * </pre>
+ */
+public final class TypeInference {
+    /** The number of rows sampled unless another number is given. */
+    public static final int DEFAULT_SAMPLE_ROWS = 1000;
+
+    private static final String INT = "int";
+    private static final String LONG = "long";
+    private static final String DOUBLE = "double";
+    private static final String BOOLEAN = "boolean";
+    private static final String DATE = "date";
+    private static final String TIME = "time";
+    private static final String DATETIME = "datetime";
+    private static final String STRING = "string";
+
+    /**
+     * How the rows of a file are sampled.
+     */
+    public enum Sampling {
+        /** The first rows of the file. */
+        FIRST_ROWS,
+        /** A uniform random sample of every row of the file. */
+        RESERVOIR
+    }
+
+    private final int sampleRows;
+    private final Sampling sampling;
+    private final Function<String, String> classifier;
+    // The verdict so far for each column; null while only nulls and blanks have been seen
+    private final String[] types;
+    private String[][] reservoir;
+    private final SplittableRandom random;
+    private long rowCount;
+
+    /**
+     * Creates an inference over the given number of columns that samples the first
+     * {@link #DEFAULT_SAMPLE_ROWS} rows.
+     *
+     * @param columnCount the number of columns
+     */
+    public TypeInference(int columnCount) {
+        this(columnCount, DEFAULT_SAMPLE_ROWS, Sampling.FIRST_ROWS);
+    }
+
+    /**
+     * Creates an inference over the given number of columns.
+     *
+     * @param columnCount the number of columns
+     * @param sampleRows the number of rows to sample
+     * @param sampling how to choose the rows
+     */
+    public TypeInference(int columnCount, int sampleRows, Sampling sampling) {
+        this(columnCount, sampleRows, sampling, TypeInference::inferType);
+    }
+
+    /**
+     * Creates an inference over the given number of columns that classifies values with the
+     * given function, such as the inferType method of a data source, rather than with
+     * {@link #inferType(String)}.
+     *
+     * @param columnCount the number of columns
+     * @param sampleRows the number of rows to sample
+     * @param sampling how to choose the rows
+     * @param classifier the function that gives the type of a value
+     */
+    public TypeInference(int columnCount, int sampleRows, Sampling sampling, Function<String, String> classifier) {
+        if (columnCount < 0) {
+            throw new IllegalArgumentException("Column count cannot be negative: " + columnCount);
+        }
+        if (sampleRows < 1) {
+            throw new IllegalArgumentException("Sample rows must be positive: " + sampleRows);
+        }
+        if (sampling == null || classifier == null) {
+            throw new IllegalArgumentException("Sampling and classifier cannot be null");
+        }
+        this.sampleRows = sampleRows;
+        this.sampling = sampling;
+        this.classifier = classifier;
+        this.types = new String[columnCount];
+        // The reservoir grows to the sample size as rows arrive
+        this.reservoir = sampling == Sampling.RESERVOIR ? new String[Math.min(sampleRows, 1024)][] : null;
+        this.random = sampling == Sampling.RESERVOIR ? new SplittableRandom(sampleRows) : null;
+    }
+
+    /**
+     * Checks whether the inference still wants rows. Sampling the first rows stops once
+     * enough rows have been seen; reservoir sampling wants every row.
+     *
+     * @return true if further rows would be sampled
+     */
+    public boolean isSampling() {
+        return sampling == Sampling.RESERVOIR || rowCount < sampleRows;
+    }
+
+    /**
+     * Offers a row to the sample. Values beyond the number of columns are ignored and
+     * missing values count as nulls. The array is kept if the row goes into a reservoir, so
+     * it must not be changed afterwards.
+     *
+     * @param values the values of the row, in column order
+     */
+    public void addRow(String... values) {
+        rowCount++;
+        if (sampling == Sampling.FIRST_ROWS) {
+            if (rowCount <= sampleRows) {
+                classify(values);
+            }
+            return;
+        }
+        if (rowCount <= sampleRows) {
+            reservoirRows((int) rowCount)[(int) rowCount - 1] = values;
+        } else {
+            long slot = random.nextLong(rowCount);
+            if (slot < sampleRows) {
+                reservoirRows(sampleRows)[(int) slot] = values;
+            }
+        }
+    }
+
+    private String[][] reservoirRows(int required) {
+        if (reservoir.length < required) {
+            reservoir = Arrays.copyOf(reservoir, Math.min(sampleRows, Math.max(required, reservoir.length * 2)));
+        }
+        return reservoir;
+    }
+
+    /**
+     * Gets the type of each column, as widened over the sampled rows.
+     *
+     * @return the types in column order
+     */
+    public String[] getTypes() {
+        if (sampling == Sampling.RESERVOIR) {
+            Arrays.fill(types, null);
+            int sampled = (int) Math.min(rowCount, sampleRows);
+            for (int i = 0; i < sampled; i++) {
+                classify(reservoir[i]);
+            }
+        }
+        String[] result = new String[types.length];
+        for (int i = 0; i < types.length; i++) {
+            result[i] = types[i] == null ? STRING : types[i];
+        }
+        return result;
+    }
+
+    private void classify(String[] values) {
+        int count = Math.min(values.length, types.length);
+        for (int i = 0; i < count; i++) {
+            String value = values[i];
+            // A string column cannot widen further, so its values need no scan
+            if (value == null || STRING.equals(types[i]) || value.isBlank()) {
+                continue;
+            }
+            types[i] = widen(types[i], classifier.apply(value));
+        }
+    }
+
+    /**
+     * Combines the types of two values of a column into a type that holds both.
+     *
+     * @param type the type so far, or null if there is none
+     * @param other the type of another value
+     * @return the widened type
+     */
+    public static String widen(String type, String other) {
+        if (type == null || type.equals(other)) {
+            return other;
+        }
+        int rank = numericRank(type);
+        int otherRank = numericRank(other);
+        if (rank < 0 || otherRank < 0) {
+            return STRING;
+        }
+        return rank > otherRank ? type : other;
+    }
+
+    private static int numericRank(String type) {
+        switch (type) {
+            case INT:
+                return 0;
+            case LONG:
+                return 1;
+            case DOUBLE:
+                return 2;
+            default:
+                return -1;
+        }
+    }
+
+    /**
+     * Infers the type of a single value, ignoring leading and trailing whitespace.
+     *
+     * @param value the value
+     * @return the type of the value, or "string" if it is null or blank
+     */
+    public static String inferType(String value) {
+        if (value == null) {
+            return STRING;
+        }
+        int start = 0;
+        int end = value.length();
+        while (start < end && value.charAt(start) <= ' ') {
+            start++;
+        }
+        while (end > start && value.charAt(end - 1) <= ' ') {
+            end--;
+        }
+        if (start == end) {
+            return STRING;
+        }
+
+        char first = value.charAt(start);
+        if (isDigit(first)) {
+            String temporal = temporalType(value, start, end);
+            if (temporal != null) {
+                return temporal;
+            }
+        }
+        if (isDigit(first) || first == '-' || first == '+' || first == '.') {
+            String number = numberType(value, start, end);
+            if (number != null) {
+                return number;
+            }
+        }
+        int length = end - start;
+        if ((length == 4 && value.regionMatches(true, start, "true", 0, 4))
+                || (length == 5 && value.regionMatches(true, start, "false", 0, 5))) {
+            return BOOLEAN;
+        }
+        if ((length == 3 && value.regionMatches(true, start, "NaN", 0, 3))
+                || isInfinity(value, start, end)) {
+            return DOUBLE;
+        }
+        return STRING;
+    }
+
+    private static boolean isInfinity(String value, int start, int end) {
+        char first = value.charAt(start);
+        if (first == '+' || first == '-') {
+            start++;
+        }
+        return end - start == 8 && value.regionMatches(true, start, "Infinity", 0, 8);
+    }
+
+    /**
+     * Classifies a number: an optionally negative run of digits is integral, and a signed
+     * decimal with a fraction, an exponent or both is a double. A plus sign on an integer
+     * is not accepted, so "+1" is a string.
+     *
+     * @return the type, or null if the value is not a number
+     */
+    private static String numberType(String value, int start, int end) {
+        int i = start;
+        char sign = value.charAt(i);
+        if (sign == '-' || sign == '+') {
+            i++;
+        }
+        int integerStart = i;
+        while (i < end && isDigit(value.charAt(i))) {
+            i++;
+        }
+        int integerDigits = i - integerStart;
+        boolean point = i < end && value.charAt(i) == '.';
+        int fractionDigits = 0;
+        if (point) {
+            int fractionStart = ++i;
+            while (i < end && isDigit(value.charAt(i))) {
+                i++;
+            }
+            fractionDigits = i - fractionStart;
+        }
+        if (integerDigits == 0 && fractionDigits == 0) {
+            return null;
+        }
+        boolean exponent = i < end && (value.charAt(i) == 'e' || value.charAt(i) == 'E');
+        if (exponent) {
+            i++;
+            if (i < end && (value.charAt(i) == '-' || value.charAt(i) == '+')) {
+                i++;
+            }
+            int exponentStart = i;
+            while (i < end && isDigit(value.charAt(i))) {
+                i++;
+            }
+            if (i == exponentStart) {
+                return null;
+            }
+        }
+        if (i != end) {
+            return null;
+        }
+        if (point || exponent) {
+            return DOUBLE;
+        }
+        return sign == '+' ? null : integralType(value, integerStart, end, sign == '-');
+    }
+
+    /**
+     * Classifies a run of digits by the smallest type that holds it, accumulating the value
+     * negatively as Long.parseLong does so that Long.MIN_VALUE fits.
+     */
+    private static String integralType(String value, int start, int end, boolean negative) {
+        if (end - start < 10) {
+            return INT;
+        }
+        long limit = negative ? Long.MIN_VALUE : -Long.MAX_VALUE;
+        long multiplyLimit = limit / 10;
+        long result = 0;
+        for (int i = start; i < end; i++) {
+            int digit = value.charAt(i) - '0';
+            if (result < multiplyLimit) {
+                return DOUBLE;
+            }
+            result *= 10;
+            if (result < limit + digit) {
+                return DOUBLE;
+            }
+            result -= digit;
+        }
+        long number = negative ? result : -result;
+        return number >= Integer.MIN_VALUE && number <= Integer.MAX_VALUE ? INT : LONG;
+    }
+
+    /**
+     * Classifies a date, time or date-time in ISO form, checking that the fields are in range.
+     *
+     * @return the type, or null if the value is not a valid date, time or date-time
+     */
+    private static String temporalType(String value, int start, int end) {
+        int length = end - start;
+        if (length == 10) {
+            return isDate(value, start) ? DATE : null;
+        } else if (length == 8) {
+            return isTime(value, start) ? TIME : null;
+        } else if (length == 19) {
+            return value.charAt(start + 10) == 'T' && isDate(value, start) && isTime(value, start + 11) ? DATETIME : null;
+        }
+        return null;
+    }
+
+    private static boolean isDate(String value, int start) {
+        int year = digits(value, start, 4);
+        int month = digits(value, start + 5, 2);
+        int day = digits(value, start + 8, 2);
+        if (year < 0 || month < 1 || month > 12 || day < 1
+                || value.charAt(start + 4) != '-' || value.charAt(start + 7) != '-') {
+            return false;
+        }
+        return day <= Month.of(month).length(Year.isLeap(year));
+    }
+
+    private static boolean isTime(String value, int start) {
+        int hour = digits(value, start, 2);
+        int minute = digits(value, start + 3, 2);
+        int second = digits(value, start + 6, 2);
+        return hour >= 0 && hour < 24 && minute >= 0 && minute < 60 && second >= 0 && second < 60
+                && value.charAt(start + 2) == ':' && value.charAt(start + 5) == ':';
+    }
+
+    /**
+     * Reads a fixed number of digits as a number.
+     *
+     * @return the number, or -1 if a character is not a digit
+     */
+    private static int digits(String value, int start, int count) {
+        int result = 0;
+        for (int i = start; i < start + count; i++) {
+            char c = value.charAt(i);
+            if (!isDigit(c)) {
+                return -1;
+            }
+            result = result * 10 + (c - '0');
+        }
+        return result;
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+}
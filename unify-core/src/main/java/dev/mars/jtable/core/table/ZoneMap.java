@@ -0,0 +1,422 @@
+/*
+ * Copyright 2025 Mark Andrew Ray-Smith Cityline Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.mars.jtable.core.table;
+
+import java.util.Arrays;
+import java.util.BitSet;
+
+/**
+ * Statistics kept for each chunk of {@value #CHUNK_ROWS} rows of a {@link ColumnVector}, so
+ * that {@link TableQuery} can skip whole chunks that cannot hold a matching row.
+ *
+ * Every chunk counts its null values. Vectors that store numbers, dates or times also keep
+ * the minimum and maximum of each chunk, and a vector can keep a small Bloom filter per
+ * chunk, which answers whether a chunk may hold a given value. Tables loaded in order of a
+ * date or an increasing id have narrow, mostly disjoint ranges per chunk, so a range or
+ * equality condition on such a column touches only a few chunks.
+ *
+ * The statistics only widen: a value that is overwritten stays in the chunk's range and
+ * Bloom filter. Pruning therefore never skips a matching row, but may keep a chunk that
+ * no longer holds one.
+ */
+final class ZoneMap {
+    static final int CHUNK_SHIFT = 10;
+    static final int CHUNK_ROWS = 1 << CHUNK_SHIFT;
+    // A chunk covers this many words of a selection
+    private static final int CHUNK_WORDS = CHUNK_ROWS >>> 6;
+    // About eight bits per row and four probes give roughly 2% false positives when every
+    // value of a chunk is distinct, and far fewer when values repeat
+    private static final int BLOOM_WORDS = CHUNK_ROWS >>> 3;
+    private static final int BLOOM_MASK = (BLOOM_WORDS << 6) - 1;
+    private static final int BLOOM_PROBES = 4;
+
+    /**
+     * How the values of a vector are ordered for the chunk ranges.
+     */
+    enum Kind {
+        /** Values stored or encoded as longs. */
+        LONG,
+        /** Values stored as doubles. */
+        DOUBLE,
+        /** Values without a range, such as strings. */
+        NONE
+    }
+
+    private final Kind kind;
+    private int[] nullCounts = new int[0];
+    private long[] longMin;
+    private long[] longMax;
+    private double[] doubleMin;
+    private double[] doubleMax;
+    // Chunks of a double vector holding NaN, which lies outside every range
+    private BitSet nanChunks;
+    // Null unless a Bloom filter has been enabled
+    private long[] bloom;
+
+    /**
+     * Creates empty statistics for a vector of the given kind.
+     *
+     * @param kind how the values are ordered
+     */
+    ZoneMap(Kind kind) {
+        this.kind = kind;
+        if (kind == Kind.LONG) {
+            longMin = new long[0];
+            longMax = new long[0];
+        } else if (kind == Kind.DOUBLE) {
+            doubleMin = new double[0];
+            doubleMax = new double[0];
+            nanChunks = new BitSet();
+        }
+    }
+
+    /**
+     * Creates a copy of the statistics that can be changed without affecting these.
+     *
+     * @return the copy
+     */
+    ZoneMap copy() {
+        ZoneMap copy = new ZoneMap(kind);
+        copy.nullCounts = nullCounts.clone();
+        if (longMin != null) {
+            copy.longMin = longMin.clone();
+            copy.longMax = longMax.clone();
+        }
+        if (doubleMin != null) {
+            copy.doubleMin = doubleMin.clone();
+            copy.doubleMax = doubleMax.clone();
+            copy.nanChunks = (BitSet) nanChunks.clone();
+        }
+        if (bloom != null) {
+            copy.bloom = bloom.clone();
+        }
+        return copy;
+    }
+
+    /**
+     * Gets the kind of statistics for a column type.
+     *
+     * @param type the column type
+     * @return the kind
+     */
+    static Kind kindFor(Class<?> type) {
+        if (type == Integer.class || ColumnVector.LongCodec.forType(type) != null) {
+            return Kind.LONG;
+        } else if (type == Double.class) {
+            return Kind.DOUBLE;
+        }
+        return Kind.NONE;
+    }
+
+    Kind kind() {
+        return kind;
+    }
+
+    /**
+     * Starts keeping a Bloom filter per chunk. Values recorded before this call are not in
+     * it, so the vector records them again afterwards.
+     */
+    void enableBloomFilter() {
+        if (bloom == null) {
+            bloom = new long[nullCounts.length * BLOOM_WORDS];
+        }
+    }
+
+    boolean hasBloomFilter() {
+        return bloom != null;
+    }
+
+    /**
+     * Estimates the heap bytes held by the statistics.
+     *
+     * @return the number of bytes
+     */
+    long estimateBytes() {
+        long bytes = MemoryEstimator.object(7 * MemoryEstimator.REFERENCE)
+                + MemoryEstimator.array(nullCounts.length, 4);
+        if (longMin != null) {
+            bytes += 2 * MemoryEstimator.array(longMin.length, 8);
+        }
+        if (doubleMin != null) {
+            bytes += 2 * MemoryEstimator.array(doubleMin.length, 8);
+        }
+        if (nanChunks != null) {
+            bytes += MemoryEstimator.object(MemoryEstimator.REFERENCE + 5) + MemoryEstimator.array(nanChunks.size() >>> 6, 8);
+        }
+        if (bloom != null) {
+            bytes += MemoryEstimator.array(bloom.length, 8);
+        }
+        return bytes;
+    }
+
+    private void ensureChunk(int chunk) {
+        if (chunk < nullCounts.length) {
+            return;
+        }
+        int oldLength = nullCounts.length;
+        int length = Math.max(chunk + 1, oldLength * 2);
+        nullCounts = Arrays.copyOf(nullCounts, length);
+        if (kind == Kind.LONG) {
+            longMin = Arrays.copyOf(longMin, length);
+            longMax = Arrays.copyOf(longMax, length);
+            Arrays.fill(longMin, oldLength, length, Long.MAX_VALUE);
+            Arrays.fill(longMax, oldLength, length, Long.MIN_VALUE);
+        } else if (kind == Kind.DOUBLE) {
+            doubleMin = Arrays.copyOf(doubleMin, length);
+            doubleMax = Arrays.copyOf(doubleMax, length);
+            Arrays.fill(doubleMin, oldLength, length, Double.POSITIVE_INFINITY);
+            Arrays.fill(doubleMax, oldLength, length, Double.NEGATIVE_INFINITY);
+        }
+        if (bloom != null) {
+            bloom = Arrays.copyOf(bloom, length * BLOOM_WORDS);
+        }
+    }
+
+    /**
+     * Records that a row which did not hold null now does.
+     */
+    void recordNull(int row) {
+        int chunk = row >>> CHUNK_SHIFT;
+        ensureChunk(chunk);
+        nullCounts[chunk]++;
+    }
+
+    /**
+     * Records that a row which held null no longer does.
+     */
+    void recordNotNull(int row) {
+        nullCounts[row >>> CHUNK_SHIFT]--;
+    }
+
+    /**
+     * Records a value of a {@link Kind#LONG} vector.
+     */
+    void recordLong(int row, long value) {
+        int chunk = row >>> CHUNK_SHIFT;
+        ensureChunk(chunk);
+        if (value < longMin[chunk]) {
+            longMin[chunk] = value;
+        }
+        if (value > longMax[chunk]) {
+            longMax[chunk] = value;
+        }
+        if (bloom != null) {
+            addHash(chunk, mix(value));
+        }
+    }
+
+    /**
+     * Records a value of a {@link Kind#DOUBLE} vector.
+     */
+    void recordDouble(int row, double value) {
+        int chunk = row >>> CHUNK_SHIFT;
+        ensureChunk(chunk);
+        if (value != value) {
+            nanChunks.set(chunk);
+        } else {
+            if (value < doubleMin[chunk]) {
+                doubleMin[chunk] = value;
+            }
+            if (value > doubleMax[chunk]) {
+                doubleMax[chunk] = value;
+            }
+        }
+        if (bloom != null) {
+            addHash(chunk, hashDouble(value));
+        }
+    }
+
+    /**
+     * Records that a row of a {@link Kind#NONE} vector holds a value, which the chunk needs
+     * no more than a null count for unless the vector has a Bloom filter.
+     */
+    void recordRow(int row) {
+        ensureChunk(row >>> CHUNK_SHIFT);
+    }
+
+    /**
+     * Records a value of a {@link Kind#NONE} vector with a Bloom filter.
+     */
+    void recordObject(int row, Object value) {
+        int chunk = row >>> CHUNK_SHIFT;
+        ensureChunk(chunk);
+        if (bloom != null) {
+            addHash(chunk, mix(value.hashCode()));
+        }
+    }
+
+    // Pruning. Each method clears the selection words of the chunks that cannot hold a
+    // matching row, leaving the words of other chunks for the selection kernels to test.
+
+    /**
+     * Skips the chunks without nulls, or the chunks holding only nulls.
+     *
+     * @param selection the selection to narrow
+     * @param rowCount the number of rows in the table
+     * @param keepNulls true if the condition matches null rows, false if it matches the others
+     */
+    void pruneNulls(long[] selection, int rowCount, boolean keepNulls) {
+        int chunks = chunkCount(rowCount);
+        for (int chunk = 0; chunk < chunks; chunk++) {
+            int nullCount = nullCounts[chunk];
+            if (keepNulls ? nullCount == 0 : nullCount == rowsIn(chunk, rowCount)) {
+                clear(selection, chunk);
+            }
+        }
+    }
+
+    /**
+     * Skips the chunks whose values all lie outside the bounds, or, if the condition matches
+     * the values outside them, all inside. Equality is also tested against the Bloom filter.
+     *
+     * @param selection the selection to narrow
+     * @param rowCount the number of rows in the table
+     * @param low the lower bound, inclusive
+     * @param high the upper bound, inclusive
+     * @param outside true if the condition matches the values outside the bounds
+     */
+    void pruneLongRange(long[] selection, int rowCount, long low, long high, boolean outside) {
+        if (kind != Kind.LONG) {
+            pruneNulls(selection, rowCount, false);
+            return;
+        }
+        long hash = mix(low);
+        boolean probe = bloom != null && low == high && !outside;
+        int chunks = chunkCount(rowCount);
+        for (int chunk = 0; chunk < chunks; chunk++) {
+            long min = longMin[chunk];
+            long max = longMax[chunk];
+            // An empty range means the chunk holds only nulls
+            boolean skip = min > max
+                    || (outside ? min >= low && max <= high : max < low || min > high)
+                    || (probe && !mayContain(chunk, hash));
+            if (skip) {
+                clear(selection, chunk);
+            }
+        }
+    }
+
+    /**
+     * Skips the chunks whose values as doubles all lie outside the bounds, or, if the
+     * condition matches the values outside them, all inside. Equality on a double vector is
+     * also tested against the Bloom filter.
+     *
+     * @param selection the selection to narrow
+     * @param rowCount the number of rows in the table
+     * @param low the lower bound, inclusive
+     * @param high the upper bound, inclusive
+     * @param outside true if the condition matches the values outside the bounds
+     */
+    void pruneDoubleRange(long[] selection, int rowCount, double low, double high, boolean outside) {
+        if (kind == Kind.NONE) {
+            pruneNulls(selection, rowCount, false);
+            return;
+        }
+        long hash = hashDouble(low);
+        boolean probe = kind == Kind.DOUBLE && bloom != null && low == high && !outside;
+        int chunks = chunkCount(rowCount);
+        for (int chunk = 0; chunk < chunks; chunk++) {
+            // Converting longs to doubles keeps their order, as the selection kernels do
+            double min = kind == Kind.LONG ? (double) longMin[chunk] : doubleMin[chunk];
+            double max = kind == Kind.LONG ? (double) longMax[chunk] : doubleMax[chunk];
+            boolean nan = kind == Kind.DOUBLE && nanChunks.get(chunk);
+            boolean empty = kind == Kind.LONG ? longMin[chunk] > longMax[chunk] : min > max && !nan;
+            boolean skip = empty
+                    || (outside ? !nan && min >= low && max <= high : max < low || min > high || min > max)
+                    || (probe && !mayContain(chunk, hash));
+            if (skip) {
+                clear(selection, chunk);
+            }
+        }
+    }
+
+    /**
+     * Skips the chunks holding only nulls and, if the vector has a Bloom filter, the chunks
+     * that do not hold the given value.
+     *
+     * @param selection the selection to narrow
+     * @param rowCount the number of rows in the table
+     * @param value the value the condition matches
+     */
+    void pruneEquals(long[] selection, int rowCount, Object value) {
+        pruneNulls(selection, rowCount, false);
+        if (bloom == null || kind != Kind.NONE) {
+            return;
+        }
+        long hash = mix(value.hashCode());
+        int chunks = chunkCount(rowCount);
+        for (int chunk = 0; chunk < chunks; chunk++) {
+            if (!mayContain(chunk, hash)) {
+                clear(selection, chunk);
+            }
+        }
+    }
+
+    /**
+     * Gets the number of chunks with statistics among the table's rows. Rows beyond the
+     * recorded chunks are never pruned.
+     */
+    private int chunkCount(int rowCount) {
+        return Math.min(nullCounts.length, (rowCount + CHUNK_ROWS - 1) >>> CHUNK_SHIFT);
+    }
+
+    private static int rowsIn(int chunk, int rowCount) {
+        return Math.min(CHUNK_ROWS, rowCount - (chunk << CHUNK_SHIFT));
+    }
+
+    private static void clear(long[] selection, int chunk) {
+        int from = chunk * CHUNK_WORDS;
+        Arrays.fill(selection, Math.min(from, selection.length), Math.min(from + CHUNK_WORDS, selection.length), 0L);
+    }
+
+    private void addHash(int chunk, long hash) {
+        int base = chunk * BLOOM_WORDS;
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32) | 1;
+        for (int i = 0; i < BLOOM_PROBES; i++) {
+            int bit = (h1 + i * h2) & BLOOM_MASK;
+            bloom[base + (bit >>> 6)] |= 1L << bit;
+        }
+    }
+
+    private boolean mayContain(int chunk, long hash) {
+        int base = chunk * BLOOM_WORDS;
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32) | 1;
+        for (int i = 0; i < BLOOM_PROBES; i++) {
+            int bit = (h1 + i * h2) & BLOOM_MASK;
+            if ((bloom[base + (bit >>> 6)] & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static long hashDouble(double value) {
+        // 0.0 and -0.0 are equal, so they must hash alike
+        return mix(value == 0.0 ? 0L : Double.doubleToLongBits(value));
+    }
+
+    /**
+     * Spreads the bits of a key over a long, as the SplitMix64 finalizer does.
+     */
+    private static long mix(long key) {
+        long z = key + 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
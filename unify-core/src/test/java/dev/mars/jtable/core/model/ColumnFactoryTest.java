@@ -48,6 +48,7 @@
 package dev.mars.jtable.core.model;
 
 import dev.mars.jtable.core.table.ColumnFactory;
+import dev.mars.jtable.core.table.DictionaryColumn;
 import org.junit.jupiter.api.Test;
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -85,6 +86,23 @@ public class ColumnFactoryTest {
         assertEquals(Boolean.class, column.getType());
     }
 
+    @Test
+    public void testCreateDictionaryStringColumn() {
+        var column = ColumnFactory.createColumn("country", "string:dict");
+        assertNotNull(column);
+        assertEquals("country", column.getName());
+        assertEquals(String.class, column.getType());
+        assertTrue(column instanceof DictionaryColumn);
+
+        // Converted values share one canonical instance per distinct value
+        DictionaryColumn dictionaryColumn = (DictionaryColumn) column;
+        String first = dictionaryColumn.convertFromString(new String("GB"));
+        String second = dictionaryColumn.convertFromString(new String("GB"));
+        assertSame(first, second);
+        dictionaryColumn.convertFromString("US");
+        assertEquals(2, dictionaryColumn.getCardinality());
+    }
+
     @Test
     public void testCreateColumnWithNullName() {
         assertThrows(IllegalArgumentException.class, () ->
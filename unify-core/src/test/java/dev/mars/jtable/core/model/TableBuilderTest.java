@@ -47,13 +47,20 @@
  */
 package dev.mars.jtable.core.model;
 
+import dev.mars.jtable.core.table.ColumnarTableCore;
+import dev.mars.jtable.core.table.OffHeapTableCore;
+import dev.mars.jtable.core.table.OptimizedTableCore;
 import dev.mars.jtable.core.table.TableBuilder;
+import dev.mars.jtable.core.table.TableCore;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
 
 import java.util.HashMap;
 import java.util.Map;
 import java.util.List;
+import java.util.function.IntFunction;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -255,11 +262,9 @@ class TableBuilderTest {
         row.put("Name", "Alice");
         row.put("Age", "30"); // Age column doesn't exist
 
-        // Add the row
-        builder.addRow(row);
-
-        // Build the table - should throw an exception
-        assertThrows(IllegalArgumentException.class, () -> builder.build());
+        // Add the row - rows are written as they are added, so this should throw an exception
+        assertThrows(IllegalArgumentException.class, () -> builder.addRow(row));
+        assertEquals(0, builder.build().getRowCount());
     }
 
     @Test
@@ -316,4 +321,86 @@ class TableBuilderTest {
         assertEquals(75000.50, table.getValueObject(0, "Salary"));
         assertEquals(true, table.getValueObject(0, "IsActive"));
     }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"OptimizedTableCore", "ColumnarTableCore", "OffHeapTableCore"})
+    void testBuildPreSizedTable(String core) {
+        IntFunction<ITable> factory;
+        switch (core) {
+            case "OptimizedTableCore":
+                factory = OptimizedTableCore::new;
+                break;
+            case "ColumnarTableCore":
+                factory = ColumnarTableCore::new;
+                break;
+            default:
+                factory = OffHeapTableCore::new;
+                break;
+        }
+
+        // Add typed and string rows to a table sized for them
+        ITable table = new TableBuilder(factory, 1000)
+                .addStringColumn("Name")
+                .addIntColumn("Age")
+                .addDoubleColumn("Salary")
+                .addValues("Alice", 30, 75000.5)
+                .addRow("Name", "Bob", "Age", "25", "Salary", "50000.25")
+                .build();
+
+        // Verify the rows were written to the chosen table
+        assertEquals(core, table.getClass().getSimpleName());
+        assertEquals(2, table.getRowCount());
+        assertEquals(30, table.getValueObject(0, "Age"));
+        assertEquals(75000.5, table.getValueObject(0, "Salary"));
+        assertEquals("Bob", table.getValueAt(1, "Name"));
+        assertEquals(25, table.getValueObject(1, "Age"));
+    }
+
+    @Test
+    void testRowsAreWrittenAsTheyAreAdded() {
+        // Build into an existing table
+        ITable target = new TableCore();
+        builder = new TableBuilder(target)
+                .addStringColumn("Name")
+                .addIntColumn("Age")
+                .setCreateDefaultValue(false);
+
+        // Verify each row is in the table before build is called
+        builder.addValues("Alice", 30);
+        assertEquals(1, target.getRowCount());
+        builder.addRow("Name", "Bob");
+        assertEquals(2, target.getRowCount());
+        assertNull(target.getValueObject(1, "Age"));
+        assertSame(target, builder.build());
+    }
+
+    @Test
+    void testAddValues() {
+        // Add columns
+        builder.addStringColumn("Name")
+               .addIntColumn("Age")
+               .addBooleanColumn("IsActive")
+               .setCreateDefaultValue(true);
+
+        // Add typed rows, the second omitting its last value
+        builder.addValues("Alice", 30, true)
+               .addValues("Bob", null);
+
+        // Values of the wrong type or too many values should throw an exception
+        assertThrows(IllegalArgumentException.class, () -> builder.addValues("Carol", "40", true));
+        assertThrows(IllegalArgumentException.class, () -> builder.addValues("Carol", 40, true, "extra"));
+
+        // Verify the rows were added correctly
+        ITable table = builder.build();
+        assertEquals(2, table.getRowCount());
+        assertEquals(true, table.getValueObject(0, "IsActive"));
+        assertNull(table.getValueObject(1, "Age"));
+        assertEquals(false, table.getValueObject(1, "IsActive"));
+    }
+
+    @Test
+    void testInvalidTargets() {
+        assertThrows(IllegalArgumentException.class, () -> new TableBuilder((ITable) null));
+        assertThrows(IllegalArgumentException.class, () -> new TableBuilder(ColumnarTableCore::new, -1));
+    }
 }
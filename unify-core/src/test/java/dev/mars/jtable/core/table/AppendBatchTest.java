@@ -0,0 +1,222 @@
+/*
+ * Copyright 2025 Mark Andrew Ray-Smith Cityline Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.mars.jtable.core.table;
+
+import dev.mars.jtable.core.model.IColumnIndex;
+import dev.mars.jtable.core.model.ISortedColumnIndex;
+import dev.mars.jtable.core.model.ITable;
+import dev.mars.jtable.core.table.TableQuery.Operator;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for ITable.appendBatch.
+ */
+public class AppendBatchTest {
+    private static final int ROWS = 3000;
+
+    private ITable createTable(String core) {
+        ITable table;
+        switch (core) {
+            case "TableCore":
+                table = new TableCore();
+                break;
+            case "OptimizedTableCore":
+                table = new OptimizedTableCore();
+                break;
+            case "ColumnarTableCore":
+                table = new ColumnarTableCore();
+                break;
+            case "OffHeapTableCore":
+                table = new OffHeapTableCore();
+                break;
+            case "StampedLockTable":
+                table = new StampedLockTable(new ColumnarTableCore());
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown core: " + core);
+        }
+        LinkedHashMap<String, String> columns = new LinkedHashMap<>();
+        columns.put("Id", "int");
+        columns.put("Name", "string");
+        columns.put("Salary", "double");
+        columns.put("Active", "boolean");
+        table.setColumns(columns);
+        return table;
+    }
+
+    private static String[] values(int i) {
+        return new String[] {String.valueOf(i), "Name" + i, (1000 + i) + ".50", String.valueOf(i % 2 == 0)};
+    }
+
+    private static String[][] batch(int from, int to) {
+        String[][] rows = new String[to - from][];
+        for (int i = from; i < to; i++) {
+            rows[i - from] = values(i);
+        }
+        return rows;
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"TableCore", "OptimizedTableCore", "ColumnarTableCore", "OffHeapTableCore", "StampedLockTable"})
+    void testBatchMatchesAddRow(String core) {
+        ITable batched = createTable(core);
+        ITable single = createTable(core);
+        batched.appendBatch(batch(0, ROWS / 2));
+        batched.appendBatch(batch(ROWS / 2, ROWS));
+        for (int i = 0; i < ROWS; i++) {
+            String[] values = values(i);
+            Map<String, String> row = new HashMap<>();
+            for (int column = 0; column < values.length; column++) {
+                row.put(single.getColumnName(column), values[column]);
+            }
+            single.addRow(row);
+        }
+
+        assertEquals(ROWS, batched.getRowCount());
+        for (int i = 0; i < ROWS; i += 97) {
+            for (int column = 0; column < 4; column++) {
+                String columnName = batched.getColumnName(column);
+                assertEquals(single.getValueAt(i, columnName), batched.getValueAt(i, columnName));
+            }
+        }
+        // The scale of each double is kept
+        assertEquals("1007.50", batched.getValueAt(7, "Salary"));
+        assertEquals(ROWS - 1, batched.getInt(ROWS - 1, 0));
+
+        batched.appendBatch(new String[0][]);
+        assertEquals(ROWS, batched.getRowCount());
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"TableCore", "OptimizedTableCore", "ColumnarTableCore", "OffHeapTableCore", "StampedLockTable"})
+    void testMissingValues(String core) {
+        ITable table = createTable(core);
+        table.setCreateDefaultValue(true);
+        table.appendBatch(new String[][] {{"1", null, "", "true"}, {"2", "Bob"}});
+        assertEquals(2, table.getRowCount());
+        assertEquals("", table.getValueAt(0, "Name"));
+        assertTrue(table.isNull(0, 2));
+        assertEquals("Bob", table.getValueAt(1, "Name"));
+        assertEquals(0.0, table.getDouble(1, 2));
+        assertFalse(table.getBoolean(1, 3));
+
+        table.setCreateDefaultValue(false);
+        assertThrows(IllegalArgumentException.class, () -> table.appendBatch(new String[][] {{"3", "Carol"}}));
+        assertEquals(2, table.getRowCount());
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"TableCore", "OptimizedTableCore", "ColumnarTableCore", "OffHeapTableCore", "StampedLockTable"})
+    void testInvalidBatchLeavesTableUnchanged(String core) {
+        ITable table = createTable(core);
+        table.appendBatch(batch(0, 10));
+
+        String[][] bad = batch(10, 20);
+        bad[5][0] = "not a number";
+        assertThrows(NumberFormatException.class, () -> table.appendBatch(bad));
+        assertThrows(IllegalArgumentException.class, () -> table.appendBatch(new String[][] {{"1", "A", "1.0", "true", "extra"}}));
+        assertThrows(IllegalArgumentException.class, () -> table.appendBatch(new String[][] {values(1), null}));
+        assertThrows(IllegalArgumentException.class, () -> table.appendBatch(null));
+        assertEquals(10, table.getRowCount());
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"TableCore", "OptimizedTableCore", "ColumnarTableCore", "OffHeapTableCore", "StampedLockTable"})
+    void testIndexesAreMaintained(String core) {
+        ITable table = createTable(core);
+        IColumnIndex index = table.createIndex("Id");
+        table.appendBatch(batch(0, ROWS));
+        assertArrayEquals(new int[] {1234}, index.lookup(1234));
+        assertEquals(ROWS / 2, TableQuery.from(table).where("Active", Operator.EQUALS, true).count());
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"TableCore", "OptimizedTableCore", "ColumnarTableCore", "OffHeapTableCore", "StampedLockTable"})
+    void testNullsAreIndexed(String core) {
+        ITable table = createTable(core);
+        table.setCreateDefaultValue(false);
+        IColumnIndex ids = table.createIndex("Id");
+        IColumnIndex names = table.createIndex("Name");
+        ISortedColumnIndex salaries = table.createSortedIndex("Salary");
+
+        Map<String, String> row = new HashMap<>();
+        row.put("Id", "");
+        row.put("Name", "First");
+        row.put("Salary", "");
+        row.put("Active", "true");
+        table.addRow(row);
+        table.appendBatch(new String[][] {{"", "Second", "", "false"}, {"3", "Third", "3.5", "true"}});
+        table.appendBatch(new Object[][] {{null, null, null, null}});
+
+        assertArrayEquals(new int[] {0, 1, 3}, ids.lookup(null));
+        assertArrayEquals(new int[] {2}, ids.lookup(3));
+        assertArrayEquals(new int[] {3}, names.lookup(null));
+        assertArrayEquals(new int[] {1}, names.lookup("Second"));
+        assertArrayEquals(new int[] {0, 1, 3}, salaries.lookup(null));
+        assertArrayEquals(new int[] {2}, salaries.range(3.0, true, 4.0, true));
+        assertEquals(4, table.getRowCount());
+    }
+
+    @Test
+    void testConcurrentReadersSeeWholeBatches() throws Exception {
+        OptimizedTableCore table = (OptimizedTableCore) createTable("OptimizedTableCore");
+        int batchSize = 700;
+        int batches = 20;
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<?> writer = executor.submit(() -> {
+                for (int b = 0; b < batches; b++) {
+                    table.appendBatch(batch(b * batchSize, (b + 1) * batchSize));
+                }
+            });
+            while (!writer.isDone()) {
+                int count = table.getRowCount();
+                assertEquals(0, count % batchSize, "Saw part of a batch: " + count);
+                if (count > 0) {
+                    assertEquals((1000 + count - 1) + ".50", table.getValueAt(count - 1, "Salary"));
+                }
+            }
+            writer.get();
+        } finally {
+            executor.shutdown();
+            executor.awaitTermination(10, TimeUnit.SECONDS);
+        }
+        assertEquals(batchSize * batches, table.getRowCount());
+    }
+
+    @Test
+    void testSnapshotsAreReadOnly() {
+        ITable table = createTable("TableCore");
+        table.appendBatch(batch(0, 5));
+        ITable snapshot = table.snapshot();
+        table.appendBatch(batch(5, 10));
+        assertEquals(5, snapshot.getRowCount());
+        assertThrows(UnsupportedOperationException.class, () -> snapshot.appendBatch(batch(0, 1)));
+        assertThrows(UnsupportedOperationException.class, () -> table.view(null, "Id").appendBatch(batch(0, 1)));
+    }
+}
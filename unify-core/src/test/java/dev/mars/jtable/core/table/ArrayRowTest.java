@@ -0,0 +1,138 @@
+/*
+ * Copyright 2025 Mark Andrew Ray-Smith Cityline Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.mars.jtable.core.table;
+
+import dev.mars.jtable.core.model.ICell;
+import dev.mars.jtable.core.model.IRow;
+import dev.mars.jtable.core.model.ITableSchema;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for ArrayRow and TableSchema.
+ */
+public class ArrayRowTest {
+
+    private TableCore table;
+
+    @BeforeEach
+    void setUp() {
+        table = new TableCore();
+        LinkedHashMap<String, String> columns = new LinkedHashMap<>();
+        columns.put("Name", "string");
+        columns.put("Age", "int");
+        table.setColumns(columns);
+    }
+
+    @Test
+    void testSchemaLookup() {
+        TableSchema schema = new TableSchema(table.getColumns());
+        assertEquals(2, schema.getColumnCount());
+        assertEquals(1, schema.indexOf("Age"));
+        assertEquals(-1, schema.indexOf("Missing"));
+        assertEquals("Name", schema.getColumnName(0));
+        assertNull(schema.getColumn("Missing"));
+        assertArrayEquals(new String[]{"Name", "Age"}, schema.getColumnNames());
+        assertThrows(IndexOutOfBoundsException.class, () -> schema.getColumn(2));
+
+        TableSchema extended = schema.withColumn(ColumnFactory.createBooleanColumn("Active"));
+        assertEquals(3, extended.getColumnCount());
+        assertEquals(2, schema.getColumnCount());
+        assertThrows(IllegalArgumentException.class, () -> extended.withColumn(ColumnFactory.createStringColumn("Name")));
+    }
+
+    @Test
+    void testTablesExposeTheirSchema() {
+        ITableSchema before = table.getSchema();
+        assertEquals(2, before.getColumnCount());
+        assertSame(before, table.getSchema());
+
+        table.addColumn(ColumnFactory.createBooleanColumn("Active"));
+        ITableSchema after = table.getSchema();
+        assertNotSame(before, after);
+        assertEquals(2, before.getColumnCount());
+        assertEquals("Active", after.getColumnName(2));
+        assertEquals("Active", table.getColumnName(2));
+        assertSame(after.getColumn(2), table.getColumn(2));
+
+        ColumnarTableCore columnar = new ColumnarTableCore();
+        LinkedHashMap<String, String> columns = new LinkedHashMap<>();
+        columns.put("Id", "int");
+        columnar.setColumns(columns);
+        assertEquals(0, columnar.getSchema().indexOf("Id"));
+    }
+
+    @Test
+    void testRowsAreArrayBacked() {
+        Map<String, String> data = new HashMap<>();
+        data.put("Name", "Alice");
+        data.put("Age", "30");
+        table.addRow(data);
+
+        IRow row = table.storedRow(0);
+        assertTrue(row instanceof ArrayRow);
+        assertEquals("Alice", ((ArrayRow) row).getValue(0));
+        assertEquals(30, ((ArrayRow) row).getValue("Age"));
+        assertEquals(2, row.getCells().size());
+    }
+
+    @Test
+    void testDistinguishesNullFromUnset() {
+        ArrayRow row = new ArrayRow(table, new TableSchema(table.getColumns()));
+        assertNull(row.getCell("Name"));
+
+        row.setValue("Name", null);
+        ICell<?> cell = row.getCell("Name");
+        assertNotNull(cell);
+        assertNull(cell.getValue());
+        assertEquals("", cell.getValueAsString());
+    }
+
+    @Test
+    void testCellViewsWriteThrough() {
+        ArrayRow row = new ArrayRow(table, new TableSchema(table.getColumns()));
+        row.setValue("Age", 30);
+
+        @SuppressWarnings("unchecked")
+        ICell<Object> age = (ICell<Object>) row.getCell("Age");
+        age.setValue(31);
+        assertEquals(31, row.getValue("Age"));
+        assertThrows(IllegalArgumentException.class, () -> age.setValue("thirty-one"));
+        assertThrows(IllegalArgumentException.class, () -> row.setValue("Age", "thirty-one"));
+        assertThrows(IllegalArgumentException.class, () -> row.setValue("Missing", 1));
+    }
+
+    @Test
+    void testFollowsColumnsAddedAfterCreation() {
+        IRow row = table.createRow();
+        row.setValue("Name", "Bob");
+
+        table.addColumn(ColumnFactory.createBooleanColumn("Active"));
+        row.setValue("Active", true);
+        table.addRow(row);
+
+        assertEquals("Bob", table.getValueAt(0, "Name"));
+        assertEquals(true, table.getValueObject(0, "Active"));
+        // The missing column was filled with its default when the row was added
+        assertEquals(0, table.getValueObject(0, "Age"));
+    }
+}
@@ -0,0 +1,160 @@
+/*
+ * Copyright 2025 Mark Andrew Ray-Smith Cityline Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.mars.jtable.core.table;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for ChunkedRowList and concurrent ingestion into OptimizedTableCore.
+ */
+public class ChunkedRowListTest {
+
+    @Test
+    void testAppendAndGetAcrossChunks() {
+        ChunkedRowList<Integer> list = new ChunkedRowList<>();
+        int count = ChunkedRowList.CHUNK_SIZE * 20 + 7;
+        for (int i = 0; i < count; i++) {
+            assertEquals(i, list.append(i));
+        }
+
+        assertEquals(count, list.size());
+        for (int i = 0; i < count; i++) {
+            assertEquals(i, list.get(i));
+        }
+        assertArrayEquals(new ArrayList<>(list).toArray(), list.toArray());
+        assertThrows(IndexOutOfBoundsException.class, () -> list.get(count));
+        assertThrows(IndexOutOfBoundsException.class, () -> list.get(-1));
+    }
+
+    @Test
+    void testRowsCannotBeRemovedOrReplaced() {
+        ChunkedRowList<String> list = new ChunkedRowList<>(10);
+        list.add("a");
+        assertThrows(UnsupportedOperationException.class, () -> list.remove(0));
+        assertThrows(UnsupportedOperationException.class, () -> list.set(0, "b"));
+        assertEquals(List.of("a"), list);
+    }
+
+    @Test
+    void testConcurrentAppendsPublishAConsistentPrefix() throws InterruptedException {
+        ChunkedRowList<Integer> list = new ChunkedRowList<>();
+        int writers = 4;
+        int perWriter = 50_000;
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicBoolean done = new AtomicBoolean();
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+
+        // A reader checks that every published index holds a written element
+        Thread reader = new Thread(() -> {
+            try {
+                start.await();
+                while (!done.get()) {
+                    int size = list.size();
+                    for (int i = Math.max(0, size - 100); i < size; i++) {
+                        assertNotNull(list.get(i));
+                    }
+                }
+            } catch (Throwable t) {
+                failure.compareAndSet(null, t);
+            }
+        });
+        reader.start();
+
+        List<Thread> threads = new ArrayList<>();
+        for (int w = 0; w < writers; w++) {
+            int base = w * perWriter;
+            Thread writer = new Thread(() -> {
+                try {
+                    start.await();
+                    for (int i = 0; i < perWriter; i++) {
+                        list.add(base + i);
+                    }
+                } catch (Throwable t) {
+                    failure.compareAndSet(null, t);
+                }
+            });
+            threads.add(writer);
+            writer.start();
+        }
+
+        start.countDown();
+        for (Thread writer : threads) {
+            writer.join();
+        }
+        done.set(true);
+        reader.join();
+
+        assertNull(failure.get());
+        assertEquals(writers * perWriter, list.size());
+        Set<Integer> seen = new HashSet<>(list);
+        assertEquals(writers * perWriter, seen.size());
+    }
+
+    @Test
+    void testConcurrentTableIngestion() throws InterruptedException {
+        OptimizedTableCore table = new OptimizedTableCore(true);
+        LinkedHashMap<String, String> columns = new LinkedHashMap<>();
+        columns.put("Writer", "int");
+        columns.put("Amount", "double");
+        table.setColumns(columns);
+
+        int writers = 4;
+        int perWriter = 5_000;
+        List<Thread> threads = new ArrayList<>();
+        for (int w = 0; w < writers; w++) {
+            String writer = String.valueOf(w);
+            Thread thread = new Thread(() -> {
+                for (int i = 0; i < perWriter; i++) {
+                    Map<String, String> row = new HashMap<>();
+                    row.put("Writer", writer);
+                    // Trailing zeros make every row record a decimal scale
+                    row.put("Amount", writer + ".50");
+                    table.addRow(row);
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertEquals(writers * perWriter, table.getRowCount());
+        int[] rowsPerWriter = new int[writers];
+        for (int i = 0; i < table.getRowCount(); i++) {
+            String writer = table.getValueAt(i, "Writer");
+            rowsPerWriter[Integer.parseInt(writer)]++;
+            // The scale must belong to this row, not to a row appended by another thread
+            assertEquals(writer + ".50", table.getValueAt(i, "Amount"));
+        }
+        for (int count : rowsPerWriter) {
+            assertEquals(perWriter, count);
+        }
+    }
+}
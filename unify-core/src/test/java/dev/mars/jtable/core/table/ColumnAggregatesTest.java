@@ -0,0 +1,186 @@
+/*
+ * Copyright 2025 Mark Andrew Ray-Smith Cityline Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.mars.jtable.core.table;
+
+import dev.mars.jtable.core.model.ITable;
+import dev.mars.jtable.core.table.TableQuery.Operator;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.DoubleSummaryStatistics;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.IntPredicate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for ColumnAggregates.
+ */
+public class ColumnAggregatesTest {
+    private static final int ROWS = 1000;
+
+    private ITable createTable(String core, boolean withNulls) {
+        ITable table;
+        switch (core) {
+            case "TableCore":
+                table = new TableCore();
+                break;
+            case "OptimizedTableCore":
+                table = new OptimizedTableCore();
+                break;
+            case "ColumnarTableCore":
+                table = new ColumnarTableCore();
+                break;
+            case "OffHeapTableCore":
+                table = new OffHeapTableCore();
+                break;
+            case "StampedLockTable":
+                table = new StampedLockTable(new ColumnarTableCore());
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown core: " + core);
+        }
+        LinkedHashMap<String, String> columns = new LinkedHashMap<>();
+        columns.put("Id", "int");
+        columns.put("Score", "int");
+        columns.put("Price", "double");
+        columns.put("Name", "string");
+        table.setColumns(columns);
+
+        for (int i = 0; i < ROWS; i++) {
+            Map<String, String> row = new HashMap<>();
+            row.put("Id", String.valueOf(i));
+            row.put("Score", String.valueOf(score(i)));
+            row.put("Price", String.valueOf(price(i)));
+            row.put("Name", "Item" + i);
+            table.addRow(row);
+        }
+        if (withNulls) {
+            for (int i = 0; i < ROWS; i++) {
+                if (isNullRow(i)) {
+                    table.setValue(i, "Score", null);
+                    table.setValue(i, "Price", null);
+                }
+            }
+        }
+        return table;
+    }
+
+    private static int score(int row) {
+        return (row * 7919) % 2001 - 1000;
+    }
+
+    private static double price(int row) {
+        return (row % 97) * 1.25 - 3.5;
+    }
+
+    private static boolean isNullRow(int row) {
+        // Runs of nulls that straddle 64-row words as well as isolated nulls
+        return (row >= 60 && row < 70) || row % 13 == 0;
+    }
+
+    private static DoubleSummaryStatistics expected(IntPredicate rows, boolean withNulls, boolean prices) {
+        DoubleSummaryStatistics statistics = new DoubleSummaryStatistics();
+        for (int i = 0; i < ROWS; i++) {
+            if (rows.test(i) && !(withNulls && isNullRow(i))) {
+                statistics.accept(prices ? price(i) : score(i));
+            }
+        }
+        return statistics;
+    }
+
+    private static void assertStatistics(DoubleSummaryStatistics expected, DoubleSummaryStatistics actual) {
+        assertEquals(expected.getCount(), actual.getCount());
+        assertEquals(expected.getSum(), actual.getSum(), 1e-6);
+        assertEquals(expected.getMin(), actual.getMin());
+        assertEquals(expected.getMax(), actual.getMax());
+        assertEquals(expected.getAverage(), actual.getAverage(), 1e-9);
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"TableCore", "OptimizedTableCore", "ColumnarTableCore", "OffHeapTableCore", "StampedLockTable"})
+    void testWholeColumns(String core) {
+        for (boolean withNulls : new boolean[] {false, true}) {
+            ITable table = createTable(core, withNulls);
+            assertStatistics(expected(i -> true, withNulls, false), ColumnAggregates.summarize(table, "Score"));
+            assertStatistics(expected(i -> true, withNulls, true), ColumnAggregates.summarize(table, "Price"));
+        }
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"TableCore", "OptimizedTableCore", "ColumnarTableCore", "OffHeapTableCore", "StampedLockTable"})
+    void testSelections(String core) {
+        ITable table = createTable(core, true);
+
+        RowSelection middle = TableQuery.from(table)
+                .where("Id", Operator.GREATER_THAN_OR_EQUAL, 50)
+                .and("Id", Operator.LESS_THAN, 700)
+                .select();
+        assertStatistics(expected(i -> i >= 50 && i < 700, true, true), ColumnAggregates.summarize(middle, "Price"));
+
+        RowSelection scattered = TableQuery.from(table).where("Score", Operator.GREATER_THAN, 0).select();
+        assertStatistics(expected(i -> score(i) > 0, true, false), ColumnAggregates.summarize(scattered, "Score"));
+
+        RowSelection none = TableQuery.from(table).where("Id", Operator.LESS_THAN, 0).select();
+        DoubleSummaryStatistics empty = ColumnAggregates.summarize(none, "Price");
+        assertEquals(0, empty.getCount());
+        assertEquals(0.0, empty.getSum());
+    }
+
+    @Test
+    void testExactIntegralSums() {
+        ITable table = new ColumnarTableCore();
+        LinkedHashMap<String, String> columns = new LinkedHashMap<>();
+        columns.put("Value", "int");
+        table.setColumns(columns);
+        for (int i = 0; i < 3; i++) {
+            table.addRow(Map.of("Value", String.valueOf(Integer.MAX_VALUE)));
+        }
+        assertEquals(3.0 * Integer.MAX_VALUE, ColumnAggregates.summarize(table, "Value").getSum());
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"TableCore", "OptimizedTableCore", "ColumnarTableCore", "OffHeapTableCore", "StampedLockTable"})
+    void testLongSumsNearOverflow(String core) {
+        ITable table = createTable(core, false);
+        LinkedHashMap<String, String> columns = new LinkedHashMap<>();
+        columns.put("Value", "long");
+        table.setColumns(columns);
+        table.addRow(Map.of("Value", String.valueOf(Long.MAX_VALUE)));
+        table.addRow(Map.of("Value", "1"));
+        table.addRow(Map.of("Value", String.valueOf(Long.MAX_VALUE)));
+
+        DoubleSummaryStatistics statistics = ColumnAggregates.summarize(table, "Value");
+        assertEquals(3, statistics.getCount());
+        assertEquals(2.0 * Long.MAX_VALUE, statistics.getSum(), 1e4);
+        assertEquals(1.0, statistics.getMin());
+        assertEquals((double) Long.MAX_VALUE, statistics.getMax());
+
+        RowSelection selection = TableQuery.from(table).where("Value", Operator.GREATER_THAN, 0L).select();
+        assertEquals(2.0 * Long.MAX_VALUE, ColumnAggregates.summarize(selection, "Value").getSum(), 1e4);
+    }
+
+    @Test
+    void testInvalidColumns() {
+        ITable table = createTable("ColumnarTableCore", false);
+        assertThrows(IllegalArgumentException.class, () -> ColumnAggregates.summarize(table, "Missing"));
+        assertThrows(IllegalArgumentException.class, () -> ColumnAggregates.summarize(table, "Name"));
+        assertThrows(IllegalArgumentException.class, () -> ColumnAggregates.summarize((ITable) null, "Id"));
+    }
+}
@@ -0,0 +1,176 @@
+/*
+ * Copyright 2025 Mark Andrew Ray-Smith Cityline Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.mars.jtable.core.table;
+
+import dev.mars.jtable.core.model.IColumnIndex;
+import dev.mars.jtable.core.model.ITable;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for the hash indexes created with ITable.createIndex.
+ */
+public class ColumnIndexTest {
+
+    private ITable createTable(String core) {
+        ITable table;
+        switch (core) {
+            case "TableCore":
+                table = new TableCore();
+                break;
+            case "OptimizedTableCore":
+                table = new OptimizedTableCore();
+                break;
+            case "ColumnarTableCore":
+                table = new ColumnarTableCore();
+                break;
+            case "OffHeapTableCore":
+                table = new OffHeapTableCore();
+                break;
+            case "StampedLockTable":
+                table = new StampedLockTable(new OptimizedTableCore());
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown core: " + core);
+        }
+        LinkedHashMap<String, String> columns = new LinkedHashMap<>();
+        columns.put("Id", "int");
+        columns.put("City", "string");
+        table.setColumns(columns);
+        return table;
+    }
+
+    private static Map<String, String> row(int id, String city) {
+        Map<String, String> row = new HashMap<>();
+        row.put("Id", String.valueOf(id));
+        row.put("City", city);
+        return row;
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"TableCore", "OptimizedTableCore", "ColumnarTableCore", "OffHeapTableCore", "StampedLockTable"})
+    void testIndexFollowsAppendsAndWrites(String core) {
+        ITable table = createTable(core);
+        table.addRow(row(1, "London"));
+        table.addRow(row(2, "Paris"));
+
+        IColumnIndex ids = table.createIndex("Id");
+        IColumnIndex cities = table.createIndex("City");
+        assertSame(ids, table.createIndex("Id"));
+        assertSame(cities, table.getIndex("City"));
+        assertNull(table.getIndex("Missing"));
+
+        table.addRow(row(3, "London"));
+        assertArrayEquals(new int[] {0, 2}, cities.lookup("London"));
+        assertEquals(2, ids.lookupFirst(3));
+        // Integral keys match whatever their boxed type
+        assertEquals(2, ids.lookupFirst(3L));
+        assertEquals(-1, ids.lookupFirst(4));
+        assertEquals(-1, ids.lookupFirst("3"));
+
+        table.setValue(0, "City", "Berlin");
+        table.setValueAt(1, "Id", "3");
+        table.setInt(2, 0, 9);
+
+        assertArrayEquals(new int[] {2}, cities.lookup("London"));
+        assertArrayEquals(new int[] {0}, cities.lookup("Berlin"));
+        assertArrayEquals(new int[] {1}, ids.lookup(3));
+        assertArrayEquals(new int[0], ids.lookup(2));
+        assertEquals(1, ids.count(9));
+
+        table.setValue(1, "City", null);
+        assertArrayEquals(new int[] {1}, cities.lookup(null));
+
+        assertThrows(IllegalArgumentException.class, () -> table.createIndex("Missing"));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"TableCore", "OptimizedTableCore", "ColumnarTableCore"})
+    void testReplacingColumnsDropsIndexes(String core) {
+        ITable table = createTable(core);
+        table.createIndex("Id");
+
+        LinkedHashMap<String, String> columns = new LinkedHashMap<>();
+        columns.put("Id", "int");
+        table.setColumns(columns);
+        assertNull(table.getIndex("Id"));
+    }
+
+    @Test
+    void testManyKeys() {
+        ITable table = createTable("OptimizedTableCore");
+        IColumnIndex ids = table.createIndex("Id");
+        int rowCount = 10_000;
+        for (int i = 0; i < rowCount; i++) {
+            table.addRow(row(i % 5000 - 2500, "City" + (i % 10)));
+        }
+
+        for (int key = -2500; key < 2500; key++) {
+            int first = key + 2500;
+            assertArrayEquals(new int[] {first, first + 5000}, ids.lookup(key));
+        }
+        assertEquals(1000, table.createIndex("City").count("City7"));
+    }
+
+    @Test
+    void testSnapshotIndex() {
+        ITable table = createTable("TableCore");
+        table.addRow(row(1, "London"));
+        ITable snapshot = table.snapshot();
+        table.setValue(0, "City", "Paris");
+
+        assertArrayEquals(new int[] {0}, snapshot.createIndex("City").lookup("London"));
+        assertArrayEquals(new int[0], snapshot.getIndex("City").lookup("Paris"));
+    }
+
+    @Test
+    void testReplaceIsAtomic() throws InterruptedException {
+        HashColumnIndex index = new HashColumnIndex(ColumnFactory.createStringColumn("City"));
+        index.add("London", 0);
+        AtomicBoolean done = new AtomicBoolean();
+        AtomicInteger missing = new AtomicInteger();
+
+        Thread reader = new Thread(() -> {
+            while (!done.get()) {
+                // The index's own monitor makes the two counts one consistent read
+                synchronized (index) {
+                    if (index.count("London") + index.count("Paris") != 1) {
+                        missing.incrementAndGet();
+                    }
+                }
+            }
+        });
+        reader.start();
+        for (int i = 0; i < 100_000; i++) {
+            boolean even = i % 2 == 0;
+            index.replace(0, even ? "London" : "Paris", even ? "Paris" : "London");
+        }
+        done.set(true);
+        reader.join();
+
+        assertEquals(0, missing.get());
+        assertArrayEquals(new int[] {0}, index.lookup("London"));
+    }
+}
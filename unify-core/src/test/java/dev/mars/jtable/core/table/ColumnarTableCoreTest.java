@@ -0,0 +1,301 @@
+/*
+ * Copyright 2025 Mark Andrew Ray-Smith Cityline Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.mars.jtable.core.table;
+
+import dev.mars.jtable.core.model.IRow;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for ColumnarTableCore.
+ * Verifies that the column-oriented storage honours the same ITable contract as TableCore.
+ */
+public class ColumnarTableCoreTest {
+
+    private ColumnarTableCore table;
+
+    @BeforeEach
+    void setUp() {
+        table = new ColumnarTableCore();
+
+        LinkedHashMap<String, String> columns = new LinkedHashMap<>();
+        columns.put("Name", "string");
+        columns.put("Age", "int");
+        columns.put("Salary", "double");
+        columns.put("IsActive", "boolean");
+        columns.put("StartDate", "date");
+        table.setColumns(columns);
+    }
+
+    private Map<String, String> row(String name, String age, String salary, String active) {
+        Map<String, String> row = new HashMap<>();
+        row.put("Name", name);
+        row.put("Age", age);
+        row.put("Salary", salary);
+        row.put("IsActive", active);
+        row.put("StartDate", "2024-01-15");
+        return row;
+    }
+
+    @Test
+    void testAddAndRetrieveRows() {
+        table.addRow(row("Alice", "30", "50000.50", "true"));
+        table.addRow(row("Bob", "25", "42000", "false"));
+
+        assertEquals(2, table.getRowCount());
+        assertEquals(5, table.getColumnCount());
+        assertEquals("Alice", table.getValueAt(0, "Name"));
+        assertEquals("30", table.getValueAt(0, "Age"));
+        assertEquals("50000.50", table.getValueAt(0, "Salary"));
+        assertEquals("true", table.getValueAt(0, "IsActive"));
+        assertEquals("2024-01-15", table.getValueAt(0, "StartDate"));
+        assertEquals(25, table.getValueObject(1, "Age"));
+        assertEquals(42000.0, table.getValueObject(1, "Salary"));
+        assertEquals(false, table.getValueObject(1, "IsActive"));
+        assertEquals(LocalDate.of(2024, 1, 15), table.getValueObject(1, "StartDate"));
+    }
+
+    @Test
+    void testGrowsBeyondInitialCapacity() {
+        ColumnarTableCore small = new ColumnarTableCore("small", 2);
+        LinkedHashMap<String, String> columns = new LinkedHashMap<>();
+        columns.put("Id", "int");
+        columns.put("Flag", "boolean");
+        small.setColumns(columns);
+
+        for (int i = 0; i < 1000; i++) {
+            Map<String, String> row = new HashMap<>();
+            row.put("Id", String.valueOf(i));
+            row.put("Flag", String.valueOf(i % 3 == 0));
+            small.addRow(row);
+        }
+
+        assertEquals(1000, small.getRowCount());
+        for (int i = 0; i < 1000; i++) {
+            assertEquals(i, small.getValueObject(i, "Id"));
+            assertEquals(i % 3 == 0, small.getValueObject(i, "Flag"));
+        }
+    }
+
+    @Test
+    void testNullValues() {
+        table.addRow(row("Alice", "30", "50000.50", "true"));
+
+        table.setValue(0, "Age", null);
+        table.setValue(0, "Name", null);
+
+        assertNull(table.getValueObject(0, "Age"));
+        assertNull(table.getValueAt(0, "Age"));
+        assertNull(table.getValueObject(0, "Name"));
+
+        table.setValue(0, "Age", 31);
+        assertEquals(31, table.getValueObject(0, "Age"));
+    }
+
+    @Test
+    void testSetValueAndSetValueAt() {
+        table.addRow(row("Alice", "30", "50000.50", "true"));
+
+        table.setValueAt(0, "Salary", "60000.75");
+        assertEquals("60000.75", table.getValueAt(0, "Salary"));
+
+        table.setValue(0, "Salary", 70000.0);
+        assertEquals("70000.0", table.getValueAt(0, "Salary"));
+
+        assertThrows(IllegalArgumentException.class, () -> table.setValue(0, "Age", "not an int"));
+        assertThrows(IllegalArgumentException.class, () -> table.setValue(0, "Missing", 1));
+        assertThrows(IndexOutOfBoundsException.class, () -> table.setValue(1, "Age", 1));
+    }
+
+    @Test
+    void testRowViewsReadAndWriteThrough() {
+        table.addRow(row("Alice", "30", "50000.50", "true"));
+
+        IRow view = table.getRow(0);
+        assertEquals("Alice", view.getCell("Name").getValue());
+        assertEquals(5, view.getCells().size());
+        assertSame(table, view.getTable());
+
+        view.setValue("Name", "Alicia");
+        assertEquals("Alicia", table.getValueAt(0, "Name"));
+
+        List<IRow> rows = table.getRows();
+        assertEquals(1, rows.size());
+        assertEquals("Alicia", rows.get(0).getCell("Name").getValueAsString());
+    }
+
+    @Test
+    void testAddRowFromCreatedRow() {
+        IRow row = table.createRow();
+        row.setValue("Name", "Carol");
+        row.setValue("Age", 41);
+        table.addRow(row);
+
+        assertEquals(1, table.getRowCount());
+        assertEquals("Carol", table.getValueAt(0, "Name"));
+        assertEquals(41, table.getValueObject(0, "Age"));
+        // Missing columns receive the column default
+        assertEquals(0.0, table.getValueObject(0, "Salary"));
+        assertEquals(false, table.getValueObject(0, "IsActive"));
+    }
+
+    @Test
+    void testDefaultValues() {
+        Map<String, String> partial = new HashMap<>();
+        partial.put("Name", "Alice");
+        table.addRow(partial);
+
+        assertEquals("0", table.getValueAt(0, "Age"));
+        assertEquals("0.0", table.getValueAt(0, "Salary"));
+        assertEquals("false", table.getValueAt(0, "IsActive"));
+
+        table.setCreateDefaultValue(false);
+        assertThrows(IllegalArgumentException.class, () -> table.addRow(partial));
+        assertEquals(1, table.getRowCount());
+    }
+
+    @Test
+    void testInvalidRowLeavesTableUnchanged() {
+        Map<String, String> unknown = row("Alice", "30", "1.0", "true");
+        unknown.put("Unknown", "x");
+        assertThrows(IllegalArgumentException.class, () -> table.addRow(unknown));
+
+        Map<String, String> badNumber = row("Alice", "thirty", "1.0", "true");
+        assertThrows(NumberFormatException.class, () -> table.addRow(badNumber));
+
+        assertEquals(0, table.getRowCount());
+    }
+
+    @Test
+    void testAddColumnAfterRows() {
+        table.addRow(row("Alice", "30", "50000.50", "true"));
+        table.addColumn(ColumnFactory.createTimeColumn("ShiftStart"));
+
+        assertNull(table.getValueObject(0, "ShiftStart"));
+        table.setValue(0, "ShiftStart", LocalTime.of(9, 30));
+        assertEquals("09:30:00", table.getValueAt(0, "ShiftStart"));
+        assertEquals("ShiftStart", table.getColumnName(5));
+
+        assertThrows(IllegalArgumentException.class, () -> table.addColumn(ColumnFactory.createStringColumn("Name")));
+    }
+
+    @Test
+    void testSetColumnsDiscardsRows() {
+        table.addRow(row("Alice", "30", "50000.50", "true"));
+        table.addRow(row("Bob", "25", "42000", "false"));
+
+        LinkedHashMap<String, String> columns = new LinkedHashMap<>();
+        columns.put("Name", "string");
+        columns.put("Score", "int");
+        table.setColumns(columns);
+
+        assertEquals(0, table.getRowCount());
+        assertEquals(2, table.getColumnCount());
+        assertThrows(IndexOutOfBoundsException.class, () -> table.getValueAt(0, "Name"));
+
+        Map<String, String> row = new HashMap<>();
+        row.put("Name", "Carol");
+        row.put("Score", "7");
+        table.addRow(row);
+        assertEquals(1, table.getRowCount());
+        assertEquals("Carol", table.getValueAt(0, "Name"));
+        assertEquals(7, table.getInt(0, 1));
+    }
+
+    @Test
+    void testMatchesTableCore() {
+        TableCore reference = new TableCore();
+        LinkedHashMap<String, String> columns = new LinkedHashMap<>();
+        columns.put("Name", "string");
+        columns.put("Age", "int");
+        columns.put("Salary", "double");
+        columns.put("IsActive", "boolean");
+        columns.put("StartDate", "date");
+        reference.setColumns(columns);
+
+        String[] salaries = {"1.50", "2", "3.125", "1000000.0", "0.1"};
+        for (int i = 0; i < salaries.length; i++) {
+            Map<String, String> data = row("Name" + i, String.valueOf(i), salaries[i], String.valueOf(i % 2 == 0));
+            reference.addRow(data);
+            table.addRow(data);
+        }
+
+        for (int i = 0; i < salaries.length; i++) {
+            for (int c = 0; c < reference.getColumnCount(); c++) {
+                String columnName = reference.getColumnName(c);
+                assertEquals(reference.getValueAt(i, columnName), table.getValueAt(i, columnName));
+            }
+        }
+    }
+
+    @Test
+    void testLowCardinalityStringsAreDictionaryEncoded() {
+        ColumnarTableCore statuses = new ColumnarTableCore();
+        LinkedHashMap<String, String> columns = new LinkedHashMap<>();
+        columns.put("Status", "string");
+        columns.put("Currency", "string:dict");
+        statuses.setColumns(columns);
+
+        String[] values = {"OPEN", "CLOSED", "PENDING"};
+        for (int i = 0; i < 3000; i++) {
+            Map<String, String> row = new HashMap<>();
+            row.put("Status", values[i % 3]);
+            row.put("Currency", i % 2 == 0 ? "GBP" : "USD");
+            statuses.addRow(row);
+        }
+
+        ColumnVector.StringVector status = (ColumnVector.StringVector) statuses.vectors().get(0);
+        ColumnVector.StringVector currency = (ColumnVector.StringVector) statuses.vectors().get(1);
+        assertTrue(status.isDictionaryEncoded());
+        assertEquals(3, status.dictionary().size());
+        assertTrue(currency.isDictionaryEncoded());
+        assertSame(((DictionaryColumn) statuses.getColumn("Currency")).getDictionary(), currency.dictionary());
+        assertEquals(status.code(0), status.code(3));
+        assertEquals("PENDING", statuses.getValueAt(2999, "Status"));
+        assertEquals("USD", statuses.getValueAt(2999, "Currency"));
+    }
+
+    @Test
+    void testHighCardinalityStringsFallBackToPlainStorage() {
+        ColumnarTableCore ids = new ColumnarTableCore();
+        LinkedHashMap<String, String> columns = new LinkedHashMap<>();
+        columns.put("Id", "string");
+        ids.setColumns(columns);
+
+        int rows = ColumnVector.StringVector.AUTO_DICTIONARY_MAX_CARDINALITY + 10;
+        for (int i = 0; i < rows; i++) {
+            Map<String, String> row = new HashMap<>();
+            row.put("Id", "id-" + i);
+            ids.addRow(row);
+        }
+        ids.setValue(5, "Id", null);
+
+        ColumnVector.StringVector vector = (ColumnVector.StringVector) ids.vectors().get(0);
+        assertFalse(vector.isDictionaryEncoded());
+        assertEquals("id-0", ids.getValueAt(0, "Id"));
+        assertNull(ids.getValueAt(5, "Id"));
+        assertEquals("id-" + (rows - 1), ids.getValueAt(rows - 1, "Id"));
+    }
+}
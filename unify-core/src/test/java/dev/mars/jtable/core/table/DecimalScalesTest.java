@@ -0,0 +1,162 @@
+/*
+ * Copyright 2025 Mark Andrew Ray-Smith Cityline Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.mars.jtable.core.table;
+
+import dev.mars.jtable.core.model.ITable;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.text.DecimalFormat;
+import java.text.DecimalFormatSymbols;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for DecimalScales and the reproduction of double text by the table cores.
+ */
+public class DecimalScalesTest {
+
+    /**
+     * The DecimalFormat-based formatting the tables used before decimal scales were introduced.
+     */
+    private static String referenceFormat(double value) {
+        DecimalFormat df = new DecimalFormat("#.#", DecimalFormatSymbols.getInstance(Locale.ROOT));
+        df.setMinimumFractionDigits(0);
+        df.setMaximumFractionDigits(10);
+        df.setGroupingUsed(false);
+        String stringValue = Double.toString(value);
+        if (stringValue.contains(".")) {
+            df.setMinimumFractionDigits(stringValue.length() - stringValue.indexOf('.') - 1);
+        }
+        return df.format(value);
+    }
+
+    @Test
+    void testDefaultFormatMatchesDecimalFormat() {
+        double[] values = {0.0, -0.0, 1.0, -1.5, 0.1, 123.456, 1e7, 1.234e7, 9.99e15, 1e-3, 1e-4,
+                1.2345e-5, 1.23456789e-5, 0.12345678901234568, 50000.5, Long.MAX_VALUE, 1e300, 4.9e-324};
+        for (double value : values) {
+            assertEquals(referenceFormat(value), DecimalScales.format(value), "value " + value);
+        }
+
+        Random random = new Random(42);
+        for (int i = 0; i < 100_000; i++) {
+            double value = (random.nextDouble() - 0.5) * Math.pow(10, random.nextInt(24) - 8);
+            assertEquals(referenceFormat(value), DecimalScales.format(value), "value " + value);
+        }
+    }
+
+    @Test
+    void testNonFiniteValuesUseDecimalFormatSymbols() {
+        DecimalFormat df = new DecimalFormat();
+        assertEquals(df.format(Double.NaN), DecimalScales.format(Double.NaN));
+        assertEquals(df.format(Double.POSITIVE_INFINITY), DecimalScales.format(Double.POSITIVE_INFINITY));
+        assertEquals(df.format(Double.NEGATIVE_INFINITY), DecimalScales.format(Double.NEGATIVE_INFINITY, 2));
+    }
+
+    @Test
+    void testFormatWithScale() {
+        assertEquals("50000.50", DecimalScales.format(50000.5, 2));
+        assertEquals("-0.10", DecimalScales.format(-0.1, 2));
+        assertEquals("-0.0", DecimalScales.format(-0.0, 1));
+        assertEquals("3", DecimalScales.format(3.0, 0));
+        assertEquals("1.000000000000000000", DecimalScales.format(1.0, 18));
+        assertEquals("1234567890123.50", DecimalScales.format(1234567890123.5, 2));
+        assertEquals("123456789012345.50", DecimalScales.format(123456789012345.5, 2));
+    }
+
+    @Test
+    void testScaleOf() {
+        assertEquals(2, DecimalScales.scaleOf("50000.50", 50000.5));
+        assertEquals(3, DecimalScales.scaleOf("1.500", 1.5));
+        // The default format already reproduces these
+        assertEquals(DecimalScales.NO_SCALE, DecimalScales.scaleOf("1.5", 1.5));
+        assertEquals(DecimalScales.NO_SCALE, DecimalScales.scaleOf("2", 2.0));
+        // Surrounding whitespace is ignored, as it is when the text is parsed
+        assertEquals(2, DecimalScales.scaleOf(" 50000.50\t", 50000.5));
+        assertEquals(DecimalScales.NO_SCALE, DecimalScales.scaleOf(" 1.5 ", 1.5));
+        // No scale can reproduce exponent notation or an explicit plus sign
+        assertEquals(DecimalScales.NO_SCALE, DecimalScales.scaleOf("1.5e3", 1500.0));
+        assertEquals(DecimalScales.NO_SCALE, DecimalScales.scaleOf("+1.50", 1.5));
+        assertEquals(DecimalScales.NO_SCALE, DecimalScales.scaleOf(null, 1.5));
+    }
+
+    @Test
+    void testStoreGrowsAndClears() {
+        DecimalScales scales = new DecimalScales();
+        assertEquals(DecimalScales.NO_SCALE, scales.get(0));
+        scales.set(1000, 4);
+        assertEquals(4, scales.get(1000));
+        assertEquals(DecimalScales.NO_SCALE, scales.get(999));
+        scales.set(1000, DecimalScales.NO_SCALE);
+        assertEquals(DecimalScales.NO_SCALE, scales.get(1000));
+        scales.set(5000, DecimalScales.NO_SCALE);
+        assertEquals(DecimalScales.NO_SCALE, scales.get(5000));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"TableCore", "OptimizedTableCore", "ColumnarTableCore"})
+    void testTablesReproduceOriginalText(String core) {
+        ITable table;
+        switch (core) {
+            case "TableCore":
+                table = new TableCore();
+                break;
+            case "OptimizedTableCore":
+                table = new OptimizedTableCore();
+                break;
+            default:
+                table = new ColumnarTableCore();
+                break;
+        }
+        LinkedHashMap<String, String> columns = new LinkedHashMap<>();
+        columns.put("Amount", "double");
+        table.setColumns(columns);
+
+        String[] texts = {"50000.50", "1.500", "-0.10", "2", "0.1", "100.000000"};
+        for (String text : texts) {
+            Map<String, String> row = new HashMap<>();
+            row.put("Amount", text);
+            table.addRow(row);
+        }
+
+        assertEquals("50000.50", table.getValueAt(0, "Amount"));
+        assertEquals("1.500", table.getValueAt(1, "Amount"));
+        assertEquals("-0.10", table.getValueAt(2, "Amount"));
+        assertEquals("2.0", table.getValueAt(3, "Amount"));
+        assertEquals("0.1", table.getValueAt(4, "Amount"));
+        assertEquals("100.000000", table.getValueAt(5, "Amount"));
+
+        // Text a scale cannot reproduce comes back in the default format
+        table.setValueAt(3, "Amount", " 2.50 ");
+        assertEquals("2.50", table.getValueAt(3, "Amount"));
+        table.setValueAt(3, "Amount", "2.5e1");
+        assertEquals("25.0", table.getValueAt(3, "Amount"));
+        table.setValueAt(3, "Amount", "+2.50");
+        assertEquals("2.5", table.getValueAt(3, "Amount"));
+
+        table.setValueAt(4, "Amount", "0.10");
+        assertEquals("0.10", table.getValueAt(4, "Amount"));
+        table.setValue(0, "Amount", 7.25);
+        assertEquals("7.25", table.getValueAt(0, "Amount"));
+    }
+}
@@ -0,0 +1,115 @@
+/*
+ * Copyright 2025 Mark Andrew Ray-Smith Cityline Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.mars.jtable.core.table;
+
+import dev.mars.jtable.core.model.ICell;
+import dev.mars.jtable.core.model.IRow;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for OffHeapTableCore.
+ */
+public class OffHeapTableCoreTest {
+
+    private static LinkedHashMap<String, String> columns() {
+        LinkedHashMap<String, String> columns = new LinkedHashMap<>();
+        columns.put("Name", "string");
+        columns.put("Age", "int");
+        columns.put("Salary", "double");
+        columns.put("IsActive", "boolean");
+        columns.put("StartDate", "date");
+        columns.put("ShiftStart", "time");
+        return columns;
+    }
+
+    private static Map<String, String> row(int i) {
+        Map<String, String> row = new HashMap<>();
+        row.put("Name", "Name" + i);
+        row.put("Age", String.valueOf(20 + i % 50));
+        row.put("Salary", (1000 + i) + ".25");
+        row.put("IsActive", String.valueOf(i % 2 == 0));
+        row.put("StartDate", LocalDate.of(2020, 1, 1).plusDays(i % 365).toString());
+        row.put("ShiftStart", "09:00:00");
+        return row;
+    }
+
+    @Test
+    void testStoresAndReadsAllTypes() {
+        try (OffHeapTableCore table = new OffHeapTableCore("people", 4)) {
+            table.setColumns(columns());
+            for (int i = 0; i < 500; i++) {
+                table.addRow(row(i));
+            }
+
+            assertEquals(500, table.getRowCount());
+            for (int i = 0; i < 500; i++) {
+                assertEquals("Name" + i, table.getValueAt(i, "Name"));
+                assertEquals(20 + i % 50, table.getValueObject(i, "Age"));
+                assertEquals((1000 + i) + ".25", table.getValueAt(i, "Salary"));
+                assertEquals(i % 2 == 0, table.getValueObject(i, "IsActive"));
+                assertEquals(LocalDate.of(2020, 1, 1).plusDays(i % 365), table.getValueObject(i, "StartDate"));
+                assertEquals(LocalTime.of(9, 0), table.getValueObject(i, "ShiftStart"));
+            }
+
+            table.setValue(3, "Age", null);
+            assertNull(table.getValueObject(3, "Age"));
+        }
+    }
+
+    @Test
+    void testReportsOffHeapBytes() {
+        try (OffHeapTableCore table = new OffHeapTableCore(1000)) {
+            table.setColumns(columns());
+            // int (4) + double (8) + date (8) + time (8) bytes per row, plus packed booleans
+            assertTrue(table.getOffHeapBytes() >= 1000L * (4 + 8 + 8 + 8));
+        }
+    }
+
+    @Test
+    void testCloseReleasesStorage() {
+        OffHeapTableCore table = new OffHeapTableCore();
+        table.setColumns(columns());
+        table.addRow(row(1));
+        IRow row = table.getRow(0);
+        ICell<?> age = row.getCell("Age");
+        ICell<?> name = row.getCell("Name");
+
+        table.close();
+
+        assertTrue(table.isClosed());
+        assertEquals(0, table.getRowCount());
+        assertEquals(0, table.getColumnCount());
+        assertEquals(0, table.getOffHeapBytes());
+        assertThrows(IllegalStateException.class, age::getValue);
+        // Heap-backed columns are checked too
+        assertThrows(IllegalStateException.class, name::getValueAsString);
+        assertThrows(IllegalStateException.class, () -> row.getCell("Age"));
+        assertThrows(IllegalStateException.class, row::getCells);
+        assertThrows(IllegalStateException.class, () -> row.setValue("Age", 30));
+        assertThrows(IllegalStateException.class, () -> table.addColumn(ColumnFactory.createIntegerColumn("Id")));
+
+        // Closing twice is harmless
+        table.close();
+    }
+}
@@ -0,0 +1,161 @@
+/*
+ * Copyright 2025 Mark Andrew Ray-Smith Cityline Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.mars.jtable.core.table;
+
+import dev.mars.jtable.core.model.IRow;
+import dev.mars.jtable.core.model.IRowCursor;
+import dev.mars.jtable.core.model.ITable;
+import dev.mars.jtable.core.model.ITableSchema;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for the IRowCursor implementations of each table core.
+ */
+public class RowCursorTest {
+
+    private ITable createTable(String core) {
+        ITable table;
+        switch (core) {
+            case "TableCore":
+                table = new TableCore();
+                break;
+            case "OptimizedTableCore":
+                table = new OptimizedTableCore();
+                break;
+            case "ColumnarTableCore":
+                table = new ColumnarTableCore();
+                break;
+            case "OffHeapTableCore":
+                table = new OffHeapTableCore();
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown core: " + core);
+        }
+
+        LinkedHashMap<String, String> columns = new LinkedHashMap<>();
+        columns.put("Name", "string");
+        columns.put("Age", "int");
+        columns.put("Salary", "double");
+        columns.put("IsActive", "boolean");
+        table.setColumns(columns);
+
+        for (int i = 0; i < 100; i++) {
+            Map<String, String> row = new HashMap<>();
+            row.put("Name", "Name" + i);
+            row.put("Age", String.valueOf(i));
+            row.put("Salary", String.valueOf(i * 1.5));
+            row.put("IsActive", String.valueOf(i % 2 == 0));
+            table.addRow(row);
+        }
+        return table;
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"TableCore", "OptimizedTableCore", "ColumnarTableCore", "OffHeapTableCore"})
+    void testScansEveryRow(String core) {
+        ITable table = createTable(core);
+        ITableSchema schema = table.getSchema();
+        int name = schema.indexOf("Name");
+        int age = schema.indexOf("Age");
+        int salary = schema.indexOf("Salary");
+        int active = schema.indexOf("IsActive");
+
+        IRowCursor cursor = table.cursor();
+        assertEquals(-1, cursor.getRowIndex());
+
+        long ageTotal = 0;
+        double salaryTotal = 0;
+        int activeCount = 0;
+        int rows = 0;
+        while (cursor.next()) {
+            assertEquals("Name" + rows, cursor.getString(name));
+            ageTotal += cursor.getInt(age);
+            salaryTotal += cursor.getDouble(salary);
+            if (cursor.getBoolean(active)) {
+                activeCount++;
+            }
+            rows++;
+        }
+
+        assertEquals(100, rows);
+        assertEquals(4950, ageTotal);
+        assertEquals(4950 * 1.5, salaryTotal, 1e-9);
+        assertEquals(50, activeCount);
+        assertFalse(cursor.next());
+        assertEquals(100, cursor.getRowIndex());
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"TableCore", "OptimizedTableCore", "ColumnarTableCore", "OffHeapTableCore"})
+    void testMoveToAndNulls(String core) {
+        ITable table = createTable(core);
+        table.setValue(42, "Age", null);
+        int age = table.getSchema().indexOf("Age");
+        int name = table.getSchema().indexOf("Name");
+
+        IRowCursor cursor = table.cursor();
+        assertThrows(IllegalStateException.class, () -> cursor.getInt(age));
+
+        cursor.moveTo(42);
+        assertTrue(cursor.isNull(age));
+        assertEquals(0, cursor.getInt(age));
+        assertNull(cursor.getObject(age));
+        assertEquals(63L, cursor.getLong(table.getSchema().indexOf("Salary")));
+
+        assertThrows(IllegalArgumentException.class, () -> cursor.getInt(name));
+        assertThrows(IndexOutOfBoundsException.class, () -> cursor.moveTo(100));
+        assertThrows(IndexOutOfBoundsException.class, () -> cursor.getObject(4));
+
+        assertTrue(cursor.next());
+        assertEquals(43, cursor.getRowIndex());
+        assertEquals(43, cursor.getInt(age));
+    }
+
+    @Test
+    void testSubclassStoredRowHook() {
+        AtomicInteger reads = new AtomicInteger();
+        TableCore table = new TableCore() {
+            @Override
+            IRow storedRow(int index) {
+                reads.incrementAndGet();
+                return super.storedRow(index);
+            }
+        };
+        LinkedHashMap<String, String> columns = new LinkedHashMap<>();
+        columns.put("Age", "int");
+        table.setColumns(columns);
+        for (int i = 0; i < 3; i++) {
+            table.addRow(Map.of("Age", String.valueOf(i)));
+        }
+
+        IRowCursor cursor = table.cursor();
+        int sum = 0;
+        while (cursor.next()) {
+            sum += cursor.getInt(0);
+        }
+        assertEquals(3, sum);
+        assertEquals(3, reads.get());
+    }
+}
@@ -0,0 +1,165 @@
+/*
+ * Copyright 2025 Mark Andrew Ray-Smith Cityline Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.mars.jtable.core.table;
+
+import dev.mars.jtable.core.model.IColumnIndex;
+import dev.mars.jtable.core.model.ISortedColumnIndex;
+import dev.mars.jtable.core.model.ITable;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for the sorted indexes created with ITable.createSortedIndex.
+ */
+public class SortedColumnIndexTest {
+
+    private ITable createTable(String core) {
+        ITable table;
+        switch (core) {
+            case "TableCore":
+                table = new TableCore();
+                break;
+            case "OptimizedTableCore":
+                table = new OptimizedTableCore();
+                break;
+            case "ColumnarTableCore":
+                table = new ColumnarTableCore();
+                break;
+            case "OffHeapTableCore":
+                table = new OffHeapTableCore();
+                break;
+            case "StampedLockTable":
+                table = new StampedLockTable(new OptimizedTableCore());
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown core: " + core);
+        }
+        LinkedHashMap<String, String> columns = new LinkedHashMap<>();
+        columns.put("Id", "int");
+        columns.put("Salary", "double");
+        columns.put("Hired", "date");
+        columns.put("Updated", "datetime");
+        columns.put("Active", "boolean");
+        table.setColumns(columns);
+        return table;
+    }
+
+    private static Map<String, String> row(int id, String salary, String hired, String updated) {
+        Map<String, String> row = new HashMap<>();
+        row.put("Id", String.valueOf(id));
+        row.put("Salary", salary);
+        row.put("Hired", hired);
+        row.put("Updated", updated);
+        row.put("Active", "true");
+        return row;
+    }
+
+    private void addEmployees(ITable table) {
+        table.addRow(row(4, "52000.0", "2021-03-01", "2024-01-01T09:00:00"));
+        table.addRow(row(2, "61000.0", "2019-07-15", "2024-01-01T12:30:00"));
+        table.addRow(row(9, "48000.0", "2023-11-20", "2023-12-31T23:59:00"));
+        table.addRow(row(1, "61000.0", "2020-01-02", "2024-02-01T08:00:00"));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"TableCore", "OptimizedTableCore", "ColumnarTableCore", "OffHeapTableCore", "StampedLockTable"})
+    void testRangeQueries(String core) {
+        ITable table = createTable(core);
+        addEmployees(table);
+
+        ISortedColumnIndex salaries = table.createSortedIndex("Salary");
+        ISortedColumnIndex hired = table.createSortedIndex("Hired");
+        ISortedColumnIndex updated = table.createSortedIndex("Updated");
+
+        // Rows come back in value order, then row order
+        assertArrayEquals(new int[] {0, 1, 3}, salaries.between(50000, 61000.0));
+        assertArrayEquals(new int[] {2, 0}, salaries.range(null, true, 61000, false));
+        assertArrayEquals(new int[] {1, 3}, salaries.range(52000.0, false, null, true));
+        assertArrayEquals(new int[] {2, 0, 1, 3}, salaries.ascending());
+        assertArrayEquals(new int[0], salaries.between(61000, 50000));
+        assertArrayEquals(new int[] {1, 3}, salaries.lookup(61000));
+
+        assertArrayEquals(new int[] {1, 3, 0},
+                hired.range(LocalDate.of(2019, 1, 1), true, LocalDate.of(2022, 1, 1), false));
+        assertArrayEquals(new int[] {2, 0, 1},
+                updated.between(LocalDateTime.of(2023, 12, 1, 0, 0), LocalDateTime.of(2024, 1, 31, 0, 0)));
+
+        assertThrows(IllegalArgumentException.class, () -> hired.between("2020-01-01", null));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"TableCore", "OptimizedTableCore", "ColumnarTableCore", "OffHeapTableCore", "StampedLockTable"})
+    void testIndexFollowsAppendsAndWrites(String core) {
+        ITable table = createTable(core);
+        ISortedColumnIndex ids = table.createSortedIndex("Id");
+        addEmployees(table);
+        assertArrayEquals(new int[] {3, 1, 0, 2}, ids.ascending());
+
+        table.setValue(2, "Id", 0);
+        table.setValueAt(3, "Id", "7");
+        table.setInt(0, 0, 3);
+
+        assertArrayEquals(new int[] {2, 1, 0, 3}, ids.ascending());
+        assertArrayEquals(new int[] {1, 0}, ids.between(2L, 6L));
+        assertEquals(-1, ids.lookupFirst(9));
+
+        table.setValue(1, "Id", null);
+        assertArrayEquals(new int[] {1}, ids.lookup(null));
+        assertArrayEquals(new int[] {2, 0, 3}, ids.ascending());
+    }
+
+    @Test
+    void testSortedIndexReplacesHashIndex() {
+        ITable table = createTable("OptimizedTableCore");
+        addEmployees(table);
+
+        IColumnIndex hash = table.createIndex("Id");
+        ISortedColumnIndex sorted = table.createSortedIndex("Id");
+        assertNotSame(hash, sorted);
+        assertSame(sorted, table.getIndex("Id"));
+        assertSame(sorted, table.createIndex("Id"));
+        assertSame(sorted, table.createSortedIndex("Id"));
+        assertEquals(1, sorted.lookupFirst(2));
+
+        assertThrows(IllegalArgumentException.class, () -> table.createSortedIndex("Missing"));
+    }
+
+    @Test
+    void testManyRows() {
+        ITable table = createTable("ColumnarTableCore");
+        ISortedColumnIndex ids = table.createSortedIndex("Id");
+        int rowCount = 10_000;
+        for (int i = 0; i < rowCount; i++) {
+            // Ids in a scrambled order covering 0 .. rowCount - 1
+            table.addRow(row((i * 7919) % rowCount, "1.0", "2020-01-01", "2020-01-01T00:00:00"));
+        }
+
+        int[] window = ids.range(1000, true, 2000, false);
+        assertEquals(1000, window.length);
+        for (int i = 0; i < window.length; i++) {
+            assertEquals(1000 + i, table.getInt(window[i], 0));
+        }
+    }
+}
@@ -0,0 +1,182 @@
+/*
+ * Copyright 2025 Mark Andrew Ray-Smith Cityline Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.mars.jtable.core.table;
+
+import dev.mars.jtable.core.model.ICell;
+import dev.mars.jtable.core.model.IRow;
+import dev.mars.jtable.core.model.IRowCursor;
+import dev.mars.jtable.core.model.ITable;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for StampedLockTable.
+ */
+public class StampedLockTableTest {
+
+    private ITable createTable(String core) {
+        ITable table;
+        switch (core) {
+            case "TableCore":
+                table = new TableCore();
+                break;
+            case "OptimizedTableCore":
+                table = new OptimizedTableCore();
+                break;
+            case "ColumnarTableCore":
+                table = new ColumnarTableCore();
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown core: " + core);
+        }
+        ITable locked = new StampedLockTable(table);
+        LinkedHashMap<String, String> columns = new LinkedHashMap<>();
+        columns.put("Id", "int");
+        columns.put("Amount", "double");
+        locked.setColumns(columns);
+        return locked;
+    }
+
+    private static Map<String, String> row(int id, String amount) {
+        Map<String, String> row = new HashMap<>();
+        row.put("Id", String.valueOf(id));
+        row.put("Amount", amount);
+        return row;
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"TableCore", "OptimizedTableCore", "ColumnarTableCore"})
+    void testDelegatesToTheWrappedTable(String core) {
+        ITable table = createTable(core);
+        table.addRow(row(1, "10.50"));
+        table.addRow(row(2, "20"));
+
+        assertEquals(2, table.getRowCount());
+        assertEquals(2, table.getColumnCount());
+        assertEquals("Amount", table.getColumnName(1));
+        assertEquals(1, table.getSchema().indexOf("Amount"));
+        assertEquals("10.50", table.getValueAt(0, "Amount"));
+        assertEquals(2, table.getValueObject(1, "Id"));
+
+        table.setValueAt(1, "Amount", "25.5");
+        table.setInt(0, 0, 7);
+        assertEquals(25.5, table.getDouble(1, 1));
+        assertEquals(7, table.getInt(0, 0));
+
+        IRowCursor cursor = table.cursor();
+        int sum = 0;
+        while (cursor.next()) {
+            sum += cursor.getInt(0);
+        }
+        assertEquals(9, sum);
+
+        assertThrows(IndexOutOfBoundsException.class, () -> table.getInt(5, 0));
+        assertThrows(IllegalArgumentException.class, () -> table.setValue(0, "Missing", 1));
+        assertThrows(IllegalArgumentException.class, () -> new StampedLockTable(null));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"TableCore", "OptimizedTableCore", "ColumnarTableCore"})
+    @SuppressWarnings("unchecked")
+    void testRowsAreGuardedByTheLock(String core) {
+        ITable table = createTable(core);
+        table.addRow(row(1, "10.50"));
+
+        IRow row = table.getRow(0);
+        assertSame(table, row.getTable());
+        row.setValue("Id", 5);
+        assertEquals(5, table.getValueObject(0, "Id"));
+        ((ICell<Object>) row.getCell("Amount")).setValue(12.5);
+        assertEquals(12.5, table.getDouble(0, 1));
+        assertEquals(12.5, table.getRows().get(0).getCell("Amount").getValue());
+        assertSame(table, table.getRows().get(0).getTable());
+
+        // Adding a row created by the wrapper must not take the lock twice
+        IRow created = table.createRow();
+        created.setValue("Id", 2);
+        created.setValue("Amount", 3.0);
+        assertTimeoutPreemptively(Duration.ofSeconds(10), () -> table.addRow(created));
+        assertEquals(2, table.getRowCount());
+        assertEquals(2, table.getInt(1, 0));
+    }
+
+    @Test
+    void testConcurrentReadsAndWrites() throws InterruptedException {
+        ITable table = createTable("ColumnarTableCore");
+        int rowCount = 20_000;
+        AtomicBoolean done = new AtomicBoolean();
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+
+        Thread writer = new Thread(() -> {
+            try {
+                for (int i = 0; i < rowCount; i++) {
+                    table.addRow(row(i, i + ".5"));
+                    if (i > 0) {
+                        table.setValue(i - 1, "Amount", (double) i);
+                    }
+                }
+            } catch (Throwable t) {
+                failure.compareAndSet(null, t);
+            } finally {
+                done.set(true);
+            }
+        });
+
+        List<Thread> readers = new ArrayList<>();
+        for (int r = 0; r < 3; r++) {
+            Thread reader = new Thread(() -> {
+                try {
+                    while (!done.get()) {
+                        int count = table.getRowCount();
+                        if (count > 0) {
+                            int index = count - 1;
+                            // Every row holds either its original amount or the one written after it
+                            double amount = table.getDouble(index, 1);
+                            assertTrue(amount == index + 0.5 || amount == index + 1, "amount " + amount);
+                            assertEquals(index, table.getInt(index, 0));
+                        }
+                    }
+                } catch (Throwable t) {
+                    failure.compareAndSet(null, t);
+                }
+            });
+            readers.add(reader);
+            reader.start();
+        }
+        writer.start();
+        writer.join();
+        for (Thread reader : readers) {
+            reader.join();
+        }
+
+        assertNull(failure.get());
+        assertEquals(rowCount, table.getRowCount());
+        assertEquals(rowCount - 0.5, table.getDouble(rowCount - 1, 1));
+        assertEquals(rowCount - 1.0, table.getDouble(rowCount - 2, 1));
+    }
+}
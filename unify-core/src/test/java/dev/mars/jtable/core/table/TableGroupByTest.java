@@ -0,0 +1,240 @@
+/*
+ * Copyright 2025 Mark Andrew Ray-Smith Cityline Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.mars.jtable.core.table;
+
+import dev.mars.jtable.core.model.ITable;
+import dev.mars.jtable.core.table.TableGroupBy.Aggregate;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for TableGroupBy.
+ */
+public class TableGroupByTest {
+    private static final int ROWS = 5000;
+    private static final String[] CITIES = {"London", "Paris", "Berlin"};
+
+    private static ForkJoinPool pool;
+
+    @BeforeAll
+    static void createPool() {
+        pool = new ForkJoinPool(4);
+    }
+
+    @AfterAll
+    static void shutdownPool() {
+        pool.shutdown();
+    }
+
+    private ITable createTable(String core) {
+        ITable table;
+        switch (core) {
+            case "TableCore":
+                table = new TableCore();
+                break;
+            case "OptimizedTableCore":
+                table = new OptimizedTableCore();
+                break;
+            case "ColumnarTableCore":
+                table = new ColumnarTableCore();
+                break;
+            case "OffHeapTableCore":
+                table = new OffHeapTableCore();
+                break;
+            case "StampedLockTable":
+                table = new StampedLockTable(new OptimizedTableCore());
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown core: " + core);
+        }
+        LinkedHashMap<String, String> columns = new LinkedHashMap<>();
+        columns.put("City", "string");
+        columns.put("Grade", "int");
+        columns.put("Active", "boolean");
+        columns.put("Salary", "double");
+        table.setColumns(columns);
+
+        for (int i = 0; i < ROWS; i++) {
+            Map<String, String> row = new HashMap<>();
+            row.put("City", CITIES[i % 3]);
+            row.put("Grade", String.valueOf(i % 7));
+            row.put("Active", String.valueOf(i % 2 == 0));
+            row.put("Salary", String.valueOf(salary(i)));
+            table.addRow(row);
+        }
+        for (int i = 0; i < ROWS; i += 11) {
+            table.setValue(i, "Salary", null);
+        }
+        return table;
+    }
+
+    private static double salary(int row) {
+        return 20000.0 + (row * 31 % 1000) * 10.0;
+    }
+
+    private static boolean hasSalary(int row) {
+        return row % 11 != 0;
+    }
+
+    private static int rowOf(ITable result, String column, Object value) {
+        for (int i = 0; i < result.getRowCount(); i++) {
+            if (value.equals(result.getValueObject(i, column))) {
+                return i;
+            }
+        }
+        fail("No group for " + value);
+        return -1;
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"TableCore", "OptimizedTableCore", "ColumnarTableCore", "OffHeapTableCore", "StampedLockTable"})
+    void testGroupByStringColumn(String core) {
+        ITable table = createTable(core);
+        ITable result = TableGroupBy.groupBy(table, "City")
+                .withPool(pool)
+                .withMinPartitionRows(256)
+                .aggregate(Aggregate.count(), Aggregate.count("Salary"), Aggregate.sum("Salary"),
+                        Aggregate.min("Salary"), Aggregate.max("Salary"), Aggregate.avg("Salary").as("Average"));
+
+        assertEquals(3, result.getRowCount());
+        assertEquals(7, result.getColumnCount());
+        assertEquals("count(Salary)", result.getColumnName(2));
+        assertEquals("Average", result.getColumnName(6));
+        // Groups come back in the order they first appear
+        for (int c = 0; c < CITIES.length; c++) {
+            assertEquals(CITIES[c], result.getValueObject(c, "City"));
+
+            int rows = 0;
+            int withSalary = 0;
+            double sum = 0;
+            double min = Double.MAX_VALUE;
+            double max = -Double.MAX_VALUE;
+            for (int i = c; i < ROWS; i += 3) {
+                rows++;
+                if (hasSalary(i)) {
+                    withSalary++;
+                    sum += salary(i);
+                    min = Math.min(min, salary(i));
+                    max = Math.max(max, salary(i));
+                }
+            }
+            assertEquals(rows, result.getValueObject(c, "count"));
+            assertEquals(withSalary, result.getValueObject(c, "count(Salary)"));
+            assertEquals(sum, (Double) result.getValueObject(c, "sum(Salary)"), 1e-6);
+            assertEquals(min, result.getValueObject(c, "min(Salary)"));
+            assertEquals(max, result.getValueObject(c, "max(Salary)"));
+            assertEquals(sum / withSalary, (Double) result.getValueObject(c, "Average"), 1e-9);
+        }
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"TableCore", "ColumnarTableCore", "OffHeapTableCore"})
+    void testPrimitiveAndCompositeKeys(String core) {
+        ITable table = createTable(core);
+
+        ITable byGrade = TableGroupBy.groupBy(table, "Grade").withPool(pool).withMinPartitionRows(100)
+                .aggregate(Aggregate.count());
+        assertEquals(7, byGrade.getRowCount());
+        for (int grade = 0; grade < 7; grade++) {
+            int expected = (ROWS - grade + 6) / 7;
+            assertEquals(expected, byGrade.getValueObject(rowOf(byGrade, "Grade", grade), "count"));
+        }
+
+        ITable byActive = TableGroupBy.groupBy(table, "Active").aggregate(Aggregate.count());
+        assertEquals(2, byActive.getRowCount());
+        assertEquals(ROWS / 2, byActive.getValueObject(rowOf(byActive, "Active", true), "count"));
+
+        ITable byCityAndGrade = TableGroupBy.groupBy(table, "City", "Grade").withPool(pool).withMinPartitionRows(100)
+                .aggregate(Aggregate.count());
+        assertEquals(21, byCityAndGrade.getRowCount());
+        int total = 0;
+        for (int i = 0; i < byCityAndGrade.getRowCount(); i++) {
+            total += (Integer) byCityAndGrade.getValueObject(i, "count");
+        }
+        assertEquals(ROWS, total);
+
+        ITable all = TableGroupBy.groupBy(table).aggregate(Aggregate.count(), Aggregate.count("Salary"));
+        assertEquals(1, all.getRowCount());
+        assertEquals(ROWS, all.getValueObject(0, "count"));
+        assertEquals(ROWS - (ROWS + 10) / 11, all.getValueObject(0, "count(Salary)"));
+    }
+
+    @Test
+    void testParallelResultMatchesSequential() {
+        ITable table = createTable("ColumnarTableCore");
+        ITable sequential = TableGroupBy.groupBy(table, "Grade").withMinPartitionRows(ROWS)
+                .aggregate(Aggregate.sum("Salary"), Aggregate.max("Salary"));
+        ITable parallel = TableGroupBy.groupBy(table, "Grade").withPool(pool).withMinPartitionRows(64)
+                .aggregate(Aggregate.sum("Salary"), Aggregate.max("Salary"));
+
+        assertEquals(sequential.getRowCount(), parallel.getRowCount());
+        for (int i = 0; i < sequential.getRowCount(); i++) {
+            assertEquals(sequential.getValueObject(i, "Grade"), parallel.getValueObject(i, "Grade"));
+            assertEquals((Double) sequential.getValueObject(i, "sum(Salary)"),
+                    (Double) parallel.getValueObject(i, "sum(Salary)"), 1e-6);
+            assertEquals(sequential.getValueObject(i, "max(Salary)"), parallel.getValueObject(i, "max(Salary)"));
+        }
+    }
+
+    @Test
+    void testNullKeysAndEmptyMeasures() {
+        ITable table = createTable("OptimizedTableCore");
+        table.setValue(1, "Grade", null);
+        table.setValue(2, "Grade", null);
+        table.setValue(0, "Grade", 99);
+
+        ITable result = TableGroupBy.groupBy(table, "Grade").withPool(pool).withMinPartitionRows(16)
+                .aggregate(Aggregate.count(), Aggregate.sum("Salary"));
+        int nullGroup = -1;
+        for (int i = 0; i < result.getRowCount(); i++) {
+            if (result.getValueObject(i, "Grade") == null) {
+                nullGroup = i;
+            }
+        }
+        assertEquals(1, nullGroup);
+        assertEquals(2, result.getValueObject(nullGroup, "count"));
+
+        // Row 0 is alone in its group and has a null salary
+        int alone = rowOf(result, "Grade", 99);
+        assertEquals(1, result.getValueObject(alone, "count"));
+        assertNull(result.getValueObject(alone, "sum(Salary)"));
+    }
+
+    @Test
+    void testInvalidArguments() {
+        ITable table = createTable("ColumnarTableCore");
+        assertThrows(IllegalArgumentException.class, () -> TableGroupBy.groupBy(null, "City"));
+        assertThrows(IllegalArgumentException.class, () -> TableGroupBy.groupBy(table, "Missing"));
+        assertThrows(IllegalArgumentException.class,
+                () -> TableGroupBy.groupBy(table, "City").aggregate(Aggregate.sum("City")));
+        assertThrows(IllegalArgumentException.class,
+                () -> TableGroupBy.groupBy(table, "City").aggregate(Aggregate.sum("Missing")));
+        assertThrows(IllegalArgumentException.class,
+                () -> TableGroupBy.groupBy(table, "City").aggregate(Aggregate.count(), Aggregate.count()));
+        assertThrows(IllegalArgumentException.class,
+                () -> TableGroupBy.groupBy(table, "City").aggregate(Aggregate.count().as("City")));
+    }
+}
@@ -0,0 +1,273 @@
+/*
+ * Copyright 2025 Mark Andrew Ray-Smith Cityline Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.mars.jtable.core.table;
+
+import dev.mars.jtable.core.model.ITable;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for TableJoin.
+ */
+public class TableJoinTest {
+
+    private ITable createCore(String core, String name) {
+        ITable table;
+        switch (core) {
+            case "TableCore":
+                table = new TableCore(name);
+                break;
+            case "OptimizedTableCore":
+                table = new OptimizedTableCore();
+                break;
+            case "ColumnarTableCore":
+                table = new ColumnarTableCore(name);
+                break;
+            case "OffHeapTableCore":
+                table = new OffHeapTableCore();
+                break;
+            case "StampedLockTable":
+                table = new StampedLockTable(new ColumnarTableCore());
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown core: " + core);
+        }
+        table.setName(name);
+        return table;
+    }
+
+    /**
+     * Orders 0..9 for customers 0..4 in turn, with order 9 for a customer that does not
+     * exist and order 8 for no customer at all.
+     */
+    private ITable createOrders(String core, int customers) {
+        ITable orders = createCore(core, "Orders");
+        LinkedHashMap<String, String> columns = new LinkedHashMap<>();
+        columns.put("OrderId", "int");
+        columns.put("CustomerId", "int");
+        columns.put("Amount", "double");
+        orders.setColumns(columns);
+        for (int i = 0; i < 10; i++) {
+            Map<String, String> row = new HashMap<>();
+            row.put("OrderId", String.valueOf(i));
+            row.put("CustomerId", String.valueOf(i == 9 ? 99 : i % customers));
+            row.put("Amount", String.valueOf(i * 10.0));
+            orders.addRow(row);
+        }
+        orders.setValue(8, "CustomerId", null);
+        return orders;
+    }
+
+    private ITable createCustomers(String core, int count) {
+        ITable customers = createCore(core, "Customers");
+        LinkedHashMap<String, String> columns = new LinkedHashMap<>();
+        columns.put("Id", "int");
+        columns.put("Name", "string");
+        columns.put("Amount", "double");
+        customers.setColumns(columns);
+        for (int i = 0; i < count; i++) {
+            Map<String, String> row = new HashMap<>();
+            row.put("Id", String.valueOf(i));
+            row.put("Name", "Customer" + i);
+            row.put("Amount", String.valueOf(i * 1000.0));
+            customers.addRow(row);
+        }
+        return customers;
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"TableCore", "OptimizedTableCore", "ColumnarTableCore", "OffHeapTableCore", "StampedLockTable"})
+    void testInnerJoin(String core) {
+        ITable orders = createOrders(core, 5);
+        ITable result = TableJoin.of(orders, createCustomers(core, 5)).on("CustomerId", "Id").innerJoin();
+
+        assertEquals(8, result.getRowCount());
+        assertEquals(5, result.getColumnCount());
+        assertEquals("Name", result.getColumnName(3));
+        // The colliding right column is prefixed with the right table's name
+        assertEquals("Customers.Amount", result.getColumnName(4));
+        for (int i = 0; i < 8; i++) {
+            assertEquals(i, result.getValueObject(i, "OrderId"));
+            assertEquals(i * 10.0, result.getValueObject(i, "Amount"));
+            assertEquals("Customer" + (i % 5), result.getValueObject(i, "Name"));
+            assertEquals((i % 5) * 1000.0, result.getValueObject(i, "Customers.Amount"));
+        }
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"TableCore", "OptimizedTableCore", "ColumnarTableCore", "OffHeapTableCore", "StampedLockTable"})
+    void testLeftJoin(String core) {
+        ITable result = TableJoin.of(createOrders(core, 5), createCustomers(core, 5)).on("CustomerId", "Id").leftJoin();
+
+        assertEquals(10, result.getRowCount());
+        for (int i = 0; i < 10; i++) {
+            assertEquals(i, result.getValueObject(i, "OrderId"));
+        }
+        assertEquals("Customer3", result.getValueObject(3, "Name"));
+        assertNull(result.getValueObject(8, "CustomerId"));
+        assertNull(result.getValueObject(8, "Name"));
+        assertEquals(99, result.getValueObject(9, "CustomerId"));
+        assertNull(result.getValueObject(9, "Name"));
+        assertNull(result.getValueObject(9, "Customers.Amount"));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"TableCore", "OptimizedTableCore", "ColumnarTableCore", "OffHeapTableCore", "StampedLockTable"})
+    void testSemiAndAntiJoin(String core) {
+        ITable orders = createOrders(core, 5);
+        // Only customers 0..2 exist, so orders 3, 4, 8 and 9 have no match
+        TableJoin join = TableJoin.of(orders, createCustomers(core, 3)).on("CustomerId", "Id");
+
+        RowSelection semi = join.semiJoin();
+        assertSame(orders, semi.getTable());
+        assertArrayEquals(new int[] {0, 1, 2, 5, 6, 7}, semi.toArray());
+
+        RowSelection anti = join.antiJoin();
+        assertArrayEquals(new int[] {3, 4, 8, 9}, anti.toArray());
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"TableCore", "ColumnarTableCore", "OffHeapTableCore"})
+    void testBuildSideDoesNotChangeTheResult(String core) {
+        // With more customers than orders the hash table is built on the left table
+        ITable orders = createOrders(core, 5);
+        ITable customers = createCustomers(core, 5);
+        for (int i = 5; i < 50; i++) {
+            customers.addRow(Map.of("Id", String.valueOf(i % 5), "Name", "Duplicate" + i, "Amount", "0"));
+        }
+        TableJoin join = TableJoin.of(orders, customers).on("CustomerId", "Id");
+
+        ITable inner = join.innerJoin();
+        assertEquals(8 * 10, inner.getRowCount());
+        int previousOrder = -1;
+        for (int i = 0; i < inner.getRowCount(); i++) {
+            int order = (Integer) inner.getValueObject(i, "OrderId");
+            assertTrue(order >= previousOrder);
+            previousOrder = order;
+        }
+        // The matches of a left row come in the order of the right table
+        assertEquals("Customer0", inner.getValueObject(0, "Name"));
+        assertEquals("Duplicate5", inner.getValueObject(1, "Name"));
+        assertEquals("Duplicate10", inner.getValueObject(2, "Name"));
+
+        ITable leftJoin = join.leftJoin();
+        assertEquals(8 * 10 + 2, leftJoin.getRowCount());
+        assertEquals(8, leftJoin.getValueObject(80, "OrderId"));
+        assertNull(leftJoin.getValueObject(80, "Name"));
+
+        assertEquals(8, join.semiJoin().size());
+        assertArrayEquals(new int[] {8, 9}, join.antiJoin().toArray());
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"TableCore", "ColumnarTableCore", "StampedLockTable"})
+    void testCompositeKeys(String core) {
+        ITable left = createCore(core, "Left");
+        ITable right = createCore(core, "Right");
+        LinkedHashMap<String, String> columns = new LinkedHashMap<>();
+        columns.put("City", "string");
+        columns.put("Year", "int");
+        left.setColumns(columns);
+        LinkedHashMap<String, String> rightColumns = new LinkedHashMap<>();
+        rightColumns.put("City", "string");
+        rightColumns.put("Population", "int");
+        right.setColumns(rightColumns);
+        // An int key column can be joined with a long one
+        right.addColumn(new Column<>("Year", Long.class, null));
+
+        left.addRow(Map.of("City", "London", "Year", "2020"));
+        left.addRow(Map.of("City", "London", "Year", "2021"));
+        left.addRow(Map.of("City", "Paris", "Year", "2020"));
+        right.addRow(Map.of("City", "Paris", "Population", "2"));
+        right.addRow(Map.of("City", "London", "Population", "9"));
+        right.addRow(Map.of("City", "Paris", "Population", "3"));
+        right.setValue(0, "Year", 2020L);
+        right.setValue(1, "Year", 2020L);
+        right.setValue(2, "Year", 2021L);
+
+        ITable result = TableJoin.of(left, right).on("City").on("Year").innerJoin();
+        assertEquals(2, result.getRowCount());
+        assertEquals(3, result.getColumnCount());
+        assertEquals("London", result.getValueObject(0, "City"));
+        assertEquals(9, result.getValueObject(0, "Population"));
+        assertEquals("Paris", result.getValueObject(1, "City"));
+        assertEquals(2, result.getValueObject(1, "Population"));
+
+        assertArrayEquals(new int[] {1}, TableJoin.of(left, right).on("City").on("Year").antiJoin().toArray());
+    }
+
+    @Test
+    void testResultColumnsKeepTheirEncodingAndDefaults() {
+        ColumnarTableCore sales = new ColumnarTableCore("Sales");
+        LinkedHashMap<String, String> columns = new LinkedHashMap<>();
+        columns.put("Region", "string:dict");
+        columns.put("Units", "long");
+        sales.setColumns(columns);
+        ColumnarTableCore managers = new ColumnarTableCore("Managers");
+        columns = new LinkedHashMap<>();
+        columns.put("Region", "string:dict");
+        columns.put("Manager", "string");
+        managers.setColumns(columns);
+        String[] regions = {"North", "South", "North", "East"};
+        for (int i = 0; i < regions.length; i++) {
+            sales.addRow(Map.of("Region", regions[i], "Units", String.valueOf(5_000_000_000L + i)));
+        }
+        managers.addRow(Map.of("Region", "North", "Manager", "Ann"));
+        managers.addRow(Map.of("Region", "South", "Manager", "Bob"));
+
+        ColumnarTableCore result = (ColumnarTableCore) TableJoin.of(sales, managers).on("Region").leftJoin();
+
+        assertInstanceOf(DictionaryColumn.class, result.getColumn("Region"));
+        assertTrue(((ColumnVector.StringVector) result.vectors().get(0)).isDictionaryEncoded());
+        assertEquals(Long.class, result.getColumn("Units").getType());
+        assertEquals(0L, result.getColumn("Units").createDefaultValue());
+        assertEquals("", result.getColumn("Manager").createDefaultValue());
+        assertEquals(5_000_000_003L, result.getValueObject(3, "Units"));
+        assertNull(result.getValueObject(3, "Manager"));
+
+        ITable sorted = TableSort.toTable(result, new int[] {3, 2, 1, 0});
+        assertInstanceOf(DictionaryColumn.class, sorted.getColumn("Region"));
+        assertEquals("East", sorted.getValueObject(0, "Region"));
+    }
+
+    @Test
+    void testEmptyTables() {
+        ITable orders = createOrders("ColumnarTableCore", 5);
+        ITable customers = createCustomers("ColumnarTableCore", 0);
+        assertEquals(0, TableJoin.of(orders, customers).on("CustomerId", "Id").innerJoin().getRowCount());
+        assertEquals(10, TableJoin.of(orders, customers).on("CustomerId", "Id").leftJoin().getRowCount());
+        assertEquals(0, TableJoin.of(customers, orders).on("Id", "CustomerId").leftJoin().getRowCount());
+        assertTrue(TableJoin.of(orders, customers).on("CustomerId", "Id").semiJoin().isEmpty());
+    }
+
+    @Test
+    void testInvalidArguments() {
+        ITable orders = createOrders("ColumnarTableCore", 5);
+        ITable customers = createCustomers("ColumnarTableCore", 5);
+        assertThrows(IllegalArgumentException.class, () -> TableJoin.of(null, customers));
+        assertThrows(IllegalArgumentException.class, () -> TableJoin.of(orders, customers).on("Missing", "Id"));
+        assertThrows(IllegalArgumentException.class, () -> TableJoin.of(orders, customers).on("CustomerId", "Name"));
+        assertThrows(IllegalArgumentException.class, () -> TableJoin.of(orders, customers).on("OrderId", "Amount"));
+        assertThrows(IllegalStateException.class, () -> TableJoin.of(orders, customers).innerJoin());
+    }
+}
@@ -0,0 +1,173 @@
+/*
+ * Copyright 2025 Mark Andrew Ray-Smith Cityline Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.mars.jtable.core.table;
+
+import dev.mars.jtable.core.model.ITable;
+import dev.mars.jtable.core.model.TableMemoryUsage;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for ITable.estimateMemoryUsage and TableMemoryRegistry.
+ */
+public class TableMemoryUsageTest {
+    private static final int ROWS = 2000;
+
+    private ITable createTable(String core) {
+        ITable table;
+        switch (core) {
+            case "TableCore":
+                table = new TableCore();
+                break;
+            case "OptimizedTableCore":
+                table = new OptimizedTableCore();
+                break;
+            case "ColumnarTableCore":
+                table = new ColumnarTableCore();
+                break;
+            case "OffHeapTableCore":
+                table = new OffHeapTableCore();
+                break;
+            case "StampedLockTable":
+                table = new StampedLockTable(new ColumnarTableCore());
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown core: " + core);
+        }
+        LinkedHashMap<String, String> columns = new LinkedHashMap<>();
+        columns.put("Id", "int");
+        columns.put("Name", "string");
+        columns.put("Salary", "double");
+        table.setColumns(columns);
+        return table;
+    }
+
+    private void addRows(ITable table, int from, int to) {
+        for (int i = from; i < to; i++) {
+            Map<String, String> row = new HashMap<>();
+            row.put("Id", String.valueOf(i));
+            row.put("Name", "Name" + i);
+            // The trailing zero is kept as a decimal scale
+            row.put("Salary", (1000 + i) + ".50");
+            table.addRow(row);
+        }
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"TableCore", "OptimizedTableCore", "ColumnarTableCore", "OffHeapTableCore", "StampedLockTable"})
+    void testEstimateGrowsWithRows(String core) {
+        ITable table = createTable(core);
+        TableMemoryUsage empty = table.estimateMemoryUsage();
+        assertEquals(0, empty.getRowCount());
+        assertEquals(3, empty.getColumns().size());
+
+        addRows(table, 0, ROWS / 2);
+        TableMemoryUsage half = table.estimateMemoryUsage();
+        addRows(table, ROWS / 2, ROWS);
+        TableMemoryUsage full = table.estimateMemoryUsage();
+
+        assertEquals(ROWS, full.getRowCount());
+        assertTrue(half.getTotalBytes() > empty.getTotalBytes());
+        assertTrue(full.getTotalBytes() > half.getTotalBytes());
+        // Each string value takes at least its characters
+        assertTrue(full.getColumn("Name").getValueBytes() >= ROWS * "Name0000".length());
+        assertTrue(full.getColumn("Salary").getDecimalScaleBytes() >= ROWS);
+        assertEquals(0, full.getColumn("Id").getIndexBytes());
+        assertNull(full.getColumn("Missing"));
+        assertEquals(full.getHeapBytes() + full.getOffHeapBytes(), full.getTotalBytes());
+        assertTrue(full.toString().contains("Salary"));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"TableCore", "OptimizedTableCore", "ColumnarTableCore", "OffHeapTableCore", "StampedLockTable"})
+    void testIndexesAreCounted(String core) {
+        ITable table = createTable(core);
+        addRows(table, 0, ROWS);
+        long before = table.estimateMemoryUsage().getTotalBytes();
+
+        table.createIndex("Id");
+        table.createSortedIndex("Name");
+        TableMemoryUsage usage = table.estimateMemoryUsage();
+        assertTrue(usage.getColumn("Id").getIndexBytes() > ROWS * 4);
+        assertTrue(usage.getColumn("Name").getIndexBytes() > ROWS * 4);
+        assertEquals(0, usage.getColumn("Salary").getIndexBytes());
+        assertTrue(usage.getTotalBytes() > before);
+    }
+
+    @Test
+    void testColumnarStorageIsSmaller() {
+        ITable rows = createTable("TableCore");
+        ITable columns = createTable("ColumnarTableCore");
+        addRows(rows, 0, ROWS);
+        addRows(columns, 0, ROWS);
+
+        TableMemoryUsage rowUsage = rows.estimateMemoryUsage();
+        TableMemoryUsage columnUsage = columns.estimateMemoryUsage();
+        assertTrue(rowUsage.getRowBytes() > 0);
+        assertEquals(0, columnUsage.getRowBytes());
+        assertTrue(columnUsage.getColumn("Id").getValueBytes() < rowUsage.getColumn("Id").getValueBytes());
+        assertTrue(columnUsage.getColumn("Salary").getValueBytes() < rowUsage.getColumn("Salary").getValueBytes());
+        assertTrue(columnUsage.getTotalBytes() < rowUsage.getTotalBytes());
+        // Columnar tables keep zone maps
+        assertTrue(columnUsage.getColumn("Id").getStatisticsBytes() > 0);
+    }
+
+    @Test
+    void testOffHeapBytesAreReportedSeparately() {
+        try (OffHeapTableCore table = (OffHeapTableCore) createTable("OffHeapTableCore")) {
+            addRows(table, 0, ROWS);
+            TableMemoryUsage usage = table.estimateMemoryUsage();
+            assertEquals(table.getOffHeapBytes(), usage.getOffHeapBytes());
+            assertTrue(usage.getOffHeapBytes() >= ROWS * (4 + 8));
+            assertTrue(usage.getColumn("Id").getValueBytes() < ROWS);
+        }
+    }
+
+    @Test
+    void testSnapshotsAndViews() {
+        ITable table = createTable("TableCore");
+        addRows(table, 0, ROWS);
+
+        TableMemoryUsage snapshot = table.snapshot().estimateMemoryUsage();
+        assertEquals(ROWS, snapshot.getRowCount());
+        assertTrue(snapshot.getColumn("Name").getValueBytes() > 0);
+
+        TableMemoryUsage view = table.view(new int[] {1, 2, 3}, "Name").estimateMemoryUsage();
+        assertEquals(3, view.getRowCount());
+        assertEquals(1, view.getColumns().size());
+        assertEquals(0, view.getColumn("Name").getTotalBytes());
+        assertTrue(view.getRowBytes() > 0);
+    }
+
+    @Test
+    void testRegistryReportsLiveTables() {
+        ITable table = createTable("ColumnarTableCore");
+        table.setName("RegistryTestTable");
+        addRows(table, 0, ROWS);
+
+        assertTrue(TableMemoryRegistry.getLiveTableCount() >= 1);
+        assertTrue(TableMemoryRegistry.report().stream()
+                .anyMatch(usage -> usage.getTableName().equals("RegistryTestTable") && usage.getRowCount() == ROWS));
+        assertTrue(TableMemoryRegistry.getTotalBytes() >= table.estimateMemoryUsage().getTotalBytes());
+    }
+}
@@ -0,0 +1,261 @@
+/*
+ * Copyright 2025 Mark Andrew Ray-Smith Cityline Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.mars.jtable.core.table;
+
+import dev.mars.jtable.core.model.IRowCursor;
+import dev.mars.jtable.core.model.ITable;
+import dev.mars.jtable.core.table.TableQuery.Operator;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.IntPredicate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for TableQuery and RowSelection.
+ */
+public class TableQueryTest {
+    private static final int ROWS = 200;
+    private static final String[] CITIES = {"London", "Paris", "Berlin", "Madrid"};
+
+    private ITable createTable(String core) {
+        ITable table;
+        switch (core) {
+            case "TableCore":
+                table = new TableCore();
+                break;
+            case "OptimizedTableCore":
+                table = new OptimizedTableCore();
+                break;
+            case "ColumnarTableCore":
+                table = new ColumnarTableCore();
+                break;
+            case "OffHeapTableCore":
+                table = new OffHeapTableCore();
+                break;
+            case "StampedLockTable":
+                table = new StampedLockTable(new ColumnarTableCore());
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown core: " + core);
+        }
+        LinkedHashMap<String, String> columns = new LinkedHashMap<>();
+        columns.put("Id", "int");
+        columns.put("Name", "string");
+        columns.put("City", "string:dict");
+        columns.put("Salary", "double");
+        columns.put("Hired", "date");
+        columns.put("Updated", "datetime");
+        columns.put("Active", "boolean");
+        table.setColumns(columns);
+
+        for (int i = 0; i < ROWS; i++) {
+            Map<String, String> row = new HashMap<>();
+            row.put("Id", String.valueOf(i));
+            row.put("Name", "Name" + (i % 7));
+            row.put("City", CITIES[i % CITIES.length]);
+            row.put("Salary", String.valueOf(30000.0 + (i * 37 % 100) * 500.5));
+            row.put("Hired", LocalDate.of(2020, 1, 1).plusDays(i * 11L).toString());
+            row.put("Updated", LocalDateTime.of(2024, 1, 1, 0, 0).plusMinutes(i * 97L).toString());
+            row.put("Active", String.valueOf(i % 3 == 0));
+            table.addRow(row);
+        }
+        // Every tenth row has a null salary, and every fifteenth a null city
+        for (int i = 0; i < ROWS; i += 10) {
+            table.setValue(i, "Salary", null);
+        }
+        for (int i = 0; i < ROWS; i += 15) {
+            table.setValue(i, "City", null);
+        }
+        return table;
+    }
+
+    private static int[] expected(IntPredicate test) {
+        List<Integer> rows = new ArrayList<>();
+        for (int i = 0; i < ROWS; i++) {
+            if (test.test(i)) {
+                rows.add(i);
+            }
+        }
+        return rows.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    private static double salary(int row) {
+        return 30000.0 + (row * 37 % 100) * 500.5;
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"TableCore", "OptimizedTableCore", "ColumnarTableCore", "OffHeapTableCore", "StampedLockTable"})
+    void testNumericConditions(String core) {
+        ITable table = createTable(core);
+
+        assertArrayEquals(expected(i -> i > 150),
+                TableQuery.from(table).where("Id", Operator.GREATER_THAN, 150).select().toArray());
+        assertArrayEquals(expected(i -> i <= 64),
+                TableQuery.from(table).where("Id", Operator.LESS_THAN_OR_EQUAL, 64L).select().toArray());
+        assertArrayEquals(expected(i -> i < 10.5),
+                TableQuery.from(table).where("Id", Operator.LESS_THAN, 10.5).select().toArray());
+        assertArrayEquals(expected(i -> i != 63),
+                TableQuery.from(table).where("Id", Operator.NOT_EQUALS, 63).select().toArray());
+
+        // Null salaries never match a comparison, not even NOT_EQUALS
+        assertArrayEquals(expected(i -> i % 10 != 0 && salary(i) >= 50000),
+                TableQuery.from(table).where("Salary", Operator.GREATER_THAN_OR_EQUAL, 50000).select().toArray());
+        assertArrayEquals(expected(i -> i % 10 != 0 && salary(i) != 30000.0),
+                TableQuery.from(table).where("Salary", Operator.NOT_EQUALS, 30000.0).select().toArray());
+        assertArrayEquals(expected(i -> i % 10 == 0),
+                TableQuery.from(table).where("Salary", Operator.IS_NULL, null).select().toArray());
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"TableCore", "OptimizedTableCore", "ColumnarTableCore", "OffHeapTableCore", "StampedLockTable"})
+    void testOtherColumnTypes(String core) {
+        ITable table = createTable(core);
+
+        assertArrayEquals(expected(i -> i % 15 != 0 && i % 4 == 0),
+                TableQuery.from(table).where("City", Operator.EQUALS, "London").select().toArray());
+        assertArrayEquals(expected(i -> i % 15 != 0 && i % 4 != 1),
+                TableQuery.from(table).where("City", Operator.NOT_EQUALS, "Paris").select().toArray());
+        assertEquals(0, TableQuery.from(table).where("City", Operator.EQUALS, "Rome").count());
+        assertEquals(ROWS - 14, TableQuery.from(table).where("City", Operator.NOT_EQUALS, "Rome").count());
+        assertArrayEquals(expected(i -> i % 15 != 0 && CITIES[i % 4].compareTo("M") > 0),
+                TableQuery.from(table).where("City", Operator.GREATER_THAN, "M").select().toArray());
+
+        assertArrayEquals(expected(i -> i % 7 == 3),
+                TableQuery.from(table).where("Name", Operator.EQUALS, "Name3").select().toArray());
+
+        LocalDate cutoff = LocalDate.of(2021, 6, 1);
+        assertArrayEquals(expected(i -> LocalDate.of(2020, 1, 1).plusDays(i * 11L).isBefore(cutoff)),
+                TableQuery.from(table).where("Hired", Operator.LESS_THAN, cutoff).select().toArray());
+
+        LocalDateTime from = LocalDateTime.of(2024, 1, 3, 0, 0);
+        LocalDateTime to = LocalDateTime.of(2024, 1, 5, 0, 0);
+        assertArrayEquals(expected(i -> {
+                    LocalDateTime updated = LocalDateTime.of(2024, 1, 1, 0, 0).plusMinutes(i * 97L);
+                    return !updated.isBefore(from) && updated.isBefore(to);
+                }),
+                TableQuery.from(table)
+                        .where("Updated", Operator.GREATER_THAN_OR_EQUAL, from)
+                        .and("Updated", Operator.LESS_THAN, to)
+                        .select().toArray());
+
+        assertArrayEquals(expected(i -> i % 3 == 0),
+                TableQuery.from(table).where("Active", Operator.EQUALS, true).select().toArray());
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"TableCore", "OptimizedTableCore", "ColumnarTableCore", "OffHeapTableCore", "StampedLockTable"})
+    void testCombinedConditionsAndSelectionView(String core) {
+        ITable table = createTable(core);
+        RowSelection selection = TableQuery.from(table)
+                .where("City", Operator.EQUALS, "Berlin")
+                .and("Active", Operator.EQUALS, true)
+                .and("Salary", Operator.IS_NOT_NULL, null)
+                .select();
+
+        int[] rows = expected(i -> i % 15 != 0 && i % 4 == 2 && i % 3 == 0 && i % 10 != 0);
+        assertArrayEquals(rows, selection.toArray());
+        assertEquals(rows.length, selection.size());
+        assertSame(table, selection.getTable());
+        assertTrue(selection.contains(rows[0]));
+        assertFalse(selection.contains(rows[0] + 1));
+        assertFalse(selection.contains(-1));
+        assertEquals(rows[1], selection.nextSelected(rows[0] + 1));
+        assertEquals(-1, selection.nextSelected(rows[rows.length - 1] + 1));
+
+        IRowCursor cursor = selection.cursor();
+        int id = table.getSchema().indexOf("Id");
+        List<Integer> seen = new ArrayList<>();
+        while (cursor.next()) {
+            seen.add(cursor.getInt(id));
+        }
+        assertEquals(rows.length, seen.size());
+        for (int i = 0; i < rows.length; i++) {
+            assertEquals(rows[i], seen.get(i));
+        }
+        assertThrows(IndexOutOfBoundsException.class, () -> cursor.moveTo(rows[0] + 1));
+
+        // The selection is a view over the table, not a copy
+        table.setValue(rows[0], "Name", "Changed");
+        cursor.moveTo(rows[0]);
+        assertEquals("Changed", cursor.getString(table.getSchema().indexOf("Name")));
+    }
+
+    @Test
+    void testWrappersAndViewsQueryTheColumnVectors() {
+        ColumnarTableCore columnar = (ColumnarTableCore) createTable("ColumnarTableCore");
+        ITable locked = new StampedLockTable(columnar);
+        ITable view = columnar.view(null, "Salary", "Id");
+        ITable lockedView = locked.view(null, "Id");
+        ITable snapshot = locked.snapshot();
+        int salary = columnar.getSchema().indexOf("Salary");
+
+        assertSame(columnar.columnVector(salary), ((ColumnVectorSource) view).columnVector(0));
+        assertNotNull(((ColumnVectorSource) lockedView).columnVector(0));
+        assertNotNull(((ColumnVectorSource) snapshot).columnVector(salary));
+        assertNull(((ColumnVectorSource) columnar.view(new int[] {1, 0})).columnVector(0));
+        assertNull(((ColumnVectorSource) new StampedLockTable(createTable("TableCore"))).columnVector(0));
+
+        // The wrapper hands out a snapshot of the vector, so a scan is not torn by later writes
+        ColumnVector held = ((ColumnVectorSource) locked).columnVector(salary);
+        locked.setValue(1, "Salary", -1.0);
+        assertEquals(salary(1), held.getDouble(1));
+        assertEquals(-1.0, columnar.getDouble(1, salary));
+
+        int[] highPaid = expected(i -> i % 10 != 0 && salary(i) > 60000.0);
+        for (ITable table : new ITable[] {view, snapshot}) {
+            int[] rows = TableQuery.from(table).where("Salary", Operator.GREATER_THAN, 60000.0).select().toArray();
+            assertArrayEquals(highPaid, rows);
+        }
+        assertArrayEquals(expected(i -> i < 50), TableQuery.from(lockedView).where("Id", Operator.LESS_THAN, 50).select().toArray());
+        assertEquals(ColumnAggregates.summarize(snapshot, "Salary").getSum() - salary(1) - 1.0,
+                ColumnAggregates.summarize(view, "Salary").getSum(), 1e-6);
+    }
+
+    @Test
+    void testInvalidConditions() {
+        ITable table = createTable("ColumnarTableCore");
+        TableQuery query = TableQuery.from(table);
+
+        assertThrows(IllegalArgumentException.class, () -> TableQuery.from(null));
+        assertThrows(IllegalArgumentException.class, () -> query.where("Missing", Operator.EQUALS, 1));
+        assertThrows(IllegalArgumentException.class, () -> query.where("Id", null, 1));
+        assertThrows(IllegalArgumentException.class, () -> query.where("Id", Operator.EQUALS, null));
+        assertThrows(IllegalArgumentException.class, () -> query.where("Id", Operator.EQUALS, "1"));
+        assertThrows(IllegalArgumentException.class, () -> query.where("Hired", Operator.LESS_THAN, "2021-01-01"));
+    }
+
+    @Test
+    void testEmptyTableAndNoConditions() {
+        ITable table = new ColumnarTableCore();
+        LinkedHashMap<String, String> columns = new LinkedHashMap<>();
+        columns.put("Id", "int");
+        table.setColumns(columns);
+        assertTrue(TableQuery.from(table).where("Id", Operator.EQUALS, 1).select().isEmpty());
+
+        ITable full = createTable("OptimizedTableCore");
+        assertEquals(ROWS, TableQuery.from(full).count());
+    }
+}
@@ -0,0 +1,301 @@
+/*
+ * Copyright 2025 Mark Andrew Ray-Smith Cityline Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.mars.jtable.core.table;
+
+import dev.mars.jtable.core.model.ICell;
+import dev.mars.jtable.core.model.IRow;
+import dev.mars.jtable.core.model.IRowCursor;
+import dev.mars.jtable.core.model.ITable;
+import dev.mars.jtable.core.table.TableQuery.Operator;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for ITable.snapshot() and TableSnapshot.
+ */
+public class TableSnapshotTest {
+
+    private ITable createTable(String core) {
+        ITable table;
+        switch (core) {
+            case "TableCore":
+                table = new TableCore();
+                break;
+            case "OptimizedTableCore":
+                table = new OptimizedTableCore();
+                break;
+            case "ColumnarTableCore":
+                table = new ColumnarTableCore();
+                break;
+            case "OffHeapTableCore":
+                table = new OffHeapTableCore();
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown core: " + core);
+        }
+        LinkedHashMap<String, String> columns = new LinkedHashMap<>();
+        columns.put("Name", "string");
+        columns.put("Amount", "double");
+        table.setColumns(columns);
+        return table;
+    }
+
+    private static Map<String, String> row(String name, String amount) {
+        Map<String, String> row = new HashMap<>();
+        row.put("Name", name);
+        row.put("Amount", amount);
+        return row;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static ICell<Object> cell(IRow row, String columnName) {
+        return (ICell<Object>) row.getCell(columnName);
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"TableCore", "OptimizedTableCore", "ColumnarTableCore", "OffHeapTableCore"})
+    void testSnapshotIsIsolatedFromLaterWrites(String core) {
+        ITable table = createTable(core);
+        table.addRow(row("Alice", "10.50"));
+        table.addRow(row("Bob", "20.0"));
+
+        ITable snapshot = table.snapshot();
+        table.addRow(row("Carol", "30.0"));
+        table.setValue(0, "Name", "Alicia");
+        table.setValueAt(1, "Amount", "25.250");
+        table.setValueAt(0, "Amount", "11");
+
+        assertEquals(3, table.getRowCount());
+        assertEquals("Alicia", table.getValueAt(0, "Name"));
+        assertEquals("25.250", table.getValueAt(1, "Amount"));
+
+        assertEquals(2, snapshot.getRowCount());
+        assertEquals("Alice", snapshot.getValueAt(0, "Name"));
+        assertEquals("10.50", snapshot.getValueAt(0, "Amount"));
+        assertEquals(20.0, snapshot.getValueObject(1, "Amount"));
+        assertEquals("Bob", snapshot.getRow(1).getCell("Name").getValue());
+        assertEquals(2, snapshot.getColumnCount());
+        assertEquals(1, snapshot.getSchema().indexOf("Amount"));
+
+        double total = 0;
+        IRowCursor cursor = snapshot.cursor();
+        while (cursor.next()) {
+            total += cursor.getDouble(1);
+        }
+        assertEquals(30.5, total);
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"TableCore", "OptimizedTableCore", "ColumnarTableCore", "OffHeapTableCore"})
+    void testSnapshotIsReadOnly(String core) {
+        ITable table = createTable(core);
+        table.addRow(row("Alice", "1.0"));
+        ITable snapshot = table.snapshot();
+
+        assertThrows(UnsupportedOperationException.class, () -> snapshot.addRow(row("Bob", "2.0")));
+        assertThrows(UnsupportedOperationException.class, () -> snapshot.setValue(0, "Name", "Bob"));
+        assertThrows(UnsupportedOperationException.class, () -> snapshot.setValueAt(0, "Amount", "2"));
+        assertThrows(UnsupportedOperationException.class, () -> snapshot.setDouble(0, 1, 2.0));
+        assertThrows(UnsupportedOperationException.class, () -> snapshot.setColumns(new LinkedHashMap<>()));
+        assertThrows(UnsupportedOperationException.class, () -> snapshot.getRow(0).setValue("Name", "Bob"));
+        assertThrows(UnsupportedOperationException.class, () -> snapshot.getRow(0).getCell("Name").setValue(null));
+        assertThrows(UnsupportedOperationException.class, () -> snapshot.getRows().remove(0));
+        assertThrows(IndexOutOfBoundsException.class, () -> snapshot.getValueAt(1, "Name"));
+        assertSame(snapshot, snapshot.snapshot());
+        assertEquals("Alice", table.getValueAt(0, "Name"));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"TableCore", "OptimizedTableCore", "ColumnarTableCore", "OffHeapTableCore"})
+    void testRowAndCellWritesAfterSnapshot(String core) {
+        ITable table = createTable(core);
+        table.addRow(row("Alice", "10.50"));
+        table.addRow(row("Bob", "20.0"));
+        IRow held = table.getRow(1);
+        ITable snapshot = table.snapshot();
+
+        table.getRow(0).setValue("Amount", 99.0);
+        cell(table.getRow(0), "Name").setValue("Alicia");
+        held.setValue("Name", "Robert");
+        cell(table.getRows().get(1), "Amount").setValue(21.0);
+
+        assertEquals(99.0, table.getValueObject(0, "Amount"));
+        assertEquals("Alicia", table.getValueAt(0, "Name"));
+        assertEquals("Robert", held.getCell("Name").getValue());
+        assertEquals(21.0, held.getCell("Amount").getValue());
+
+        assertEquals("10.50", snapshot.getValueAt(0, "Amount"));
+        assertEquals("Alice", snapshot.getRow(0).getCell("Name").getValue());
+        assertEquals("Bob", snapshot.getValueAt(1, "Name"));
+        assertEquals(20.0, snapshot.getValueObject(1, "Amount"));
+        assertThrows(IllegalArgumentException.class, () -> cell(table.getRow(0), "Amount").setValue("text"));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"TableCore", "OptimizedTableCore"})
+    void testAddedRowIsCopied(String core) {
+        ITable table = createTable(core);
+        IRow added = table.createRow();
+        added.setValue("Name", "Alice");
+        added.setValue("Amount", 1.0);
+        table.addRow(added);
+        ITable snapshot = table.snapshot();
+
+        added.setValue("Name", "Changed");
+        assertEquals("Alice", table.getValueAt(0, "Name"));
+        assertEquals("Alice", snapshot.getValueAt(0, "Name"));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"ColumnarTableCore", "OffHeapTableCore"})
+    void testColumnarSnapshotsShareVectors(String core) {
+        ColumnarTableCore table = (ColumnarTableCore) createTable(core);
+        LinkedHashMap<String, String> columns = new LinkedHashMap<>();
+        columns.put("Name", "string");
+        columns.put("Amount", "double");
+        columns.put("Count", "int");
+        columns.put("Flag", "boolean");
+        columns.put("Day", "date");
+        table.setColumns(columns);
+        int rowCount = ZoneMap.CHUNK_ROWS * 2 + 10;
+        for (int i = 0; i < rowCount; i++) {
+            table.appendBatch(new Object[][] {{"Row" + i, i + 0.5, i, i % 2 == 0, LocalDate.of(2024, 1, 1).plusDays(i)}});
+        }
+
+        ITable first = table.snapshot();
+        assertTrue(first instanceof ColumnarTableCore);
+
+        // Appends go past the snapshot; overwrites copy the shared storage first
+        table.appendBatch(new Object[][] {{"Added", null, null, null, null}});
+        table.setInt(5, 2, -1);
+        table.setBoolean(6, 3, false);
+        table.setValue(7, "Name", null);
+        table.setValue(8, "Amount", null);
+        table.setValue(9, "Day", LocalDate.of(2000, 1, 1));
+        ITable second = table.snapshot();
+        table.setInt(5, 2, -2);
+
+        assertEquals(rowCount, first.getRowCount());
+        assertEquals(5, first.getInt(5, 2));
+        assertTrue(first.getBoolean(6, 3));
+        assertEquals("Row7", first.getValueAt(7, "Name"));
+        assertEquals(8.5, first.getValueObject(8, "Amount"));
+        assertEquals(LocalDate.of(2024, 1, 10), first.getValueObject(9, "Day"));
+        assertEquals(rowCount + 1, second.getRowCount());
+        assertEquals(-1, second.getInt(5, 2));
+        assertTrue(second.isNull(rowCount, 2));
+        assertEquals(-2, table.getInt(5, 2));
+
+        // The statistics used to skip chunks are kept per snapshot too
+        assertEquals(0, TableQuery.from(first).where("Count", Operator.LESS_THAN, 0).count());
+        assertEquals(1, TableQuery.from(second).where("Count", Operator.LESS_THAN, 0).count());
+        assertEquals(0, TableQuery.from(first).where("Amount", Operator.IS_NULL, null).count());
+        assertEquals(2, TableQuery.from(second).where("Amount", Operator.IS_NULL, null).count());
+
+        // The snapshot outlives the storage of the table
+        if (table instanceof OffHeapTableCore) {
+            ((OffHeapTableCore) table).close();
+        } else {
+            table.setColumns(new LinkedHashMap<>(Map.of("Other", "int")));
+        }
+        assertEquals("Row" + (rowCount - 1), first.getValueAt(rowCount - 1, "Name"));
+        assertEquals((rowCount - 1) + 0.5, first.getDouble(rowCount - 1, 1));
+        assertEquals(rowCount, ColumnAggregates.summarize(first, "Count").getCount());
+    }
+
+    @Test
+    void testSnapshotsShareRowsAcrossChunks() {
+        ITable table = createTable("OptimizedTableCore");
+        int rowCount = ChunkedRowList.CHUNK_SIZE * 3 + 10;
+        for (int i = 0; i < rowCount; i++) {
+            table.addRow(row("Row" + i, i + ".50"));
+        }
+
+        ITable first = table.snapshot();
+        table.setValue(5, "Name", "Changed");
+        table.setValue(rowCount - 1, "Name", "Changed");
+        ITable second = table.snapshot();
+        table.setValue(5, "Name", "Changed again");
+        table.setValueAt(ChunkedRowList.CHUNK_SIZE + 1, "Amount", "7.000");
+
+        assertEquals("Row5", first.getValueAt(5, "Name"));
+        assertEquals("Row" + (rowCount - 1), first.getValueAt(rowCount - 1, "Name"));
+        assertEquals("Changed", second.getValueAt(5, "Name"));
+        assertEquals("Changed", second.getValueAt(rowCount - 1, "Name"));
+        assertEquals("Changed again", table.getValueAt(5, "Name"));
+
+        String amount = (ChunkedRowList.CHUNK_SIZE + 1) + ".50";
+        assertEquals(amount, first.getValueAt(ChunkedRowList.CHUNK_SIZE + 1, "Amount"));
+        assertEquals(amount, second.getValueAt(ChunkedRowList.CHUNK_SIZE + 1, "Amount"));
+        assertEquals("7.000", table.getValueAt(ChunkedRowList.CHUNK_SIZE + 1, "Amount"));
+
+        List<IRow> rows = first.getRows();
+        assertEquals(rowCount, rows.size());
+        assertEquals("Row6", rows.get(6).getCell("Name").getValue());
+    }
+
+    @Test
+    void testSnapshotWhileLoading() throws InterruptedException {
+        ITable table = createTable("OptimizedTableCore");
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        int rowCount = 20_000;
+
+        Thread loader = new Thread(() -> {
+            try {
+                for (int i = 0; i < rowCount; i++) {
+                    table.addRow(row("Row" + i, "1.0"));
+                    if (i % 7 == 0) {
+                        table.setValue(i / 2, "Amount", 2.0);
+                    }
+                }
+            } catch (Throwable t) {
+                failure.compareAndSet(null, t);
+            }
+        });
+        loader.start();
+
+        while (loader.isAlive()) {
+            ITable snapshot = table.snapshot();
+            int count = snapshot.getRowCount();
+            double before = 0;
+            for (int i = 0; i < count; i++) {
+                before += snapshot.getDouble(i, 1);
+            }
+            // Reading again must give the same answer however far the loader has got
+            double after = 0;
+            IRowCursor cursor = snapshot.cursor();
+            while (cursor.next()) {
+                after += cursor.getDouble(1);
+            }
+            assertEquals(before, after);
+            assertEquals(count, snapshot.getRowCount());
+        }
+        loader.join();
+
+        assertNull(failure.get());
+        assertEquals(rowCount, table.snapshot().getRowCount());
+    }
+}
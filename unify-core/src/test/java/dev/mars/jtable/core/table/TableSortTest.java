@@ -0,0 +1,228 @@
+/*
+ * Copyright 2025 Mark Andrew Ray-Smith Cityline Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.mars.jtable.core.table;
+
+import dev.mars.jtable.core.model.IRowCursor;
+import dev.mars.jtable.core.model.ITable;
+import dev.mars.jtable.core.model.SortSpec;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for TableSort and ITable.sort.
+ */
+public class TableSortTest {
+    private static final int ROWS = 3000;
+    private static final String[] CITIES = {"Paris", "London", "Berlin", "Athens"};
+
+    private static ForkJoinPool pool;
+
+    @BeforeAll
+    static void createPool() {
+        pool = new ForkJoinPool(4);
+    }
+
+    @AfterAll
+    static void shutdownPool() {
+        pool.shutdown();
+    }
+
+    private ITable createTable(String core) {
+        ITable table;
+        switch (core) {
+            case "TableCore":
+                table = new TableCore();
+                break;
+            case "OptimizedTableCore":
+                table = new OptimizedTableCore();
+                break;
+            case "ColumnarTableCore":
+                table = new ColumnarTableCore();
+                break;
+            case "OffHeapTableCore":
+                table = new OffHeapTableCore();
+                break;
+            case "StampedLockTable":
+                table = new StampedLockTable(new OptimizedTableCore());
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown core: " + core);
+        }
+        LinkedHashMap<String, String> columns = new LinkedHashMap<>();
+        columns.put("Id", "int");
+        columns.put("City", "string");
+        columns.put("Grade", "int");
+        columns.put("Salary", "double");
+        columns.put("Joined", "date");
+        table.setColumns(columns);
+
+        for (int i = 0; i < ROWS; i++) {
+            Map<String, String> row = new HashMap<>();
+            row.put("Id", String.valueOf(i));
+            row.put("City", CITIES[(i * 7) % 4]);
+            row.put("Grade", String.valueOf(grade(i)));
+            row.put("Salary", String.valueOf(salary(i)));
+            row.put("Joined", LocalDate.of(2020, 1, 1).plusDays((i * 37) % 400).toString());
+            table.addRow(row);
+        }
+        return table;
+    }
+
+    private static int grade(int row) {
+        return (row * 7919) % 13 - 6;
+    }
+
+    private static double salary(int row) {
+        return ((row * 31) % 1000 - 500) * 1.5;
+    }
+
+    private static int[] expected(ITable table, Comparator<Integer> comparator) {
+        Integer[] rows = IntStream.range(0, table.getRowCount()).boxed().toArray(Integer[]::new);
+        // Arrays.sort on objects is stable
+        Arrays.sort(rows, comparator);
+        return Arrays.stream(rows).mapToInt(Integer::intValue).toArray();
+    }
+
+    private static Comparator<Integer> by(ITable table, String column) {
+        return Comparator.comparing(row -> (Comparable) table.getValueObject(row, column),
+                Comparator.nullsFirst(Comparator.naturalOrder()));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"TableCore", "OptimizedTableCore", "ColumnarTableCore", "OffHeapTableCore", "StampedLockTable"})
+    void testSingleColumns(String core) {
+        ITable table = createTable(core);
+
+        assertArrayEquals(expected(table, by(table, "Grade")), table.sort(SortSpec.ascending("Grade")));
+        assertArrayEquals(expected(table, by(table, "Salary")), table.sort(SortSpec.ascending("Salary")));
+        assertArrayEquals(expected(table, by(table, "City")), table.sort(SortSpec.ascending("City")));
+        assertArrayEquals(expected(table, by(table, "Joined")), table.sort(SortSpec.ascending("Joined")));
+
+        // Descending keeps equal rows in table order too
+        assertArrayEquals(expected(table, by(table, "Salary").reversed().thenComparing(Comparator.naturalOrder())),
+                table.sort(SortSpec.descending("Salary")));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"TableCore", "OptimizedTableCore", "ColumnarTableCore", "OffHeapTableCore", "StampedLockTable"})
+    void testMultipleColumns(String core) {
+        ITable table = createTable(core);
+        int[] order = table.sort(SortSpec.ascending("City"), SortSpec.descending("Grade"), SortSpec.ascending("Id"));
+        assertArrayEquals(expected(table, by(table, "City")
+                .thenComparing(by(table, "Grade").reversed())
+                .thenComparing(by(table, "Id"))), order);
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"TableCore", "ColumnarTableCore", "OffHeapTableCore", "StampedLockTable"})
+    void testNulls(String core) {
+        ITable table = createTable(core);
+        for (int i = 0; i < ROWS; i += 9) {
+            table.setValue(i, "Salary", null);
+            table.setValue(i, "City", null);
+        }
+
+        int[] nullsFirst = table.sort(SortSpec.ascending("Salary"));
+        assertArrayEquals(expected(table, by(table, "Salary")), nullsFirst);
+        assertEquals(0, nullsFirst[0]);
+        assertEquals(9, nullsFirst[1]);
+
+        int[] nullsLast = table.sort(SortSpec.descending("City").nullsLast());
+        assertArrayEquals(expected(table, Comparator.comparing(row -> (String) table.getValueObject(row, "City"),
+                Comparator.nullsLast(Comparator.<String>reverseOrder()))), nullsLast);
+        assertNull(table.getValueObject(nullsLast[ROWS - 1], "City"));
+    }
+
+    @Test
+    void testParallelSortMatchesSequential() {
+        ITable table = createTable("ColumnarTableCore");
+        SortSpec[] specs = {SortSpec.ascending("Grade"), SortSpec.descending("Joined")};
+        int[] sequential = TableSort.sort(table, pool, ROWS, specs);
+        int[] parallel = TableSort.sort(table, pool, 100, specs);
+        assertArrayEquals(sequential, parallel);
+        assertArrayEquals(expected(table, by(table, "Grade").thenComparing(by(table, "Joined").reversed())), parallel);
+    }
+
+    @Test
+    void testSortedCursor() {
+        ITable table = createTable("ColumnarTableCore");
+        int[] order = table.sort(SortSpec.ascending("Salary"));
+        int salary = table.getSchema().indexOf("Salary");
+
+        IRowCursor cursor = TableSort.cursor(table, order);
+        assertEquals(-1, cursor.getRowIndex());
+        double previous = -Double.MAX_VALUE;
+        int count = 0;
+        while (cursor.next()) {
+            assertEquals(order[count++], cursor.getRowIndex());
+            assertTrue(cursor.getDouble(salary) >= previous);
+            previous = cursor.getDouble(salary);
+        }
+        assertEquals(ROWS, count);
+        assertEquals(ROWS, cursor.getRowIndex());
+
+        // Moving to a row carries on from its place in the order
+        cursor.moveTo(order[10]);
+        assertTrue(cursor.next());
+        assertEquals(order[11], cursor.getRowIndex());
+        assertThrows(IndexOutOfBoundsException.class, () -> cursor.moveTo(ROWS));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"TableCore", "ColumnarTableCore"})
+    void testToTable(String core) {
+        ITable table = createTable(core);
+        int[] order = table.sort(SortSpec.descending("Id"));
+        ITable sorted = TableSort.toTable(table, order);
+
+        assertEquals(ROWS, sorted.getRowCount());
+        assertEquals(table.getColumnCount(), sorted.getColumnCount());
+        for (int i = 0; i < ROWS; i++) {
+            int row = ROWS - 1 - i;
+            assertEquals(row, sorted.getValueObject(i, "Id"));
+            assertEquals(table.getValueObject(row, "City"), sorted.getValueObject(i, "City"));
+            assertEquals(table.getValueObject(row, "Joined"), sorted.getValueObject(i, "Joined"));
+        }
+    }
+
+    @Test
+    void testEmptyAndInvalidSorts() {
+        ITable table = createTable("ColumnarTableCore");
+        assertArrayEquals(IntStream.range(0, ROWS).toArray(), table.sort());
+        assertThrows(IllegalArgumentException.class, () -> table.sort(SortSpec.ascending("Missing")));
+        assertThrows(IllegalArgumentException.class, () -> table.sort((SortSpec) null));
+        assertThrows(IllegalArgumentException.class, () -> SortSpec.ascending(null));
+        assertThrows(IllegalArgumentException.class, () -> TableSort.toTable(table, null));
+
+        ITable empty = new ColumnarTableCore();
+        empty.setColumns(new LinkedHashMap<>(Map.of("Id", "int")));
+        assertEquals(0, empty.sort(SortSpec.ascending("Id")).length);
+    }
+}
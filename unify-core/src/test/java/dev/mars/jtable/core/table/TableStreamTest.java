@@ -0,0 +1,158 @@
+/*
+ * Copyright 2025 Mark Andrew Ray-Smith Cityline Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.mars.jtable.core.table;
+
+import dev.mars.jtable.core.model.IRowCursor;
+import dev.mars.jtable.core.model.ITable;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Spliterator;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for ITable.stream and ITable.parallelStream.
+ */
+public class TableStreamTest {
+    private static final int ROWS = 10_000;
+
+    private ITable createTable(String core) {
+        ITable table;
+        switch (core) {
+            case "TableCore":
+                table = new TableCore();
+                break;
+            case "OptimizedTableCore":
+                table = new OptimizedTableCore();
+                break;
+            case "ColumnarTableCore":
+                table = new ColumnarTableCore();
+                break;
+            case "OffHeapTableCore":
+                table = new OffHeapTableCore();
+                break;
+            case "StampedLockTable":
+                table = new StampedLockTable(new ColumnarTableCore());
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown core: " + core);
+        }
+        LinkedHashMap<String, String> columns = new LinkedHashMap<>();
+        columns.put("Id", "int");
+        columns.put("City", "string");
+        columns.put("Salary", "double");
+        table.setColumns(columns);
+
+        for (int i = 0; i < ROWS; i++) {
+            Map<String, String> row = new HashMap<>();
+            row.put("Id", String.valueOf(i));
+            row.put("City", i % 3 == 0 ? "London" : "Paris");
+            row.put("Salary", String.valueOf(i * 0.5));
+            table.addRow(row);
+        }
+        return table;
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"TableCore", "OptimizedTableCore", "ColumnarTableCore", "OffHeapTableCore", "StampedLockTable"})
+    void testSequentialStream(String core) {
+        ITable table = createTable(core);
+        int id = table.getSchema().indexOf("Id");
+
+        // Rows come in order, each on the cursor handed to the operation
+        int[] ids = table.stream().mapToInt(row -> row.getInt(id)).toArray();
+        assertArrayEquals(IntStream.range(0, ROWS).toArray(), ids);
+        assertEquals(ROWS, table.stream().count());
+        assertEquals(5, table.stream().skip(5).findFirst().map(IRowCursor::getRowIndex).orElse(-1));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"TableCore", "OptimizedTableCore", "ColumnarTableCore", "OffHeapTableCore", "StampedLockTable"})
+    void testParallelStream(String core) {
+        ITable table = createTable(core);
+        int city = table.getSchema().indexOf("City");
+        int salary = table.getSchema().indexOf("Salary");
+
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            Map<String, Double> totals = pool.submit(() -> table.parallelStream()
+                    .collect(Collectors.groupingBy(row -> row.getString(city),
+                            Collectors.summingDouble(row -> row.getDouble(salary))))).join();
+
+            double london = 0;
+            double paris = 0;
+            for (int i = 0; i < ROWS; i++) {
+                if (i % 3 == 0) {
+                    london += i * 0.5;
+                } else {
+                    paris += i * 0.5;
+                }
+            }
+            assertEquals(london, totals.get("London"), 1e-6);
+            assertEquals(paris, totals.get("Paris"), 1e-6);
+
+            // Order is kept for ordered terminal operations
+            int[] rows = pool.submit(() -> table.parallelStream().mapToInt(IRowCursor::getRowIndex).toArray()).join();
+            assertArrayEquals(IntStream.range(0, ROWS).toArray(), rows);
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    void testSpliteratorSplitsRowRanges() {
+        ITable table = createTable("ColumnarTableCore");
+        Spliterator<IRowCursor> all = table.stream().spliterator();
+        assertTrue(all.hasCharacteristics(Spliterator.SIZED));
+        assertTrue(all.hasCharacteristics(Spliterator.SUBSIZED));
+        assertTrue(all.hasCharacteristics(Spliterator.ORDERED));
+        assertEquals(ROWS, all.getExactSizeIfKnown());
+
+        Spliterator<IRowCursor> prefix = all.trySplit();
+        assertNotNull(prefix);
+        assertEquals(ROWS / 2, prefix.getExactSizeIfKnown());
+        assertEquals(ROWS / 2, all.getExactSizeIfKnown());
+
+        AtomicInteger first = new AtomicInteger(-1);
+        assertTrue(all.tryAdvance(row -> first.set(row.getRowIndex())));
+        assertEquals(ROWS / 2, first.get());
+
+        AtomicInteger count = new AtomicInteger();
+        prefix.forEachRemaining(row -> count.incrementAndGet());
+        assertEquals(ROWS / 2, count.get());
+        assertFalse(prefix.tryAdvance(row -> fail("No rows should remain")));
+    }
+
+    @Test
+    void testEmptyTableAndViews() {
+        ITable empty = new ColumnarTableCore();
+        assertEquals(0, empty.stream().count());
+        assertNull(empty.stream().spliterator().trySplit());
+
+        ITable table = createTable("TableCore");
+        ITable view = table.view(new int[] {7, 3}, "Salary");
+        assertArrayEquals(new double[] {3.5, 1.5}, view.stream().mapToDouble(row -> row.getDouble(0)).toArray());
+    }
+}
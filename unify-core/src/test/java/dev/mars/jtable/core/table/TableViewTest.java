@@ -0,0 +1,197 @@
+/*
+ * Copyright 2025 Mark Andrew Ray-Smith Cityline Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.mars.jtable.core.table;
+
+import dev.mars.jtable.core.model.IRow;
+import dev.mars.jtable.core.model.IRowCursor;
+import dev.mars.jtable.core.model.ITable;
+import dev.mars.jtable.core.model.SortSpec;
+import dev.mars.jtable.core.table.TableQuery.Operator;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for TableView and ITable.view.
+ */
+public class TableViewTest {
+    private static final int ROWS = 100;
+
+    private ITable createTable(String core) {
+        ITable table;
+        switch (core) {
+            case "TableCore":
+                table = new TableCore();
+                break;
+            case "OptimizedTableCore":
+                table = new OptimizedTableCore();
+                break;
+            case "ColumnarTableCore":
+                table = new ColumnarTableCore();
+                break;
+            case "OffHeapTableCore":
+                table = new OffHeapTableCore();
+                break;
+            case "StampedLockTable":
+                table = new StampedLockTable(new ColumnarTableCore());
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown core: " + core);
+        }
+        LinkedHashMap<String, String> columns = new LinkedHashMap<>();
+        columns.put("Id", "int");
+        columns.put("Name", "string");
+        columns.put("Salary", "double");
+        columns.put("Active", "boolean");
+        table.setColumns(columns);
+
+        for (int i = 0; i < ROWS; i++) {
+            Map<String, String> row = new HashMap<>();
+            row.put("Id", String.valueOf(i));
+            row.put("Name", "Name" + i);
+            row.put("Salary", String.valueOf(1000.0 + i));
+            row.put("Active", String.valueOf(i % 2 == 0));
+            table.addRow(row);
+        }
+        return table;
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"TableCore", "OptimizedTableCore", "ColumnarTableCore", "OffHeapTableCore", "StampedLockTable"})
+    void testProjectedAndFilteredView(String core) {
+        ITable table = createTable(core);
+        ITable view = table.view(new int[] {40, 3, 17}, "Salary", "Id");
+
+        assertEquals(3, view.getRowCount());
+        assertEquals(2, view.getColumnCount());
+        assertEquals("Salary", view.getColumnName(0));
+        assertEquals("Id", view.getColumnName(1));
+        assertNull(view.getColumn("Name"));
+        assertEquals(40, view.getValueObject(0, "Id"));
+        assertEquals(1003.0, view.getValueObject(1, "Salary"));
+        assertEquals("17", view.getValueAt(2, "Id"));
+        assertEquals(17, view.getInt(2, 1));
+        assertNull(view.getValueObject(0, "Name"));
+
+        IRow row = view.getRows().get(1);
+        assertEquals(2, row.getCells().size());
+        assertEquals(3, row.getCell("Id").getValue());
+        assertNull(row.getCell("Name"));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"TableCore", "OptimizedTableCore", "ColumnarTableCore", "OffHeapTableCore", "StampedLockTable"})
+    void testViewReadsThroughToTheTable(String core) {
+        ITable table = createTable(core);
+        ITable selected = table.view(new int[] {5, 6});
+        ITable all = table.view(null, "Name");
+
+        table.setValue(6, "Name", "Changed");
+        table.addRow(Map.of("Id", "100", "Name", "Added", "Salary", "0", "Active", "true"));
+
+        assertEquals("Changed", selected.getValueObject(1, "Name"));
+        assertEquals(4, selected.getColumnCount());
+        assertEquals(2, selected.getRowCount());
+        assertEquals(ROWS + 1, all.getRowCount());
+        assertEquals("Added", all.getValueObject(ROWS, "Name"));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"TableCore", "OptimizedTableCore", "ColumnarTableCore", "OffHeapTableCore", "StampedLockTable"})
+    void testCursor(String core) {
+        ITable table = createTable(core);
+        ITable view = table.view(new int[] {9, 2, 50}, "Active", "Salary");
+
+        IRowCursor cursor = view.cursor();
+        assertTrue(cursor.next());
+        assertEquals(0, cursor.getRowIndex());
+        assertFalse(cursor.getBoolean(0));
+        assertEquals(1009.0, cursor.getDouble(1));
+        assertTrue(cursor.next());
+        assertTrue(cursor.getBoolean(0));
+        assertEquals(1002.0, cursor.getObject(1));
+        assertTrue(cursor.next());
+        assertFalse(cursor.next());
+        assertEquals(3, cursor.getRowIndex());
+
+        cursor.moveTo(1);
+        assertEquals(1002.0, cursor.getDouble(1));
+        assertThrows(IndexOutOfBoundsException.class, () -> cursor.moveTo(3));
+    }
+
+    @Test
+    void testViewsOfQueriesSortsAndViews() {
+        ITable table = createTable("ColumnarTableCore");
+
+        RowSelection active = TableQuery.from(table).where("Active", Operator.EQUALS, true).select();
+        ITable activeView = table.view(active.toArray(), "Id", "Name");
+        assertEquals(ROWS / 2, activeView.getRowCount());
+        assertEquals(98, activeView.getValueObject(49, "Id"));
+
+        ITable sorted = table.view(table.sort(SortSpec.descending("Salary")));
+        assertEquals(ROWS - 1, sorted.getValueObject(0, "Id"));
+
+        // A view of a view reads straight from the table
+        ITable nested = activeView.view(new int[] {49, 0}, "Name");
+        assertEquals(2, nested.getRowCount());
+        assertEquals("Name98", nested.getValueObject(0, "Name"));
+        assertEquals("Name0", nested.getValueObject(1, "Name"));
+        assertEquals(1, nested.getColumnCount());
+        assertArrayEquals(new int[] {1, 0}, nested.sort(SortSpec.ascending("Name")));
+    }
+
+    @Test
+    void testSnapshotOfView() {
+        ITable table = createTable("OptimizedTableCore");
+        ITable view = table.view(new int[] {1, 2}, "Name");
+        ITable snapshot = view.snapshot();
+
+        table.setValue(1, "Name", "Changed");
+        assertEquals("Changed", view.getValueObject(0, "Name"));
+        assertEquals("Name1", snapshot.getValueObject(0, "Name"));
+        assertEquals(1, snapshot.getColumnCount());
+    }
+
+    @Test
+    void testViewIsReadOnly() {
+        ITable table = createTable("ColumnarTableCore");
+        ITable view = table.view(null);
+
+        assertThrows(UnsupportedOperationException.class, () -> view.setValue(0, "Name", "x"));
+        assertThrows(UnsupportedOperationException.class, () -> view.setValueAt(0, "Name", "x"));
+        assertThrows(UnsupportedOperationException.class, () -> view.setInt(0, 0, 1));
+        assertThrows(UnsupportedOperationException.class, () -> view.addRow(Map.of("Id", "1")));
+        assertThrows(UnsupportedOperationException.class, () -> view.getRow(0).setValue("Name", "x"));
+        assertThrows(UnsupportedOperationException.class, () -> view.createIndex("Id"));
+        assertNull(view.getIndex("Id"));
+    }
+
+    @Test
+    void testInvalidViews() {
+        ITable table = createTable("TableCore");
+        assertThrows(IndexOutOfBoundsException.class, () -> table.view(new int[] {ROWS}));
+        assertThrows(IndexOutOfBoundsException.class, () -> table.view(new int[] {-1}));
+        assertThrows(IllegalArgumentException.class, () -> table.view(null, "Missing"));
+        assertThrows(IllegalArgumentException.class, () -> table.view(null, "Id", "Id"));
+        assertThrows(IndexOutOfBoundsException.class, () -> table.view(new int[] {1}).getValueObject(1, "Id"));
+    }
+}
@@ -0,0 +1,168 @@
+/*
+ * Copyright 2025 Mark Andrew Ray-Smith Cityline Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.mars.jtable.core.table;
+
+import dev.mars.jtable.core.model.ITable;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for TypeInference.
+ */
+public class TypeInferenceTest {
+
+    private ITable createTable(String core) {
+        switch (core) {
+            case "TableCore":
+                return new TableCore();
+            case "OptimizedTableCore":
+                return new OptimizedTableCore();
+            case "ColumnarTableCore":
+                return new ColumnarTableCore();
+            case "OffHeapTableCore":
+                return new OffHeapTableCore();
+            case "StampedLockTable":
+                return new StampedLockTable(new ColumnarTableCore());
+            default:
+                throw new IllegalArgumentException("Unknown core: " + core);
+        }
+    }
+
+    @Test
+    void testInferNumbers() {
+        assertEquals("int", TypeInference.inferType("0"));
+        assertEquals("int", TypeInference.inferType("-42"));
+        assertEquals("int", TypeInference.inferType(" 123 "));
+        assertEquals("int", TypeInference.inferType(String.valueOf(Integer.MAX_VALUE)));
+        assertEquals("int", TypeInference.inferType(String.valueOf(Integer.MIN_VALUE)));
+        assertEquals("int", TypeInference.inferType("0000000000000007"));
+        assertEquals("long", TypeInference.inferType(String.valueOf(Integer.MAX_VALUE + 1L)));
+        assertEquals("long", TypeInference.inferType(String.valueOf(Integer.MIN_VALUE - 1L)));
+        assertEquals("long", TypeInference.inferType(String.valueOf(Long.MAX_VALUE)));
+        assertEquals("long", TypeInference.inferType(String.valueOf(Long.MIN_VALUE)));
+        assertEquals("double", TypeInference.inferType("9223372036854775808"));
+        assertEquals("double", TypeInference.inferType("-9223372036854775809"));
+
+        assertEquals("double", TypeInference.inferType("123."));
+        assertEquals("double", TypeInference.inferType("+1.5"));
+        assertEquals("double", TypeInference.inferType("-.5"));
+        assertEquals("double", TypeInference.inferType("1e10"));
+        assertEquals("double", TypeInference.inferType("1.5E-3"));
+        assertEquals("double", TypeInference.inferType(".5e+2"));
+        assertEquals("double", TypeInference.inferType("NaN"));
+        assertEquals("double", TypeInference.inferType("-Infinity"));
+        assertEquals("double", TypeInference.inferType("+infinity"));
+    }
+
+    @Test
+    void testInferOtherTypes() {
+        assertEquals("boolean", TypeInference.inferType("TRUE"));
+        assertEquals("boolean", TypeInference.inferType("false"));
+        assertEquals("date", TypeInference.inferType("2024-02-29"));
+        assertEquals("time", TypeInference.inferType("23:59:59"));
+        assertEquals("datetime", TypeInference.inferType("2023-01-15T09:30:00"));
+
+        // Values that look like numbers or dates but are not
+        for (String value : new String[] {null, "", " ", "null", "+123", "1,234", "1.2.3", "$100", "50%",
+                "1+2", "1-2-3", ".", "-", "1e", "e5", "1e+", "0x10", "2023-02-29", "2023-13-01", "2023-1-15",
+                "24:00:00", "12:60:00", "9:30:00", "2023-01-15 09:30:00", "2023-01-15T09:30", "Infinity1"}) {
+            assertEquals("string", TypeInference.inferType(value), String.valueOf(value));
+        }
+    }
+
+    @Test
+    void testWiden() {
+        assertEquals("int", TypeInference.widen(null, "int"));
+        assertEquals("int", TypeInference.widen("int", "int"));
+        assertEquals("long", TypeInference.widen("int", "long"));
+        assertEquals("double", TypeInference.widen("long", "double"));
+        assertEquals("double", TypeInference.widen("double", "int"));
+        assertEquals("string", TypeInference.widen("int", "boolean"));
+        assertEquals("string", TypeInference.widen("date", "datetime"));
+        assertEquals("date", TypeInference.widen("date", "date"));
+    }
+
+    @Test
+    void testFirstRowsSample() {
+        TypeInference inference = new TypeInference(4, 3, TypeInference.Sampling.FIRST_ROWS);
+        inference.addRow("1", "1", "", "x");
+        inference.addRow("2", "3000000000", null, "2");
+        assertTrue(inference.isSampling());
+        inference.addRow("2.5", "4");
+        assertFalse(inference.isSampling());
+        // Rows beyond the sample are not looked at
+        inference.addRow("text", "text", "text", "text");
+
+        assertArrayEquals(new String[] {"double", "long", "string", "string"}, inference.getTypes());
+    }
+
+    @Test
+    void testReservoirSample() {
+        int rows = 100_000;
+        TypeInference first = new TypeInference(2, 1000, TypeInference.Sampling.FIRST_ROWS);
+        TypeInference reservoir = new TypeInference(2, 1000, TypeInference.Sampling.RESERVOIR);
+        for (int i = 0; i < rows; i++) {
+            // Decimals only appear in the second half of the file
+            String[] values = {String.valueOf(i), i < rows / 2 ? String.valueOf(i) : i + ".5"};
+            first.addRow(values);
+            reservoir.addRow(values);
+            assertTrue(reservoir.isSampling());
+        }
+
+        assertArrayEquals(new String[] {"int", "int"}, first.getTypes());
+        assertArrayEquals(new String[] {"int", "double"}, reservoir.getTypes());
+        // The sample is kept, so the types can be asked for again
+        assertArrayEquals(new String[] {"int", "double"}, reservoir.getTypes());
+    }
+
+    @Test
+    void testClassifierAndInvalidArguments() {
+        TypeInference inference = new TypeInference(1, 10, TypeInference.Sampling.FIRST_ROWS, value -> "boolean");
+        inference.addRow("1");
+        assertArrayEquals(new String[] {"boolean"}, inference.getTypes());
+
+        assertThrows(IllegalArgumentException.class, () -> new TypeInference(-1));
+        assertThrows(IllegalArgumentException.class, () -> new TypeInference(1, 0, TypeInference.Sampling.FIRST_ROWS));
+        assertThrows(IllegalArgumentException.class, () -> new TypeInference(1, 10, null));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"TableCore", "OptimizedTableCore", "ColumnarTableCore", "OffHeapTableCore", "StampedLockTable"})
+    void testTablesInferAndStoreLongs(String core) {
+        ITable table = createTable(core);
+        assertEquals("long", table.inferType("12345678901"));
+        assertEquals("date", table.inferType("2023-01-15"));
+        assertEquals("0", table.getDefaultValue("long"));
+
+        LinkedHashMap<String, String> columns = new LinkedHashMap<>();
+        columns.put("Id", "long");
+        columns.put("Name", "string");
+        table.setColumns(columns);
+        table.addRow(Map.of("Id", "12345678901", "Name", "A"));
+        table.addRow(Map.of("Id", "-1", "Name", "B"));
+
+        assertEquals(12345678901L, table.getValueObject(0, "Id"));
+        assertEquals(12345678901L, table.getLong(0, 0));
+        assertEquals("-1", table.getValueAt(1, "Id"));
+        assertEquals(Long.class, table.getColumn("Id").getType());
+    }
+}
@@ -0,0 +1,129 @@
+/*
+ * Copyright 2025 Mark Andrew Ray-Smith Cityline Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.mars.jtable.core.table;
+
+import dev.mars.jtable.core.model.ITable;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for the unboxed typed accessors of ITable, covering both the default
+ * implementations and the primitive fast paths of the columnar cores.
+ */
+public class TypedAccessorTest {
+
+    private static final int NAME = 0;
+    private static final int AGE = 1;
+    private static final int SALARY = 2;
+    private static final int ACTIVE = 3;
+
+    private ITable createTable(String core) {
+        ITable table;
+        switch (core) {
+            case "TableCore":
+                table = new TableCore();
+                break;
+            case "OptimizedTableCore":
+                table = new OptimizedTableCore();
+                break;
+            case "ColumnarTableCore":
+                table = new ColumnarTableCore();
+                break;
+            case "OffHeapTableCore":
+                table = new OffHeapTableCore();
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown core: " + core);
+        }
+
+        LinkedHashMap<String, String> columns = new LinkedHashMap<>();
+        columns.put("Name", "string");
+        columns.put("Age", "int");
+        columns.put("Salary", "double");
+        columns.put("IsActive", "boolean");
+        table.setColumns(columns);
+
+        Map<String, String> row = new HashMap<>();
+        row.put("Name", "Alice");
+        row.put("Age", "30");
+        row.put("Salary", "50000.50");
+        row.put("IsActive", "true");
+        table.addRow(row);
+        return table;
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"TableCore", "OptimizedTableCore", "ColumnarTableCore", "OffHeapTableCore"})
+    void testGetters(String core) {
+        ITable table = createTable(core);
+
+        assertEquals(30, table.getInt(0, AGE));
+        assertEquals(30L, table.getLong(0, AGE));
+        assertEquals(30.0, table.getDouble(0, AGE));
+        assertEquals(50000.5, table.getDouble(0, SALARY));
+        assertEquals(50000, table.getInt(0, SALARY));
+        assertTrue(table.getBoolean(0, ACTIVE));
+        assertFalse(table.isNull(0, AGE));
+
+        assertThrows(IllegalArgumentException.class, () -> table.getInt(0, NAME));
+        assertThrows(IllegalArgumentException.class, () -> table.getBoolean(0, AGE));
+        assertThrows(IndexOutOfBoundsException.class, () -> table.getInt(0, 4));
+        assertThrows(IndexOutOfBoundsException.class, () -> table.getInt(1, AGE));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"TableCore", "OptimizedTableCore", "ColumnarTableCore", "OffHeapTableCore"})
+    void testSetters(String core) {
+        ITable table = createTable(core);
+
+        table.setInt(0, AGE, 31);
+        table.setDouble(0, SALARY, 60000.25);
+        table.setBoolean(0, ACTIVE, false);
+
+        assertEquals(31, table.getValueObject(0, "Age"));
+        assertEquals(60000.25, table.getValueObject(0, "Salary"));
+        assertEquals("60000.25", table.getValueAt(0, "Salary"));
+        assertEquals(false, table.getValueObject(0, "IsActive"));
+
+        assertThrows(IllegalArgumentException.class, () -> table.setInt(0, SALARY, 1));
+        assertThrows(IllegalArgumentException.class, () -> table.setDouble(0, AGE, 1.0));
+        assertThrows(IllegalArgumentException.class, () -> table.setLong(0, AGE, 1L));
+        assertEquals(31, table.getInt(0, AGE));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"TableCore", "OptimizedTableCore", "ColumnarTableCore", "OffHeapTableCore"})
+    void testNullsReadAsZero(String core) {
+        ITable table = createTable(core);
+        table.setValue(0, "Age", null);
+        table.setValue(0, "IsActive", null);
+
+        assertTrue(table.isNull(0, AGE));
+        assertEquals(0, table.getInt(0, AGE));
+        assertEquals(0.0, table.getDouble(0, AGE));
+        assertFalse(table.getBoolean(0, ACTIVE));
+
+        table.setInt(0, AGE, 7);
+        assertFalse(table.isNull(0, AGE));
+        assertEquals(7, table.getValueObject(0, "Age"));
+    }
+}
@@ -0,0 +1,213 @@
+/*
+ * Copyright 2025 Mark Andrew Ray-Smith Cityline Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.mars.jtable.core.table;
+
+import dev.mars.jtable.core.table.TableQuery.Operator;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for ZoneMap and the chunk pruning of TableQuery.
+ */
+public class ZoneMapTest {
+    private static final int CHUNKS = 20;
+    private static final int ROWS = CHUNKS * ZoneMap.CHUNK_ROWS;
+    private static final LocalDate START = LocalDate.of(2024, 1, 1);
+
+    private ColumnarTableCore createTable(String core) {
+        ColumnarTableCore table;
+        switch (core) {
+            case "ColumnarTableCore":
+                table = new ColumnarTableCore();
+                break;
+            case "OffHeapTableCore":
+                table = new OffHeapTableCore();
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown core: " + core);
+        }
+        LinkedHashMap<String, String> columns = new LinkedHashMap<>();
+        columns.put("Id", "int");
+        columns.put("Code", "long");
+        columns.put("Day", "date");
+        columns.put("Price", "double");
+        columns.put("Name", "string");
+        table.setColumns(columns);
+
+        for (int i = 0; i < ROWS; i++) {
+            Map<String, String> row = new HashMap<>();
+            row.put("Id", String.valueOf(i));
+            // Codes are spread over the whole table, so no chunk range rules them out
+            row.put("Code", String.valueOf(scatter(i)));
+            row.put("Day", START.plusDays(i / 100).toString());
+            row.put("Price", i % 1000 == 0 ? "" : String.valueOf(i * 0.25));
+            row.put("Name", "Name" + scatter(i));
+            table.addRow(row);
+        }
+        return table;
+    }
+
+    private static long scatter(int i) {
+        return (i * 7919L) % ROWS;
+    }
+
+    private static long[] allRows() {
+        return RowSelection.allRows(ROWS);
+    }
+
+    private static int chunksKept(long[] selection) {
+        int kept = 0;
+        for (int chunk = 0; chunk < CHUNKS; chunk++) {
+            for (int word = chunk * (ZoneMap.CHUNK_ROWS / 64); word < (chunk + 1) * (ZoneMap.CHUNK_ROWS / 64); word++) {
+                if (selection[word] != 0) {
+                    kept++;
+                    break;
+                }
+            }
+        }
+        return kept;
+    }
+
+    private static ZoneMap zoneMap(ColumnarTableCore table, String columnName) {
+        return table.vectors().get(table.getSchema().indexOf(columnName)).zoneMap();
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"ColumnarTableCore", "OffHeapTableCore"})
+    void testRangesPruneClusteredColumns(String core) {
+        ColumnarTableCore table = createTable(core);
+
+        long[] selection = allRows();
+        zoneMap(table, "Id").pruneLongRange(selection, ROWS, 5000, 5000, false);
+        assertEquals(1, chunksKept(selection));
+
+        selection = allRows();
+        zoneMap(table, "Id").pruneLongRange(selection, ROWS, ROWS - 10, Long.MAX_VALUE, false);
+        assertEquals(1, chunksKept(selection));
+
+        selection = allRows();
+        zoneMap(table, "Id").pruneDoubleRange(selection, ROWS, -1.5, 1500.5, false);
+        assertEquals(2, chunksKept(selection));
+
+        selection = allRows();
+        zoneMap(table, "Price").pruneDoubleRange(selection, ROWS, Double.NEGATIVE_INFINITY, 100.0, false);
+        assertEquals(1, chunksKept(selection));
+
+        // Scattered codes span every chunk
+        selection = allRows();
+        zoneMap(table, "Code").pruneLongRange(selection, ROWS, ROWS / 2, ROWS / 2, false);
+        assertEquals(CHUNKS, chunksKept(selection));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"ColumnarTableCore", "OffHeapTableCore"})
+    void testBloomFiltersPruneScatteredValues(String core) {
+        ColumnarTableCore table = createTable(core);
+        table.createBloomFilter("Code");
+        table.createBloomFilter("Name");
+
+        long[] selection = allRows();
+        zoneMap(table, "Code").pruneLongRange(selection, ROWS, scatter(12345), scatter(12345), false);
+        assertTrue(chunksKept(selection) <= 3, "Bloom filter kept " + chunksKept(selection) + " chunks");
+        assertTrue((selection[12345 >>> 6] & (1L << 12345)) != 0);
+
+        selection = allRows();
+        zoneMap(table, "Name").pruneEquals(selection, ROWS, "Name" + scatter(777));
+        assertTrue(chunksKept(selection) <= 3, "Bloom filter kept " + chunksKept(selection) + " chunks");
+        assertTrue((selection[777 >>> 6] & (1L << 777)) != 0);
+
+        // Rows appended after the filter was created are added to it
+        Map<String, String> row = new HashMap<>();
+        row.put("Id", "-1");
+        row.put("Code", "-1");
+        row.put("Day", START.toString());
+        row.put("Price", "1.0");
+        row.put("Name", "Added");
+        table.addRow(row);
+        assertEquals(1, TableQuery.from(table).where("Code", Operator.EQUALS, -1L).count());
+        assertEquals(1, TableQuery.from(table).where("Name", Operator.EQUALS, "Added").count());
+        assertEquals(0, TableQuery.from(table).where("Name", Operator.EQUALS, "Missing").count());
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"ColumnarTableCore", "OffHeapTableCore"})
+    void testQueriesMatchAScan(String core) {
+        ColumnarTableCore table = createTable(core);
+        table.createBloomFilter("Code");
+        table.createBloomFilter("Price");
+
+        assertEquals(1, TableQuery.from(table).where("Id", Operator.EQUALS, 5000).count());
+        assertEquals(ROWS - 1, TableQuery.from(table).where("Id", Operator.NOT_EQUALS, 5000).count());
+        assertEquals(100, TableQuery.from(table).where("Day", Operator.EQUALS, START.plusDays(50)).count());
+        assertEquals(ROWS - 20_000, TableQuery.from(table).where("Day", Operator.GREATER_THAN_OR_EQUAL, START.plusDays(200)).count());
+        assertEquals(1, TableQuery.from(table).where("Code", Operator.EQUALS, scatter(999)).count());
+        assertEquals(1, TableQuery.from(table).where("Price", Operator.EQUALS, 0.25).count());
+        assertEquals((ROWS - 1) / 1000 + 1, TableQuery.from(table).where("Price", Operator.IS_NULL, null).count());
+        assertEquals(1, TableQuery.from(table).where("Price", Operator.LESS_THAN, 0.5).count());
+    }
+
+    @Test
+    void testWritesKeepTheStatisticsSafe() {
+        ColumnarTableCore table = createTable("ColumnarTableCore");
+        table.createBloomFilter("Code");
+        int id = table.getSchema().indexOf("Id");
+        int code = table.getSchema().indexOf("Code");
+
+        // Values moved outside a chunk's original range are still found
+        table.setInt(3, id, -50);
+        table.setValue(ROWS - 1, "Id", 1_000_000);
+        table.setLong(7, code, 123_456_789L);
+        table.setValue(9, "Price", Double.NaN);
+        assertEquals(1, TableQuery.from(table).where("Id", Operator.LESS_THAN, 0).count());
+        assertEquals(1, TableQuery.from(table).where("Id", Operator.EQUALS, 1_000_000).count());
+        assertEquals(1, TableQuery.from(table).where("Code", Operator.EQUALS, 123_456_789L).count());
+        // NaN differs from every value, and the nulls match no comparison
+        int nulls = (ROWS - 1) / 1000 + 1;
+        assertEquals(ROWS - nulls - 1, TableQuery.from(table).where("Price", Operator.NOT_EQUALS, 2.5).count());
+
+        // Null counts follow values that become null and stop being null
+        table.setValue(5, "Name", null);
+        long[] selection = allRows();
+        zoneMap(table, "Name").pruneNulls(selection, ROWS, true);
+        assertEquals(1, chunksKept(selection));
+        table.setValue(5, "Name", "Back");
+        selection = allRows();
+        zoneMap(table, "Name").pruneNulls(selection, ROWS, true);
+        assertEquals(0, chunksKept(selection));
+        assertEquals(0, TableQuery.from(table).where("Name", Operator.IS_NULL, null).count());
+
+        // A column added to a full table holds only nulls
+        table.addColumn(ColumnFactory.createIntegerColumn("Extra"));
+        assertEquals(0, TableQuery.from(table).where("Extra", Operator.IS_NOT_NULL, null).count());
+        table.setValue(ROWS - 1, "Extra", 1);
+        assertEquals(1, TableQuery.from(table).where("Extra", Operator.GREATER_THAN, 0).count());
+    }
+
+    @Test
+    void testCreateBloomFilterOnMissingColumn() {
+        ColumnarTableCore table = new ColumnarTableCore();
+        assertThrows(IllegalArgumentException.class, () -> table.createBloomFilter("Missing"));
+        assertThrows(IllegalArgumentException.class, () -> table.createBloomFilter(null));
+    }
+}
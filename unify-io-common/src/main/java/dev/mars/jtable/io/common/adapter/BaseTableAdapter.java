@@ -81,7 +81,12 @@ public abstract class BaseTableAdapter implements ITableAdapter, IDataSource {
 
     @Override
     public String getColumnName(int index) {
-        return table.getColumnName(index);
+        return table.getSchema().getColumnName(index);
+    }
+
+    @Override
+    public String[] getColumnNames() {
+        return table.getSchema().getColumnNames();
     }
 
     @Override
@@ -74,6 +74,20 @@ public interface IDataSource {
      */
     String getColumnName(int index);
 
+    /**
+     * Gets the names of all columns, indexed by column position.
+     * Writers resolve the names once with this method rather than once per cell.
+     *
+     * @return a new array holding the column names
+     */
+    default String[] getColumnNames() {
+        String[] names = new String[getColumnCount()];
+        for (int i = 0; i < names.length; i++) {
+            names[i] = getColumnName(i);
+        }
+        return names;
+    }
+
     /**
      * Gets the value at a specific row and column.
      *
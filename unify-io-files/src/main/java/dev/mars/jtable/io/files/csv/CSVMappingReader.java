@@ -60,9 +60,7 @@ import java.io.FileNotFoundException;
 import java.io.FileReader;
 import java.io.IOException;
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
 
 /**
  * Reader for CSV files using a mapping configuration.
@@ -75,7 +73,9 @@ public class CSVMappingReader {
      *
      * @param table the table to read into
      * @param config the mapping configuration
-     * @throws IllegalArgumentException if table or config is null, or if config has invalid settings
+     * @throws IllegalArgumentException if table or config is null, if config has invalid settings,
+     *                                  or if a row is rejected by the table, in which case the
+     *                                  rows before it are kept
      * @throws IOException if there is an error reading the file
      * @throws FileNotFoundException if the file does not exist
      */
@@ -152,13 +152,26 @@ public class CSVMappingReader {
                 throw new IOException(errorMsg);
             }
 
-            // Process each data row
-            for (int i = hasHeaderRow ? 1 : 0; i < rows.size(); i++) {
+            // Find the table column each mapping fills
+            int[] targetColumns = new int[columnMappings.size()];
+            for (int m = 0; m < targetColumns.length; m++) {
+                String targetColumnName = columnMappings.get(m).getTargetColumnName();
+                targetColumns[m] = table.getSchema().indexOf(targetColumnName);
+                if (targetColumns[m] < 0) {
+                    throw new IllegalArgumentException("Column does not exist: " + targetColumnName);
+                }
+            }
+
+            // Convert each data row to positional values, then append them as one batch
+            int firstDataRow = hasHeaderRow ? 1 : 0;
+            String[][] batch = new String[rows.size() - firstDataRow][];
+            for (int i = firstDataRow; i < rows.size(); i++) {
                 String[] values = rows.get(i);
-                Map<String, String> rowData = new HashMap<>();
+                String[] rowData = new String[table.getColumnCount()];
 
                 // Process each column mapping
-                for (ColumnMapping mapping : columnMappings) {
+                for (int m = 0; m < targetColumns.length; m++) {
+                    ColumnMapping mapping = columnMappings.get(m);
                     String value = null;
 
                     // Get the value from the source column
@@ -187,13 +200,12 @@ public class CSVMappingReader {
 
                     // Add the value to the row data
                     if (value != null) {
-                        rowData.put(mapping.getTargetColumnName(), value);
+                        rowData[targetColumns[m]] = value;
                     }
                 }
-
-                // Add the row to the table
-                table.addRow(rowData);
+                batch[i - firstDataRow] = rowData;
             }
+            appendRows(table, batch);
         } catch (FileNotFoundException e) {
             logger.error("File not found: {}", e.getMessage());
             throw e;
@@ -206,6 +218,26 @@ public class CSVMappingReader {
         }
     }
 
+    /**
+     * Appends the rows as one batch. A batch is added in full or not at all, so if a row is
+     * rejected the rows are appended one at a time instead: the rows before the rejected one
+     * are kept and its error is thrown, as when every row was added on its own.
+     *
+     * @param table the table to append to
+     * @param rows the rows, as positional values
+     * @throws IllegalArgumentException if a row is rejected by the table
+     */
+    private void appendRows(ITable table, String[][] rows) {
+        try {
+            table.appendBatch(rows);
+        } catch (IllegalArgumentException e) {
+            logger.warn("Batch rejected ({}), appending the rows one at a time", e.getMessage());
+            for (String[] row : rows) {
+                table.appendBatch(new String[][] {row});
+            }
+        }
+    }
+
     /**
      * Reads a CSV file into a list of string arrays.
      *
@@ -47,6 +47,7 @@
  */
 package dev.mars.jtable.io.files.csv;
 
+import dev.mars.jtable.core.table.TypeInference;
 import dev.mars.jtable.io.common.datasource.FileConnection;
 import dev.mars.jtable.io.common.datasource.ICSVDataSource;
 import dev.mars.jtable.io.common.datasource.IDataSource;
@@ -58,6 +59,7 @@ import java.io.IOException;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 
 /**
@@ -94,9 +96,11 @@ public class CSVReader implements ICSVReader {
         // Extract options
         boolean hasHeaderRow = options != null && options.containsKey("hasHeaderRow") ? (Boolean) options.get("hasHeaderRow") : false;
         boolean allowEmptyValues = options != null && options.containsKey("allowEmptyValues") ? (Boolean) options.get("allowEmptyValues") : false;
+        int typeSampleRows = options != null && options.containsKey("typeSampleRows") ? (Integer) options.get("typeSampleRows") : TypeInference.DEFAULT_SAMPLE_ROWS;
+        TypeInference.Sampling typeSampling = options != null && options.containsKey("typeSampling") ? (TypeInference.Sampling) options.get("typeSampling") : TypeInference.Sampling.FIRST_ROWS;
 
         // Call the CSV-specific method
-        readFromCSV(csvDataSource, fileConnection, hasHeaderRow, allowEmptyValues);
+        readFromCSV(csvDataSource, fileConnection, hasHeaderRow, allowEmptyValues, typeSampleRows, typeSampling);
     }
 
     /**
@@ -111,11 +115,36 @@ public class CSVReader implements ICSVReader {
      */
     @Override
     public void readFromCSV(ICSVDataSource dataSource, FileConnection connection, boolean hasHeaderRow, boolean allowEmptyValues) throws IOException, IllegalArgumentException {
+        readFromCSV(dataSource, connection, hasHeaderRow, allowEmptyValues, TypeInference.DEFAULT_SAMPLE_ROWS, TypeInference.Sampling.FIRST_ROWS);
+    }
+
+    /**
+     * Reads data from a CSV file into a data source, inferring the type of each column from a
+     * sample of the data rows. The types of the sampled values are widened, so a column of
+     * integers with one decimal value is a double column, and a column that also holds text
+     * is a string column. Empty values do not count towards the type.
+     *
+     * With {@link TypeInference.Sampling#FIRST_ROWS} the file is read once: the sampled lines
+     * are kept in memory and loaded with the rest of the file. A
+     * {@link TypeInference.Sampling#RESERVOIR} sample is drawn from every row, so the types
+     * are only known at the end of the file, and the file is read twice: once to sample it,
+     * and once to load it.
+     *
+     * @param dataSource the data source to read into
+     * @param connection the file connection to read from
+     * @param hasHeaderRow whether the CSV file has a header row
+     * @param allowEmptyValues whether to allow empty values in the CSV file
+     * @param typeSampleRows the number of data rows to infer the column types from
+     * @param typeSampling whether to sample the first rows or a random sample of every row
+     * @throws IOException if there is an error reading the file or if the CSV format is invalid
+     * @throws IllegalArgumentException if there is an error processing the CSV data
+     */
+    public void readFromCSV(ICSVDataSource dataSource, FileConnection connection, boolean hasHeaderRow, boolean allowEmptyValues,
+                            int typeSampleRows, TypeInference.Sampling typeSampling) throws IOException, IllegalArgumentException {
         String line;
         String[] headers = new String[0];
         var columnNames = new LinkedHashMap<String, String>();
         var colNames = new ArrayList<String>();
-        var colTypes = new ArrayList<String>();
 
         // Make sure connection is established
         if (!connection.isConnected()) {
@@ -125,42 +154,46 @@ public class CSVReader implements ICSVReader {
         // Extract the file name from the connection
         String fileName = connection.getLocation();
 
-        // Read headers
         try (BufferedReader br = new BufferedReader(new FileReader(fileName))) {
-            if (hasHeaderRow) {
-                line = br.readLine();
-                if (line != null) {
-                    headers = line.split(",");
-                    for (int i = 0; i < headers.length; i++) {
-                        colNames.add(headers[i]);
-                    }
-                }
-            } else {
-                line = br.readLine();
-                if (line != null) {
-                    headers = line.split(",");
-                    for (int i = 0; i < headers.length; i++) {
-                        colNames.add("Column" + (i + 1));
-                    }
+            // Read headers; without a header row the first line is also the first data row
+            line = br.readLine();
+            if (line != null) {
+                headers = line.split(",");
+                for (int i = 0; i < headers.length; i++) {
+                    colNames.add(hasHeaderRow ? headers[i] : "Column" + (i + 1));
                 }
             }
-        } catch (IOException e) {
-            throw new IOException("Error reading CSV file headers: " + e.getMessage(), e);
-        }
+            if (headers.length == 0) {
+                throw new IOException("No headers found in CSV file");
+            }
 
-        if (headers.length == 0) {
-            throw new IOException("No headers found in CSV file");
-        }
+            // The data lines read before the types are known, to be loaded first
+            List<String> readAhead = new ArrayList<>();
+            if (!hasHeaderRow) {
+                readAhead.add(line);
+            }
 
-        // Read data
-        try (BufferedReader br = new BufferedReader(new FileReader(fileName))) {
-            // Skip the header row if it exists
-            if (hasHeaderRow) {
-                br.readLine();
+            // Sample the data rows to infer the column types
+            TypeInference inference = new TypeInference(headers.length, typeSampleRows, typeSampling, dataSource::inferType);
+            if (typeSampling == TypeInference.Sampling.RESERVOIR) {
+                sampleFile(fileName, hasHeaderRow, headers.length, inference);
+            } else {
+                for (int next = 0; inference.isSampling(); next++) {
+                    if (next == readAhead.size()) {
+                        line = br.readLine();
+                        if (line == null) {
+                            break;
+                        }
+                        readAhead.add(line);
+                    }
+                    sampleRow(inference, readAhead.get(next), headers.length);
+                }
             }
+            String[] colTypes = inference.getTypes();
 
-            // Read the first data row to infer types
-            line = br.readLine();
+            // Read the first data row
+            int next = 0;
+            line = next < readAhead.size() ? readAhead.get(next++) : br.readLine();
             if (line == null) {
                 throw new IOException("No data rows found in CSV file");
             }
@@ -169,9 +202,7 @@ public class CSVReader implements ICSVReader {
                 throw new IOException("CSV format error: number of values in the first row does not match the number of headers");
             }
             for (int i = 0; i < firstRowValues.length; i++) {
-                var colName = colNames.get(i);
-                var colType = dataSource.inferType(firstRowValues[i]);
-                columnNames.put(colName, colType);
+                columnNames.put(colNames.get(i), colTypes[i]);
             }
             dataSource.setColumns(columnNames);
 
@@ -182,8 +213,8 @@ public class CSVReader implements ICSVReader {
             }
             dataSource.addRow(firstRow);
 
-            // Add the remaining rows
-            while ((line = br.readLine()) != null) {
+            // Add the remaining rows, the lines read ahead first
+            while ((line = next < readAhead.size() ? readAhead.get(next++) : br.readLine()) != null) {
                 String[] values = line.split(",");
                 if (values.length != headers.length) {
                     throw new IOException("CSV format error: number of values in a row does not match the number of headers");
@@ -201,4 +232,33 @@ public class CSVReader implements ICSVReader {
         }
     }
 
+    /**
+     * Samples every data row of a CSV file, for a sampling that draws from the whole file.
+     *
+     * @param fileName the name of the file
+     * @param hasHeaderRow whether the first line is a header row, which is skipped
+     * @param columnCount the number of columns
+     * @param inference the inference to add the rows to
+     * @throws IOException if there is an error reading the file
+     */
+    private static void sampleFile(String fileName, boolean hasHeaderRow, int columnCount, TypeInference inference) throws IOException {
+        try (BufferedReader br = new BufferedReader(new FileReader(fileName))) {
+            String line;
+            if (hasHeaderRow) {
+                br.readLine();
+            }
+            while (inference.isSampling() && (line = br.readLine()) != null) {
+                sampleRow(inference, line, columnCount);
+            }
+        }
+    }
+
+    private static void sampleRow(TypeInference inference, String line, int columnCount) {
+        String[] values = line.split(",", -1);
+        // Malformed rows are reported when the data is read
+        if (values.length == columnCount) {
+            inference.addRow(values);
+        }
+    }
+
 }
@@ -112,15 +112,19 @@ public class CSVWriter implements ICSVWriter {
     @Override
     public void writeToCSV(ICSVDataSource dataSource, String fileName, boolean withHeaderRow) throws IOException, IllegalArgumentException {
         try (FileWriter writer = new FileWriter(fileName)) {
+            // Resolve the column names once rather than once per cell
+            String[] columnNames = dataSource.getColumnNames();
+            int columnCount = columnNames.length;
+
             // Write the header if withHeaderRow is true
             if (withHeaderRow) {
-                for (int i = 0; i < dataSource.getColumnCount(); i++) {
-                    String columnName = dataSource.getColumnName(i);
+                for (int i = 0; i < columnCount; i++) {
+                    String columnName = columnNames[i];
                     if (columnName == null || columnName.isEmpty()) {
                         columnName = "Column" + (i + 1);
                     }
                     writer.append(columnName);
-                    if (i < dataSource.getColumnCount() - 1) {
+                    if (i < columnCount - 1) {
                         writer.append(",");
                     }
                 }
@@ -128,16 +132,16 @@ public class CSVWriter implements ICSVWriter {
             }
 
             // Write the data rows
-            for (int i = 0; i < dataSource.getRowCount(); i++) {
-                for (int j = 0; j < dataSource.getColumnCount(); j++) {
-                    String columnName = dataSource.getColumnName(j);
-                    String value = dataSource.getValueAt(i, columnName);
+            int rowCount = dataSource.getRowCount();
+            for (int i = 0; i < rowCount; i++) {
+                for (int j = 0; j < columnCount; j++) {
+                    String value = dataSource.getValueAt(i, columnNames[j]);
                     if (value == null || value.isEmpty()) {
                         writer.append("");
                     } else {
                         writer.append(value);
                     }
-                    if (j < dataSource.getColumnCount() - 1) {
+                    if (j < columnCount - 1) {
                         writer.append(",");
                     }
                 }
@@ -237,6 +237,8 @@ public class JDBCMappingWriter {
         switch (tableType) {
             case "int":
                 return "INTEGER";
+            case "long":
+                return "BIGINT";
             case "double":
                 return "DOUBLE";
             case "boolean":
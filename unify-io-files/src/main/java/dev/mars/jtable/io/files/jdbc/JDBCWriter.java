@@ -202,10 +202,11 @@ public class JDBCWriter implements IJDBCWriter {
                  Statement statement = sqlConnection.createStatement()) {
 
                 // Execute the SQL template for each row
-                for (int i = 0; i < dataSource.getRowCount(); i++) {
+                String[] columnNames = dataSource.getColumnNames();
+                int rowCount = dataSource.getRowCount();
+                for (int i = 0; i < rowCount; i++) {
                     String sql = sqlTemplate;
-                    for (int j = 0; j < dataSource.getColumnCount(); j++) {
-                        String columnName = dataSource.getColumnName(j);
+                    for (String columnName : columnNames) {
                         String value = dataSource.getValueAt(i, columnName);
                         sql = sql.replace(":" + columnName, "'" + value.replace("'", "''") + "'");
                     }
@@ -229,12 +230,12 @@ public class JDBCWriter implements IJDBCWriter {
                 StringBuilder insertSql = new StringBuilder("INSERT INTO " + tableName + " (");
                 StringBuilder placeholders = new StringBuilder(") VALUES (");
 
-                for (int i = 0; i < dataSource.getColumnCount(); i++) {
-                    String columnName = dataSource.getColumnName(i);
-                    insertSql.append(columnName);
+                String[] columnNames = dataSource.getColumnNames();
+                for (int i = 0; i < columnNames.length; i++) {
+                    insertSql.append(columnNames[i]);
                     placeholders.append("?");
 
-                    if (i < dataSource.getColumnCount() - 1) {
+                    if (i < columnNames.length - 1) {
                         insertSql.append(", ");
                         placeholders.append(", ");
                     }
@@ -243,10 +244,10 @@ public class JDBCWriter implements IJDBCWriter {
 
                 // Insert the data
                 try (PreparedStatement statement = sqlConnection.prepareStatement(insertSql.toString())) {
-                    for (int i = 0; i < dataSource.getRowCount(); i++) {
-                        for (int j = 0; j < dataSource.getColumnCount(); j++) {
-                            String columnName = dataSource.getColumnName(j);
-                            String value = dataSource.getValueAt(i, columnName);
+                    int rowCount = dataSource.getRowCount();
+                    for (int i = 0; i < rowCount; i++) {
+                        for (int j = 0; j < columnNames.length; j++) {
+                            String value = dataSource.getValueAt(i, columnNames[j]);
                             statement.setString(j + 1, value);
                         }
                         statement.executeUpdate();
@@ -319,6 +320,8 @@ public class JDBCWriter implements IJDBCWriter {
         switch (tableType) {
             case "int":
                 return "INTEGER";
+            case "long":
+                return "BIGINT";
             case "double":
                 return "DOUBLE";
             case "boolean":
@@ -133,10 +133,11 @@ public class JSONWriter implements IJSONWriter {
             ArrayNode rootArray = mapper.createArrayNode();
 
             // Add each row as an object in the array
-            for (int i = 0; i < dataSource.getRowCount(); i++) {
+            String[] columnNames = dataSource.getColumnNames();
+            int rowCount = dataSource.getRowCount();
+            for (int i = 0; i < rowCount; i++) {
                 ObjectNode rowObject = mapper.createObjectNode();
-                for (int j = 0; j < dataSource.getColumnCount(); j++) {
-                    String columnName = dataSource.getColumnName(j);
+                for (String columnName : columnNames) {
                     String value = dataSource.getValueAt(i, columnName);
                     addValueToObjectNode(rowObject, columnName, value);
                 }
@@ -47,6 +47,7 @@
  */
 package dev.mars.jtable.io.files.xml;
 
+import dev.mars.jtable.core.table.TypeInference;
 import dev.mars.jtable.io.common.datasource.IDataSource;
 import dev.mars.jtable.io.common.datasource.IDataSourceConnection;
 import dev.mars.jtable.io.common.datasource.FileConnection;
@@ -57,7 +58,6 @@ import java.io.FileReader;
 import java.io.IOException;
 import java.nio.file.Path;
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
@@ -94,6 +94,8 @@ public class XMLReader implements IXMLReader {
         // Extract options
         String rootElement = options != null && options.containsKey("rootElement") ? (String) options.get("rootElement") : "data";
         String rowElement = options != null && options.containsKey("rowElement") ? (String) options.get("rowElement") : "row";
+        int typeSampleRows = options != null && options.containsKey("typeSampleRows") ? (Integer) options.get("typeSampleRows") : TypeInference.DEFAULT_SAMPLE_ROWS;
+        TypeInference.Sampling typeSampling = options != null && options.containsKey("typeSampling") ? (TypeInference.Sampling) options.get("typeSampling") : TypeInference.Sampling.FIRST_ROWS;
 
         // Connect if not already connected
         if (!fileConnection.isConnected()) {
@@ -114,7 +116,7 @@ public class XMLReader implements IXMLReader {
         }
 
         // Call the XML-specific method
-        readFromXML(xmlDataSource, source, rootElement, rowElement);
+        readFromXML(xmlDataSource, source, rootElement, rowElement, typeSampleRows, typeSampling);
     }
 
     /**
@@ -127,6 +129,25 @@ public class XMLReader implements IXMLReader {
      */
     @Override
     public void readFromXML(IXMLDataSource dataSource, String fileName, String rootElement, String rowElement) {
+        readFromXML(dataSource, fileName, rootElement, rowElement, TypeInference.DEFAULT_SAMPLE_ROWS, TypeInference.Sampling.FIRST_ROWS);
+    }
+
+    /**
+     * Reads data from an XML file into a data source, inferring the type of each column from a
+     * sample of the rows. The columns are the elements of the first row, and the types of the
+     * sampled values are widened, so a column of integers with one decimal value is a double
+     * column, and a column that also holds text is a string column. Empty values do not count
+     * towards the type.
+     *
+     * @param dataSource the data source to read into
+     * @param fileName the name of the file to read from
+     * @param rootElement the name of the root element in the XML file
+     * @param rowElement the name of the row elements in the XML file
+     * @param typeSampleRows the number of rows to infer the column types from
+     * @param typeSampling whether to sample the first rows or a random sample of every row
+     */
+    public void readFromXML(IXMLDataSource dataSource, String fileName, String rootElement, String rowElement,
+                            int typeSampleRows, TypeInference.Sampling typeSampling) {
         try {
             // Read the entire XML file into a string
             StringBuilder xmlContent = new StringBuilder();
@@ -164,49 +185,43 @@ public class XMLReader implements IXMLReader {
                 return; // No rows found
             }
 
-            // Process the first row to determine columns
-            String firstRow = rows.get(0);
-
-            // Find all elements in the first row
+            // Parse the elements of every row
             Pattern elementPattern = Pattern.compile("<([^/>]+)>(.*?)</\\1>", Pattern.DOTALL);
-            Matcher elementMatcher = elementPattern.matcher(firstRow);
+            List<Map<String, String>> rowData = new ArrayList<>(rows.size());
+            for (String rowContent : rows) {
+                Matcher rowElementMatcher = elementPattern.matcher(rowContent);
+                Map<String, String> row = new LinkedHashMap<>();
+                while (rowElementMatcher.find()) {
+                    String columnName = rowElementMatcher.group(1);
+                    String columnValue = unescapeXml(rowElementMatcher.group(2).trim());
+                    row.put(columnName, columnValue);
+                }
+                rowData.add(row);
+            }
 
-            // Create a map to store column names and types
+            // The elements of the first row determine the columns, and a sample of the rows their types
+            List<String> columnNames = new ArrayList<>(rowData.get(0).keySet());
+            TypeInference inference = new TypeInference(columnNames.size(), typeSampleRows, typeSampling, dataSource::inferType);
+            for (int i = 0; i < rowData.size() && inference.isSampling(); i++) {
+                Map<String, String> row = rowData.get(i);
+                String[] values = new String[columnNames.size()];
+                for (int c = 0; c < values.length; c++) {
+                    values[c] = row.get(columnNames.get(c));
+                }
+                inference.addRow(values);
+            }
+            String[] columnTypes = inference.getTypes();
             LinkedHashMap<String, String> columns = new LinkedHashMap<>();
-            Map<String, String> firstRowData = new HashMap<>();
-
-            // Process elements of the first row to determine column names and types
-            while (elementMatcher.find()) {
-                String columnName = elementMatcher.group(1);
-                String columnValue = unescapeXml(elementMatcher.group(2).trim());
-                String columnType = dataSource.inferType(columnValue);
-                columns.put(columnName, columnType);
-                firstRowData.put(columnName, columnValue);
+            for (int c = 0; c < columnTypes.length; c++) {
+                columns.put(columnNames.get(c), columnTypes[c]);
             }
 
             // Set the columns in the data source
             dataSource.setColumns(columns);
 
-            // Add the first row
-            dataSource.addRow(firstRowData);
-
-            // Process remaining rows
-            for (int i = 1; i < rows.size(); i++) {
-                String rowContent = rows.get(i);
-                Matcher rowElementMatcher = elementPattern.matcher(rowContent);
-
-                // Create a map to store the row data
-                Map<String, String> rowData = new HashMap<>();
-
-                // Process elements of the row
-                while (rowElementMatcher.find()) {
-                    String columnName = rowElementMatcher.group(1);
-                    String columnValue = unescapeXml(rowElementMatcher.group(2).trim());
-                    rowData.put(columnName, columnValue);
-                }
-
-                // Add the row to the data source
-                dataSource.addRow(rowData);
+            // Add the rows to the data source
+            for (Map<String, String> row : rowData) {
+                dataSource.addRow(row);
             }
         } catch (IOException e) {
             System.err.println("Error reading XML file: " + e.getMessage());
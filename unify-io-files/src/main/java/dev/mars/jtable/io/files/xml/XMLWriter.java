@@ -132,7 +132,9 @@ public class XMLWriter implements IXMLWriter {
             writer.newLine();
 
             // Write each row
-            for (int i = 0; i < dataSource.getRowCount(); i++) {
+            String[] columnNames = dataSource.getColumnNames();
+            int rowCount = dataSource.getRowCount();
+            for (int i = 0; i < rowCount; i++) {
                 // Indent row element if requested
                 if (indentOutput) {
                     writer.write("  ");
@@ -143,8 +145,7 @@ public class XMLWriter implements IXMLWriter {
                 writer.newLine();
 
                 // Write each column value
-                for (int j = 0; j < dataSource.getColumnCount(); j++) {
-                    String columnName = dataSource.getColumnName(j);
+                for (String columnName : columnNames) {
                     String value = dataSource.getValueAt(i, columnName);
 
                     // Indent column element if requested
@@ -64,6 +64,7 @@ import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Paths;
 import java.util.Arrays;
+import java.util.LinkedHashMap;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -332,6 +333,53 @@ public class CSVMappingConnectionIntegrationTest {
         assertEquals("Unknown", table.getValueAt(0, "UserDept"), "First row, UserDept column should use default value");
     }
 
+    @Test
+    void testCSVMappingReaderKeepsRowsBeforeAnInvalidRow() throws Exception {
+        // The third row has an age that is not an int
+        String csvContent = "Name,Age\nAlice,30\nBob,25\nCarol,unknown\nDave,40\n";
+        Files.write(Paths.get(INVALID_COLUMNS_FILE), csvContent.getBytes());
+
+        MappingConfiguration config = new MappingConfiguration()
+                .setSourceLocation(INVALID_COLUMNS_FILE)
+                .setOption("hasHeaderRow", true)
+                .addColumnMapping(new ColumnMapping("Name", "FullName", "string"))
+                .addColumnMapping(new ColumnMapping("Age", "Years", "int"));
+
+        TableCore table = new TableCore();
+        CSVMappingReader reader = new CSVMappingReader();
+        assertThrows(IllegalArgumentException.class, () -> reader.readFromCSV(table, config));
+
+        // The rows before the invalid one are kept, as when every row was added on its own
+        assertEquals(2, table.getRowCount(), "Table should keep the rows before the invalid row");
+        assertEquals("Alice", table.getValueAt(0, "FullName"));
+        assertEquals("Bob", table.getValueAt(1, "FullName"));
+    }
+
+    @Test
+    void testCSVMappingReaderWithMissingTargetColumn() throws Exception {
+        String csvContent = "Name,Age\nAlice,30\n";
+        Files.write(Paths.get(INVALID_COLUMNS_FILE), csvContent.getBytes());
+
+        MappingConfiguration config = new MappingConfiguration()
+                .setSourceLocation(INVALID_COLUMNS_FILE)
+                .setOption("hasHeaderRow", true)
+                .addColumnMapping(new ColumnMapping("Name", "FullName", "string"))
+                .addColumnMapping(new ColumnMapping("Age", "Years", "int"));
+
+        // A table that does not create one of the mapped columns
+        TableCore table = new TableCore() {
+            @Override
+            public void setColumns(LinkedHashMap<String, String> columns) {
+                columns.remove("Years");
+                super.setColumns(columns);
+            }
+        };
+        CSVMappingReader reader = new CSVMappingReader();
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class, () -> reader.readFromCSV(table, config));
+        assertEquals("Column does not exist: Years", e.getMessage());
+        assertEquals(0, table.getRowCount());
+    }
+
     @Test
     void testCSVMappingReaderWithEmptySourceFile() throws Exception {
         // Create an empty CSV file with just a header
@@ -0,0 +1,187 @@
+/*
+ * Copyright 2025 Mark Andrew Ray-Smith Cityline Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.mars.jtable.io.files.csv;
+
+import dev.mars.jtable.core.table.TypeInference;
+import dev.mars.jtable.io.common.datasource.FileConnection;
+import dev.mars.jtable.io.common.datasource.ICSVDataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CSVReaderTest {
+
+    private CSVReader csvReader;
+    private MockCSVDataSource dataSource;
+
+    @TempDir
+    Path tempDir;
+
+    @BeforeEach
+    void setUp() {
+        csvReader = new CSVReader();
+        dataSource = new MockCSVDataSource();
+    }
+
+    /**
+     * Writes a file of ids and codes whose codes are integers up to the given row, and text after it.
+     */
+    private FileConnection writeCodes(String name, boolean header, int rows, int firstTextRow) throws IOException {
+        StringBuilder content = new StringBuilder();
+        if (header) {
+            content.append("id,code\n");
+        }
+        for (int i = 0; i < rows; i++) {
+            content.append(i).append(',').append(i < firstTextRow ? String.valueOf(i * 10) : "A" + i).append('\n');
+        }
+        File file = tempDir.resolve(name).toFile();
+        Files.writeString(file.toPath(), content.toString());
+        return new FileConnection(file.getAbsolutePath(), "csv");
+    }
+
+    @Test
+    void testFirstRowsSampleIsLoadedOnce() throws Exception {
+        FileConnection connection = writeCodes("first_rows.csv", true, 10, 5);
+
+        csvReader.readFromCSV(dataSource, connection, true, false, 3, TypeInference.Sampling.FIRST_ROWS);
+
+        // Only the first three rows decide the types, and every row is added once, in order
+        assertEquals("int", dataSource.getColumns().get("id"));
+        assertEquals("int", dataSource.getColumns().get("code"));
+        assertEquals(10, dataSource.getRowCount());
+        for (int i = 0; i < 10; i++) {
+            assertEquals(String.valueOf(i), dataSource.getValueAt(i, "id"));
+        }
+        assertEquals("A7", dataSource.getValueAt(7, "code"));
+    }
+
+    @Test
+    void testFirstRowsSampleLargerThanTheFile() throws Exception {
+        FileConnection connection = writeCodes("small.csv", true, 4, 3);
+
+        csvReader.readFromCSV(dataSource, connection, true, false, 100, TypeInference.Sampling.FIRST_ROWS);
+
+        assertEquals("string", dataSource.getColumns().get("code"));
+        assertEquals(4, dataSource.getRowCount());
+        assertEquals("A3", dataSource.getValueAt(3, "code"));
+    }
+
+    @Test
+    void testReservoirSamplesEveryRow() throws Exception {
+        FileConnection connection = writeCodes("reservoir.csv", true, 50, 49);
+
+        csvReader.readFromCSV(dataSource, connection, true, false, 100, TypeInference.Sampling.RESERVOIR);
+
+        // The text in the last row is in the sample, so the column holds strings
+        assertEquals("int", dataSource.getColumns().get("id"));
+        assertEquals("string", dataSource.getColumns().get("code"));
+        assertEquals(50, dataSource.getRowCount());
+        assertEquals("A49", dataSource.getValueAt(49, "code"));
+    }
+
+    @Test
+    void testNoHeaderRowSamplesTheFirstLine() throws Exception {
+        FileConnection connection = writeCodes("no_header.csv", false, 6, 0);
+
+        csvReader.readFromCSV(dataSource, connection, false, false, 1, TypeInference.Sampling.FIRST_ROWS);
+
+        assertEquals("Column1", dataSource.getColumnName(0));
+        assertEquals("string", dataSource.getColumns().get("Column2"));
+        assertEquals(6, dataSource.getRowCount());
+        assertEquals("A0", dataSource.getValueAt(0, "Column2"));
+        assertEquals("A5", dataSource.getValueAt(5, "Column2"));
+    }
+
+    @Test
+    void testReadDataOptions() throws Exception {
+        FileConnection connection = writeCodes("options.csv", true, 20, 10);
+
+        Map<String, Object> options = new HashMap<>();
+        options.put("hasHeaderRow", true);
+        options.put("typeSampleRows", 20);
+        options.put("typeSampling", TypeInference.Sampling.FIRST_ROWS);
+        csvReader.readData(dataSource, connection, options);
+
+        assertEquals("string", dataSource.getColumns().get("code"));
+        assertEquals(20, dataSource.getRowCount());
+    }
+
+    @Test
+    void testMalformedRowIsReported() throws Exception {
+        File file = tempDir.resolve("malformed.csv").toFile();
+        Files.writeString(file.toPath(), "id,code\n1,10\n2,20,extra\n");
+        FileConnection connection = new FileConnection(file.getAbsolutePath(), "csv");
+
+        assertThrows(IOException.class, () -> csvReader.readFromCSV(dataSource, connection, true, false, 10, TypeInference.Sampling.FIRST_ROWS));
+    }
+
+    // Mock classes for testing
+    private static class MockCSVDataSource implements ICSVDataSource {
+        private LinkedHashMap<String, String> columns = new LinkedHashMap<>();
+        private final List<Map<String, String>> rows = new ArrayList<>();
+
+        @Override
+        public void setColumns(LinkedHashMap<String, String> columns) {
+            this.columns = columns;
+        }
+
+        public LinkedHashMap<String, String> getColumns() {
+            return columns;
+        }
+
+        @Override
+        public void addRow(Map<String, String> row) {
+            rows.add(row);
+        }
+
+        @Override
+        public int getRowCount() {
+            return rows.size();
+        }
+
+        @Override
+        public int getColumnCount() {
+            return columns.size();
+        }
+
+        @Override
+        public String getColumnName(int columnIndex) {
+            return (String) columns.keySet().toArray()[columnIndex];
+        }
+
+        @Override
+        public String getValueAt(int rowIndex, String columnName) {
+            return rows.get(rowIndex).get(columnName);
+        }
+
+        @Override
+        public String inferType(String value) {
+            return TypeInference.inferType(value);
+        }
+    }
+}
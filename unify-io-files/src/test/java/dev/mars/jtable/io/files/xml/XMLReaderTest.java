@@ -222,6 +222,35 @@ class XMLReaderTest {
         assertEquals("This is a <test> with \"quotes\"", dataSource.getValueAt(0, "description"));
     }
 
+    @Test
+    void testReadXMLInfersTypesFromEveryRow() throws Exception {
+        // Create a test XML file whose first row does not show the types of the columns
+        File testFile = tempDir.resolve("test_types.xml").toFile();
+
+        try (BufferedWriter writer = new BufferedWriter(new FileWriter(testFile))) {
+            writer.write("<data>");
+            writer.newLine();
+            writer.write("  <row><id>1</id><score>95</score><code>7</code><note></note></row>");
+            writer.newLine();
+            writer.write("  <row><id>2</id><score>82.5</score><code>A7</code><note>true</note></row>");
+            writer.newLine();
+            writer.write("</data>");
+            writer.newLine();
+        }
+
+        // Test reading from the file
+        xmlReader.readFromXML(dataSource, testFile.getAbsolutePath(), "data", "row");
+
+        // Verify the column types were widened over both rows
+        Map<String, String> columns = dataSource.getColumns();
+        assertEquals("int", columns.get("id"));
+        assertEquals("double", columns.get("score"));
+        assertEquals("string", columns.get("code"));
+        assertEquals("boolean", columns.get("note"));
+        assertEquals(2, dataSource.getRowCount());
+        assertEquals("A7", dataSource.getValueAt(1, "code"));
+    }
+
     // Mock classes for testing
     private static class MockXMLDataSource implements IXMLDataSource {
         private LinkedHashMap<String, String> columns = new LinkedHashMap<>();